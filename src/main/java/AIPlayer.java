@@ -1,11 +1,31 @@
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Objects;
+import java.util.Optional;
 
 /**
  * A computer player. The player should play according to their given {@link AIStrategy}.
+ * <p>The strategy is created when the game starts and takes every one of the player's turns until
+ * the game ends, so anything it learns on one turn (such as a transposition table or a search
+ * tree) is still there on the next. The strategy is told when the other players move and when the
+ * game ends.</p>
+ * <p>If the next player is human and the strategy can {@link Ponderable ponder}, the strategy
+ * carries on thinking while the human takes their turn.</p>
+ * <p>If the search settings have a {@link SearchSettings#getTurnDeadlineMillis() turn deadline},
+ * the strategy is wrapped in a {@link DeadlineStrategy}, which falls back to quicker strategies
+ * when it's too slow.</p>
+ * <p>What each search costs, and how often the deadline forced a fallback, is published through
+ * JMX (see {@link SearchStatisticsMonitor}), unless the player was created without monitoring.
+ * The search statistics are also printed after the player moves if its search settings ask for
+ * it.</p>
  */
 public class AIPlayer extends AbstractPlayer {
 
   private final Difficulty difficulty;
+  private final boolean monitored; // Whether the player's searches are published through JMX
+  private List<Player> turnOrder;
+  private AIStrategy gameStrategy; // The strategy for the current game, once it's needed
+  private boolean pondering; // Whether the strategy has been pondering since this player's turn
 
   /**
    * Creates a computer player.
@@ -16,8 +36,24 @@ public class AIPlayer extends AbstractPlayer {
    * {@code victoryCondition == null}.
    */
   public AIPlayer(PlayerColour colour, VictoryCondition victoryCondition, Difficulty difficulty) {
+    this(colour, victoryCondition, difficulty, true);
+  }
+
+  /**
+   * Creates a computer player.
+   * @param colour The player's colour.
+   * @param victoryCondition The victory condition that will allow the player to win.
+   * @param difficulty The difficulty of the AI player.
+   * @param monitored Whether the player's searches are published through JMX. Players that aren't
+   * part of a real game, such as simulated ones, would only skew the published statistics.
+   * @throws NullPointerException Thrown if {@code colour == null}, {@code difficult == null} or
+   * {@code victoryCondition == null}.
+   */
+  AIPlayer(PlayerColour colour, VictoryCondition victoryCondition, Difficulty difficulty,
+      boolean monitored) {
     super(colour, victoryCondition);
     this.difficulty = Objects.requireNonNull(difficulty, "Difficulty is null");
+    this.monitored = monitored;
   }
 
   /**
@@ -33,11 +69,133 @@ public class AIPlayer extends AbstractPlayer {
     return super.toString() + " - Computer (" + difficulty.getName() + ')';
   }
 
+  @Override
+  public void onGameStart(List<Player> playersInTurnOrder) {
+    // Anything left over from the last game is no use in this one
+    endGame(null);
+    this.turnOrder = new ArrayList<>(playersInTurnOrder);
+    getStrategy().onGameStart(turnOrder);
+  }
+
+  @Override
+  public void onOpponentMoved(Board board, Player opponent) {
+    if (gameStrategy != null) {
+      pondering = false; // Strategies stop pondering once the position moves on
+      gameStrategy.onOpponentMoved(board, opponent);
+    }
+  }
+
+  @Override
+  public void onGameEnd(Board board) {
+    endGame(board);
+  }
+
   @Override
   public void takeTurnOnIncompleteBoard(Board board, View view) {
     view.sendLine(getColour().getName() + " player is thinking...");
-    difficulty.getStrategy(getVictoryCondition()).takeTurn(board, this);
+    stopPondering();
+    if (playFromOpeningBook(board)) {
+      view.sendLine();
+      return;
+    }
+    AIStrategy strategy = getStrategy();
+    strategy.takeTurn(board, this);
+    Optional<SearchStatisticsMonitor> monitor = monitored
+        ? Optional.of(SearchStatisticsMonitor.forPlayer(this))
+        : Optional.empty();
+    if (strategy instanceof DeadlineStrategy) {
+      ((DeadlineStrategy) strategy).getLastTier()
+          .ifPresent(tier -> monitor.ifPresent(m -> m.recordTier(tier)));
+    }
+    strategy.getLastSearchStatistics().ifPresent(statistics -> {
+      monitor.ifPresent(m -> m.record(statistics));
+      if (Optional.ofNullable(difficulty.getSearchSettings())
+          .map(SearchSettings::isReportingStatistics)
+          .orElse(false)) {
+        view.sendLine(statistics.toString());
+      }
+    });
     view.sendLine();
+    if (strategy instanceof Ponderable && isNextPlayerHuman() && !board.isFull()
+        && !isVictoryAchieved(board)) {
+      ((Ponderable) strategy).startPondering(board, this);
+      pondering = true;
+    }
+  }
+
+  /**
+   * Gets the strategy for the current game, creating it if the game hasn't got one yet. A player
+   * that wasn't told that the game was starting still keeps its strategy between turns.
+   * @return The strategy.
+   */
+  private AIStrategy getStrategy() {
+    if (gameStrategy == null) {
+      gameStrategy = difficulty.getStrategy(getVictoryCondition());
+      // Difficulties that don't search may have no settings, and so no deadline
+      long deadlineMillis = Optional.ofNullable(difficulty.getSearchSettings())
+          .map(SearchSettings::getTurnDeadlineMillis)
+          .orElse(Long.MAX_VALUE);
+      if (deadlineMillis != Long.MAX_VALUE) {
+        gameStrategy = new DeadlineStrategy(gameStrategy, getVictoryCondition(), deadlineMillis);
+      }
+      if (turnOrder != null && gameStrategy instanceof TurnOrderAware) {
+        // The strategy needs to know who it's playing against
+        ((TurnOrderAware) gameStrategy).setTurnOrder(turnOrder);
+      }
+    }
+    return gameStrategy;
+  }
+
+  private void stopPondering() {
+    if (pondering) {
+      ((Ponderable) gameStrategy).stopPondering();
+      pondering = false;
+    }
+  }
+
+  /**
+   * Ends the current game's strategy, if there is one, so that the next game gets a new one.
+   * @param board The board at the end of the game, or {@code null} if the game was abandoned.
+   */
+  private void endGame(Board board) {
+    if (gameStrategy == null) {
+      return;
+    }
+    stopPondering();
+    if (board != null) {
+      gameStrategy.onGameEnd(board);
+    }
+    gameStrategy = null;
+  }
+
+  // Pondering while another computer player takes its turn would only slow that player down
+  private boolean isNextPlayerHuman() {
+    if (turnOrder == null || !turnOrder.contains(this)) {
+      return false;
+    }
+    return turnOrder.get((turnOrder.indexOf(this) + 1) % turnOrder.size()).isHuman();
+  }
+
+  /**
+   * Plays the move from the difficulty's opening book, if it has one and the position is in it.
+   * @param board The board to place the counter on.
+   * @return {@code true} if a counter was placed.
+   */
+  private boolean playFromOpeningBook(Board board) {
+    OpeningBook openingBook = difficulty.getOpeningBook().orElse(null);
+    if (openingBook == null || turnOrder == null || !SearchBoard.canRepresent(turnOrder)) {
+      return false;
+    }
+    SearchBoard searchBoard = SearchBoard.of(board, turnOrder, this);
+    if (!openingBook.isFor(searchBoard)) {
+      return false;
+    }
+    int column = openingBook.probe(searchBoard);
+    if (column < 0 || column >= searchBoard.getWidth() || !searchBoard.canPlay(column)) {
+      return false;
+    }
+    board.placePlayerCounterInColumn(this, column + 1);
+    return true;
   }
 
   @Override
@@ -1,9 +1,23 @@
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
 /**
  * The strategy employed by the AI. This can be injected into the AI players so that they play
  * differently from one another. This could instead form a different part of different AI player
  * child classes, but adding it as a separate class differentiates its responsibility from that of
  * the AI player implementations, helping us to keep the class simple and enforcing the single
  * responsibility principle (https://stackify.com/solid-design-principles/ accessed 08/12/2020).
+ * <p>An {@link AIPlayer} creates its strategy when a game starts and keeps it until the game ends,
+ * so a strategy can carry state such as transposition tables or search trees from one turn to the
+ * next. The lifecycle methods let a strategy know how the game is going; they do nothing by
+ * default.</p>
+ * <p>A turn can also be {@link #chooseColumnAsync(Board, Player, Executor) chosen asynchronously},
+ * so that callers can wait for it with a time limit, choose moves in several games at once, or
+ * cancel it when the game is abandoned.</p>
  */
 @FunctionalInterface
 public interface AIStrategy {
@@ -15,4 +29,102 @@ public interface AIStrategy {
    */
   void takeTurn(Board board, Player player);
 
+  /**
+   * <p>Chooses the column for the player's turn in the background, without changing the board.
+   * The strategy takes the turn on a snapshot of the board taken before this returns, so the
+   * caller is free to change or reuse the board straight away, and the column that the strategy
+   * played on the snapshot completes the future.</p>
+   * <p>Cancelling the future abandons the turn. A turn that hasn't started yet is never taken,
+   * and a strategy that is {@link Interruptible} is asked to cut a turn that has started short,
+   * although the column it then plays is thrown away. Cancellation is cooperative: other
+   * strategies carry on until their turn is over.</p>
+   * <p>The strategy must not be used for anything else until the future has completed, unless
+   * the executor runs everything the strategy is given on the same thread, one at a time.</p>
+   * @param board The board on which the turn will occur.
+   * @param player The player that is taking the turn.
+   * @param executor The executor that the strategy takes the turn on.
+   * @return A future of the chosen column number (starting at 1), which completes exceptionally
+   * if the strategy fails, doesn't place a counter or can't be run by the executor.
+   * @throws NullPointerException Thrown if {@code board == null}, {@code player == null} or
+   * {@code executor == null}.
+   */
+  default CompletableFuture<Integer> chooseColumnAsync(
+      Board board, Player player, Executor executor) throws NullPointerException {
+    Objects.requireNonNull(board, "Board is null");
+    Objects.requireNonNull(player, "Player is null");
+    Objects.requireNonNull(executor, "Executor is null");
+    Board snapshot = board.copy();
+    CompletableFuture<Integer> column = new CompletableFuture<>();
+    column.whenComplete((chosenColumn, e) -> {
+      if (column.isCancelled() && this instanceof Interruptible) {
+        ((Interruptible) this).interruptTurn();
+      }
+    });
+    try {
+      executor.execute(() -> {
+        if (column.isDone()) {
+          return; // Cancelled before the turn started
+        }
+        try {
+          Board before = snapshot.copy();
+          takeTurn(snapshot, player);
+          column.complete(findPlayedColumn(before, snapshot));
+        } catch (RuntimeException e) {
+          column.completeExceptionally(e);
+        }
+      });
+    } catch (RejectedExecutionException e) {
+      column.completeExceptionally(e);
+    }
+    return column;
+  }
+
+  // Finds the column that a counter was placed in, between two boards
+  private static int findPlayedColumn(Board before, Board after) throws IllegalStateException {
+    for (int columnNumber = 1; columnNumber <= before.getWidth(); columnNumber++) {
+      if (before.getNumberOfCountersInColumn(columnNumber)
+          != after.getNumberOfCountersInColumn(columnNumber)) {
+        return columnNumber;
+      }
+    }
+    throw new IllegalStateException("Strategy did not place a counter");
+  }
+
+  /**
+   * Informs the strategy that a game is about to start. The strategy will take every turn of the
+   * same player until the game ends.
+   * @param playersInTurnOrder All of the players in the game, in the order that they take their
+   * turns.
+   */
+  default void onGameStart(List<Player> playersInTurnOrder) {
+    // Most strategies don't need to prepare for the game
+  }
+
+  /**
+   * Informs the strategy that another player has taken their turn.
+   * @param board The board, just after the other player's turn.
+   * @param opponent The player that took the turn.
+   */
+  default void onOpponentMoved(Board board, Player opponent) {
+    // Most strategies only look at the board when it's their turn
+  }
+
+  /**
+   * Informs the strategy that the game has ended, so that it can stop any background work and let
+   * go of anything it was keeping for its next turn. The strategy won't be used again.
+   * @param board The board at the end of the game.
+   */
+  default void onGameEnd(Board board) {
+    // Most strategies don't keep anything between turns
+  }
+
+  /**
+   * Gets what the search behind the strategy's last turn cost (see {@link SearchStatistics}).
+   * @return The statistics of the last turn, or an empty {@link Optional} if the strategy doesn't
+   * search or didn't search on its last turn.
+   */
+  default Optional<SearchStatistics> getLastSearchStatistics() {
+    return Optional.empty();
+  }
+
 }
@@ -1,3 +1,4 @@
+import java.util.List;
 import java.util.Objects;
 
 /**
@@ -52,6 +53,21 @@ public abstract class AbstractPlayer implements Player {
     return victoryCondition.isAchievedForPlayer(this, board);
   }
 
+  @Override
+  public void onGameStart(List<Player> playersInTurnOrder) {
+    // Most players don't need to prepare for the game
+  }
+
+  @Override
+  public void onOpponentMoved(Board board, Player opponent) {
+    // Most players only look at the board when it's their turn
+  }
+
+  @Override
+  public void onGameEnd(Board board) {
+    // Most players don't need to tidy up after the game
+  }
+
   @Override
   public String toString() {
     return getColour().getName();
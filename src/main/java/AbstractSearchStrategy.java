@@ -0,0 +1,205 @@
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * Abstract implementation of a strategy that chooses its move by searching a {@link SearchBoard}.
+ * Games that the search can't handle (for example, because a player has a victory condition that
+ * can't be represented on a search board) are delegated to a fallback strategy.
+ * <p>Strategies that can {@link Ponderable ponder} override {@link #ponder(SearchBoard)} and
+ * {@link #finishPondering()}. If this strategy doesn't ponder the game, pondering is delegated to
+ * the fallback strategy.</p>
+ * <p>The lifecycle methods are passed on to the fallback strategy. Pondering stops as soon as
+ * another player moves or the game ends, and subclasses that keep tables between turns let go of
+ * them when the game ends.</p>
+ * <p>Subclasses {@link #recordStatistics(SearchStatistics) record} what each search cost, and the
+ * time taken to choose the move is filled in if the search didn't measure it.</p>
+ * <p>Searches that can stop early override {@link #interruptSearch()}. An
+ * {@link Interruptible interrupted} turn is passed on to the fallback strategy too, in case it is
+ * the one taking the turn.</p>
+ */
+public abstract class AbstractSearchStrategy
+    implements AIStrategy, TurnOrderAware, Ponderable, Interruptible {
+
+  private final AIStrategy fallbackStrategy;
+  private List<Player> turnOrder;
+  private SearchStatistics lastStatistics; // Of this strategy's own search on the last turn
+  private boolean fellBack; // Whether the fallback strategy took part in the last turn
+
+  /**
+   * Creates a new search strategy.
+   * @param fallbackStrategy The strategy used for games that can't be searched.
+   * @throws NullPointerException Thrown if {@code fallbackStrategy == null}.
+   */
+  protected AbstractSearchStrategy(AIStrategy fallbackStrategy) throws NullPointerException {
+    this.fallbackStrategy = Objects.requireNonNull(fallbackStrategy, "Fallback strategy is null");
+  }
+
+  @Override
+  public void setTurnOrder(List<Player> playersInTurnOrder) {
+    this.turnOrder = new ArrayList<>(playersInTurnOrder);
+    if (fallbackStrategy instanceof TurnOrderAware) {
+      ((TurnOrderAware) fallbackStrategy).setTurnOrder(playersInTurnOrder);
+    }
+  }
+
+  @Override
+  public void onGameStart(List<Player> playersInTurnOrder) {
+    setTurnOrder(playersInTurnOrder);
+    fallbackStrategy.onGameStart(playersInTurnOrder);
+  }
+
+  @Override
+  public void onOpponentMoved(Board board, Player opponent) {
+    // Whatever was being pondered, the position has now moved on
+    stopPondering();
+    fallbackStrategy.onOpponentMoved(board, opponent);
+  }
+
+  @Override
+  public void onGameEnd(Board board) {
+    stopPondering();
+    fallbackStrategy.onGameEnd(board);
+  }
+
+  @Override
+  public void takeTurn(Board board, Player player) {
+    lastStatistics = null;
+    fellBack = false;
+    List<Player> players = getTurnOrder(board, player);
+    if (!SearchBoard.canRepresent(players) || !canSearch(players)) {
+      fellBack = true;
+      fallbackStrategy.takeTurn(board, player);
+      return;
+    }
+    long startNanos = System.nanoTime();
+    int column = chooseColumn(SearchBoard.of(board, players, player));
+    if (lastStatistics != null && lastStatistics.getElapsedNanos() == 0) {
+      lastStatistics =
+          lastStatistics.toBuilder().setElapsedNanos(System.nanoTime() - startNanos).build();
+    }
+    if (column < 0) {
+      fellBack = true;
+      fallbackStrategy.takeTurn(board, player);
+      return;
+    }
+    board.placePlayerCounterInColumn(player, column + 1);
+  }
+
+  @Override
+  public Optional<SearchStatistics> getLastSearchStatistics() {
+    if (fellBack) {
+      Optional<SearchStatistics> fallbackStatistics = fallbackStrategy.getLastSearchStatistics();
+      if (fallbackStatistics.isPresent()) {
+        return fallbackStatistics;
+      }
+    }
+    return Optional.ofNullable(lastStatistics);
+  }
+
+  /**
+   * Records what the search for this turn cost, so that it can be reported once the move has been
+   * played. This should be called from {@link #chooseColumn(SearchBoard)}.
+   * @param statistics The statistics of the search.
+   * @throws NullPointerException Thrown if {@code statistics == null}.
+   */
+  protected void recordStatistics(SearchStatistics statistics) throws NullPointerException {
+    this.lastStatistics = Objects.requireNonNull(statistics, "Statistics are null");
+  }
+
+  @Override
+  public void interruptTurn() {
+    interruptSearch();
+    if (fallbackStrategy instanceof Interruptible) {
+      ((Interruptible) fallbackStrategy).interruptTurn();
+    }
+  }
+
+  /**
+   * Asks the search that is choosing this turn's move, if there is one, to stop as soon as it can
+   * and return the best move found so far. This is called from another thread. By default,
+   * searches run until their own limits are reached.
+   */
+  protected void interruptSearch() {
+    // Searches can't be interrupted by default
+  }
+
+  @Override
+  public void startPondering(Board board, Player player) {
+    stopPondering();
+    List<Player> players = getTurnOrder(board, player);
+    if (SearchBoard.canRepresent(players) && canSearch(players)) {
+      Player nextPlayer = players.get((players.indexOf(player) + 1) % players.size());
+      if (ponder(SearchBoard.of(board, players, nextPlayer))) {
+        return;
+      }
+    }
+    if (fallbackStrategy instanceof Ponderable) {
+      ((Ponderable) fallbackStrategy).startPondering(board, player);
+    }
+  }
+
+  @Override
+  public void stopPondering() {
+    finishPondering();
+    if (fallbackStrategy instanceof Ponderable) {
+      ((Ponderable) fallbackStrategy).stopPondering();
+    }
+  }
+
+  /**
+   * Starts pondering the position in the background. By default, strategies don't ponder.
+   * @param board The position, with the next player to move. This belongs to the strategy.
+   * @return {@code true} if pondering was started, or {@code false} if the fallback strategy
+   * should ponder instead.
+   */
+  protected boolean ponder(SearchBoard board) {
+    return false;
+  }
+
+  /**
+   * Stops pondering and waits for the background work to finish, if the strategy is pondering.
+   */
+  protected void finishPondering() {
+    // Strategies don't ponder by default
+  }
+
+  /**
+   * Determines whether this strategy is able to search a game between the given players. This is
+   * only called for players that can be represented on a {@link SearchBoard}.
+   * @param playersInTurnOrder The players in the order that they take their turns.
+   * @return {@code true} if the game can be searched.
+   */
+  protected abstract boolean canSearch(List<Player> playersInTurnOrder);
+
+  /**
+   * Chooses the column that the player to move should place their counter in.
+   * @param board The current position. The board will never be full.
+   * @return The index (starting at 0) of the chosen column, or {@code -1} if the search couldn't
+   * choose and the fallback strategy should take the turn instead.
+   */
+  protected abstract int chooseColumn(SearchBoard board);
+
+  /**
+   * Gets the players in turn order. If the turn order hasn't been supplied, the best that can be
+   * done is to assume that it's the players on the board, starting with this player.
+   * @param board The board.
+   * @param player The player taking their turn.
+   * @return The players in the game, in the order that they take their turns.
+   */
+  protected List<Player> getTurnOrder(Board board, Player player) {
+    if (turnOrder != null && turnOrder.contains(player)) {
+      return turnOrder;
+    }
+    List<Player> players = new ArrayList<>();
+    players.add(player);
+    board.getAllPlayersOnBoard()
+         .stream()
+         .filter(p -> !p.equals(player))
+         .sorted(Comparator.comparing(Player::getColour))
+         .forEach(players::add);
+    return players;
+  }
+}
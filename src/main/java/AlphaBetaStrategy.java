@@ -0,0 +1,187 @@
+import java.io.IOException;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * A strategy that looks several moves ahead using an alpha-beta search, playing the move that
+ * leads to the best outcome assuming that the opponent also plays perfectly. The search runs for
+ * as long as the {@link SearchSettings} allow, using several threads if configured (see
+ * {@link LazySmpSearch}).
+ * <p>The search only supports two-player games where both players win by connecting consecutive
+ * counters. In any other game, the turn is delegated to a fallback strategy.</p>
+ * <p>If the settings allow, the strategy {@link Ponderable ponders} during the opponent's turn by
+ * searching the opponent's position with the same transposition table, which then holds the
+ * results for every reply the opponent could make. If the pondering searched the reply that was
+ * actually played at least as deeply as the last search on this player's own turn reached, the
+ * search stops at the depth of that last search: the answers are mostly in the table already, so
+ * the move is as good as usual but takes a fraction of the time. Otherwise, it searches as usual,
+ * but gets through the depths that the pondering covered much faster.</p>
+ * <p>If the settings have a {@link TranspositionTableStore}, the search uses the store's table for
+ * the game, which carries on from earlier games and earlier runs of the program. If the table
+ * can't be mapped, the search falls back to an empty table of its own.</p>
+ * <p>An {@link Interruptible interrupted} search stops straight away, playing the best move of the
+ * deepest search that it completed.</p>
+ */
+public class AlphaBetaStrategy extends AbstractSearchStrategy {
+
+  // Pondering stops by itself after this long, in case the game ends without it being stopped
+  private static final long MAXIMUM_PONDER_MILLIS = TimeUnit.MINUTES.toMillis(10);
+
+  private final SearchSettings settings;
+  private TranspositionTable table; // Created when first needed, so unused fallbacks don't hold one
+  private int lastDepth = Integer.MAX_VALUE; // The depth reached on this player's last turn
+  private Thread ponderThread;
+  private AtomicBoolean ponderStopSignal;
+  private SearchBoard ponderedBoard; // The position that was pondered, once pondering has stopped
+  private volatile int ponderedDepth;
+  private volatile AtomicBoolean searchStopSignal; // Of the search on this player's turn, if any
+
+  /**
+   * Creates a new alpha-beta strategy.
+   * @param settings The resources that the search may use.
+   * @param fallbackStrategy The strategy used for games that can't be searched.
+   * @throws NullPointerException Thrown if {@code settings == null} or
+   * {@code fallbackStrategy == null}.
+   */
+  public AlphaBetaStrategy(SearchSettings settings, AIStrategy fallbackStrategy)
+      throws NullPointerException {
+    super(fallbackStrategy);
+    this.settings = Objects.requireNonNull(settings, "Search settings are null");
+  }
+
+  @Override
+  protected boolean canSearch(List<Player> playersInTurnOrder) {
+    return playersInTurnOrder.size() == 2;
+  }
+
+  @Override
+  protected int chooseColumn(SearchBoard board) {
+    finishPondering();
+    int maximumDepth = settings.getMaximumDepth();
+    if (ponderedBoard != null && isReply(ponderedBoard, board) && ponderedDepth - 1 >= lastDepth) {
+      // The pondering has already searched this position as deeply as a search normally reaches
+      maximumDepth = Math.min(maximumDepth, lastDepth);
+    }
+    ponderedBoard = null;
+    board.setEvaluator(settings.getEvaluator().newEvaluator());
+    AtomicBoolean stopSignal = new AtomicBoolean(false);
+    searchStopSignal = stopSignal;
+    SearchResult result;
+    try {
+      result = new LazySmpSearch(getTable(board), settings.getThreads())
+          .search(board, maximumDepth, settings.getTimeLimitMillis(), settings.getMaximumNodes(),
+              stopSignal);
+    } finally {
+      searchStopSignal = null;
+    }
+    lastDepth = result.getDepth();
+    recordStatistics(result.getStatistics());
+    return result.getColumn();
+  }
+
+  @Override
+  protected void interruptSearch() {
+    AtomicBoolean stopSignal = searchStopSignal;
+    if (stopSignal != null) {
+      stopSignal.set(true);
+    }
+  }
+
+  @Override
+  public void onGameEnd(Board board) {
+    super.onGameEnd(board);
+    if (table != null) {
+      table.flush();
+    }
+    table = null;
+    ponderedBoard = null;
+    lastDepth = Integer.MAX_VALUE;
+  }
+
+  private TranspositionTable getTable(SearchBoard board) {
+    if (table == null) {
+      Optional<TranspositionTableStore> store = settings.getTranspositionTableStore();
+      if (store.isPresent()) {
+        try {
+          table = store.get().getTable(board);
+        } catch (IOException e) {
+          // Searching with an empty table of our own is better than not searching at all
+        }
+      }
+      if (table == null) {
+        table = new TranspositionTable(settings.getTranspositionTableEntries());
+      }
+    }
+    return table;
+  }
+
+  // Determines whether the position can be reached from the earlier position in one move
+  private static boolean isReply(SearchBoard earlier, SearchBoard position) {
+    if (position.getNumberOfCounters() != earlier.getNumberOfCounters() + 1) {
+      return false;
+    }
+    for (int column = 0; column < earlier.getWidth(); column++) {
+      if (earlier.canPlay(column)) {
+        earlier.play(column);
+        boolean same = earlier.getHash() == position.getHash();
+        earlier.undo();
+        if (same) {
+          return true;
+        }
+      }
+    }
+    return false;
+  }
+
+  @Override
+  protected boolean ponder(SearchBoard board) {
+    if (!settings.isPondering() || board.isFull()) {
+      return false;
+    }
+    board.setEvaluator(settings.getEvaluator().newEvaluator());
+    TranspositionTable ponderTable = getTable(board);
+    AtomicBoolean stopSignal = new AtomicBoolean(false);
+    ponderedDepth = 0;
+    Thread thread = new Thread(
+        () -> ponderedDepth = new LazySmpSearch(ponderTable, settings.getThreads())
+            .search(board, settings.getMaximumDepth(), MAXIMUM_PONDER_MILLIS, stopSignal)
+            .getDepth(),
+        "ponder"
+    );
+    // Don't keep the program running once the game is over
+    thread.setDaemon(true);
+    ponderThread = thread;
+    ponderStopSignal = stopSignal;
+    ponderedBoard = board;
+    thread.start();
+    return true;
+  }
+
+  @Override
+  protected void finishPondering() {
+    if (ponderThread == null) {
+      return;
+    }
+    ponderStopSignal.set(true);
+    try {
+      ponderThread.join();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      // The thread may still be using the table, so don't trust what it found
+      ponderedBoard = null;
+    }
+    ponderThread = null;
+    ponderStopSignal = null;
+  }
+
+  /**
+   * Determines whether the strategy is pondering in the background.
+   * @return {@code true} if the strategy is pondering.
+   */
+  boolean isPondering() {
+    return ponderThread != null && ponderThread.isAlive();
+  }
+}
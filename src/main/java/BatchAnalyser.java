@@ -0,0 +1,206 @@
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * <p>Suggests the best move, and its score, in each of a large number of positions, such as every
+ * position from a collection of games. Each position gets a search of its own, the same search as
+ * a {@code HARD} computer player would use in that game, and the positions are shared out between
+ * several threads.</p>
+ * <p>Positions of the same game share a transposition table, across every thread and every batch
+ * analysed by the same analyser, so what was learnt searching one position speeds up the search
+ * of the next. If the settings have a {@link TranspositionTableStore}, two-player games use the
+ * store's table, which also carries on between runs. A position that appears more than once in a
+ * batch, or whose mirror image does, is only searched once.</p>
+ * <p>Positions can be analysed from the command line:</p>
+ * <pre><code>java BatchAnalyser width height players counters path [millis] [threads]</code></pre>
+ * <p>where each line of the file at {@code path} holds the moves of a position as column numbers,
+ * such as {@code 4453}, and {@code millis} is the amount of time to spend searching each position.
+ * A line is printed for each position with the suggested column number and its score.</p>
+ */
+public class BatchAnalyser {
+
+  private final SearchSettings settings;
+  private final Map<String, TranspositionTable> tables = new ConcurrentHashMap<>();
+
+  /**
+   * Creates a new batch analyser.
+   * @param settings The resources that the search of each position may use. The number of threads
+   * is the number of positions searched at once.
+   * @throws NullPointerException Thrown if {@code settings == null}.
+   */
+  public BatchAnalyser(SearchSettings settings) throws NullPointerException {
+    this.settings = Objects.requireNonNull(settings, "Search settings are null");
+  }
+
+  /**
+   * Searches every position.
+   * @param positions The positions. They are copied, so they can be used while the analysis runs.
+   * @return The result of searching each position, in the same order as the positions. Columns
+   * are indices starting at 0, and scores are for the player to move.
+   * @throws IllegalArgumentException Thrown if any of the positions is full.
+   * @throws NullPointerException Thrown if {@code positions == null} or any of the positions are
+   * {@code null}.
+   * @throws InterruptedException Thrown if the calling thread is interrupted while waiting for the
+   * searches to finish.
+   */
+  public List<SearchResult> analyse(List<SearchBoard> positions)
+      throws IllegalArgumentException, NullPointerException, InterruptedException {
+    Objects.requireNonNull(positions, "Positions are null");
+    List<SearchBoard> copies = new ArrayList<>(positions.size());
+    for (SearchBoard position : positions) {
+      if (Objects.requireNonNull(position, "Position is null").isFull()) {
+        throw new IllegalArgumentException("Cannot suggest a move on a full board");
+      }
+      copies.add(position.copy());
+    }
+
+    ExecutorService executor = Executors.newFixedThreadPool(settings.getThreads());
+    try {
+      // Each distinct position is searched once, keyed by its game and canonical hash
+      Map<String, Future<SearchResult>> searches = new HashMap<>();
+      List<Future<SearchResult>> results = new ArrayList<>(copies.size());
+      for (SearchBoard position : copies) {
+        String key = getTableName(position) + '#' + position.getCanonicalHash();
+        results.add(searches.computeIfAbsent(key,
+            k -> executor.submit(() -> toCanonical(position, search(position)))));
+      }
+
+      List<SearchResult> suggestions = new ArrayList<>(copies.size());
+      for (int i = 0; i < copies.size(); i++) {
+        SearchResult canonical = results.get(i).get();
+        // Mirror the move back if this position is the mirror image of the one searched
+        suggestions.add(toCanonical(copies.get(i), canonical));
+      }
+      return suggestions;
+    } catch (ExecutionException e) {
+      throw new IllegalStateException("Search of a position failed", e.getCause());
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  // Converts the result's move to the other image of the position (see toCanonicalColumn)
+  private static SearchResult toCanonical(SearchBoard position, SearchResult result) {
+    return new SearchResult(
+        position.toCanonicalColumn(result.getColumn()), result.getScore(), result.getStatistics());
+  }
+
+  /**
+   * Searches a single position. Two-player searches share a table between the seats, but the
+   * multi-player searches only make sense of scores stored from the same player's point of view,
+   * so each seat has a table of its own.
+   */
+  private SearchResult search(SearchBoard position) throws IOException {
+    long deadlineNanos =
+        System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(settings.getTimeLimitMillis());
+    position.setEvaluator(settings.getEvaluator().newEvaluator());
+    if (position.getNumberOfSeats() == 2) {
+      return new NegamaxSearch(position, getTable(position), new AtomicBoolean(false))
+          .search(settings.getMaximumDepth(), deadlineNanos, settings.getMaximumNodes());
+    } else if (settings.getMultiPlayerSearch() == SearchSettings.MultiPlayerSearch.MAX_N) {
+      return new MaxNSearch(position)
+          .search(settings.getMaximumDepth(), deadlineNanos, settings.getMaximumNodes());
+    } else {
+      return new ParanoidSearch(position, getTable(position))
+          .search(settings.getMaximumDepth(), deadlineNanos, settings.getMaximumNodes());
+    }
+  }
+
+  // Gets the table shared by every position of the same game (and seat, if there are several)
+  private TranspositionTable getTable(SearchBoard position) throws IOException {
+    String name = getTableName(position);
+    TranspositionTable table = tables.get(name);
+    if (table == null) {
+      if (position.getNumberOfSeats() == 2 && settings.getTranspositionTableStore().isPresent()) {
+        // The store shares its tables itself
+        table = settings.getTranspositionTableStore().get().getTable(position);
+      } else {
+        table = new TranspositionTable(settings.getTranspositionTableEntries());
+      }
+      TranspositionTable existing = tables.putIfAbsent(name, table);
+      if (existing != null) {
+        table = existing;
+      }
+    }
+    return table;
+  }
+
+  private static String getTableName(SearchBoard position) {
+    String game = TranspositionTableStore.getFileName(position);
+    return position.getNumberOfSeats() == 2 ? game : game + '@' + position.getSeatToMove();
+  }
+
+  /**
+   * Analyses positions from the command line arguments. See {@link BatchAnalyser} for details.
+   * @param args The command line arguments.
+   */
+  public static void main(String[] args) {
+    if (args.length < 5) {
+      System.out.println(
+          "Usage: java BatchAnalyser width height players counters path [millis] [threads]");
+      return;
+    }
+    try {
+      Dimensions dimensions =
+          new Dimensions(Integer.parseInt(args[0]), Integer.parseInt(args[1]));
+      int numberOfPlayers = Integer.parseInt(args[2]);
+      VictoryCondition victoryCondition =
+          new ConsecutiveCountersVictoryCondition(Integer.parseInt(args[3]));
+      List<Player> players = new ArrayList<>(numberOfPlayers);
+      for (int i = 0; i < numberOfPlayers; i++) {
+        players.add(new AIPlayer(PlayerColour.values()[i], victoryCondition, Difficulty.HARD));
+      }
+      SearchSettings.Builder settings = SearchSettings.builder();
+      if (args.length > 5) {
+        settings.setTimeLimitMillis(Long.parseLong(args[5]));
+      }
+      settings.setThreads(
+          args.length > 6 ? Integer.parseInt(args[6]) : Runtime.getRuntime().availableProcessors()
+      );
+
+      Path path = Paths.get(args[4]);
+      List<String> lines = Files.readAllLines(path);
+      List<SearchBoard> positions = new ArrayList<>(lines.size());
+      for (int i = 0; i < lines.size(); i++) {
+        SearchBoard position = SearchBoard.empty(dimensions, players);
+        try {
+          position.playMoves(lines.get(i).trim());
+        } catch (IllegalArgumentException e) {
+          throw new IllegalArgumentException("Line " + (i + 1) + ": " + e.getMessage(), e);
+        }
+        if (position.isFull()) {
+          throw new IllegalArgumentException("Line " + (i + 1) + ": The board is full");
+        }
+        positions.add(position);
+      }
+
+      long startMillis = System.currentTimeMillis();
+      List<SearchResult> results = new BatchAnalyser(settings.build()).analyse(positions);
+      for (int i = 0; i < results.size(); i++) {
+        System.out.println(lines.get(i).trim() + ' ' + (results.get(i).getColumn() + 1) + ' '
+            + results.get(i).getScore());
+      }
+      System.out.printf("Analysed %d positions in %.1fs%n",
+          results.size(), (System.currentTimeMillis() - startMillis) / 1000.0);
+    } catch (IOException | RuntimeException e) {
+      // Don't print an ugly stacktrace - the exception message should contain relevant details
+      System.out.println(e.getMessage());
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
@@ -0,0 +1,275 @@
+/**
+ * <p>A two-player position stored as a pair of 64-bit masks, for use by the {@link PerfectSolver}.
+ * Each column takes {@code height + 1} bits, from the bottom up, with the extra bit always empty
+ * so that lines can't wrap from the top of one column to the bottom of the next. This means that
+ * the board must have no more than 63 bits: {@code width * (height + 1) <= 63}, which covers the
+ * standard 7x6 board.</p>
+ * <p>Rather than storing a mask for each player, the position stores the counters of the player to
+ * move and the mask of all counters, so that passing the turn is a single XOR and the pair
+ * {@code current + mask} is a unique key for the position.</p>
+ * <p>Moves are referred to by their single-bit mask, which can be found with
+ * {@link #columnMask(int)}.</p>
+ */
+public class Bitboard implements Copyable<Bitboard> {
+
+  private final int width;
+  private final int height;
+  private final int countersRequired;
+  private final long bottomMask;
+  private final long boardMask;
+  private final long[] lineScratch; // Used when finding winning cells
+  private long current; // Counters of the player to move
+  private long mask; // All counters
+  private int numberOfMoves;
+
+  // Creates an empty position
+  private Bitboard(int width, int height, int countersRequired) {
+    this.width = width;
+    this.height = height;
+    this.countersRequired = countersRequired;
+    long bottom = 0;
+    for (int column = 0; column < width; column++) {
+      bottom |= 1L << (column * (height + 1));
+    }
+    this.bottomMask = bottom;
+    this.boardMask = bottom * ((1L << height) - 1);
+    this.lineScratch = new long[countersRequired];
+  }
+
+  // Copy constructor
+  private Bitboard(Bitboard bitboard) {
+    this.width = bitboard.width;
+    this.height = bitboard.height;
+    this.countersRequired = bitboard.countersRequired;
+    this.bottomMask = bitboard.bottomMask;
+    this.boardMask = bitboard.boardMask;
+    this.lineScratch = new long[countersRequired];
+    this.current = bitboard.current;
+    this.mask = bitboard.mask;
+    this.numberOfMoves = bitboard.numberOfMoves;
+  }
+
+  /**
+   * Determines whether a position can be represented as a bitboard. This is the case for
+   * two-player games where both players need the same number of consecutive counters, on boards
+   * with no more than 63 bits (see {@link Bitboard}).
+   * @param board The position.
+   * @return {@code true} if the position can be represented as a bitboard.
+   */
+  public static boolean canRepresent(SearchBoard board) {
+    return board.getNumberOfSeats() == 2
+        && board.getCountersRequired(0) == board.getCountersRequired(1)
+        && board.getWidth() * (board.getHeight() + 1) <= 63;
+  }
+
+  /**
+   * Creates a bitboard representing the given position.
+   * @param board The position.
+   * @return A bitboard representing the same position, with the same player to move.
+   * @throws IllegalArgumentException Thrown if the position can't be represented as a bitboard
+   * (see {@link #canRepresent(SearchBoard)}).
+   */
+  public static Bitboard of(SearchBoard board) throws IllegalArgumentException {
+    if (!canRepresent(board)) {
+      throw new IllegalArgumentException("Position cannot be represented as a bitboard");
+    }
+    Bitboard bitboard =
+        new Bitboard(board.getWidth(), board.getHeight(), board.getCountersRequired(0));
+    int seatToMove = board.getSeatToMove();
+    for (int column = 0; column < board.getWidth(); column++) {
+      for (int row = 0; row < board.getColumnHeight(column); row++) {
+        long bit = 1L << (column * (board.getHeight() + 1) + row);
+        bitboard.mask |= bit;
+        if (board.getSeatAt(column, row) == seatToMove) {
+          bitboard.current |= bit;
+        }
+      }
+    }
+    bitboard.numberOfMoves = board.getNumberOfCounters();
+    return bitboard;
+  }
+
+  /**
+   * Gets the number of columns.
+   * @return The width of the board.
+   */
+  public int getWidth() {
+    return width;
+  }
+
+  /**
+   * Gets the number of rows.
+   * @return The height of the board.
+   */
+  public int getHeight() {
+    return height;
+  }
+
+  /**
+   * Gets the number of consecutive counters that both players need to win.
+   * @return The number of counters required to win.
+   */
+  public int getCountersRequired() {
+    return countersRequired;
+  }
+
+  /**
+   * Gets the number of counters played so far.
+   * @return The number of moves played.
+   */
+  public int getNumberOfMoves() {
+    return numberOfMoves;
+  }
+
+  /**
+   * Gets a key that uniquely identifies the position, including the player to move.
+   * @return The key of the position. This is always positive.
+   */
+  public long getKey() {
+    return current + mask;
+  }
+
+  /**
+   * Gets a mask of every cell in the given column.
+   * @param column The column index (starting at 0).
+   * @return The column mask.
+   */
+  public long columnMask(int column) {
+    return ((1L << height) - 1) << (column * (height + 1));
+  }
+
+  /**
+   * Determines whether a counter can be placed in the given column.
+   * @param column The column index (starting at 0).
+   * @return {@code true} if the column is not full.
+   */
+  public boolean canPlay(int column) {
+    return (mask & topMask(column)) == 0;
+  }
+
+  private long topMask(int column) {
+    return 1L << (height - 1 + column * (height + 1));
+  }
+
+  /**
+   * Gets the cells that counters can be placed in - the lowest empty cell of each column.
+   * @return A mask with one bit for each playable column.
+   */
+  public long possibleMoves() {
+    return (mask + bottomMask) & boardMask;
+  }
+
+  /**
+   * Plays a move for the player to move, and passes the turn to the other player.
+   * @param move The single-bit mask of the cell to play, which must be one of
+   * {@link #possibleMoves()}.
+   */
+  public void play(long move) {
+    current ^= mask;
+    mask |= move;
+    numberOfMoves++;
+  }
+
+  /**
+   * Takes back a move, passing the turn back to the player who played it.
+   * @param move The single-bit mask of the last move played.
+   */
+  public void undo(long move) {
+    mask ^= move;
+    current ^= mask;
+    numberOfMoves--;
+  }
+
+  /**
+   * Determines whether the player to move can win with their next counter.
+   * @return {@code true} if the player to move can win immediately.
+   */
+  public boolean canWinNext() {
+    return (winningCells(current) & possibleMoves()) != 0;
+  }
+
+  /**
+   * Determines whether placing a counter in the given column wins the game for the player to move.
+   * @param column The column index (starting at 0).
+   * @return {@code true} if the move wins the game.
+   */
+  public boolean isWinningMove(int column) {
+    return (winningCells(current) & possibleMoves() & columnMask(column)) != 0;
+  }
+
+  /**
+   * Gets the moves that don't hand the opponent an immediate win: if the opponent threatens to
+   * win, only a move that blocks the threat, and never a move directly beneath one of the
+   * opponent's winning cells. The player to move must not be able to win immediately.
+   * @return The mask of the moves that don't lose immediately. This is {@code 0} if every move
+   * loses (for example, if the opponent has two threats).
+   */
+  public long nonLosingMoves() {
+    long possible = possibleMoves();
+    long opponentWins = winningCells(current ^ mask);
+    long forcedMoves = possible & opponentWins;
+    if (forcedMoves != 0) {
+      if ((forcedMoves & (forcedMoves - 1)) != 0) {
+        // The opponent has more than one winning move - we can only block one of them
+        return 0;
+      }
+      possible = forcedMoves;
+    }
+    return possible & ~(opponentWins >>> 1);
+  }
+
+  /**
+   * Scores a move by the number of winning cells that the player to move would have after
+   * playing it. Moves that create threats are more likely to be good, so are searched first.
+   * @param move The single-bit mask of the move.
+   * @return The number of cells the player to move could then win in.
+   */
+  public int moveScore(long move) {
+    return Long.bitCount(winningCells(current | move));
+  }
+
+  /**
+   * Finds every empty cell that would complete a line for the player with the given counters.
+   * For each direction, a cell is winning if one of the ways of fitting a line through it has
+   * the player's counters in every other cell.
+   */
+  private long winningCells(long position) {
+    long winning = 0;
+    // Vertical - the counters can only be underneath
+    long vertical = -1L;
+    for (int i = 1; i < countersRequired; i++) {
+      vertical &= position << i;
+    }
+    winning |= vertical;
+    // Horizontal, and the two diagonals
+    winning |= winningCellsInDirection(position, height + 1);
+    winning |= winningCellsInDirection(position, height);
+    winning |= winningCellsInDirection(position, height + 2);
+    return winning & (boardMask ^ mask);
+  }
+
+  private long winningCellsInDirection(long position, int step) {
+    // After the loop, below[i] has a bit set wherever the player has counters in the i cells below
+    // it in this direction
+    long[] below = lineScratch;
+    below[0] = -1L;
+    for (int i = 1; i < countersRequired; i++) {
+      below[i] = below[i - 1] & (position << (i * step));
+    }
+    long winning = 0;
+    long above = -1L; // Same as below, for the cells above
+    for (int i = 0; i < countersRequired; i++) {
+      if (i > 0) {
+        above &= position >>> (i * step);
+      }
+      // The empty cell has i of the player's counters above it and the rest below
+      winning |= above & below[countersRequired - 1 - i];
+    }
+    return winning;
+  }
+
+  @Override
+  public Bitboard copy() {
+    return new Bitboard(this);
+  }
+}
@@ -89,6 +89,21 @@ public class Board implements ViewableObject, Copyable<Board> {
     columns[columnNumber-1].addCounter(player);
   }
 
+  /**
+   * Gets the number of counters in the given column.
+   * @param columnNumber The column number. The column number starts at 1 at the left-hand side,
+   * and increments to the right.
+   * @return The number of counters in the column. The next counter placed in the column lands in
+   * the row numbered one more than this.
+   * @throws IllegalArgumentException Thrown if {@code columnNumber} is out of bounds.
+   */
+  public int getNumberOfCountersInColumn(int columnNumber) throws IllegalArgumentException {
+    if (columnNumber < 1 || columnNumber > width) {
+      throw new IllegalArgumentException("Invalid column number " + columnNumber);
+    }
+    return columns[columnNumber-1].getNumberOfCounters();
+  }
+
   /**
    * Determines whether the board is full such that no more counters can be placed.
    * @return {@code true} if the board is full.
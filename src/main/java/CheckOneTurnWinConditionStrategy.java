@@ -1,17 +1,27 @@
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Objects;
-import java.util.Optional;
 import java.util.OptionalInt;
 import java.util.Random;
 
 /**
  * Simple strategy implementation where all moves are random, unless there's a chance to immediately
  * either win or block another player from winning by placing the counter.
+ * <p>If several opponents could win, the one who moves soonest is blocked, as the players in
+ * between may block the others. When every player needs a number of consecutive counters, the
+ * winning columns of all of the players are found together by a {@link ThreatAnalysis}, which is
+ * kept up to date between turns by a {@link ThreatCache}. Otherwise, a move is checked by looking
+ * at the lines through the cell that the counter would land in for the usual
+ * {@link ConsecutiveCountersVictoryCondition}, or by placing the counter on a copy of the board for
+ * other victory conditions.</p>
  */
-public class CheckOneTurnWinConditionStrategy implements AIStrategy {
+public class CheckOneTurnWinConditionStrategy implements AIStrategy, TurnOrderAware {
 
   private final VictoryCondition victoryCondition;
   private final Random random;
+  private List<Player> turnOrder;
+  private ThreatCache threatCache; // Kept between turns, once the players are known
 
   /**
    * Creates a new one turn win condition strategy, optimising for the given win conditions.
@@ -37,43 +47,111 @@ public class CheckOneTurnWinConditionStrategy implements AIStrategy {
     this.random = Objects.requireNonNull(random, "Random is null");
   }
 
+  @Override
+  public void setTurnOrder(List<Player> playersInTurnOrder) {
+    this.turnOrder = new ArrayList<>(playersInTurnOrder);
+  }
+
+  @Override
+  public void onGameStart(List<Player> playersInTurnOrder) {
+    setTurnOrder(playersInTurnOrder);
+    threatCache = null;
+  }
+
+  @Override
+  public void onGameEnd(Board board) {
+    threatCache = null;
+  }
+
   @Override
   public void takeTurn(Board board, Player player) {
     board.placePlayerCounterInColumn(player, getColumnForMove(board, player));
   }
 
   private int getColumnForMove(Board board, Player player) {
-    OptionalInt winningColumn = getWinningMoveForPlayer(board, player);
-    if (winningColumn.isPresent()) {
-      return winningColumn.getAsInt();
-    }
-
-    Optional<Integer> winningMoveForOtherPlayer =
-        board.getAllPlayersOnBoard()
-             .stream()
-             .filter(p -> p != player)
-             .map(p -> getWinningMoveForPlayer(board, p))
-             .filter(OptionalInt::isPresent)
-             .map(OptionalInt::getAsInt)
-             .findFirst();
-
-    if (winningMoveForOtherPlayer.isPresent()) {
-      return winningMoveForOtherPlayer.get();
+    List<Player> players = getPlayersFrom(board, player);
+    OptionalInt column = ThreatAnalysis.canAnalyse(players)
+        ? getWinningOrBlockingColumn(getThreatCache(players).update(board), players)
+        : getWinningOrBlockingColumn(board, players);
+    if (column.isPresent()) {
+      return column.getAsInt();
     }
 
     List<Integer> possibleColumns = board.getColumnsWithSpareCapacity();
     return possibleColumns.get(random.nextInt(possibleColumns.size()));
   }
 
+  /**
+   * Gets the players in the order that they will next move, starting with the given player. If the
+   * turn order hasn't been supplied, the other players on the board are taken in colour order.
+   * @param board The board.
+   * @param player The player taking their turn.
+   * @return The players, starting with {@code player}.
+   */
+  private List<Player> getPlayersFrom(Board board, Player player) {
+    List<Player> players = new ArrayList<>();
+    if (turnOrder != null && turnOrder.contains(player)) {
+      int index = turnOrder.indexOf(player);
+      for (int i = 0; i < turnOrder.size(); i++) {
+        players.add(turnOrder.get((index + i) % turnOrder.size()));
+      }
+      return players;
+    }
+    players.add(player);
+    board.getAllPlayersOnBoard()
+         .stream()
+         .filter(p -> !p.equals(player))
+         .sorted(Comparator.comparing(Player::getColour))
+         .forEach(players::add);
+    return players;
+  }
+
+  private ThreatCache getThreatCache(List<Player> players) {
+    if (threatCache == null || !threatCache.getPlayers().equals(players)) {
+      // The first turn, or another player has turned up on a board without a turn order
+      threatCache = new ThreatCache(players);
+    }
+    return threatCache;
+  }
+
+  // Wins if possible, or else blocks the first opponent in the list that could win
+  private static OptionalInt getWinningOrBlockingColumn(
+      ThreatAnalysis threats, List<Player> players) {
+    for (Player player : players) {
+      OptionalInt column = threats.getWinningColumn(player);
+      if (column.isPresent()) {
+        return column;
+      }
+    }
+    return OptionalInt.empty();
+  }
+
+  private OptionalInt getWinningOrBlockingColumn(Board board, List<Player> players) {
+    for (Player player : players) {
+      OptionalInt column = getWinningMoveForPlayer(board, player);
+      if (column.isPresent()) {
+        return column;
+      }
+    }
+    return OptionalInt.empty();
+  }
+
   private OptionalInt getWinningMoveForPlayer(Board board, Player player) {
-    return board.getColumnsWithSpareCapacity()
-                .stream()
-                .filter(columnIndex -> isWinningMove(board, player, columnIndex))
-                .mapToInt(Integer::intValue)
-                .findAny();
+    for (int column = 1; column <= board.getWidth(); column++) {
+      if (board.getNumberOfCountersInColumn(column) < board.getHeight()
+          && isWinningMove(board, player, column)) {
+        return OptionalInt.of(column);
+      }
+    }
+    return OptionalInt.empty();
   }
 
   private boolean isWinningMove(Board board, Player player, int column) {
+    if (victoryCondition instanceof ConsecutiveCountersVictoryCondition) {
+      // Only the lines through the new counter can have changed
+      return ((ConsecutiveCountersVictoryCondition) victoryCondition)
+          .isAchievedByPlacing(player, board, column);
+    }
     Board copyOfBoard = board.copy();
     copyOfBoard.placePlayerCounterInColumn(player, column);
     if (victoryCondition.isAchievedForPlayer(player, copyOfBoard)) {
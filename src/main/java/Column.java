@@ -10,17 +10,19 @@ import java.util.stream.Collectors;
 public class Column implements Copyable<Column> {
 
   private final Player[] positions;
+  private int counters;
 
   /**
    * Creates the column with the given height.
    * @param height The height of the board, i.e. the level of columns.
    */
   public Column(int height) {
-    this(new Player[height]);
+    this(new Player[height], 0);
   }
 
-  private Column(Player[] positions) {
+  private Column(Player[] positions, int counters) {
     this.positions = positions;
+    this.counters = counters;
   }
 
   /**
@@ -28,7 +30,16 @@ public class Column implements Copyable<Column> {
    * @return {@code true} if the column is full.
    */
   public boolean isFull() {
-    return Arrays.stream(positions).allMatch(Objects::nonNull);
+    return counters == positions.length;
+  }
+
+  /**
+   * Gets the number of counters in the column. As counters drop to the lowest empty slot, this is
+   * also the index of the slot that the next counter will land in.
+   * @return The number of counters in the column.
+   */
+  public int getNumberOfCounters() {
+    return counters;
   }
 
   /**
@@ -37,13 +48,10 @@ public class Column implements Copyable<Column> {
    * @throws InvalidMoveException Thrown if the column is full.
    */
   public void addCounter(Player owningPlayer) throws InvalidMoveException {
-    for (int i = 0; i < positions.length; i++) {
-      if (positions[i] == null) {
-        positions[i] = owningPlayer;
-        return;
-      }
+    if (counters == positions.length) {
+      throw new InvalidMoveException("No counter can be placed here as the column is full");
     }
-    throw new InvalidMoveException("No counter can be placed here as the column is full");
+    positions[counters++] = owningPlayer;
   }
 
   /**
@@ -74,6 +82,6 @@ public class Column implements Copyable<Column> {
    */
   @Override
   public Column copy() {
-    return new Column(Arrays.copyOf(positions, positions.length));
+    return new Column(Arrays.copyOf(positions, positions.length), counters);
   }
 }
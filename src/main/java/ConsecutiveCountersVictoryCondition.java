@@ -31,6 +31,54 @@ public class ConsecutiveCountersVictoryCondition implements VictoryCondition {
     return consecutiveCountersRequired;
   }
 
+  /**
+   * Determines if the player would achieve this victory condition by placing their counter in the
+   * given column. Only the lines through the cell that the counter would land in are checked, and
+   * the board isn't changed, so this is much cheaper than placing the counter on a copy of the
+   * board and checking the whole board.
+   * @param player The player to check.
+   * @param board The board to check on.
+   * @param columnNumber The column number that the counter would be placed in, starting at 1.
+   * @return {@code true} if placing the counter would make the player victorious, or
+   * {@code false} if it wouldn't or the column is full.
+   * @throws IllegalArgumentException Thrown if {@code columnNumber} is out of bounds.
+   */
+  public boolean isAchievedByPlacing(Player player, Board board, int columnNumber)
+      throws IllegalArgumentException {
+    int rowNumber = board.getNumberOfCountersInColumn(columnNumber) + 1;
+    if (rowNumber > board.getHeight()) {
+      return false;
+    }
+    // Horizontal, vertical, leading diagonal and counterdiagonal
+    int[][] directions = {{0, 1}, {1, 0}, {-1, 1}, {1, 1}};
+    for (int[] direction : directions) {
+      // The new counter, and the player's counters running away from it in both directions
+      int consecutiveCount = 1
+          + countFrom(player, board, rowNumber, columnNumber, direction[0], direction[1])
+          + countFrom(player, board, rowNumber, columnNumber, -direction[0], -direction[1]);
+      if (consecutiveCount >= consecutiveCountersRequired) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  // Counts the player's counters in a line from (but not including) the given position
+  private int countFrom(
+      Player player, Board board, int rowNumber, int columnNumber, int rowStep, int columnStep) {
+    int count = 0;
+    int row = rowNumber + rowStep;
+    int column = columnNumber + columnStep;
+    while (row >= 1 && row <= board.getHeight() && column >= 1 && column <= board.getWidth()
+        && count < consecutiveCountersRequired
+        && board.getOwnerOfCounterAt(row, column).filter(player::equals).isPresent()) {
+      count++;
+      row += rowStep;
+      column += columnStep;
+    }
+    return count;
+  }
+
   @Override
   public boolean isAchievedForPlayer(Player player, Board board) {
     // Check if the player has won on any of the four direction
@@ -127,7 +175,7 @@ public class ConsecutiveCountersVictoryCondition implements VictoryCondition {
       }
     }
 
-    int maxColumn = board.getHeight() - consecutiveCountersRequired + 1;
+    int maxColumn = board.getWidth() - consecutiveCountersRequired + 1;
 
     if (maxColumn >= 2) { // top-left will already have been checked
       // Iterate across top edge
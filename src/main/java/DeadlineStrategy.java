@@ -0,0 +1,235 @@
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * <p>A strategy that makes sure every turn is over by a deadline, by falling back to quicker
+ * strategies when the strategy it wraps is too slow. A turn is taken by the first of these that
+ * manages it (see {@link Tier}):</p>
+ * <ol>
+ *   <li>The wrapped strategy, if it moves within four fifths of the deadline.</li>
+ *   <li>The wrapped strategy playing the best move it has found so far, once it has been
+ *   {@link Interruptible interrupted}, if it moves before the deadline.</li>
+ *   <li>A {@link CheckOneTurnWinConditionStrategy}, which wins or blocks if it can.</li>
+ *   <li>A {@link RandomPlacementStrategy}, if even that fails.</li>
+ * </ol>
+ * <p>This is a synchronous adapter over {@link AIStrategy#chooseColumnAsync(Board, Player,
+ * java.util.concurrent.Executor) chooseColumnAsync}: the wrapped strategy runs on a thread of its
+ * own, on a snapshot of the board, and everything else that it's told (such as the other players'
+ * moves) is passed to it on the same thread. If it's still busy when the deadline passes, its turn
+ * is cancelled; it finishes in the background and whatever it chose is thrown away, and anything
+ * it's told in the meantime waits until it's done.</p>
+ */
+public class DeadlineStrategy implements AIStrategy, TurnOrderAware, Ponderable {
+
+  /**
+   * The strategies that can take a turn, from the strongest to the quickest.
+   */
+  public enum Tier {
+    /**
+     * The wrapped strategy moved in good time.
+     */
+    STRATEGY,
+    /**
+     * The wrapped strategy was asked to stop early, and played the best move it had found.
+     */
+    BEST_SO_FAR,
+    /**
+     * The wrapped strategy didn't move in time, so the player won or blocked if it could, and
+     * otherwise played at random.
+     */
+    WIN_OR_BLOCK,
+    /**
+     * Neither strategy could move, so the player played at random.
+     */
+    RANDOM
+  }
+
+  private final AIStrategy strategy;
+  private final AIStrategy winOrBlockStrategy;
+  private final AIStrategy randomStrategy;
+  private final long deadlineMillis;
+  private final ThreadPoolExecutor executor;
+  private Tier lastTier;
+  private SearchStatistics lastStatistics; // Of the wrapped strategy, if it took the last turn
+
+  /**
+   * Creates a new deadline strategy.
+   * @param strategy The strategy to take the turns when it can. It mustn't be used by anything
+   * else.
+   * @param victoryCondition The victory condition that the quicker strategies work towards.
+   * @param deadlineMillis The longest that a turn should take, in milliseconds.
+   * @throws IllegalArgumentException Thrown if {@code deadlineMillis < 1}.
+   * @throws NullPointerException Thrown if {@code strategy == null} or
+   * {@code victoryCondition == null}.
+   */
+  public DeadlineStrategy(AIStrategy strategy, VictoryCondition victoryCondition,
+      long deadlineMillis) throws IllegalArgumentException, NullPointerException {
+    this(strategy, new CheckOneTurnWinConditionStrategy(victoryCondition),
+        new RandomPlacementStrategy(), deadlineMillis);
+  }
+
+  /**
+   * Creates a new deadline strategy.
+   * @param strategy The strategy to take the turns when it can.
+   * @param winOrBlockStrategy The strategy to take the turn when the wrapped strategy is too slow.
+   * @param randomStrategy The strategy to take the turn when the other strategies fail.
+   * @param deadlineMillis The longest that a turn should take, in milliseconds.
+   * @throws IllegalArgumentException Thrown if {@code deadlineMillis < 1}.
+   * @throws NullPointerException Thrown if any of the strategies are {@code null}.
+   */
+  DeadlineStrategy(AIStrategy strategy, AIStrategy winOrBlockStrategy, AIStrategy randomStrategy,
+      long deadlineMillis) throws IllegalArgumentException, NullPointerException {
+    this.strategy = Objects.requireNonNull(strategy, "Strategy is null");
+    this.winOrBlockStrategy =
+        Objects.requireNonNull(winOrBlockStrategy, "Win or block strategy is null");
+    this.randomStrategy = Objects.requireNonNull(randomStrategy, "Random strategy is null");
+    if (deadlineMillis < 1) {
+      throw new IllegalArgumentException("Turn deadline must be > 0");
+    }
+    this.deadlineMillis = deadlineMillis;
+    this.executor = new ThreadPoolExecutor(1, 1, 1, TimeUnit.SECONDS, new LinkedBlockingQueue<>(),
+        runnable -> {
+          Thread thread = new Thread(runnable, "turn");
+          // Don't keep the program running for a turn that has been given up on
+          thread.setDaemon(true);
+          return thread;
+        });
+    // The thread isn't kept waiting for a game that was abandoned before it ended
+    executor.allowCoreThreadTimeOut(true);
+  }
+
+  @Override
+  public void setTurnOrder(List<Player> playersInTurnOrder) {
+    if (winOrBlockStrategy instanceof TurnOrderAware) {
+      ((TurnOrderAware) winOrBlockStrategy).setTurnOrder(playersInTurnOrder);
+    }
+    if (strategy instanceof TurnOrderAware) {
+      executor.execute(() -> ((TurnOrderAware) strategy).setTurnOrder(playersInTurnOrder));
+    }
+  }
+
+  @Override
+  public void onGameStart(List<Player> playersInTurnOrder) {
+    winOrBlockStrategy.onGameStart(playersInTurnOrder);
+    randomStrategy.onGameStart(playersInTurnOrder);
+    executor.execute(() -> strategy.onGameStart(playersInTurnOrder));
+  }
+
+  @Override
+  public void onOpponentMoved(Board board, Player opponent) {
+    winOrBlockStrategy.onOpponentMoved(board, opponent);
+    randomStrategy.onOpponentMoved(board, opponent);
+    Board copy = board.copy();
+    executor.execute(() -> strategy.onOpponentMoved(copy, opponent));
+  }
+
+  @Override
+  public void onGameEnd(Board board) {
+    winOrBlockStrategy.onGameEnd(board);
+    randomStrategy.onGameEnd(board);
+    Board copy = board.copy();
+    executor.execute(() -> strategy.onGameEnd(copy));
+    // The thread finishes once it has told the strategy
+    executor.shutdown();
+  }
+
+  @Override
+  public void takeTurn(Board board, Player player) {
+    long startNanos = System.nanoTime();
+    long deadlineNanos = startNanos + TimeUnit.MILLISECONDS.toNanos(deadlineMillis);
+    long interruptNanos = deadlineNanos - TimeUnit.MILLISECONDS.toNanos(deadlineMillis) / 5;
+    lastStatistics = null;
+
+    CompletableFuture<Integer> turn = strategy.chooseColumnAsync(board, player, executor);
+    Tier tier = Tier.STRATEGY;
+    int columnNumber = awaitTurn(turn, interruptNanos);
+    if (columnNumber < 0) {
+      tier = Tier.BEST_SO_FAR;
+      if (strategy instanceof Interruptible) {
+        ((Interruptible) strategy).interruptTurn();
+      }
+      columnNumber = awaitTurn(turn, deadlineNanos);
+    }
+    if (columnNumber > 0) {
+      // The strategy has finished its turn, so nothing else is using it
+      lastStatistics = strategy.getLastSearchStatistics().orElse(null);
+      board.placePlayerCounterInColumn(player, columnNumber);
+      lastTier = tier;
+      return;
+    }
+
+    // Give up on the strategy, which is asked to stop if it has already started
+    turn.cancel(true);
+    try {
+      winOrBlockStrategy.takeTurn(board, player);
+      lastTier = Tier.WIN_OR_BLOCK;
+    } catch (RuntimeException e) {
+      randomStrategy.takeTurn(board, player);
+      lastTier = Tier.RANDOM;
+    }
+  }
+
+  /**
+   * Waits until the wrapped strategy has moved or the time is up.
+   * @param turn The wrapped strategy's turn.
+   * @param untilNanos The time to wait until, in terms of {@link System#nanoTime()}.
+   * @return The column number that the strategy chose, or {@code -1} if it didn't choose one in
+   * time.
+   */
+  private static int awaitTurn(CompletableFuture<Integer> turn, long untilNanos) {
+    try {
+      return turn.get(untilNanos - System.nanoTime(), TimeUnit.NANOSECONDS);
+    } catch (TimeoutException | ExecutionException e) {
+      // A strategy that failed is no better than one that ran out of time
+      return -1;
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return -1;
+    }
+  }
+
+  @Override
+  public Optional<SearchStatistics> getLastSearchStatistics() {
+    return Optional.ofNullable(lastStatistics);
+  }
+
+  /**
+   * Gets which strategy took the last turn.
+   * @return The tier of the strategy that took the last turn, or an empty {@link Optional} if no
+   * turn has been taken.
+   */
+  public Optional<Tier> getLastTier() {
+    return Optional.ofNullable(lastTier);
+  }
+
+  @Override
+  public void startPondering(Board board, Player player) {
+    if (strategy instanceof Ponderable) {
+      Board copy = board.copy();
+      executor.execute(() -> ((Ponderable) strategy).startPondering(copy, player));
+    }
+  }
+
+  @Override
+  public void stopPondering() {
+    // Pondering stops before anything else the strategy is asked to do, so there's no need to wait
+    if (strategy instanceof Ponderable) {
+      executor.execute(((Ponderable) strategy)::stopPondering);
+    }
+  }
+
+  /**
+   * Gets the longest that a turn should take.
+   * @return The deadline in milliseconds.
+   */
+  public long getDeadlineMillis() {
+    return deadlineMillis;
+  }
+}
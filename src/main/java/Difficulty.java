@@ -1,4 +1,6 @@
-import java.util.function.Function;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.BiFunction;
 
 /**
  * A difficulty that the AI can be set to. Each difficulty selects an appropriate strategy given
@@ -9,16 +11,84 @@ import java.util.function.Function;
 public class Difficulty {
 
   public static Difficulty EASY =
-      new Difficulty("Easy", victoryConditions -> new RandomPlacementStrategy());
+      new Difficulty(
+          "Easy",
+          (victoryCondition, settings) -> new RandomPlacementStrategy(),
+          SearchSettings.defaults()
+      );
   public static Difficulty MODERATE =
-      new Difficulty("Moderate", CheckOneTurnWinConditionStrategy::new);
+      new Difficulty(
+          "Moderate",
+          (victoryCondition, settings) -> new CheckOneTurnWinConditionStrategy(victoryCondition),
+          SearchSettings.defaults()
+      );
+  public static Difficulty HARD =
+      new Difficulty(
+          "Hard",
+          (victoryCondition, settings) ->
+              new AlphaBetaStrategy(
+                  settings,
+                  new MultiPlayerSearchStrategy(
+                      settings, new CheckOneTurnWinConditionStrategy(victoryCondition))),
+          SearchSettings.defaults()
+      );
+  public static Difficulty EXPERT =
+      new Difficulty(
+          "Expert",
+          (victoryCondition, settings) -> {
+            // Spend a quarter of the time looking for a forced win, and the rest on playouts
+            long proofTimeMillis = Math.max(1, settings.getTimeLimitMillis() / 4);
+            return new ProofNumberSearchStrategy(
+                settings.toBuilder().setTimeLimitMillis(proofTimeMillis).build(),
+                new MonteCarloTreeSearchStrategy(
+                    settings.toBuilder()
+                        .setTimeLimitMillis(
+                            Math.max(1, settings.getTimeLimitMillis() - proofTimeMillis))
+                        .build(),
+                    new CheckOneTurnWinConditionStrategy(victoryCondition)));
+          },
+          SearchSettings.defaults()
+      );
+  public static Difficulty PERFECT =
+      new Difficulty(
+          "Perfect",
+          (victoryCondition, settings) ->
+              new PerfectPlayStrategy(
+                  settings,
+                  // The solver's table is much larger than a search needs
+                  HARD.strategyFunction.apply(
+                      victoryCondition,
+                      settings.toBuilder()
+                          .setTranspositionTableEntries(
+                              SearchSettings.defaults().getTranspositionTableEntries())
+                          .build())),
+          SearchSettings.builder().setTranspositionTableEntries(1 << 23).build()
+      );
 
   private final String name;
-  private final Function<VictoryCondition, AIStrategy> strategyFunction;
+  private final BiFunction<VictoryCondition, SearchSettings, AIStrategy> strategyFunction;
+  private final SearchSettings searchSettings;
+  private final OpeningBook openingBook;
+  private final Tablebase tablebase;
 
-  private Difficulty(String name, Function<VictoryCondition, AIStrategy> strategyFunction) {
+  private Difficulty(
+      String name,
+      BiFunction<VictoryCondition, SearchSettings, AIStrategy> strategyFunction,
+      SearchSettings searchSettings) {
+    this(name, strategyFunction, searchSettings, null, null);
+  }
+
+  private Difficulty(
+      String name,
+      BiFunction<VictoryCondition, SearchSettings, AIStrategy> strategyFunction,
+      SearchSettings searchSettings,
+      OpeningBook openingBook,
+      Tablebase tablebase) {
     this.name = name;
     this.strategyFunction = strategyFunction;
+    this.searchSettings = searchSettings;
+    this.openingBook = openingBook;
+    this.tablebase = tablebase;
   }
 
   /**
@@ -29,13 +99,93 @@ public class Difficulty {
     return name;
   }
 
+  /**
+   * Gets the resources that the strategies of this difficulty may use when searching for a move.
+   * These are ignored by difficulties that don't search.
+   * @return The search settings.
+   */
+  public SearchSettings getSearchSettings() {
+    return searchSettings;
+  }
+
+  /**
+   * Creates a copy of this difficulty whose strategies use the given search settings.
+   * @param searchSettings The search settings.
+   * @return A difficulty with the same name and strategies, but the given search settings.
+   * @throws NullPointerException Thrown if {@code searchSettings == null}.
+   */
+  public Difficulty withSearchSettings(SearchSettings searchSettings)
+      throws NullPointerException {
+    return new Difficulty(
+        name,
+        strategyFunction,
+        Objects.requireNonNull(searchSettings, "Search settings are null"),
+        openingBook,
+        tablebase
+    );
+  }
+
+  /**
+   * Gets the book that computer players of this difficulty play from in the opening, before
+   * their strategy is consulted.
+   * @return The opening book, or an empty optional if there isn't one.
+   */
+  public Optional<OpeningBook> getOpeningBook() {
+    return Optional.ofNullable(openingBook);
+  }
+
+  /**
+   * Creates a copy of this difficulty that plays from the given opening book.
+   * @param openingBook The opening book.
+   * @return A difficulty with the same name, strategies and search settings, but the given
+   * opening book.
+   * @throws NullPointerException Thrown if {@code openingBook == null}.
+   */
+  public Difficulty withOpeningBook(OpeningBook openingBook) throws NullPointerException {
+    return new Difficulty(
+        name,
+        strategyFunction,
+        searchSettings,
+        Objects.requireNonNull(openingBook, "Opening book is null"),
+        tablebase
+    );
+  }
+
+  /**
+   * Gets the tablebase that computer players of this difficulty look their moves up in, before
+   * their strategy is consulted.
+   * @return The tablebase, or an empty optional if there isn't one.
+   */
+  public Optional<Tablebase> getTablebase() {
+    return Optional.ofNullable(tablebase);
+  }
+
+  /**
+   * Creates a copy of this difficulty that looks its moves up in the given tablebase, in games
+   * that the tablebase was generated for.
+   * @param tablebase The tablebase.
+   * @return A difficulty with the same name, strategies, search settings and opening book, but
+   * the given tablebase.
+   * @throws NullPointerException Thrown if {@code tablebase == null}.
+   */
+  public Difficulty withTablebase(Tablebase tablebase) throws NullPointerException {
+    return new Difficulty(
+        name,
+        strategyFunction,
+        searchSettings,
+        openingBook,
+        Objects.requireNonNull(tablebase, "Tablebase is null")
+    );
+  }
+
   /**
    * Gets the AI strategy that should be used given the specified victory condition.
    * @param victoryCondition The victory condition that the AI strategy should work towards.
    * @return The appropriate strategy for this difficulty level.
    */
   public AIStrategy getStrategy(VictoryCondition victoryCondition) {
-    return strategyFunction.apply(victoryCondition);
+    AIStrategy strategy = strategyFunction.apply(victoryCondition, searchSettings);
+    return tablebase == null ? strategy : new TablebaseStrategy(tablebase, strategy);
   }
 
   /**
@@ -53,6 +203,15 @@ public class Difficulty {
     if (MODERATE.name.equalsIgnoreCase(name)) {
       return MODERATE;
     }
+    if (HARD.name.equalsIgnoreCase(name)) {
+      return HARD;
+    }
+    if (EXPERT.name.equalsIgnoreCase(name)) {
+      return EXPERT;
+    }
+    if (PERFECT.name.equalsIgnoreCase(name)) {
+      return PERFECT;
+    }
     throw new IllegalArgumentException("No difficulty found with the name " + name);
   }
 
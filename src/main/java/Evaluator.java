@@ -0,0 +1,49 @@
+/**
+ * <p>Scores positions at the horizon of a search, giving every player a score that is higher the
+ * better their position looks. An evaluator is attached to a {@link SearchBoard} (see
+ * {@link SearchBoard#setEvaluator(Evaluator)}), which tells it about every counter that is placed
+ * or removed, so an evaluator can keep its scores up to date as the search plays and undoes moves
+ * rather than working them out from scratch for every position.</p>
+ * <p>Scores must only depend on the position, not on the order that its counters were placed in,
+ * as searches store them in transposition tables. An evaluator is only ever attached to one board,
+ * and is not thread-safe.</p>
+ */
+public interface Evaluator {
+
+  /**
+   * Works out the scores of a board from scratch. This is called when the evaluator is attached
+   * to the board.
+   * @param board The board.
+   */
+  void reset(SearchBoard board);
+
+  /**
+   * Updates the scores after a counter has been placed on the board.
+   * @param column The column index (starting at 0) of the counter.
+   * @param row The row index (starting at 0) of the counter.
+   * @param seat The seat that the counter belongs to.
+   */
+  void counterPlaced(int column, int row, int seat);
+
+  /**
+   * Updates the scores after a counter has been removed from the board.
+   * @param column The column index (starting at 0) of the counter.
+   * @param row The row index (starting at 0) of the counter.
+   * @param seat The seat that the counter belonged to.
+   */
+  void counterRemoved(int column, int row, int seat);
+
+  /**
+   * Gets the score of a player in the current position.
+   * @param seat The seat of the player.
+   * @return The player's score. This is never negative.
+   */
+  long getScore(int seat);
+
+  /**
+   * Creates a new evaluator of the same kind, which isn't attached to any board. This is used to
+   * give each board (and each copy of a board) its own evaluator.
+   * @return A new evaluator.
+   */
+  Evaluator newEvaluator();
+}
@@ -0,0 +1,115 @@
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * <p>Measures how quickly {@link Evaluator}s score positions as they are played and undone, the
+ * way that a search uses them. Every evaluator plays the same random games from the empty board,
+ * reading every player's score after each move and undoing the game once it is over, so the
+ * evaluators can be compared with one another.</p>
+ * <p>The benchmark can be run from the command line:</p>
+ * <pre><code>java EvaluatorBenchmark width height players counters [games]</code></pre>
+ */
+public class EvaluatorBenchmark {
+
+  private final SearchBoard emptyBoard;
+  private final int games;
+  private long checksum; // Keeps the scores in use, so reading them can't be optimised away
+
+  /**
+   * Creates a new benchmark.
+   * @param emptyBoard The empty board to play the games on. This is copied for each evaluator.
+   * @param games The number of random games to play.
+   * @throws IllegalArgumentException Thrown if {@code games < 1}.
+   */
+  public EvaluatorBenchmark(SearchBoard emptyBoard, int games) throws IllegalArgumentException {
+    if (games < 1) {
+      throw new IllegalArgumentException("Number of games must be > 0");
+    }
+    this.emptyBoard = emptyBoard;
+    this.games = games;
+  }
+
+  /**
+   * Plays the games with an evaluator attached to the board.
+   * @param evaluator The evaluator to benchmark. It is attached to a copy of the board.
+   * @return The average time taken to play or undo a move and read the scores, in nanoseconds.
+   */
+  public double run(Evaluator evaluator) {
+    SearchBoard board = emptyBoard.copy();
+    board.setEvaluator(evaluator);
+    // Every evaluator plays the same games
+    SplittableRandom random = new SplittableRandom(0);
+    int[] columns = new int[board.getWidth()];
+    long positions = 0;
+    long startNanos = System.nanoTime();
+    for (int game = 0; game < games; game++) {
+      boolean won = false;
+      while (!won && !board.isFull()) {
+        int count = 0;
+        for (int column = 0; column < board.getWidth(); column++) {
+          if (board.canPlay(column)) {
+            columns[count++] = column;
+          }
+        }
+        int column = columns[random.nextInt(count)];
+        won = board.isWinningMove(board.getSeatToMove(), column);
+        board.play(column);
+        checksum += readScores(board, evaluator);
+        positions++;
+      }
+      while (board.getNumberOfMoves() > 0) {
+        board.undo();
+        checksum += readScores(board, evaluator);
+        positions++;
+      }
+    }
+    return (double) (System.nanoTime() - startNanos) / positions;
+  }
+
+  private static long readScores(SearchBoard board, Evaluator evaluator) {
+    long sum = 0;
+    for (int seat = 0; seat < board.getNumberOfSeats(); seat++) {
+      sum += evaluator.getScore(seat);
+    }
+    return sum;
+  }
+
+  /**
+   * Benchmarks the evaluators from the command line arguments. See {@link EvaluatorBenchmark} for
+   * details.
+   * @param args The command line arguments.
+   */
+  public static void main(String[] args) {
+    if (args.length < 4) {
+      System.out.println("Usage: java EvaluatorBenchmark width height players counters [games]");
+      return;
+    }
+    try {
+      Dimensions dimensions =
+          new Dimensions(Integer.parseInt(args[0]), Integer.parseInt(args[1]));
+      int numberOfPlayers = Integer.parseInt(args[2]);
+      VictoryCondition victoryCondition =
+          new ConsecutiveCountersVictoryCondition(Integer.parseInt(args[3]));
+      List<Player> players = new ArrayList<>(numberOfPlayers);
+      for (int i = 0; i < numberOfPlayers; i++) {
+        players.add(new AIPlayer(PlayerColour.values()[i], victoryCondition, Difficulty.HARD));
+      }
+      int games = args.length > 4 ? Integer.parseInt(args[4]) : 10_000;
+      EvaluatorBenchmark benchmark =
+          new EvaluatorBenchmark(SearchBoard.empty(dimensions, players), games);
+      Evaluator[] evaluators = {new WindowEvaluator(), new ScanningEvaluator()};
+      // Run each evaluator once to warm up the JIT compiler, then again to time it
+      for (Evaluator evaluator : evaluators) {
+        benchmark.run(evaluator.newEvaluator());
+      }
+      for (Evaluator evaluator : evaluators) {
+        System.out.printf("%s: %.1f ns per move%n",
+            evaluator.getClass().getSimpleName(), benchmark.run(evaluator.newEvaluator()));
+      }
+    } catch (RuntimeException e) {
+      // Don't print an ugly stacktrace - the exception message should contain relevant details
+      System.out.println(e.getMessage());
+    }
+  }
+}
@@ -1,6 +1,10 @@
+import java.io.IOException;
+import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Properties;
 import java.util.stream.Collectors;
@@ -41,11 +45,94 @@ import java.util.stream.IntStream;
  *   </tr>
  *   <tr>
  *     <td>{@code players.ai.difficulty}</td>
- *     <td>{@code EASY} or {@code MODERATE}</td>
+ *     <td>{@code EASY}, {@code MODERATE}, {@code HARD}, {@code EXPERT} or {@code PERFECT}</td>
  *     <td>The default difficulty for the computer players. This defaults to {@code MODERATE} if not
  *     specified.</td>
  *   </tr>
  *   <tr>
+ *     <td>{@code players.ai.threads}</td>
+ *     <td>Integer &gt; 0</td>
+ *     <td>The default number of threads that each computer player may search with. Only applies
+ *     to difficulties that search ahead, i.e. {@code HARD} and {@code EXPERT}. This defaults to 1
+ *     if not specified.</td>
+ *   </tr>
+ *   <tr>
+ *     <td>{@code players.ai.search}</td>
+ *     <td>{@code PARANOID} or {@code MAX_N}</td>
+ *     <td>How the {@code HARD} computer players search games between three or more players:
+ *     assuming that everyone else is working against them, or that every player is playing for
+ *     themselves. This defaults to {@code PARANOID} if not specified.</td>
+ *   </tr>
+ *   <tr>
+ *     <td>{@code players.ai.ponder}</td>
+ *     <td>{@code true} or {@code false}</td>
+ *     <td>Whether the computer players carry on thinking while a human player takes their turn,
+ *     so that they can reply sooner. Only applies to {@code HARD} players in two-player games. This
+ *     defaults to {@code true} if not specified.</td>
+ *   </tr>
+ *   <tr>
+ *     <td>{@code players.ai.statistics}</td>
+ *     <td>{@code true} or {@code false}</td>
+ *     <td>Whether the computer players print what each search cost after they move: the depth
+ *     reached, the positions visited and how quickly, the transposition table hit rate, the
+ *     cutoff rates and the effective branching factor. The same statistics are always published
+ *     through JMX (see {@link SearchStatisticsMonitor}). This defaults to {@code false} if not
+ *     specified.</td>
+ *   </tr>
+ *   <tr>
+ *     <td>{@code players.ai.nodes}</td>
+ *     <td>Integer &gt; 0</td>
+ *     <td>The number of positions that the computer players may search each move, so that they
+ *     play the same way however fast the machine is. The time limit still applies. If not
+ *     specified, the computer players search until their time is up.</td>
+ *   </tr>
+ *   <tr>
+ *     <td>{@code players.ai.deadline}</td>
+ *     <td>Integer &gt; 0</td>
+ *     <td>The longest, in milliseconds, that a computer player's turn may take. A player whose
+ *     strategy is too slow plays the best move it has found so far, or else wins or blocks if it
+ *     can (see {@link DeadlineStrategy}). If not specified, turns take as long as the strategy
+ *     needs.</td>
+ *   </tr>
+ *   <tr>
+ *     <td>{@code players.ai.calibrate}</td>
+ *     <td>{@code true} or {@code false}</td>
+ *     <td>Whether to measure how quickly this machine searches when the game starts, and give
+ *     every computer player a budget of positions in place of their time limit (see
+ *     {@link SearchCalibration}), so that each difficulty is as strong on every machine. This
+ *     defaults to {@code false} if not specified.</td>
+ *   </tr>
+ *   <tr>
+ *     <td>{@code players.ai.book}</td>
+ *     <td>Path to a file</td>
+ *     <td>An opening book (see {@link OpeningBookBuilder}) that the computer players play from
+ *     while the position is in the book. The book is only used if it was built for the same board
+ *     and players as the game. If not specified, the computer players search every move.</td>
+ *   </tr>
+ *   <tr>
+ *     <td>{@code players.ai.tablebase}</td>
+ *     <td>Path to a file</td>
+ *     <td>A tablebase (see {@link TablebaseGenerator}) that the computer players look their moves
+ *     up in, playing perfectly. The tablebase is only used in two-player games on the board that
+ *     it was generated for. If not specified, the computer players search every move.</td>
+ *   </tr>
+ *   <tr>
+ *     <td>{@code players.ai.network}</td>
+ *     <td>Path to a file</td>
+ *     <td>An n-tuple network (see {@link NTupleTrainer}) that the computer players evaluate
+ *     positions with when they search. The network is only used on the board and with the players
+ *     that it was trained for. If not specified, positions are evaluated by counting the lines
+ *     that the players can still complete.</td>
+ *   </tr>
+ *   <tr>
+ *     <td>{@code players.ai.table}</td>
+ *     <td>Path to a directory</td>
+ *     <td>A directory of transposition tables (see {@link TranspositionTableStore}) that the
+ *     computer players search with, so that what they learn carries on into later games and
+ *     later runs. Only applies to {@code HARD} players in two-player games. If not specified, each
+ *     game starts with an empty table.</td>
+ *   </tr>
+ *   <tr>
  *     <td>{@code playerX.colour} where {@code X} should be replaced by the player number.</td>
  *     <td>{@code RED}, {@code YELLOW}, {@code BLUE}, {@code GREEN}, {@code PURPLE}, {@code ORANGE},
  *     {@code CYAN} or {@code WHITE}.</td>
@@ -64,11 +151,74 @@ import java.util.stream.IntStream;
  *   <tr>
  *     <td>{@code playerX.ai.difficulty} where {@code X} should be replaced by the player number.
  *     </td>
- *     <td>{@code EASY} or {@code MODERATE}</td>
+ *     <td>{@code EASY}, {@code MODERATE}, {@code HARD}, {@code EXPERT} or {@code PERFECT}</td>
  *     <td>The difficulty of the player, overriding the default value. This only applies if the
  *     player is a computer player.</td>
  *   </tr>
  *   <tr>
+ *     <td>{@code playerX.ai.threads} where {@code X} should be replaced by the player number.</td>
+ *     <td>Integer &gt; 0</td>
+ *     <td>The number of threads that the player may search with, overriding the default value.
+ *     This only applies if the player is a computer player.</td>
+ *   </tr>
+ *   <tr>
+ *     <td>{@code playerX.ai.search} where {@code X} should be replaced by the player number.</td>
+ *     <td>{@code PARANOID} or {@code MAX_N}</td>
+ *     <td>How the player searches games between three or more players, overriding the default
+ *     value. This only applies if the player is a computer player.</td>
+ *   </tr>
+ *   <tr>
+ *     <td>{@code playerX.ai.ponder} where {@code X} should be replaced by the player number.</td>
+ *     <td>{@code true} or {@code false}</td>
+ *     <td>Whether the player thinks during human players' turns, overriding the default value.
+ *     This only applies if the player is a computer player.</td>
+ *   </tr>
+ *   <tr>
+ *     <td>{@code playerX.ai.statistics} where {@code X} should be replaced by the player number.
+ *     </td>
+ *     <td>{@code true} or {@code false}</td>
+ *     <td>Whether the player prints what each search cost, overriding the default value. This
+ *     only applies if the player is a computer player.</td>
+ *   </tr>
+ *   <tr>
+ *     <td>{@code playerX.ai.nodes} where {@code X} should be replaced by the player number.</td>
+ *     <td>Integer &gt; 0</td>
+ *     <td>The number of positions that the player may search each move, overriding the default
+ *     value. This only applies if the player is a computer player.</td>
+ *   </tr>
+ *   <tr>
+ *     <td>{@code playerX.ai.deadline} where {@code X} should be replaced by the player number.
+ *     </td>
+ *     <td>Integer &gt; 0</td>
+ *     <td>The longest that the player's turn may take, overriding the default value. This only
+ *     applies if the player is a computer player.</td>
+ *   </tr>
+ *   <tr>
+ *     <td>{@code playerX.ai.book} where {@code X} should be replaced by the player number.</td>
+ *     <td>Path to a file</td>
+ *     <td>The opening book that the player plays from, overriding the default value. This only
+ *     applies if the player is a computer player.</td>
+ *   </tr>
+ *   <tr>
+ *     <td>{@code playerX.ai.tablebase} where {@code X} should be replaced by the player number.
+ *     </td>
+ *     <td>Path to a file</td>
+ *     <td>The tablebase that the player looks their moves up in, overriding the default value.
+ *     This only applies if the player is a computer player.</td>
+ *   </tr>
+ *   <tr>
+ *     <td>{@code playerX.ai.network} where {@code X} should be replaced by the player number.</td>
+ *     <td>Path to a file</td>
+ *     <td>The n-tuple network that the player evaluates positions with, overriding the default
+ *     value. This only applies if the player is a computer player.</td>
+ *   </tr>
+ *   <tr>
+ *     <td>{@code playerX.ai.table} where {@code X} should be replaced by the player number.</td>
+ *     <td>Path to a directory</td>
+ *     <td>The directory of transposition tables that the player searches with, overriding the
+ *     default value. This only applies if the player is a computer player.</td>
+ *   </tr>
+ *   <tr>
  *     <td>{@code playerX.victory.counters} where {@code X} should be replaced by the player number.
  *     </td>
  *     <td>Integer &gt; 0</td>
@@ -88,6 +238,30 @@ public class GameConfig {
   private static final String PLAYER_AI_SUFFIX = ".ai";
   private static final String PLAYER_AI_DIFFICULTY_SUFFIX = '.' + AI_DIFFICULTY_KEY;
   private static final String PLAYER_VICTORY_COUNTERS_SUFFIX = ".victory.counters";
+  private static final String AI_THREADS_KEY = "players.ai.threads";
+  private static final String PLAYER_AI_THREADS_SUFFIX = ".ai.threads";
+  private static final String AI_SEARCH_KEY = "players.ai.search";
+  private static final String PLAYER_AI_SEARCH_SUFFIX = ".ai.search";
+  private static final String AI_PONDER_KEY = "players.ai.ponder";
+  private static final String PLAYER_AI_PONDER_SUFFIX = ".ai.ponder";
+  private static final String AI_STATISTICS_KEY = "players.ai.statistics";
+  private static final String PLAYER_AI_STATISTICS_SUFFIX = ".ai.statistics";
+  private static final String AI_NODES_KEY = "players.ai.nodes";
+  private static final String PLAYER_AI_NODES_SUFFIX = ".ai.nodes";
+  private static final String AI_DEADLINE_KEY = "players.ai.deadline";
+  private static final String PLAYER_AI_DEADLINE_SUFFIX = ".ai.deadline";
+  private static final String AI_CALIBRATE_KEY = "players.ai.calibrate";
+  private static final String AI_BOOK_KEY = "players.ai.book";
+  private static final String PLAYER_AI_BOOK_SUFFIX = ".ai.book";
+  private static final String AI_TABLEBASE_KEY = "players.ai.tablebase";
+  private static final String PLAYER_AI_TABLEBASE_SUFFIX = ".ai.tablebase";
+  private static final String AI_NETWORK_KEY = "players.ai.network";
+  private static final String PLAYER_AI_NETWORK_SUFFIX = ".ai.network";
+  private static final String AI_TABLE_KEY = "players.ai.table";
+  private static final String PLAYER_AI_TABLE_SUFFIX = ".ai.table";
+
+  // How long the search speed is measured for when calibrating
+  private static final long CALIBRATION_MILLIS = 500;
 
   private final BoardConfiguration boardConfiguration;
   private final List<PlayerConfiguration> playerConfigurations;
@@ -292,6 +466,19 @@ public class GameConfig {
     // that they should all be computer.
     int numberOfHumanPlayers = 0;
 
+    // Opening books, tablebases, networks and tables are opened once, however many players use
+    // them
+    Map<String, OpeningBook> openingBooks = new HashMap<>();
+    Map<String, Tablebase> tablebases = new HashMap<>();
+    Map<String, NTupleNetwork> networks = new HashMap<>();
+    Map<String, TranspositionTableStore> tableStores = new HashMap<>();
+
+    // The machine is only measured once, and only if asked to be
+    Optional<SearchCalibration> calibration =
+        propertiesReader.getBoolean(AI_CALIBRATE_KEY).orElse(false)
+            ? Optional.of(SearchCalibration.measure(CALIBRATION_MILLIS))
+            : Optional.empty();
+
     // Loop through each player, updating the available colours and the number of human players
     for (int playerNumber = 1; playerNumber < configBuilders.size(); playerNumber++) {
       PlayerConfiguration.Builder configBuilder = configBuilders.get(playerNumber-1);
@@ -313,7 +500,8 @@ public class GameConfig {
     }
 
     // Complete the player configurations, adding a colour and difficulty etc
-    for (PlayerConfiguration.Builder configBuilder : configBuilders) {
+    for (int playerNumber = 1; playerNumber <= configBuilders.size(); playerNumber++) {
+      PlayerConfiguration.Builder configBuilder = configBuilders.get(playerNumber-1);
       // Always endeavour to have at least one human player, unless specified by config
       if (numberOfHumanPlayers == 0 && configBuilder.getComputerPlayer() == null) {
         configBuilder.setComputerPlayer(false);
@@ -325,6 +513,16 @@ public class GameConfig {
       if (configBuilder.getDifficulty() == null) {
         configBuilder.setDifficulty(defaultDifficulty);
       }
+      applySearchSettings(configBuilder, playerNumber, propertiesReader);
+      calibration.ifPresent(searchCalibration -> {
+        Difficulty difficulty = configBuilder.getDifficulty();
+        configBuilder.setDifficulty(difficulty.withSearchSettings(
+            searchCalibration.calibrate(difficulty.getSearchSettings())));
+      });
+      applyOpeningBook(configBuilder, playerNumber, propertiesReader, openingBooks);
+      applyTablebase(configBuilder, playerNumber, propertiesReader, tablebases);
+      applyNetwork(configBuilder, playerNumber, propertiesReader, networks);
+      applyTableStore(configBuilder, playerNumber, propertiesReader, tableStores);
       if (configBuilder.getColour() == null) {
         configBuilder.setColour(availableColours.remove(0));
       }
@@ -336,6 +534,214 @@ public class GameConfig {
         .collect(Collectors.toList());
   }
 
+  /**
+   * Sets the resources that the player's difficulty may search with, if specified for the player
+   * or as a default for all players.
+   * @param configBuilder The player's configuration. The difficulty must already be set.
+   * @param playerNumber The player number (player 1 is the first player).
+   * @param propertiesReader The instance used to read values from the properties file.
+   * @throws RuntimeException Thrown if the number of threads or positions or the deadline is not a
+   * positive integer, or the multi-player search isn't recognised.
+   */
+  private void applySearchSettings(
+      PlayerConfiguration.Builder configBuilder,
+      int playerNumber,
+      PropertiesReader propertiesReader) throws RuntimeException {
+    String playerPrefix = "player" + playerNumber;
+    Optional<Integer> threads =
+        propertiesReader
+            .getInteger(playerPrefix + PLAYER_AI_THREADS_SUFFIX)
+            .or(() -> propertiesReader.getInteger(AI_THREADS_KEY));
+    Optional<SearchSettings.MultiPlayerSearch> multiPlayerSearch =
+        getMultiPlayerSearch(playerPrefix + PLAYER_AI_SEARCH_SUFFIX, propertiesReader)
+            .or(() -> getMultiPlayerSearch(AI_SEARCH_KEY, propertiesReader));
+    Optional<Boolean> pondering =
+        propertiesReader
+            .getBoolean(playerPrefix + PLAYER_AI_PONDER_SUFFIX)
+            .or(() -> propertiesReader.getBoolean(AI_PONDER_KEY));
+    Optional<Boolean> reportingStatistics =
+        propertiesReader
+            .getBoolean(playerPrefix + PLAYER_AI_STATISTICS_SUFFIX)
+            .or(() -> propertiesReader.getBoolean(AI_STATISTICS_KEY));
+    Optional<Long> maximumNodes =
+        propertiesReader
+            .get(playerPrefix + PLAYER_AI_NODES_SUFFIX, Long::valueOf)
+            .or(() -> propertiesReader.get(AI_NODES_KEY, Long::valueOf));
+    Optional<Integer> turnDeadlineMillis =
+        propertiesReader
+            .getInteger(playerPrefix + PLAYER_AI_DEADLINE_SUFFIX)
+            .or(() -> propertiesReader.getInteger(AI_DEADLINE_KEY));
+    if (threads.isEmpty() && multiPlayerSearch.isEmpty() && pondering.isEmpty()
+        && reportingStatistics.isEmpty() && maximumNodes.isEmpty()
+        && turnDeadlineMillis.isEmpty()) {
+      return;
+    }
+    if (threads.isPresent() && threads.get() < 1) {
+      throw new InvalidConfigurationException("Number of AI search threads must be > 0");
+    }
+    if (maximumNodes.isPresent() && maximumNodes.get() < 1) {
+      throw new InvalidConfigurationException("Number of AI search positions must be > 0");
+    }
+    if (turnDeadlineMillis.isPresent() && turnDeadlineMillis.get() < 1) {
+      throw new InvalidConfigurationException("AI turn deadline must be > 0");
+    }
+    Difficulty difficulty = configBuilder.getDifficulty();
+    SearchSettings.Builder settingsBuilder = difficulty.getSearchSettings().toBuilder();
+    threads.ifPresent(settingsBuilder::setThreads);
+    multiPlayerSearch.ifPresent(settingsBuilder::setMultiPlayerSearch);
+    pondering.ifPresent(settingsBuilder::setPondering);
+    reportingStatistics.ifPresent(settingsBuilder::setReportingStatistics);
+    maximumNodes.ifPresent(settingsBuilder::setMaximumNodes);
+    turnDeadlineMillis.ifPresent(settingsBuilder::setTurnDeadlineMillis);
+    configBuilder.setDifficulty(difficulty.withSearchSettings(settingsBuilder.build()));
+  }
+
+  /**
+   * Sets the opening book that the player's difficulty plays from, if specified for the player or
+   * as a default for all players.
+   * @param configBuilder The player's configuration. The difficulty must already be set.
+   * @param playerNumber The player number (player 1 is the first player).
+   * @param propertiesReader The instance used to read values from the properties file.
+   * @param openingBooks The books that have already been opened, keyed by path. Any book opened
+   * by this method is added.
+   * @throws RuntimeException Thrown if the opening book can't be opened.
+   */
+  private void applyOpeningBook(
+      PlayerConfiguration.Builder configBuilder,
+      int playerNumber,
+      PropertiesReader propertiesReader,
+      Map<String, OpeningBook> openingBooks) throws RuntimeException {
+    Optional<String> path =
+        propertiesReader
+            .getString("player" + playerNumber + PLAYER_AI_BOOK_SUFFIX)
+            .or(() -> propertiesReader.getString(AI_BOOK_KEY));
+    if (path.isEmpty()) {
+      return;
+    }
+    OpeningBook openingBook = openingBooks.get(path.get());
+    if (openingBook == null) {
+      try {
+        openingBook = OpeningBook.open(Paths.get(path.get()));
+      } catch (IOException e) {
+        throw new InvalidConfigurationException(
+            "Could not open opening book " + path.get() + ": " + e.getMessage());
+      }
+      openingBooks.put(path.get(), openingBook);
+    }
+    configBuilder.setDifficulty(configBuilder.getDifficulty().withOpeningBook(openingBook));
+  }
+
+  /**
+   * Sets the tablebase that the player's difficulty looks its moves up in, if specified for the
+   * player or as a default for all players.
+   * @param configBuilder The player's configuration. The difficulty must already be set.
+   * @param playerNumber The player number (player 1 is the first player).
+   * @param propertiesReader The instance used to read values from the properties file.
+   * @param tablebases The tablebases that have already been opened, keyed by path. Any tablebase
+   * opened by this method is added.
+   * @throws RuntimeException Thrown if the tablebase can't be opened.
+   */
+  private void applyTablebase(
+      PlayerConfiguration.Builder configBuilder,
+      int playerNumber,
+      PropertiesReader propertiesReader,
+      Map<String, Tablebase> tablebases) throws RuntimeException {
+    Optional<String> path =
+        propertiesReader
+            .getString("player" + playerNumber + PLAYER_AI_TABLEBASE_SUFFIX)
+            .or(() -> propertiesReader.getString(AI_TABLEBASE_KEY));
+    if (path.isEmpty()) {
+      return;
+    }
+    Tablebase tablebase = tablebases.get(path.get());
+    if (tablebase == null) {
+      try {
+        tablebase = Tablebase.open(Paths.get(path.get()));
+      } catch (IOException e) {
+        throw new InvalidConfigurationException(
+            "Could not open tablebase " + path.get() + ": " + e.getMessage());
+      }
+      tablebases.put(path.get(), tablebase);
+    }
+    configBuilder.setDifficulty(configBuilder.getDifficulty().withTablebase(tablebase));
+  }
+
+  /**
+   * Sets the n-tuple network that the player's difficulty evaluates positions with, if specified
+   * for the player or as a default for all players.
+   * @param configBuilder The player's configuration. The difficulty must already be set.
+   * @param playerNumber The player number (player 1 is the first player).
+   * @param propertiesReader The instance used to read values from the properties file.
+   * @param networks The networks that have already been read, keyed by path. Any network read by
+   * this method is added.
+   * @throws RuntimeException Thrown if the network can't be read.
+   */
+  private void applyNetwork(
+      PlayerConfiguration.Builder configBuilder,
+      int playerNumber,
+      PropertiesReader propertiesReader,
+      Map<String, NTupleNetwork> networks) throws RuntimeException {
+    Optional<String> path =
+        propertiesReader
+            .getString("player" + playerNumber + PLAYER_AI_NETWORK_SUFFIX)
+            .or(() -> propertiesReader.getString(AI_NETWORK_KEY));
+    if (path.isEmpty()) {
+      return;
+    }
+    NTupleNetwork network = networks.get(path.get());
+    if (network == null) {
+      try {
+        network = NTupleNetwork.load(Paths.get(path.get()));
+      } catch (IOException e) {
+        throw new InvalidConfigurationException(
+            "Could not read n-tuple network " + path.get() + ": " + e.getMessage());
+      }
+      networks.put(path.get(), network);
+    }
+    Difficulty difficulty = configBuilder.getDifficulty();
+    SearchSettings settings = difficulty.getSearchSettings().toBuilder()
+        .setEvaluator(new NTupleEvaluator(network))
+        .build();
+    configBuilder.setDifficulty(difficulty.withSearchSettings(settings));
+  }
+
+  /**
+   * Sets the directory of transposition tables that the player's difficulty searches with, if
+   * specified for the player or as a default for all players. The tables are flushed to their
+   * files when the program exits.
+   * @param configBuilder The player's configuration. The difficulty must already be set.
+   * @param playerNumber The player number (player 1 is the first player).
+   * @param propertiesReader The instance used to read values from the properties file.
+   * @param tableStores The stores that have already been created, keyed by path. Any store
+   * created by this method is added, with tables the size of this player's usual table.
+   */
+  private void applyTableStore(
+      PlayerConfiguration.Builder configBuilder,
+      int playerNumber,
+      PropertiesReader propertiesReader,
+      Map<String, TranspositionTableStore> tableStores) {
+    Optional<String> path =
+        propertiesReader
+            .getString("player" + playerNumber + PLAYER_AI_TABLE_SUFFIX)
+            .or(() -> propertiesReader.getString(AI_TABLE_KEY));
+    if (path.isEmpty()) {
+      return;
+    }
+    Difficulty difficulty = configBuilder.getDifficulty();
+    TranspositionTableStore tableStore = tableStores.get(path.get());
+    if (tableStore == null) {
+      int entries = Math.min(difficulty.getSearchSettings().getTranspositionTableEntries(),
+          TranspositionTable.MAXIMUM_MAPPED_ENTRIES);
+      tableStore = new TranspositionTableStore(Paths.get(path.get()), entries);
+      tableStore.flushOnShutdown();
+      tableStores.put(path.get(), tableStore);
+    }
+    SearchSettings settings = difficulty.getSearchSettings().toBuilder()
+        .setTranspositionTableStore(tableStore)
+        .build();
+    configBuilder.setDifficulty(difficulty.withSearchSettings(settings));
+  }
+
   /**
    * <p>Checks that the player victory conditions are possible - a player can't connect 5 in a row
    * on a 3x3 board! Check that the number of consecutive counters doesn't exceed the minimum
@@ -378,6 +784,17 @@ public class GameConfig {
     return propertiesReader.get(key, PlayerColour::valueOf);
   }
 
+  /**
+   * Gets the multi-player search that corresponds to the value for the given key.
+   * @param key The key.
+   * @param propertiesReader The instance used to read values from the properties file.
+   * @return A multi-player search, or an empty optional if none has been specified.
+   */
+  private Optional<SearchSettings.MultiPlayerSearch> getMultiPlayerSearch(
+      String key, PropertiesReader propertiesReader) {
+    return propertiesReader.get(key, SearchSettings.MultiPlayerSearch::valueOf);
+  }
+
   /**
    * Gets the difficulty that corresponds to the value for the given key.
    * @param key The key.
@@ -0,0 +1,208 @@
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Properties;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * <p>Plays games between computer players without displaying them, to find out how the players
+ * compare: how often each wins, how often the games are drawn and how long they last. Every
+ * player in the {@link GameConfig} is played by the computer at their configured difficulty, even
+ * if the configuration says that they are human, in which case they play at the default
+ * difficulty.</p>
+ * <p>Games are played on several threads at once. Each thread creates its own players once and
+ * keeps them for every game it plays, and counts its own results. The players don't publish their
+ * searches through JMX (see {@link SearchStatisticsMonitor}), which would make the threads wait
+ * for each other and mix simulated moves into the statistics of real games. Apart from anything
+ * the configuration shares between players, such as a directory of transposition tables, the
+ * threads only share the number of games still to be played.</p>
+ * <p>Games can be simulated from the command line:</p>
+ * <pre><code>java GameSimulator path/to/config.properties [games] [threads]</code></pre>
+ */
+public class GameSimulator {
+
+  private final GameConfig gameConfig;
+
+  /**
+   * Creates a new simulator.
+   * @param gameConfig The game to play.
+   * @throws InvalidConfigurationException Thrown if a player has no difficulty for the computer to
+   * play them at.
+   * @throws NullPointerException Thrown if {@code gameConfig == null}.
+   */
+  public GameSimulator(GameConfig gameConfig)
+      throws InvalidConfigurationException, NullPointerException {
+    this.gameConfig = Objects.requireNonNull(gameConfig, "Game config is null");
+    List<PlayerConfiguration> configurations = gameConfig.getPlayerConfigurations();
+    for (int playerNumber = 1; playerNumber <= configurations.size(); playerNumber++) {
+      // A human player's difficulty is optional, but the computer has to play them here
+      if (configurations.get(playerNumber - 1).getDifficulty() == null) {
+        throw new InvalidConfigurationException(
+            "Player " + playerNumber + " has no difficulty to be simulated at");
+      }
+    }
+  }
+
+  /**
+   * Plays games and counts the results.
+   * @param games The number of games to play, across all threads.
+   * @param threads The number of threads to play on, including the calling thread.
+   * @return The results of the games.
+   * @throws IllegalArgumentException Thrown if {@code games < 0} or {@code threads < 1}.
+   * @throws InterruptedException Thrown if the calling thread is interrupted while waiting for
+   * the other threads to finish.
+   */
+  public SimulationSummary simulate(long games, int threads)
+      throws IllegalArgumentException, InterruptedException {
+    if (games < 0) {
+      throw new IllegalArgumentException("Number of games must be >= 0");
+    }
+    if (threads < 1) {
+      throw new IllegalArgumentException("Number of threads must be > 0");
+    }
+    long startNanos = System.nanoTime();
+    AtomicLong gamesStarted = new AtomicLong();
+    List<Tally> tallies = new ArrayList<>(threads);
+    List<Thread> helpers = new ArrayList<>(threads - 1);
+    for (int threadNumber = 1; threadNumber < threads; threadNumber++) {
+      Tally tally = new Tally(gameConfig.getPlayerConfigurations().size());
+      tallies.add(tally);
+      Thread helper =
+          new Thread(() -> playGames(games, gamesStarted, tally), "simulation-" + threadNumber);
+      helper.setDaemon(true);
+      helpers.add(helper);
+      helper.start();
+    }
+    Tally tally = new Tally(gameConfig.getPlayerConfigurations().size());
+    tallies.add(tally);
+    try {
+      playGames(games, gamesStarted, tally);
+    } finally {
+      for (Thread helper : helpers) {
+        helper.join();
+      }
+    }
+
+    long[] wins = new long[tally.wins.length];
+    long draws = 0;
+    long moves = 0;
+    for (Tally threadTally : tallies) {
+      for (int seat = 0; seat < wins.length; seat++) {
+        wins[seat] += threadTally.wins[seat];
+      }
+      draws += threadTally.draws;
+      moves += threadTally.moves;
+    }
+    return new SimulationSummary(wins, draws, moves, System.nanoTime() - startNanos);
+  }
+
+  // Plays games until the given number have been started across all threads
+  private void playGames(long games, AtomicLong gamesStarted, Tally tally) {
+    List<Player> players = new ArrayList<>();
+    for (PlayerConfiguration configuration : gameConfig.getPlayerConfigurations()) {
+      players.add(new AIPlayer(configuration.getColour(), configuration.getVictoryCondition(),
+          configuration.getDifficulty(), false));
+    }
+    View view = new HeadlessView();
+    while (gamesStarted.getAndIncrement() < games) {
+      playGame(players, view, tally);
+    }
+  }
+
+  /**
+   * Plays a game, in the same way as {@link MyConnectN#playGame()} but without displaying it.
+   * @param players The players in turn order.
+   * @param view The view that the players send their messages to.
+   * @param tally The counts to add the result to.
+   */
+  private void playGame(List<Player> players, View view, Tally tally) {
+    Board board = new Board(gameConfig.getBoardConfiguration());
+    players.forEach(player -> player.onGameStart(players));
+    while (true) {
+      for (int seat = 0; seat < players.size(); seat++) {
+        Player player = players.get(seat);
+        player.takeTurn(board, view);
+        tally.moves++;
+        if (player.isVictoryAchieved(board)) {
+          tally.wins[seat]++;
+          players.forEach(p -> p.onGameEnd(board));
+          return;
+        } else if (board.isFull()) {
+          tally.draws++;
+          players.forEach(p -> p.onGameEnd(board));
+          return;
+        }
+        for (Player other : players) {
+          if (other != player) {
+            other.onOpponentMoved(board, player);
+          }
+        }
+      }
+    }
+  }
+
+  // The results counted by a single thread
+  private static class Tally {
+
+    private final long[] wins;
+    private long draws;
+    private long moves;
+
+    private Tally(int numberOfPlayers) {
+      this.wins = new long[numberOfPlayers];
+    }
+  }
+
+  // A view that throws away everything it's sent, as nobody is watching
+  private static class HeadlessView implements View {
+
+    @Override
+    public void send(String message) {
+    }
+
+    @Override
+    public void sendLine(String message) {
+    }
+
+    @Override
+    public void sendLine() {
+    }
+
+    @Override
+    public void sendf(String format, Object... arguments) {
+    }
+
+    @Override
+    public void close() {
+    }
+  }
+
+  /**
+   * Simulates games from the command line arguments. See {@link GameSimulator} for details.
+   * @param args The command line arguments.
+   */
+  public static void main(String[] args) {
+    if (args.length < 1) {
+      System.out.println("Usage: java GameSimulator path/to/config.properties [games] [threads]");
+      return;
+    }
+    try {
+      Properties properties = new Properties();
+      try (InputStream inputStream = new FileInputStream(args[0])) {
+        properties.load(inputStream);
+      }
+      long games = args.length > 1 ? Long.parseLong(args[1]) : 10_000;
+      int threads =
+          args.length > 2 ? Integer.parseInt(args[2]) : Runtime.getRuntime().availableProcessors();
+      System.out.println(new GameSimulator(new GameConfig(properties)).simulate(games, threads));
+    } catch (IOException | RuntimeException e) {
+      // Don't print an ugly stacktrace - the exception message should contain relevant details
+      System.out.println(e.getMessage());
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
@@ -0,0 +1,15 @@
+/**
+ * Implemented by {@link AIStrategy} instances that can be asked to cut a turn short, playing the
+ * best move that they have found so far instead of carrying on until their own limits are reached.
+ * A {@link DeadlineStrategy} does this when the turn is running out of time.
+ */
+public interface Interruptible {
+
+  /**
+   * Asks the strategy to finish the turn that it's taking as soon as it can. This is called from
+   * a different thread to the one taking the turn, and returns immediately. It does nothing if
+   * the strategy isn't taking a turn.
+   */
+  void interruptTurn();
+
+}
@@ -0,0 +1,126 @@
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * <p>A multi-threaded search using the "Lazy SMP" approach. Rather than dividing the tree between
+ * threads, every thread runs the same iterative deepening {@link NegamaxSearch} on its own copy of
+ * the board. The threads share a single {@link TranspositionTable}, so each benefits from the
+ * positions that the others have already searched.</p>
+ * <p>Helper threads search with slightly perturbed move orders, and every other helper starts one
+ * ply deeper, so that they fill the table with positions the main thread is about to need rather
+ * than duplicating its work. Only the main thread's result is used - once it finishes, the
+ * helpers are stopped.</p>
+ */
+public class LazySmpSearch {
+
+  private final TranspositionTable table;
+  private final int threads;
+
+  /**
+   * Creates a new Lazy SMP search.
+   * @param table The transposition table shared by all of the search threads.
+   * @param threads The total number of threads to search with, including the calling thread.
+   * @throws NullPointerException Thrown if {@code table == null}.
+   * @throws IllegalArgumentException Thrown if {@code threads < 1}.
+   */
+  public LazySmpSearch(TranspositionTable table, int threads)
+      throws NullPointerException, IllegalArgumentException {
+    if (threads < 1) {
+      throw new IllegalArgumentException("Number of search threads must be > 0");
+    }
+    this.table = Objects.requireNonNull(table, "Transposition table is null");
+    this.threads = threads;
+  }
+
+  /**
+   * Searches the position. The calling thread acts as the main search thread, while
+   * {@code threads - 1} helper threads are started to search alongside it.
+   * @param board The position to search. This is not modified.
+   * @param maximumDepth The maximum number of moves to look ahead.
+   * @param timeLimitMillis The amount of time the search may take.
+   * @return The main thread's result. The statistics include the positions searched by the
+   * helpers.
+   */
+  public SearchResult search(SearchBoard board, int maximumDepth, long timeLimitMillis) {
+    return search(board, maximumDepth, timeLimitMillis, Long.MAX_VALUE, new AtomicBoolean(false));
+  }
+
+  /**
+   * Searches the position until the time limit is reached, or until it is stopped by another
+   * thread.
+   * @param board The position to search. This is not modified.
+   * @param maximumDepth The maximum number of moves to look ahead.
+   * @param timeLimitMillis The amount of time the search may take.
+   * @param stopSignal The search stops as soon as possible once this is set. It is set when the
+   * search finishes.
+   * @return The main thread's result. The statistics include the positions searched by the
+   * helpers.
+   */
+  public SearchResult search(
+      SearchBoard board, int maximumDepth, long timeLimitMillis, AtomicBoolean stopSignal) {
+    return search(board, maximumDepth, timeLimitMillis, Long.MAX_VALUE, stopSignal);
+  }
+
+  /**
+   * Searches the position until the time limit is reached, the main thread has visited a number
+   * of positions, or it is stopped by another thread.
+   * @param board The position to search. This is not modified.
+   * @param maximumDepth The maximum number of moves to look ahead.
+   * @param timeLimitMillis The amount of time the search may take.
+   * @param maximumNodes The number of positions that the main thread may visit. The helpers stop
+   * when the main thread does, whatever they have visited.
+   * @param stopSignal The search stops as soon as possible once this is set. It is set when the
+   * search finishes.
+   * @return The main thread's result. The statistics include the positions searched by the
+   * helpers.
+   */
+  public SearchResult search(SearchBoard board, int maximumDepth, long timeLimitMillis,
+      long maximumNodes, AtomicBoolean stopSignal) {
+    long deadlineNanos = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeLimitMillis);
+    AtomicReference<SearchStatistics> helperStatistics =
+        new AtomicReference<>(SearchStatistics.builder().build());
+
+    List<Thread> helpers = new ArrayList<>(threads - 1);
+    for (int helperNumber = 1; helperNumber < threads; helperNumber++) {
+      NegamaxSearch helperSearch =
+          new NegamaxSearch(board.copy(), table, stopSignal, new Random(helperNumber));
+      // Odd-numbered helpers start a ply deeper than the main thread
+      int startingDepth = 1 + (helperNumber % 2);
+      Thread helper = new Thread(
+          () -> helperStatistics.accumulateAndGet(
+              helperSearch.search(startingDepth, maximumDepth, deadlineNanos, Long.MAX_VALUE)
+                  .getStatistics(),
+              SearchStatistics::combine),
+          "lazy-smp-helper-" + helperNumber
+      );
+      helper.setDaemon(true);
+      helpers.add(helper);
+      helper.start();
+    }
+
+    SearchResult result = new NegamaxSearch(board.copy(), table, stopSignal)
+        .search(maximumDepth, deadlineNanos, maximumNodes);
+
+    // The main thread has finished, so the helpers' work is no longer needed
+    stopSignal.set(true);
+    for (Thread helper : helpers) {
+      try {
+        helper.join();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        break;
+      }
+    }
+
+    return new SearchResult(
+        result.getColumn(),
+        result.getScore(),
+        result.getStatistics().combine(helperStatistics.get())
+    );
+  }
+}
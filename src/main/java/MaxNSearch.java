@@ -0,0 +1,200 @@
+import java.util.Arrays;
+
+/**
+ * <p>An iterative deepening max<sup>n</sup> search for games with any number of players. Every
+ * position is scored with a vector holding a score for each player (see
+ * {@link ScoreVectorEvaluation}), and each player is assumed to choose the move that is best for
+ * themselves, whatever it does to everyone else. Unlike {@link ParanoidSearch}, this doesn't
+ * assume that the other players will gang up on the player searching.</p>
+ * <p>No score is ever negative and the scores in a vector never add up to more than
+ * {@link #MAXIMUM_SUM}, which allows shallow pruning: once a player has found a move worth at
+ * least {@code MAXIMUM_SUM - x}, where {@code x} is the score the previous player has already
+ * been offered elsewhere, the previous player can't do any better here and the remaining moves are
+ * skipped.</p>
+ * <p>A win is worth {@link #MAXIMUM_SUM} less the number of moves needed to reach it to the
+ * winner and nothing to everyone else. A draw is shared equally.</p>
+ */
+public class MaxNSearch {
+
+  /**
+   * The most that the scores of all players in a position can add up to - the score of winning
+   * immediately.
+   */
+  public static final int MAXIMUM_SUM = NegamaxSearch.WIN_SCORE;
+
+  // How often the clock is checked. Must be one less than a power of two.
+  private static final long CHECK_INTERVAL_MASK = 1023;
+
+  private final SearchBoard board;
+  private final Evaluator evaluator;
+  private final int rootSeat;
+  private final int[][] scoreBuffers; // ply -> score vector of the position searched at that ply
+  private final int[][] bestBuffers; // ply -> best score vector found so far at that ply
+  private final int[][] moveBuffers; // ply -> the moves searched at that ply
+  private final int[] centreOrder;
+  private final int maximumPly;
+  private final int winThreshold;
+
+  private long deadlineNanos;
+  private long maximumNodes;
+  private long nodes;
+  private boolean aborted;
+  private int rootBestMove;
+
+  /**
+   * Creates a new search.
+   * @param board The position to search. This is modified during the search, but is always
+   * restored before returning. Positions are scored by the board's evaluator, and a
+   * {@link WindowEvaluator} is attached if it doesn't have one.
+   */
+  public MaxNSearch(SearchBoard board) {
+    this.board = board;
+    this.evaluator = board.requireEvaluator();
+    this.rootSeat = board.getSeatToMove();
+    this.maximumPly = board.getWidth() * board.getHeight() - board.getNumberOfCounters();
+    this.winThreshold = MAXIMUM_SUM - board.getWidth() * board.getHeight();
+    this.scoreBuffers = new int[maximumPly + 1][board.getNumberOfSeats()];
+    this.bestBuffers = new int[maximumPly + 1][board.getNumberOfSeats()];
+    this.moveBuffers = new int[maximumPly + 1][board.getWidth()];
+    this.centreOrder = board.getColumnsFromCentre();
+  }
+
+  /**
+   * Searches the position with iterative deepening.
+   * @param maximumDepth The maximum number of moves to look ahead.
+   * @param deadlineNanos The {@link System#nanoTime()} at which the search should stop.
+   * @return The best move found by the deepest search that completed. The score is the score of
+   * the player to move. At least a one-move search is always completed.
+   */
+  public SearchResult search(int maximumDepth, long deadlineNanos) {
+    return search(maximumDepth, deadlineNanos, Long.MAX_VALUE);
+  }
+
+  /**
+   * Searches the position with iterative deepening, stopping once it has visited a number of
+   * positions.
+   * @param maximumDepth The maximum number of moves to look ahead.
+   * @param deadlineNanos The {@link System#nanoTime()} at which the search should stop.
+   * @param maximumNodes The number of positions after which the search should stop.
+   * @return The best move found by the deepest search that completed. The score is the score of
+   * the player to move. At least a one-move search is always completed.
+   */
+  public SearchResult search(int maximumDepth, long deadlineNanos, long maximumNodes) {
+    this.deadlineNanos = deadlineNanos;
+    this.maximumNodes = maximumNodes;
+    this.nodes = 0;
+    this.aborted = false;
+
+    maximumDepth = Math.min(maximumDepth, maximumPly);
+    int bestMove = firstPlayableColumn();
+    int bestScore = 0;
+    int completedDepth = 0;
+
+    for (int depth = 1; depth <= maximumDepth; depth++) {
+      rootBestMove = -1;
+      maxN(depth, 0, 0);
+      // A partially completed search can't be trusted (unless it's the only search we've got)
+      if (aborted && completedDepth > 0) {
+        break;
+      }
+      if (rootBestMove >= 0) {
+        bestMove = rootBestMove;
+        bestScore = scoreBuffers[0][rootSeat];
+        completedDepth = depth;
+      }
+      if (aborted || bestScore >= winThreshold) {
+        // Out of time, or we've found a forced win
+        break;
+      }
+    }
+    return new SearchResult(bestMove, bestScore, completedDepth, nodes);
+  }
+
+  private int firstPlayableColumn() {
+    for (int column : centreOrder) {
+      if (board.canPlay(column)) {
+        return column;
+      }
+    }
+    return -1;
+  }
+
+  /**
+   * Gets the number of positions visited by the last search.
+   * @return The number of positions visited.
+   */
+  public long getNodes() {
+    return nodes;
+  }
+
+  /**
+   * Scores the position on the board, writing the score vector to {@code scoreBuffers[ply]}.
+   * @param depth The number of moves left to look ahead.
+   * @param ply The number of moves played since the root.
+   * @param parentBest The score that the player who moved into this position has already been
+   * offered by another move.
+   */
+  private void maxN(int depth, int ply, int parentBest) {
+    int[] scores = scoreBuffers[ply];
+    if ((++nodes & CHECK_INTERVAL_MASK) == 0
+        && (nodes >= maximumNodes || System.nanoTime() - deadlineNanos >= 0)) {
+      aborted = true;
+    }
+    if (aborted) {
+      return;
+    }
+
+    int seat = board.getSeatToMove();
+    int width = board.getWidth();
+
+    // Can the player to move win immediately? If so, there's no need to look any further.
+    for (int column = 0; column < width; column++) {
+      if (board.isCandidate(column) && board.isWinningMove(seat, column)) {
+        if (ply == 0) {
+          rootBestMove = column;
+        }
+        Arrays.fill(scores, 0);
+        scores[seat] = MAXIMUM_SUM - ply;
+        return;
+      }
+    }
+
+    if (ply == maximumPly) {
+      // The board is full - the game is a draw
+      Arrays.fill(scores, ScoreVectorEvaluation.MAXIMUM_SCORE / scores.length);
+      return;
+    }
+
+    if (depth == 0) {
+      ScoreVectorEvaluation.evaluate(evaluator, scores);
+      return;
+    }
+
+    int[] best = bestBuffers[ply];
+    boolean foundMove = false;
+    int[] moves = moveBuffers[ply];
+    int numberOfMoves = board.getCandidateMoves(moves);
+    for (int i = 0; i < numberOfMoves; i++) {
+      int column = moves[i];
+      board.play(column);
+      maxN(depth - 1, ply + 1, foundMove ? best[seat] : 0);
+      board.undo();
+      if (aborted) {
+        return;
+      }
+      int[] childScores = scoreBuffers[ply + 1];
+      if (!foundMove || childScores[seat] > best[seat]) {
+        System.arraycopy(childScores, 0, best, 0, best.length);
+        foundMove = true;
+        if (ply == 0) {
+          rootBestMove = column;
+        }
+        if (best[seat] >= MAXIMUM_SUM - parentBest) {
+          // Shallow pruning - the previous player already has a better alternative
+          break;
+        }
+      }
+    }
+    System.arraycopy(best, 0, scores, 0, scores.length);
+  }
+}
@@ -0,0 +1,365 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * <p>A Monte Carlo tree search using UCT (upper confidence bounds applied to trees). Rather than
+ * evaluating positions, the search plays thousands of random games from the current position and
+ * grows a tree towards the moves that win most often. This needs no knowledge of the game beyond
+ * its rules, so it copes with large boards, many players and players with different victory
+ * conditions - all cases where looking ahead exhaustively is hopeless.</p>
+ * <p>Each finished game produces a reward for every player: 1 for the winner and 0 for everyone
+ * else, or an equal share for a draw. As the rewards are backed up the tree, each node collects the
+ * reward of the player who chose the move leading to it, so every player in a 3-8 player game is
+ * assumed to play for themselves.</p>
+ * <p>The tree only grows the moves that the board offers as candidates (see
+ * {@link SearchBoard#isCandidate(int)}), so on very wide boards it doesn't spread its playouts
+ * across columns far from every counter. The random games themselves may play anywhere.</p>
+ * <p>The search is parallelised across the root: each thread grows its own tree from its own copy
+ * of the board, and the visit counts of the root moves are summed once all threads are done.</p>
+ * <p>The trees are kept between searches. If the position searched next was reached from the last
+ * one by moves that the trees had explored, the search carries on from that part of the trees
+ * rather than starting again, so the playouts spent on the moves that were actually played aren't
+ * wasted. A search is therefore not thread-safe, and should be used for a single game.</p>
+ */
+public class MonteCarloTreeSearch {
+
+  private static final double EXPLORATION = Math.sqrt(2);
+
+  // How often (in playouts) each thread checks the clock. Must be one less than a power of two.
+  private static final int CHECK_INTERVAL_MASK = 63;
+
+  private final int threads;
+  private SearchBoard lastBoard; // The position that the trees were last grown from
+  private Node[] lastRoots; // The root of each thread's tree after the last search
+
+  /**
+   * Creates a new Monte Carlo tree search.
+   * @param threads The number of threads to search with, including the calling thread.
+   * @throws IllegalArgumentException Thrown if {@code threads < 1}.
+   */
+  public MonteCarloTreeSearch(int threads) throws IllegalArgumentException {
+    if (threads < 1) {
+      throw new IllegalArgumentException("Number of search threads must be > 0");
+    }
+    this.threads = threads;
+  }
+
+  /**
+   * Searches the position, continuing from the last search's trees if the position follows on
+   * from it.
+   * @param board The position to search. This is not modified.
+   * @param maximumPlayouts The maximum number of random games to play, across all threads.
+   * @param timeLimitMillis The amount of time that the search may take.
+   * @return The most visited move. The score is the expected reward of the move for the player to
+   * move, in thousandths, and the number of nodes is the number of playouts.
+   */
+  public SearchResult search(SearchBoard board, long maximumPlayouts, long timeLimitMillis) {
+    // Don't waste time simulating if the game can be won right now
+    int seat = board.getSeatToMove();
+    for (int column = 0; column < board.getWidth(); column++) {
+      if (board.isCandidate(column) && board.isWinningMove(seat, column)) {
+        return new SearchResult(column, 1000, 1, 0);
+      }
+    }
+
+    long deadlineNanos = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeLimitMillis);
+    AtomicLong playouts = new AtomicLong();
+
+    Node[] roots = findReusableRoots(board);
+    List<Tree> trees = new ArrayList<>(threads);
+    List<Thread> helpers = new ArrayList<>(threads - 1);
+    for (int threadNumber = 0; threadNumber < threads; threadNumber++) {
+      Tree tree = new Tree(board.copy(), roots[threadNumber], new Random(threadNumber), playouts,
+          maximumPlayouts, deadlineNanos);
+      trees.add(tree);
+      if (threadNumber > 0) {
+        Thread helper = new Thread(tree::grow, "mcts-" + threadNumber);
+        helper.setDaemon(true);
+        helpers.add(helper);
+        helper.start();
+      }
+    }
+
+    trees.get(0).grow();
+    for (Thread helper : helpers) {
+      try {
+        helper.join();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        break;
+      }
+    }
+
+    lastBoard = board.copy();
+    lastRoots = trees.stream().map(tree -> tree.root).toArray(Node[]::new);
+    return combine(board, trees, Math.min(playouts.get(), maximumPlayouts));
+  }
+
+  /**
+   * Forgets the trees of the last search, so that the next search starts from scratch.
+   */
+  public void clear() {
+    lastBoard = null;
+    lastRoots = null;
+  }
+
+  /**
+   * Finds the node of each of the last search's trees that represents the given position, which
+   * becomes the root of the thread's tree for this search.
+   * @param board The position to search.
+   * @return The root for each thread, which is {@code null} where a new tree must be grown.
+   */
+  private Node[] findReusableRoots(SearchBoard board) {
+    Node[] roots = new Node[threads];
+    if (lastBoard == null || !isSameGame(lastBoard, board)) {
+      return roots;
+    }
+    // Every player has had at most one turn since the last search in a game that is reused
+    int movesSince = board.getNumberOfCounters() - lastBoard.getNumberOfCounters();
+    if (movesSince < 1 || movesSince > board.getNumberOfSeats()) {
+      return roots;
+    }
+    for (int threadNumber = 0; threadNumber < Math.min(threads, lastRoots.length); threadNumber++) {
+      Node root = findDescendant(lastRoots[threadNumber], lastBoard.copy(), board, movesSince);
+      if (root != null && !root.isTerminal()) {
+        root.parent = null; // Lets the rest of the old tree be garbage collected
+        roots[threadNumber] = root;
+      }
+    }
+    return roots;
+  }
+
+  // Searches the explored moves for the target position, which is the given number of moves away
+  private static Node findDescendant(
+      Node node, SearchBoard position, SearchBoard target, int movesLeft) {
+    if (movesLeft == 0) {
+      return position.getHash() == target.getHash() && position.equals(target) ? node : null;
+    }
+    for (Node child : node.children) {
+      if (child.isTerminal()) {
+        continue;
+      }
+      position.play(child.move);
+      Node found = findDescendant(child, position, target, movesLeft - 1);
+      position.undo();
+      if (found != null) {
+        return found;
+      }
+    }
+    return null;
+  }
+
+  private static boolean isSameGame(SearchBoard a, SearchBoard b) {
+    if (a.getWidth() != b.getWidth() || a.getHeight() != b.getHeight()
+        || a.getNumberOfSeats() != b.getNumberOfSeats()) {
+      return false;
+    }
+    for (int seat = 0; seat < a.getNumberOfSeats(); seat++) {
+      if (!a.getPlayer(seat).equals(b.getPlayer(seat))
+          || a.getCountersRequired(seat) != b.getCountersRequired(seat)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  // Sum the root statistics of every tree and pick the most visited move
+  private SearchResult combine(SearchBoard board, List<Tree> trees, long playouts) {
+    long[] visits = new long[board.getWidth()];
+    double[] rewards = new double[board.getWidth()];
+    int depth = 0;
+    for (Tree tree : trees) {
+      for (Node child : tree.root.children) {
+        visits[child.move] += child.visits;
+        rewards[child.move] += child.reward;
+      }
+      depth = Math.max(depth, tree.maximumDepth);
+    }
+
+    int bestColumn = -1;
+    for (int column = 0; column < board.getWidth(); column++) {
+      if (board.canPlay(column) && (bestColumn < 0 || visits[column] > visits[bestColumn])) {
+        bestColumn = column;
+      }
+    }
+    int score = visits[bestColumn] == 0 ? 0
+        : (int) Math.round(1000 * rewards[bestColumn] / visits[bestColumn]);
+    return new SearchResult(bestColumn, score, depth, playouts);
+  }
+
+  /**
+   * A node in the search tree, reached by playing {@link #move}.
+   */
+  private static final class Node {
+
+    private static final int NO_WINNER = -1;
+    private static final int DRAW = -2;
+
+    private Node parent;
+    private final int move;
+    private final int mover; // The seat that played the move
+    private final int outcome; // The winning seat if the move ended the game, or DRAW/NO_WINNER
+    private final List<Node> children = new ArrayList<>();
+    private final int[] untriedMoves;
+    private int numberOfUntriedMoves;
+    private int visits;
+    private double reward; // Total reward for the mover
+
+    // Creates a node for the position currently on the board
+    private Node(Node parent, int move, int mover, int outcome, SearchBoard board) {
+      this.parent = parent;
+      this.move = move;
+      this.mover = mover;
+      this.outcome = outcome;
+      if (outcome == NO_WINNER) {
+        int[] moves = new int[board.getWidth()];
+        this.numberOfUntriedMoves = board.getCandidateMoves(moves);
+        this.untriedMoves = Arrays.copyOf(moves, numberOfUntriedMoves);
+      } else {
+        this.untriedMoves = new int[0];
+      }
+    }
+
+    private boolean isTerminal() {
+      return outcome != NO_WINNER;
+    }
+
+    // Selects the child with the highest upper confidence bound
+    private Node selectChild() {
+      double logVisits = Math.log(visits);
+      Node best = null;
+      double bestValue = Double.NEGATIVE_INFINITY;
+      for (Node child : children) {
+        double value = child.reward / child.visits
+            + EXPLORATION * Math.sqrt(logVisits / child.visits);
+        if (value > bestValue) {
+          bestValue = value;
+          best = child;
+        }
+      }
+      return best;
+    }
+  }
+
+  /**
+   * A single thread's search tree.
+   */
+  private static final class Tree {
+
+    private final SearchBoard board;
+    private final Random random;
+    private final AtomicLong playouts;
+    private final long maximumPlayouts;
+    private final long deadlineNanos;
+    private final Node root;
+    private final double[] rewardVector;
+    private int maximumDepth;
+
+    private Tree(
+        SearchBoard board,
+        Node root,
+        Random random,
+        AtomicLong playouts,
+        long maximumPlayouts,
+        long deadlineNanos) {
+      this.board = board;
+      this.random = random;
+      this.playouts = playouts;
+      this.maximumPlayouts = maximumPlayouts;
+      this.deadlineNanos = deadlineNanos;
+      this.root = root != null ? root : new Node(null, -1, -1, Node.NO_WINNER, board);
+      this.rewardVector = new double[board.getNumberOfSeats()];
+    }
+
+    // Keeps growing the tree until the budget is spent
+    private void grow() {
+      long iteration = 0;
+      while (playouts.getAndIncrement() < maximumPlayouts) {
+        if ((++iteration & CHECK_INTERVAL_MASK) == 0 && System.nanoTime() - deadlineNanos >= 0) {
+          break;
+        }
+        iterate();
+      }
+    }
+
+    // Runs a single selection, expansion, simulation and backpropagation step
+    private void iterate() {
+      Node node = root;
+      int depth = 0;
+
+      // Selection - descend through fully expanded nodes
+      while (!node.isTerminal() && node.numberOfUntriedMoves == 0 && !node.children.isEmpty()) {
+        node = node.selectChild();
+        board.play(node.move);
+        depth++;
+      }
+
+      // Expansion - add one of the untried moves to the tree
+      if (!node.isTerminal() && node.numberOfUntriedMoves > 0) {
+        int index = random.nextInt(node.numberOfUntriedMoves);
+        int move = node.untriedMoves[index];
+        node.untriedMoves[index] = node.untriedMoves[--node.numberOfUntriedMoves];
+        int mover = board.getSeatToMove();
+        boolean wins = board.isWinningMove(mover, move);
+        board.play(move);
+        depth++;
+        int outcome = wins ? mover : (board.isFull() ? Node.DRAW : Node.NO_WINNER);
+        Node child = new Node(node, move, mover, outcome, board);
+        node.children.add(child);
+        node = child;
+      }
+      maximumDepth = Math.max(maximumDepth, depth);
+
+      // Simulation - play randomly to the end of the game
+      setRewards(node.isTerminal() ? node.outcome : playOut());
+
+      // Backpropagation - each node collects the reward of the player that moved into it
+      while (node != root) {
+        node.visits++;
+        node.reward += rewardVector[node.mover];
+        node = node.parent;
+        board.undo();
+      }
+      root.visits++;
+    }
+
+    /**
+     * Plays random moves until the game ends, then restores the board.
+     * @return The winning seat, or {@link Node#DRAW}.
+     */
+    private int playOut() {
+      int movesPlayed = 0;
+      int outcome = Node.DRAW;
+      while (!board.isFull()) {
+        int column;
+        do {
+          column = random.nextInt(board.getWidth());
+        } while (!board.canPlay(column));
+        int seat = board.getSeatToMove();
+        if (board.isWinningMove(seat, column)) {
+          outcome = seat;
+          break;
+        }
+        board.play(column);
+        movesPlayed++;
+      }
+      for (int i = 0; i < movesPlayed; i++) {
+        board.undo();
+      }
+      return outcome;
+    }
+
+    private void setRewards(int outcome) {
+      if (outcome == Node.DRAW) {
+        Arrays.fill(rewardVector, 1.0 / rewardVector.length);
+      } else {
+        Arrays.fill(rewardVector, 0.0);
+        rewardVector[outcome] = 1.0;
+      }
+    }
+  }
+}
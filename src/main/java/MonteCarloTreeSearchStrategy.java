@@ -0,0 +1,51 @@
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * A strategy that chooses its move by simulating random games (see {@link MonteCarloTreeSearch}).
+ * Unlike {@link AlphaBetaStrategy}, this supports any number of players, and plays reasonably on
+ * boards too large to search exhaustively. The search stops once it has played the maximum number
+ * of playouts or run out of time, as specified in the {@link SearchSettings}.
+ * <p>The search is kept between turns, so each turn carries on from the part of the last turn's
+ * trees that the game has reached.</p>
+ */
+public class MonteCarloTreeSearchStrategy extends AbstractSearchStrategy {
+
+  private final SearchSettings settings;
+  private MonteCarloTreeSearch search; // Created when first needed, and kept for the whole game
+
+  /**
+   * Creates a new Monte Carlo tree search strategy.
+   * @param settings The resources that the search may use.
+   * @param fallbackStrategy The strategy used for games that can't be searched.
+   * @throws NullPointerException Thrown if {@code settings == null} or
+   * {@code fallbackStrategy == null}.
+   */
+  public MonteCarloTreeSearchStrategy(SearchSettings settings, AIStrategy fallbackStrategy)
+      throws NullPointerException {
+    super(fallbackStrategy);
+    this.settings = Objects.requireNonNull(settings, "Search settings are null");
+  }
+
+  @Override
+  protected boolean canSearch(List<Player> playersInTurnOrder) {
+    return true;
+  }
+
+  @Override
+  protected int chooseColumn(SearchBoard board) {
+    if (search == null) {
+      search = new MonteCarloTreeSearch(settings.getThreads());
+    }
+    SearchResult result =
+        search.search(board, settings.getMaximumPlayouts(), settings.getTimeLimitMillis());
+    recordStatistics(result.getStatistics());
+    return result.getColumn();
+  }
+
+  @Override
+  public void onGameEnd(Board board) {
+    super.onGameEnd(board);
+    search = null;
+  }
+}
@@ -0,0 +1,143 @@
+/**
+ * <p>Orders the moves of an alpha-beta search so that the moves most likely to cause a cutoff are
+ * searched first. Alpha-beta prunes the most when the best move is searched first, so good ordering
+ * lets a search reach the same depth with a fraction of the positions.</p>
+ * <p>The move from the transposition table, which was best when the position was last searched,
+ * always comes first. The rest are sorted by the sum of:</p>
+ * <ul>
+ *   <li>Their position: the number of windows through the cell that the counter lands in (see
+ *   {@link WindowEvaluator}), which is highest in the centre of the board.</li>
+ *   <li>A bonus for killer moves: the last two moves that caused a cutoff at the same distance from
+ *   the root, which are often just as good in neighbouring positions. A killer is a cell rather
+ *   than a column, as a counter dropped into the same column of a neighbouring position may land
+ *   somewhere quite different.</li>
+ *   <li>Their history: how much the player's counter in that cell has caused cutoffs anywhere in
+ *   the search, weighted towards cutoffs far from the horizon.</li>
+ * </ul>
+ * <p>Killers and history are added to the position rather than overriding it, as counting windows
+ * already orders Connect Four moves well; measured on the standard board, searching killers
+ * strictly first visited more positions than not using them at all. Ties keep the centre-out
+ * order of the columns.</p>
+ * <p>Only the columns that the board offers as candidates (see
+ * {@link SearchBoard#isCandidate(int)}) are ordered, so on very wide boards the columns far from
+ * every counter aren't searched.</p>
+ * <p>An ordering belongs to a single search, and isn't thread-safe.</p>
+ */
+class MoveOrdering {
+
+  // How much each window through a cell is worth
+  private static final int WINDOW_WEIGHT = 1000;
+
+  // How much being a killer move is worth - the same as three windows
+  private static final int KILLER_BONUS = 3 * WINDOW_WEIGHT;
+
+  // History scores are halved once any reaches this, so that recent cutoffs count for more
+  private static final int MAXIMUM_HISTORY = 1 << 24;
+
+  private final SearchBoard board;
+  private final int[] candidates; // The columns being sorted, from the centre outwards
+  private final int[][] cellWeights; // [seat][column * height + row] -> windows * WINDOW_WEIGHT
+  private final int[][] killers; // [ply] -> the two killer cells, or -1
+  private final int[][] history; // [seat][column * height + row] -> score
+  private final int[] moveScores; // The score of each move being sorted
+
+  /**
+   * Creates a new move ordering.
+   * @param board The board being searched.
+   * @param maximumPly The furthest from the root that the search can go.
+   */
+  MoveOrdering(SearchBoard board, int maximumPly) {
+    this.board = board;
+    this.candidates = new int[board.getWidth()];
+    int cells = board.getWidth() * board.getHeight();
+    this.cellWeights = new int[board.getNumberOfSeats()][cells];
+    for (int seat = 0; seat < board.getNumberOfSeats(); seat++) {
+      int[][] windows = WindowEvaluator.createWindows(
+          board.getWidth(), board.getHeight(), board.getCountersRequired(seat));
+      for (int[] window : windows) {
+        for (int cell : window) {
+          cellWeights[seat][cell] += WINDOW_WEIGHT;
+        }
+      }
+    }
+    this.killers = new int[maximumPly + 1][];
+    for (int ply = 0; ply <= maximumPly; ply++) {
+      killers[ply] = new int[] {-1, -1};
+    }
+    this.history = new int[board.getNumberOfSeats()][cells];
+    this.moveScores = new int[board.getWidth()];
+  }
+
+  /**
+   * Fills the buffer with the candidate columns, in the order that they should be searched.
+   * @param moves The buffer to fill. This must have room for every column.
+   * @param hashMove The move from the transposition table, or {@code -1} if there isn't one.
+   * @param ply The distance of the position from the root.
+   * @return The number of moves in the buffer.
+   */
+  int order(int[] moves, int hashMove, int ply) {
+    int count = 0;
+    if (hashMove >= 0 && board.isSymmetric()) {
+      // Only the left half is searched, and the mirrored move leads to an equivalent position
+      hashMove = Math.min(hashMove, board.getMirrorColumn(hashMove));
+    }
+    if (hashMove >= 0 && board.canPlay(hashMove)) {
+      moves[count++] = hashMove;
+    }
+    int firstSorted = count;
+    int seat = board.getSeatToMove();
+    int[] plyKillers = killers[ply];
+    int numberOfCandidates = board.getCandidateMoves(candidates);
+    for (int c = 0; c < numberOfCandidates; c++) {
+      int column = candidates[c];
+      if (column == hashMove) {
+        continue;
+      }
+      int cell = cell(column);
+      int score = cellWeights[seat][cell] + history[seat][cell];
+      if (cell == plyKillers[0] || cell == plyKillers[1]) {
+        score += KILLER_BONUS;
+      }
+      // Insertion sort - a stable sort keeps the centre-out order for ties
+      int i = count++;
+      while (i > firstSorted && moveScores[i - 1] < score) {
+        moves[i] = moves[i - 1];
+        moveScores[i] = moveScores[i - 1];
+        i--;
+      }
+      moves[i] = column;
+      moveScores[i] = score;
+    }
+    return count;
+  }
+
+  /**
+   * Records a move that caused a cutoff, making it a killer move for its ply and adding to its
+   * history. This must be called with the move undone.
+   * @param column The column of the move.
+   * @param ply The distance of the position from the root.
+   * @param depth The depth that the position was searched to.
+   */
+  void cutoff(int column, int ply, int depth) {
+    int cell = cell(column);
+    int[] plyKillers = killers[ply];
+    if (plyKillers[0] != cell) {
+      plyKillers[1] = plyKillers[0];
+      plyKillers[0] = cell;
+    }
+    int[] seatHistory = history[board.getSeatToMove()];
+    seatHistory[cell] += depth * depth;
+    if (seatHistory[cell] >= MAXIMUM_HISTORY) {
+      for (int[] scores : history) {
+        for (int i = 0; i < scores.length; i++) {
+          scores[i] >>= 1;
+        }
+      }
+    }
+  }
+
+  // The cell that a counter played in the column would land in
+  private int cell(int column) {
+    return column * board.getHeight() + board.getColumnHeight(column);
+  }
+}
@@ -0,0 +1,61 @@
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A strategy that looks several moves ahead in games with any number of players, following the
+ * real turn order. Depending on the {@link SearchSettings}, the search either assumes that the
+ * other players are all working against this player (see {@link ParanoidSearch}) or that every
+ * player is playing for themselves (see {@link MaxNSearch}).
+ * <p>The search runs on a single thread for as long as the settings allow. Games where a player
+ * doesn't win by connecting consecutive counters are delegated to a fallback strategy.</p>
+ */
+public class MultiPlayerSearchStrategy extends AbstractSearchStrategy {
+
+  private final SearchSettings settings;
+  private TranspositionTable table; // Created when first needed, as it's only used by one search
+
+  /**
+   * Creates a new multi-player search strategy.
+   * @param settings The resources that the search may use.
+   * @param fallbackStrategy The strategy used for games that can't be searched.
+   * @throws NullPointerException Thrown if {@code settings == null} or
+   * {@code fallbackStrategy == null}.
+   */
+  public MultiPlayerSearchStrategy(SearchSettings settings, AIStrategy fallbackStrategy)
+      throws NullPointerException {
+    super(fallbackStrategy);
+    this.settings = Objects.requireNonNull(settings, "Search settings are null");
+  }
+
+  @Override
+  protected boolean canSearch(List<Player> playersInTurnOrder) {
+    return true;
+  }
+
+  @Override
+  protected int chooseColumn(SearchBoard board) {
+    long deadlineNanos =
+        System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(settings.getTimeLimitMillis());
+    board.setEvaluator(settings.getEvaluator().newEvaluator());
+    SearchResult result;
+    if (settings.getMultiPlayerSearch() == SearchSettings.MultiPlayerSearch.MAX_N) {
+      result = new MaxNSearch(board)
+          .search(settings.getMaximumDepth(), deadlineNanos, settings.getMaximumNodes());
+    } else {
+      if (table == null) {
+        table = new TranspositionTable(settings.getTranspositionTableEntries());
+      }
+      result = new ParanoidSearch(board, table)
+          .search(settings.getMaximumDepth(), deadlineNanos, settings.getMaximumNodes());
+    }
+    recordStatistics(result.getStatistics());
+    return result.getColumn();
+  }
+
+  @Override
+  public void onGameEnd(Board board) {
+    super.onGameEnd(board);
+    table = null;
+  }
+}
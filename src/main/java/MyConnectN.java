@@ -5,6 +5,7 @@ import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.io.PrintStream;
 import java.util.Collection;
+import java.util.List;
 import java.util.Objects;
 import java.util.Properties;
 import java.util.stream.Collectors;
@@ -94,6 +95,10 @@ public class MyConnectN {
     board.view(view);
     view.sendLine();
 
+    // Let the players know who they're playing against
+    List<Player> turnOrder = List.copyOf(players);
+    players.forEach(player -> player.onGameStart(turnOrder));
+
     do {
       // Loop through each player (players is already in the order that turns should be taken)
       for (Player player : players) {
@@ -104,14 +109,23 @@ public class MyConnectN {
         if (player.isVictoryAchieved(board)) {
           // Yes - game over!
           view.sendLine(player.getColour().getName() + " player wins!");
+          players.forEach(p -> p.onGameEnd(board));
           return;
         } else if (board.isFull()) {
           // No, but no more moves can be made as the board is full. The game is a tie!
           view.sendLine("No more moves can be made, and no victor has emerged.");
           view.sendLine("The game is a tie!");
+          players.forEach(p -> p.onGameEnd(board));
           return;
         }
         view.sendLine();
+
+        // Let everyone else see the move
+        for (Player other : players) {
+          if (other != player) {
+            other.onOpponentMoved(board, player);
+          }
+        }
       }
       // The player wasn't victorious, so it's the next player's turn
     } while (true); // Once at the end of players, keep starting over until the game is over
@@ -0,0 +1,119 @@
+import java.util.Objects;
+
+/**
+ * <p>An {@link Evaluator} that scores positions with a learned {@link NTupleNetwork}. The index of
+ * every tuple, from every player's point of view, is kept up to date as counters are placed and
+ * removed, so reading a score is one table lookup for each tuple.</p>
+ * <p>A network only knows the game that it was trained for. On any other board (see
+ * {@link NTupleNetwork#isFor(SearchBoard)}), positions are scored by a {@link WindowEvaluator}
+ * instead.</p>
+ */
+public class NTupleEvaluator implements Evaluator {
+
+  /**
+   * The score of a position that a player is sure to win. A score of {@code SCORE_SCALE} is an
+   * even position, and {@code 0} is a sure loss.
+   */
+  static final long SCORE_SCALE = 1 << 20;
+
+  private final NTupleNetwork network;
+  private Evaluator fallback; // Used if the network isn't for the board
+  private int height;
+  private int seats;
+  private int[][] indices; // [seat][instance] -> the index of the instance from the seat's view
+
+  /**
+   * Creates a new evaluator.
+   * @param network The network to score positions with.
+   * @throws NullPointerException Thrown if {@code network == null}.
+   */
+  public NTupleEvaluator(NTupleNetwork network) throws NullPointerException {
+    this.network = Objects.requireNonNull(network, "Network is null");
+  }
+
+  @Override
+  public void reset(SearchBoard board) {
+    if (!network.isFor(board)) {
+      fallback = new WindowEvaluator();
+      fallback.reset(board);
+      return;
+    }
+    fallback = null;
+    this.height = board.getHeight();
+    this.seats = board.getNumberOfSeats();
+    this.indices = new int[seats][network.getNumberOfInstances()];
+    for (int column = 0; column < board.getWidth(); column++) {
+      for (int row = 0; row < board.getColumnHeight(column); row++) {
+        counterPlaced(column, row, board.getSeatAt(column, row));
+      }
+    }
+  }
+
+  @Override
+  public void counterPlaced(int column, int row, int seat) {
+    if (fallback != null) {
+      fallback.counterPlaced(column, row, seat);
+    } else {
+      update(column * height + row, seat, 1);
+    }
+  }
+
+  @Override
+  public void counterRemoved(int column, int row, int seat) {
+    if (fallback != null) {
+      fallback.counterRemoved(column, row, seat);
+    } else {
+      update(column * height + row, seat, -1);
+    }
+  }
+
+  // Changes the contents of the cell in every instance that contains it, for every player
+  private void update(int cell, int owner, int change) {
+    int[] instances = network.getInstances(cell);
+    int[] powers = network.getPowers(cell);
+    for (int seat = 0; seat < seats; seat++) {
+      // The counter is the player's own (1) or someone else's (2)
+      int contents = change * (seat == owner ? 1 : 2);
+      int[] seatIndices = indices[seat];
+      for (int i = 0; i < instances.length; i++) {
+        seatIndices[instances[i]] += contents * powers[i];
+      }
+    }
+  }
+
+  @Override
+  public long getScore(int seat) {
+    if (fallback != null) {
+      return fallback.getScore(seat);
+    }
+    return Math.round((1 + getValue(seat)) * SCORE_SCALE);
+  }
+
+  /**
+   * Gets the value of the position for a player, according to the network.
+   * @param seat The seat of the player.
+   * @return The value, from -1 (a sure loss) to 1 (a sure win).
+   * @throws IllegalStateException Thrown if the network isn't for the board.
+   */
+  double getValue(int seat) throws IllegalStateException {
+    if (fallback != null) {
+      throw new IllegalStateException("Network is not for this board");
+    }
+    return network.getValue(indices[seat]);
+  }
+
+  /**
+   * Gets the index of every tuple instance from a player's point of view. This is what a trainer
+   * adjusts the weights of.
+   * @param seat The seat of the player.
+   * @return The indices. These are updated as counters are placed, so must be copied to be kept.
+   */
+  int[] getIndices(int seat) {
+    return indices[seat];
+  }
+
+  @Override
+  public Evaluator newEvaluator() {
+    return new NTupleEvaluator(network);
+  }
+}
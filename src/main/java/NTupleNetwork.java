@@ -0,0 +1,373 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.Random;
+
+/**
+ * <p>A learned evaluation of the positions of one game, made up of n-tuples: fixed groups of
+ * cells, each with a lookup table holding a weight for every possible combination of the cells'
+ * contents. From a player's point of view, each cell is empty, holds their counter or holds
+ * someone else's, so a tuple of {@code n} cells has {@code 3^n} weights. The value of a position
+ * for a player is {@code tanh} of the sum of the weights that its tuples pick out, from -1 (the
+ * player is sure to lose) to 1 (the player is sure to win), so evaluating a position is a few table
+ * lookups. Each tuple is also looked up in its mirror image, so a position and its reflection have
+ * the same value.</p>
+ * <p>The weights are learned by an {@link NTupleTrainer} and read by an {@link NTupleEvaluator}.
+ * The trainer updates them from several threads without locking, so the weights may be slightly
+ * out of date while training, but a network that isn't being trained can be shared freely.</p>
+ * <p>The format of a network file (all values big-endian) is:</p>
+ * <ul>
+ *   <li>{@code int} - {@link #MAGIC}</li>
+ *   <li>{@code int} - {@link #VERSION}</li>
+ *   <li>{@code int} - the width of the board</li>
+ *   <li>{@code int} - the height of the board</li>
+ *   <li>{@code int} - the number of players</li>
+ *   <li>{@code int} - the number of consecutive counters that every player needs to win</li>
+ *   <li>{@code int} - the number of tuples</li>
+ *   <li>For each tuple: {@code int} - the number of cells, then {@code int} for each cell - its
+ *   index, {@code column * height + row}</li>
+ *   <li>For each tuple: {@code float} for each of its {@code 3^n} weights. The weight for a
+ *   combination of contents is at {@code sum(contents[i] * 3^i)}, where the contents of the
+ *   {@code i}th cell are 0 if it's empty, 1 if it holds the player's counter or 2 if it holds
+ *   another player's.</li>
+ * </ul>
+ */
+public class NTupleNetwork {
+
+  /**
+   * The first four bytes of every network file.
+   */
+  public static final int MAGIC = 0x434E4E54; // "CNNT"
+
+  /**
+   * The version of the file format.
+   */
+  public static final int VERSION = 1;
+
+  /**
+   * The most cells that a tuple may have, which keeps each table below 600,000 weights.
+   */
+  public static final int MAXIMUM_TUPLE_LENGTH = 12;
+
+  private final int width;
+  private final int height;
+  private final int players;
+  private final int countersRequired;
+  private final int[][] tuples; // [tuple] -> the cells of the tuple
+  private final float[][] weights; // [tuple] -> the weight of each combination of contents
+  private final int[][] cellInstances; // [cell] -> the tuples and mirrored tuples that contain it
+  private final int[][] cellPowers; // [cell] -> 3^(position of the cell) in each of those
+
+  /**
+   * Creates a network.
+   * @param width The width of the board.
+   * @param height The height of the board.
+   * @param players The number of players.
+   * @param countersRequired The number of consecutive counters that every player needs to win.
+   * @param tuples The cells of each tuple.
+   * @param weights The weights of each tuple. These belong to the network.
+   */
+  private NTupleNetwork(
+      int width, int height, int players, int countersRequired, int[][] tuples, float[][] weights) {
+    this.width = width;
+    this.height = height;
+    this.players = players;
+    this.countersRequired = countersRequired;
+    this.tuples = tuples;
+    this.weights = weights;
+    int cells = width * height;
+    List<List<int[]>> memberships = new ArrayList<>(cells);
+    for (int cell = 0; cell < cells; cell++) {
+      memberships.add(new ArrayList<>());
+    }
+    for (int instance = 0; instance < getNumberOfInstances(); instance++) {
+      int[] tuple = tuples[instance % tuples.length];
+      int power = 1;
+      for (int cell : tuple) {
+        int instanceCell = instance < tuples.length ? cell : mirror(cell);
+        memberships.get(instanceCell).add(new int[] {instance, power});
+        power *= 3;
+      }
+    }
+    this.cellInstances = new int[cells][];
+    this.cellPowers = new int[cells][];
+    for (int cell = 0; cell < cells; cell++) {
+      List<int[]> cellMemberships = memberships.get(cell);
+      cellInstances[cell] = cellMemberships.stream().mapToInt(m -> m[0]).toArray();
+      cellPowers[cell] = cellMemberships.stream().mapToInt(m -> m[1]).toArray();
+    }
+  }
+
+  /**
+   * Creates a network with randomly placed tuples and every weight set to 0, ready to be trained.
+   * Each tuple is a random walk between neighbouring cells (including diagonal neighbours), as the
+   * cells that matter together in Connect N lie close to one another.
+   * @param width The width of the board.
+   * @param height The height of the board.
+   * @param players The number of players.
+   * @param countersRequired The number of consecutive counters that every player needs to win.
+   * @param numberOfTuples The number of tuples.
+   * @param tupleLength The number of cells in each tuple. This is reduced to the number of cells
+   * on the board if the board is smaller.
+   * @param random The source of the random walks.
+   * @return The network.
+   * @throws IllegalArgumentException Thrown if any of the numbers are less than 1, or
+   * {@code tupleLength > MAXIMUM_TUPLE_LENGTH}.
+   * @throws NullPointerException Thrown if {@code random == null}.
+   */
+  public static NTupleNetwork create(
+      int width,
+      int height,
+      int players,
+      int countersRequired,
+      int numberOfTuples,
+      int tupleLength,
+      Random random) throws IllegalArgumentException, NullPointerException {
+    Objects.requireNonNull(random, "Random is null");
+    if (width < 1 || height < 1 || players < 1 || countersRequired < 1) {
+      throw new IllegalArgumentException("Board dimensions and players must be > 0");
+    }
+    if (numberOfTuples < 1 || tupleLength < 1 || tupleLength > MAXIMUM_TUPLE_LENGTH) {
+      throw new IllegalArgumentException(
+          "Tuples must be > 0, with between 1 and " + MAXIMUM_TUPLE_LENGTH + " cells");
+    }
+    int length = Math.min(tupleLength, width * height);
+    int[][] tuples = new int[numberOfTuples][];
+    float[][] weights = new float[numberOfTuples][];
+    for (int i = 0; i < numberOfTuples; i++) {
+      tuples[i] = randomWalk(width, height, length, random);
+      weights[i] = new float[pow3(length)];
+    }
+    return new NTupleNetwork(width, height, players, countersRequired, tuples, weights);
+  }
+
+  // Walks between neighbouring cells, starting again if the walk boxes itself in
+  private static int[] randomWalk(int width, int height, int length, Random random) {
+    while (true) {
+      int[] tuple = new int[length];
+      int column = random.nextInt(width);
+      int row = random.nextInt(height);
+      tuple[0] = column * height + row;
+      int cells = 1;
+      while (cells < length) {
+        int[] candidates = new int[8];
+        int count = 0;
+        for (int columnStep = -1; columnStep <= 1; columnStep++) {
+          for (int rowStep = -1; rowStep <= 1; rowStep++) {
+            int nextColumn = column + columnStep;
+            int nextRow = row + rowStep;
+            int cell = nextColumn * height + nextRow;
+            if (nextColumn >= 0 && nextColumn < width && nextRow >= 0 && nextRow < height
+                && !contains(tuple, cells, cell)) {
+              candidates[count++] = cell;
+            }
+          }
+        }
+        if (count == 0) {
+          break;
+        }
+        int cell = candidates[random.nextInt(count)];
+        tuple[cells++] = cell;
+        column = cell / height;
+        row = cell % height;
+      }
+      if (cells == length) {
+        return tuple;
+      }
+    }
+  }
+
+  private static boolean contains(int[] cells, int count, int cell) {
+    for (int i = 0; i < count; i++) {
+      if (cells[i] == cell) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private static int pow3(int exponent) {
+    int result = 1;
+    for (int i = 0; i < exponent; i++) {
+      result *= 3;
+    }
+    return result;
+  }
+
+  /**
+   * Reads a network from the given file.
+   * @param path The path to the network file.
+   * @return The network.
+   * @throws IOException Thrown if the file can't be read or isn't a valid network.
+   * @throws NullPointerException Thrown if {@code path == null}.
+   */
+  public static NTupleNetwork load(Path path) throws IOException, NullPointerException {
+    Objects.requireNonNull(path, "Path is null");
+    ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(path));
+    try {
+      if (buffer.getInt() != MAGIC || buffer.getInt() != VERSION) {
+        throw new IOException(path + " is not an n-tuple network");
+      }
+      int width = buffer.getInt();
+      int height = buffer.getInt();
+      int players = buffer.getInt();
+      int countersRequired = buffer.getInt();
+      int numberOfTuples = buffer.getInt();
+      if (width < 1 || height < 1 || players < 1 || countersRequired < 1 || numberOfTuples < 1
+          || (long) numberOfTuples * Integer.BYTES > buffer.remaining()) {
+        throw new IOException(path + " is corrupt: invalid header");
+      }
+      int[][] tuples = new int[numberOfTuples][];
+      for (int i = 0; i < numberOfTuples; i++) {
+        int length = buffer.getInt();
+        if (length < 1 || length > MAXIMUM_TUPLE_LENGTH) {
+          throw new IOException(path + " is corrupt: invalid tuple length " + length);
+        }
+        tuples[i] = new int[length];
+        for (int j = 0; j < length; j++) {
+          tuples[i][j] = buffer.getInt();
+          if (tuples[i][j] < 0 || tuples[i][j] >= width * height
+              || contains(tuples[i], j, tuples[i][j])) {
+            throw new IOException(path + " is corrupt: invalid cell " + tuples[i][j]);
+          }
+        }
+      }
+      float[][] weights = new float[numberOfTuples][];
+      for (int i = 0; i < numberOfTuples; i++) {
+        weights[i] = new float[pow3(tuples[i].length)];
+        buffer.asFloatBuffer().get(weights[i]);
+        buffer.position(buffer.position() + weights[i].length * Float.BYTES);
+      }
+      return new NTupleNetwork(width, height, players, countersRequired, tuples, weights);
+    } catch (RuntimeException e) {
+      // Most likely a BufferUnderflowException if the file has been truncated
+      throw new IOException(path + " is corrupt", e);
+    }
+  }
+
+  /**
+   * Writes the network to the given file.
+   * @param path The path to write the network to. Any existing file is replaced.
+   * @throws IOException Thrown if the file can't be written.
+   * @throws NullPointerException Thrown if {@code path == null}.
+   */
+  public void save(Path path) throws IOException, NullPointerException {
+    Objects.requireNonNull(path, "Path is null");
+    long size = Integer.BYTES * 7L;
+    for (int i = 0; i < tuples.length; i++) {
+      size += Integer.BYTES * (1L + tuples[i].length) + (long) Float.BYTES * weights[i].length;
+    }
+    ByteBuffer buffer = ByteBuffer.allocate(Math.toIntExact(size));
+    buffer.putInt(MAGIC).putInt(VERSION).putInt(width).putInt(height).putInt(players)
+        .putInt(countersRequired).putInt(tuples.length);
+    for (int[] tuple : tuples) {
+      buffer.putInt(tuple.length);
+      for (int cell : tuple) {
+        buffer.putInt(cell);
+      }
+    }
+    for (float[] tupleWeights : weights) {
+      for (float weight : tupleWeights) {
+        buffer.putFloat(weight);
+      }
+    }
+    buffer.flip();
+    try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE,
+        StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+      while (buffer.hasRemaining()) {
+        channel.write(buffer);
+      }
+    }
+  }
+
+  /**
+   * Determines whether this network was trained for the same game as the given board: the same
+   * dimensions and number of players, who all need the network's number of counters.
+   * @param board The board.
+   * @return {@code true} if the network can evaluate positions on the board.
+   */
+  public boolean isFor(SearchBoard board) {
+    if (board.getWidth() != width || board.getHeight() != height
+        || board.getNumberOfSeats() != players) {
+      return false;
+    }
+    for (int seat = 0; seat < players; seat++) {
+      if (board.getCountersRequired(seat) != countersRequired) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Gets the number of tuples that are looked up for each position: every tuple, and then every
+   * tuple's mirror image.
+   * @return The number of tuple instances.
+   */
+  int getNumberOfInstances() {
+    return tuples.length * 2;
+  }
+
+  /**
+   * Gets the tuple instances (see {@link #getNumberOfInstances()}) that contain a cell.
+   * @param cell The cell, {@code column * height + row}.
+   * @return The instances. This must not be modified.
+   */
+  int[] getInstances(int cell) {
+    return cellInstances[cell];
+  }
+
+  /**
+   * Gets how much the contents of a cell are multiplied by in the index of each instance that
+   * contains it.
+   * @param cell The cell, {@code column * height + row}.
+   * @return A power of 3 for each of {@link #getInstances(int)}. This must not be modified.
+   */
+  int[] getPowers(int cell) {
+    return cellPowers[cell];
+  }
+
+  /**
+   * Works out the value of a position from the index of each instance.
+   * @param indices The index of each instance, from a player's point of view.
+   * @return The value of the position for the player, between -1 and 1.
+   */
+  double getValue(int[] indices) {
+    double sum = 0;
+    for (int instance = 0; instance < indices.length; instance++) {
+      sum += weights[instance % tuples.length][indices[instance]];
+    }
+    return Math.tanh(sum);
+  }
+
+  /**
+   * Adds to the weight picked out by every instance. A weight shared by a tuple and its mirror
+   * image is added to twice.
+   * @param indices The index of each instance.
+   * @param change The amount to add.
+   */
+  void addToWeights(int[] indices, float change) {
+    for (int instance = 0; instance < indices.length; instance++) {
+      weights[instance % tuples.length][indices[instance]] += change;
+    }
+  }
+
+  // The cell in the same row, on the other side of the board
+  private int mirror(int cell) {
+    return (width - 1 - cell / height) * height + cell % height;
+  }
+
+  @Override
+  public String toString() {
+    return "NTupleNetwork{" + width + 'x' + height + ", players=" + players
+        + ", countersRequired=" + countersRequired + ", tuples=" + tuples.length
+        + ", weights=" + Arrays.stream(weights).mapToInt(w -> w.length).sum() + '}';
+  }
+}
@@ -0,0 +1,247 @@
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * <p>Trains an {@link NTupleNetwork} by temporal difference learning, TD(0), from games that the
+ * network plays against itself. Each player picks the move whose resulting position the network
+ * values most highly for them, although a player always takes a win, and sometimes plays at random
+ * so that the network sees positions it wouldn't otherwise choose. After every move, the value of
+ * the position after the previous move is nudged towards the value of the new position, or towards
+ * the result once the game is over: 1 for the winner, -1 for everyone else and 0 for a draw.</p>
+ * <p>Games are played on several threads at once, all updating the same weights without locking.
+ * An update is occasionally lost when two threads change the same weight together, but each
+ * update is small, so this costs far less than locking would.</p>
+ * <p>Networks can be trained from the command line:</p>
+ * <pre><code>java NTupleTrainer width height players counters path [games] [threads]</code></pre>
+ * <p>If the file at {@code path} already holds a network for the same game, training carries on
+ * from it. The network is written to {@code path} once training is done.</p>
+ */
+public class NTupleTrainer {
+
+  private final NTupleNetwork network;
+  private final SearchBoard emptyBoard;
+  private final double learningRate;
+  private final double explorationRate;
+  private final long seed;
+
+  /**
+   * Creates a new trainer.
+   * @param network The network to train.
+   * @param emptyBoard The empty board of the game to play.
+   * @param learningRate How far each value is moved towards its target, shared between the tuples.
+   * @param explorationRate The chance of a player making a random move.
+   * @param seed The seed of the random moves.
+   * @throws IllegalArgumentException Thrown if the network isn't for the board,
+   * {@code learningRate <= 0} or {@code explorationRate} isn't between 0 and 1.
+   * @throws NullPointerException Thrown if {@code network == null} or {@code emptyBoard == null}.
+   */
+  public NTupleTrainer(
+      NTupleNetwork network,
+      SearchBoard emptyBoard,
+      double learningRate,
+      double explorationRate,
+      long seed) throws IllegalArgumentException, NullPointerException {
+    this.network = Objects.requireNonNull(network, "Network is null");
+    this.emptyBoard = Objects.requireNonNull(emptyBoard, "Board is null").copy();
+    if (!network.isFor(emptyBoard)) {
+      throw new IllegalArgumentException("Network is not for this game");
+    }
+    if (!(learningRate > 0)) {
+      throw new IllegalArgumentException("Learning rate must be > 0");
+    }
+    if (!(explorationRate >= 0 && explorationRate <= 1)) {
+      throw new IllegalArgumentException("Exploration rate must be between 0 and 1");
+    }
+    this.learningRate = learningRate;
+    this.explorationRate = explorationRate;
+    this.seed = seed;
+  }
+
+  /**
+   * Plays games and learns from them.
+   * @param games The number of games to play, across all threads.
+   * @param threads The number of threads to play on, including the calling thread.
+   * @throws IllegalArgumentException Thrown if {@code games < 0} or {@code threads < 1}.
+   * @throws InterruptedException Thrown if the calling thread is interrupted while waiting for
+   * the other threads to finish.
+   */
+  public void train(long games, int threads) throws IllegalArgumentException, InterruptedException {
+    if (games < 0) {
+      throw new IllegalArgumentException("Number of games must be >= 0");
+    }
+    if (threads < 1) {
+      throw new IllegalArgumentException("Number of threads must be > 0");
+    }
+    AtomicLong gamesStarted = new AtomicLong();
+    List<Thread> helpers = new ArrayList<>(threads - 1);
+    for (int threadNumber = 1; threadNumber < threads; threadNumber++) {
+      SplittableRandom random = new SplittableRandom(seed + threadNumber);
+      Thread helper =
+          new Thread(() -> playGames(games, gamesStarted, random), "td-" + threadNumber);
+      helper.setDaemon(true);
+      helpers.add(helper);
+      helper.start();
+    }
+    try {
+      playGames(games, gamesStarted, new SplittableRandom(seed));
+    } finally {
+      for (Thread helper : helpers) {
+        helper.join();
+      }
+    }
+  }
+
+  // Plays games until the given number have been started across all threads
+  private void playGames(long games, AtomicLong gamesStarted, SplittableRandom random) {
+    SearchBoard board = emptyBoard.copy();
+    NTupleEvaluator evaluator = new NTupleEvaluator(network);
+    board.setEvaluator(evaluator);
+    while (gamesStarted.getAndIncrement() < games) {
+      playGame(board, evaluator, random);
+      while (board.getNumberOfMoves() > 0) {
+        board.undo();
+      }
+    }
+  }
+
+  /**
+   * Plays a game, learning from each move.
+   * @param board The empty board. The game is left on the board.
+   * @param evaluator The evaluator attached to the board.
+   * @param random The source of random moves.
+   */
+  private void playGame(SearchBoard board, NTupleEvaluator evaluator, SplittableRandom random) {
+    int seats = board.getNumberOfSeats();
+    int[][] previousIndices = new int[seats][];
+    boolean learnFromPrevious = false;
+    int[] columns = new int[board.getWidth()];
+    while (true) {
+      int seat = board.getSeatToMove();
+      int count = 0;
+      int winningColumn = -1;
+      for (int column = 0; column < board.getWidth(); column++) {
+        if (board.canPlay(column)) {
+          columns[count++] = column;
+          if (winningColumn < 0 && board.isWinningMove(seat, column)) {
+            winningColumn = column;
+          }
+        }
+      }
+      boolean exploring = winningColumn < 0 && random.nextDouble() < explorationRate;
+      int column = winningColumn >= 0 ? winningColumn
+          : exploring ? columns[random.nextInt(count)]
+          : bestColumn(board, evaluator, columns, count);
+      board.play(column);
+      boolean gameOver = winningColumn >= 0 || board.isFull();
+
+      // A random move says nothing about how good the previous position was
+      if (learnFromPrevious && !exploring) {
+        for (int player = 0; player < seats; player++) {
+          double target = gameOver ? reward(player, winningColumn >= 0 ? seat : -1)
+              : evaluator.getValue(player);
+          learn(previousIndices[player], target);
+        }
+      }
+      if (gameOver) {
+        return;
+      }
+      for (int player = 0; player < seats; player++) {
+        previousIndices[player] = evaluator.getIndices(player).clone();
+      }
+      learnFromPrevious = true;
+    }
+  }
+
+  // Finds the column leading to the position that the network values most for the player to move
+  private static int bestColumn(
+      SearchBoard board, NTupleEvaluator evaluator, int[] columns, int count) {
+    int seat = board.getSeatToMove();
+    int bestColumn = columns[0];
+    double bestValue = Double.NEGATIVE_INFINITY;
+    for (int i = 0; i < count; i++) {
+      board.play(columns[i]);
+      double value = evaluator.getValue(seat);
+      board.undo();
+      if (value > bestValue) {
+        bestValue = value;
+        bestColumn = columns[i];
+      }
+    }
+    return bestColumn;
+  }
+
+  private static double reward(int seat, int winningSeat) {
+    if (winningSeat < 0) {
+      return 0;
+    }
+    return seat == winningSeat ? 1 : -1;
+  }
+
+  // Moves the value of the position towards the target
+  private void learn(int[] indices, double target) {
+    double value = network.getValue(indices);
+    // The gradient of tanh, shared between the tuples
+    double change = learningRate * (target - value) * (1 - value * value) / indices.length;
+    network.addToWeights(indices, (float) change);
+  }
+
+  /**
+   * Trains a network from the command line arguments. See {@link NTupleTrainer} for details.
+   * @param args The command line arguments.
+   */
+  public static void main(String[] args) {
+    if (args.length < 5) {
+      System.out.println(
+          "Usage: java NTupleTrainer width height players counters path [games] [threads]");
+      return;
+    }
+    try {
+      Dimensions dimensions =
+          new Dimensions(Integer.parseInt(args[0]), Integer.parseInt(args[1]));
+      int numberOfPlayers = Integer.parseInt(args[2]);
+      int counters = Integer.parseInt(args[3]);
+      VictoryCondition victoryCondition = new ConsecutiveCountersVictoryCondition(counters);
+      List<Player> players = new ArrayList<>(numberOfPlayers);
+      for (int i = 0; i < numberOfPlayers; i++) {
+        players.add(new AIPlayer(PlayerColour.values()[i], victoryCondition, Difficulty.HARD));
+      }
+      SearchBoard emptyBoard = SearchBoard.empty(dimensions, players);
+      Path path = Paths.get(args[4]);
+      long games = args.length > 5 ? Long.parseLong(args[5]) : 100_000;
+      int threads =
+          args.length > 6 ? Integer.parseInt(args[6]) : Runtime.getRuntime().availableProcessors();
+
+      NTupleNetwork network;
+      if (Files.exists(path)) {
+        network = NTupleNetwork.load(path);
+        if (!network.isFor(emptyBoard)) {
+          System.out.println(path + " holds a network for a different game");
+          return;
+        }
+        System.out.println("Carrying on training " + network);
+      } else {
+        network = NTupleNetwork.create(dimensions.getWidth(), dimensions.getHeight(),
+            numberOfPlayers, counters, 70, 8, new Random());
+        System.out.println("Training new " + network);
+      }
+      long startMillis = System.currentTimeMillis();
+      new NTupleTrainer(network, emptyBoard, 0.5, 0.1, System.nanoTime()).train(games, threads);
+      network.save(path);
+      System.out.printf("Played %d games in %.1fs, and wrote the network to %s%n",
+          games, (System.currentTimeMillis() - startMillis) / 1000.0, path);
+    } catch (IOException | RuntimeException e) {
+      // Don't print an ugly stacktrace - the exception message should contain relevant details
+      System.out.println(e.getMessage());
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
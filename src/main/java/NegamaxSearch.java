@@ -0,0 +1,341 @@
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * <p>An iterative deepening negamax search with alpha-beta pruning for two-player games. The
+ * search looks progressively further ahead until it runs out of time, reaches its maximum depth
+ * or is stopped, and returns the best move found by the deepest search that completed.</p>
+ * <p>Scores are always from the point of view of the player to move. A win is worth
+ * {@link #WIN_SCORE} less the number of moves needed to reach it, so that quicker wins (and slower
+ * losses) are preferred.</p>
+ */
+public class NegamaxSearch {
+
+  /**
+   * The score of winning immediately.
+   */
+  public static final int WIN_SCORE = 1_000_000;
+
+  // How often the clock and stop signal are checked. Must be one less than a power of two.
+  private static final long CHECK_INTERVAL_MASK = 1023;
+
+  private final SearchBoard board;
+  private final Evaluator evaluator;
+  private final int[] scoreVector;
+  private final TranspositionTable table;
+  private final AtomicBoolean stopSignal;
+  private final Random perturbation;
+  private final int[][] moveBuffers;
+  private final MoveOrdering moveOrdering;
+  private final int[] centreOrder;
+  private final int maximumPly;
+  private final int winThreshold;
+
+  private long deadlineNanos;
+  private long maximumNodes;
+  private long nodes;
+  private long tableProbes;
+  private long tableHits;
+  private long expandedNodes;
+  private long cutoffs;
+  private long firstMoveCutoffs;
+  private boolean aborted;
+  private int rootBestMove;
+
+  /**
+   * Creates a new search.
+   * @param board The position to search. This is modified during the search, but is always
+   * restored before returning. Positions are scored by the board's evaluator, and a
+   * {@link WindowEvaluator} is attached if it doesn't have one.
+   * @param table The transposition table to read from and write to. This may be shared with other
+   * searches running at the same time.
+   * @param stopSignal The search stops as soon as possible once this is set.
+   * @throws IllegalArgumentException Thrown if {@code board} does not have exactly two seats.
+   */
+  public NegamaxSearch(SearchBoard board, TranspositionTable table, AtomicBoolean stopSignal)
+      throws IllegalArgumentException {
+    this(board, table, stopSignal, null);
+  }
+
+  /**
+   * Creates a new search whose move ordering is randomly perturbed, so that it explores the tree
+   * in a different order to other searches sharing the same transposition table.
+   * @param board The position to search.
+   * @param table The transposition table to read from and write to.
+   * @param stopSignal The search stops as soon as possible once this is set.
+   * @param perturbation The source of randomness used to perturb the move ordering, or
+   * {@code null} if the moves should be searched in their natural order.
+   * @throws IllegalArgumentException Thrown if {@code board} does not have exactly two seats.
+   */
+  NegamaxSearch(
+      SearchBoard board, TranspositionTable table, AtomicBoolean stopSignal, Random perturbation)
+      throws IllegalArgumentException {
+    if (board.getNumberOfSeats() != 2) {
+      throw new IllegalArgumentException("Negamax search only supports two players");
+    }
+    this.board = board;
+    this.evaluator = board.requireEvaluator();
+    this.scoreVector = new int[2];
+    this.table = table;
+    this.stopSignal = stopSignal;
+    this.perturbation = perturbation;
+    this.maximumPly = board.getWidth() * board.getHeight() - board.getNumberOfCounters();
+    this.winThreshold = WIN_SCORE - board.getWidth() * board.getHeight();
+    this.moveBuffers = new int[maximumPly + 1][board.getWidth()];
+    this.moveOrdering = new MoveOrdering(board, maximumPly);
+    this.centreOrder = board.getColumnsFromCentre();
+  }
+
+  /**
+   * Searches the position with iterative deepening.
+   * @param maximumDepth The maximum number of moves to look ahead.
+   * @param deadlineNanos The {@link System#nanoTime()} at which the search should stop.
+   * @return The best move found by the deepest search that completed. At least a one-move search
+   * is always completed.
+   */
+  public SearchResult search(int maximumDepth, long deadlineNanos) {
+    return search(1, maximumDepth, deadlineNanos, Long.MAX_VALUE);
+  }
+
+  /**
+   * Searches the position with iterative deepening, stopping once it has visited a number of
+   * positions. A search limited by positions rather than time plays the same way however fast the
+   * machine is.
+   * @param maximumDepth The maximum number of moves to look ahead.
+   * @param deadlineNanos The {@link System#nanoTime()} at which the search should stop.
+   * @param maximumNodes The number of positions after which the search should stop.
+   * @return The best move found by the deepest search that completed. At least a one-move search
+   * is always completed.
+   */
+  public SearchResult search(int maximumDepth, long deadlineNanos, long maximumNodes) {
+    return search(1, maximumDepth, deadlineNanos, maximumNodes);
+  }
+
+  /**
+   * Searches the position with iterative deepening, starting at the given depth.
+   * @param startingDepth The depth of the first search.
+   * @param maximumDepth The maximum number of moves to look ahead.
+   * @param deadlineNanos The {@link System#nanoTime()} at which the search should stop.
+   * @param maximumNodes The number of positions after which the search should stop.
+   * @return The best move found by the deepest search that completed.
+   */
+  SearchResult search(int startingDepth, int maximumDepth, long deadlineNanos, long maximumNodes) {
+    long startNanos = System.nanoTime();
+    this.deadlineNanos = deadlineNanos;
+    this.maximumNodes = maximumNodes;
+    this.nodes = 0;
+    this.tableProbes = 0;
+    this.tableHits = 0;
+    this.expandedNodes = 0;
+    this.cutoffs = 0;
+    this.firstMoveCutoffs = 0;
+    this.aborted = false;
+
+    maximumDepth = Math.min(maximumDepth, maximumPly);
+    int bestMove = firstPlayableColumn();
+    int bestScore = 0;
+    int completedDepth = 0;
+
+    for (int depth = Math.min(startingDepth, maximumDepth); depth <= maximumDepth; depth++) {
+      rootBestMove = -1;
+      int score = negamax(depth, -WIN_SCORE, WIN_SCORE, 0);
+      // A partially completed search can't be trusted (unless it's the only search we've got)
+      if (aborted && completedDepth > 0) {
+        break;
+      }
+      if (rootBestMove >= 0) {
+        bestMove = rootBestMove;
+        bestScore = score;
+        completedDepth = depth;
+      }
+      if (aborted || Math.abs(score) >= winThreshold) {
+        // Out of time, or the result of the game is already known
+        break;
+      }
+    }
+    SearchStatistics statistics = SearchStatistics.builder()
+        .setNodes(nodes)
+        .setElapsedNanos(System.nanoTime() - startNanos)
+        .setDepth(completedDepth)
+        .setTableProbes(tableProbes)
+        .setTableHits(tableHits)
+        .setExpandedNodes(expandedNodes)
+        .setCutoffs(cutoffs)
+        .setFirstMoveCutoffs(firstMoveCutoffs)
+        .build();
+    return new SearchResult(bestMove, bestScore, statistics);
+  }
+
+  private int firstPlayableColumn() {
+    for (int column : centreOrder) {
+      if (board.canPlay(column)) {
+        return column;
+      }
+    }
+    return -1;
+  }
+
+  /**
+   * Gets the number of positions visited by the last search.
+   * @return The number of positions visited.
+   */
+  public long getNodes() {
+    return nodes;
+  }
+
+  private int negamax(int depth, int alpha, int beta, int ply) {
+    if ((++nodes & CHECK_INTERVAL_MASK) == 0 && shouldStop()) {
+      aborted = true;
+    }
+    if (aborted) {
+      return 0;
+    }
+
+    int seat = board.getSeatToMove();
+    int width = board.getWidth();
+
+    // Can the player to move win immediately? If so, there's no need to look any further.
+    for (int column = 0; column < width; column++) {
+      if (board.isCandidate(column) && board.isWinningMove(seat, column)) {
+        if (ply == 0) {
+          rootBestMove = column;
+        }
+        return WIN_SCORE - ply;
+      }
+    }
+
+    if (ply == maximumPly) {
+      // The board is full - the game is a draw
+      return 0;
+    }
+
+    if (depth == 0) {
+      return evaluate();
+    }
+
+    // Mirror images share an entry, with the move stored for the canonical image
+    long hash = board.getCanonicalHash();
+    long entry = table.probe(hash);
+    tableProbes++;
+    int hashMove = -1;
+    if (entry != TranspositionTable.MISS) {
+      tableHits++;
+      hashMove = board.toCanonicalColumn(TranspositionTable.getMove(entry));
+      if (ply > 0 && TranspositionTable.getDepth(entry) >= depth) {
+        int score = fromTableScore(TranspositionTable.getScore(entry), ply);
+        int bound = TranspositionTable.getBound(entry);
+        if (bound == TranspositionTable.EXACT
+            || (bound == TranspositionTable.LOWER_BOUND && score >= beta)
+            || (bound == TranspositionTable.UPPER_BOUND && score <= alpha)) {
+          return score;
+        }
+      }
+    }
+
+    int[] moves = moveBuffers[ply];
+    int numberOfMoves = orderMoves(moves, hashMove, ply);
+    expandedNodes++;
+
+    int originalAlpha = alpha;
+    int bestScore = -WIN_SCORE;
+    int bestMove = -1;
+    for (int i = 0; i < numberOfMoves; i++) {
+      int column = moves[i];
+      board.play(column);
+      int score = -negamax(depth - 1, -beta, -alpha, ply + 1);
+      board.undo();
+      if (aborted) {
+        return 0;
+      }
+      if (score > bestScore) {
+        bestScore = score;
+        bestMove = column;
+        if (ply == 0) {
+          rootBestMove = column;
+        }
+        if (score > alpha) {
+          alpha = score;
+          if (alpha >= beta) {
+            moveOrdering.cutoff(column, ply, depth);
+            cutoffs++;
+            if (i == 0) {
+              firstMoveCutoffs++;
+            }
+            break;
+          }
+        }
+      }
+    }
+
+    int bound;
+    if (bestScore <= originalAlpha) {
+      bound = TranspositionTable.UPPER_BOUND;
+    } else if (bestScore >= beta) {
+      bound = TranspositionTable.LOWER_BOUND;
+    } else {
+      bound = TranspositionTable.EXACT;
+    }
+    table.store(
+        hash, toTableScore(bestScore, ply), depth, bound, board.toCanonicalColumn(bestMove));
+    return bestScore;
+  }
+
+  /**
+   * Scores a position at the search horizon: the player to move's share of the score vector (see
+   * {@link ScoreVectorEvaluation}) less their opponent's. This is never more than
+   * {@link ScoreVectorEvaluation#MAXIMUM_SCORE}, far below any win.
+   */
+  private int evaluate() {
+    ScoreVectorEvaluation.evaluate(evaluator, scoreVector);
+    int seat = board.getSeatToMove();
+    return scoreVector[seat] - scoreVector[1 - seat];
+  }
+
+  /**
+   * Fills the buffer with the playable columns, in the order that they should be searched (see
+   * {@link MoveOrdering}).
+   * @return The number of moves in the buffer.
+   */
+  private int orderMoves(int[] moves, int hashMove, int ply) {
+    int count = moveOrdering.order(moves, hashMove, ply);
+    if (perturbation != null) {
+      // Swap a few neighbouring moves so that this search explores the tree in a different order
+      for (int i = moves[0] == hashMove ? 1 : 0; i < count - 1; i++) {
+        if (perturbation.nextInt(4) == 0) {
+          int swap = moves[i];
+          moves[i] = moves[i + 1];
+          moves[i + 1] = swap;
+        }
+      }
+    }
+    return count;
+  }
+
+  /**
+   * Win scores depend on the distance from the root, so are stored relative to the position
+   * itself in the transposition table.
+   */
+  private int toTableScore(int score, int ply) {
+    if (score >= winThreshold) {
+      return score + ply;
+    }
+    if (score <= -winThreshold) {
+      return score - ply;
+    }
+    return score;
+  }
+
+  private int fromTableScore(int score, int ply) {
+    if (score >= winThreshold) {
+      return score - ply;
+    }
+    if (score <= -winThreshold) {
+      return score + ply;
+    }
+    return score;
+  }
+
+  private boolean shouldStop() {
+    return stopSignal.get() || nodes >= maximumNodes || System.nanoTime() - deadlineNanos >= 0;
+  }
+}
@@ -0,0 +1,204 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * <p>A book of the best moves in the opening positions of a game, written by an
+ * {@link OpeningBookBuilder}. The first few moves are the most expensive to search as every column
+ * is still open, so an {@link AIPlayer} plays straight from the book while it can.</p>
+ * <p>The book file is memory-mapped rather than read onto the heap. It holds a header describing
+ * the game that the book was built for, followed by the entries sorted by the
+ * {@link SearchBoard#getCanonicalHash() canonical hash} of their position, so each lookup is a
+ * binary search that doesn't allocate. A position and its mirror image share an entry, whose
+ * column is for the canonical image.</p>
+ * <p>The format of the file (all values big-endian) is:</p>
+ * <ul>
+ *   <li>{@code int} - {@link #MAGIC}</li>
+ *   <li>{@code int} - {@link #VERSION}</li>
+ *   <li>{@code int} - the width of the board</li>
+ *   <li>{@code int} - the height of the board</li>
+ *   <li>{@code int} - the number of players</li>
+ *   <li>{@code int} for each player, in turn order - the number of consecutive counters that the
+ *   player needs to win</li>
+ *   <li>{@code int} - the number of entries</li>
+ *   <li>For each entry: {@code long} - the canonical hash of the position, then {@code int} - the
+ *   best column (starting at 0) for the player to move in the canonical image</li>
+ * </ul>
+ */
+public class OpeningBook {
+
+  /**
+   * The first four bytes of every book file.
+   */
+  public static final int MAGIC = 0x434E4F42; // "CNOB"
+
+  /**
+   * The version of the file format.
+   */
+  public static final int VERSION = 2;
+
+  static final int ENTRY_SIZE = Long.BYTES + Integer.BYTES;
+
+  private final MappedByteBuffer buffer;
+  private final int width;
+  private final int height;
+  private final int[] countersRequired;
+  private final int entriesOffset;
+  private final int numberOfEntries;
+
+  // Reads the header of the mapped file
+  private OpeningBook(MappedByteBuffer buffer, Path path) throws IOException {
+    this.buffer = buffer;
+    try {
+      if (buffer.getInt() != MAGIC || buffer.getInt() != VERSION) {
+        throw new IOException(path + " is not an opening book");
+      }
+      this.width = buffer.getInt();
+      this.height = buffer.getInt();
+      int seats = buffer.getInt();
+      if (seats < 1) {
+        throw new IOException(path + " is corrupt: number of players must be > 0");
+      }
+      this.countersRequired = new int[seats];
+      for (int seat = 0; seat < seats; seat++) {
+        countersRequired[seat] = buffer.getInt();
+      }
+      this.numberOfEntries = buffer.getInt();
+      this.entriesOffset = buffer.position();
+    } catch (RuntimeException e) {
+      // Most likely a BufferUnderflowException if the header has been truncated
+      throw new IOException(path + " is corrupt", e);
+    }
+    if (numberOfEntries < 0
+        || entriesOffset + (long) numberOfEntries * ENTRY_SIZE > buffer.capacity()) {
+      throw new IOException(path + " is corrupt: entries are missing");
+    }
+  }
+
+  /**
+   * Opens the book in the given file.
+   * @param path The path to the book file.
+   * @return The opening book.
+   * @throws IOException Thrown if the file can't be read or isn't a valid opening book.
+   * @throws NullPointerException Thrown if {@code path == null}.
+   */
+  public static OpeningBook open(Path path) throws IOException, NullPointerException {
+    Objects.requireNonNull(path, "Path is null");
+    try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+      // The mapping stays valid after the channel has been closed
+      return new OpeningBook(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()), path);
+    }
+  }
+
+  /**
+   * Writes a book to the given file. The entries don't need to be sorted.
+   * @param path The path to write the book to. Any existing file is replaced.
+   * @param board The game that the book is for. Only the dimensions and the players are used.
+   * @param hashes The canonical hashes of the positions in the book.
+   * @param columns The best column in the canonical image of each position, in the same order as
+   * {@code hashes}.
+   * @throws IOException Thrown if the file can't be written.
+   * @throws IllegalArgumentException Thrown if {@code hashes} and {@code columns} are different
+   * lengths.
+   */
+  static void write(Path path, SearchBoard board, long[] hashes, int[] columns)
+      throws IOException, IllegalArgumentException {
+    if (hashes.length != columns.length) {
+      throw new IllegalArgumentException("Every position must have exactly one column");
+    }
+    Integer[] order = new Integer[hashes.length];
+    for (int i = 0; i < order.length; i++) {
+      order[i] = i;
+    }
+    Arrays.sort(order, (a, b) -> Long.compare(hashes[a], hashes[b]));
+
+    int seats = board.getNumberOfSeats();
+    ByteBuffer buffer =
+        ByteBuffer.allocate(Integer.BYTES * (6 + seats) + ENTRY_SIZE * hashes.length);
+    buffer.putInt(MAGIC).putInt(VERSION)
+        .putInt(board.getWidth()).putInt(board.getHeight()).putInt(seats);
+    for (int seat = 0; seat < seats; seat++) {
+      buffer.putInt(board.getCountersRequired(seat));
+    }
+    buffer.putInt(hashes.length);
+    for (int i : order) {
+      buffer.putLong(hashes[i]).putInt(columns[i]);
+    }
+    buffer.flip();
+
+    try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE,
+        StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+      while (buffer.hasRemaining()) {
+        channel.write(buffer);
+      }
+    }
+  }
+
+  /**
+   * Determines whether this book was built for the same game as the given board: the same
+   * dimensions, the same number of players and the same victory conditions in the same turn
+   * order.
+   * @param board The board.
+   * @return {@code true} if the book can be used to find moves on the board.
+   */
+  public boolean isFor(SearchBoard board) {
+    if (board.getWidth() != width
+        || board.getHeight() != height
+        || board.getNumberOfSeats() != countersRequired.length) {
+      return false;
+    }
+    for (int seat = 0; seat < countersRequired.length; seat++) {
+      if (board.getCountersRequired(seat) != countersRequired[seat]) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Looks up the best move in the position on the board, or in its mirror image.
+   * @param board The board.
+   * @return The best column (starting at 0) for the player to move, or {@code -1} if the position
+   * isn't in the book.
+   */
+  public int probe(SearchBoard board) {
+    return board.toCanonicalColumn(probe(board.getCanonicalHash()));
+  }
+
+  /**
+   * Looks up the best move in the position with the given canonical hash.
+   * @param hash The {@link SearchBoard#getCanonicalHash() canonical hash} of the position.
+   * @return The best column (starting at 0) for the player to move in the canonical image, or
+   * {@code -1} if the position isn't in the book.
+   */
+  public int probe(long hash) {
+    int low = 0;
+    int high = numberOfEntries - 1;
+    while (low <= high) {
+      int middle = (low + high) >>> 1;
+      int offset = entriesOffset + middle * ENTRY_SIZE;
+      long entryHash = buffer.getLong(offset);
+      if (entryHash < hash) {
+        low = middle + 1;
+      } else if (entryHash > hash) {
+        high = middle - 1;
+      } else {
+        return buffer.getInt(offset + Long.BYTES);
+      }
+    }
+    return -1;
+  }
+
+  /**
+   * Gets the number of positions in the book.
+   * @return The number of positions.
+   */
+  public int size() {
+    return numberOfEntries;
+  }
+}
@@ -0,0 +1,201 @@
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * <p>Builds an {@link OpeningBook} for a game by searching every position that can be reached in
+ * its first few moves. Each position is given a deep search of its own, using the same search as a
+ * {@code HARD} computer player would in that game, and the positions are shared out between
+ * several threads.</p>
+ * <p>Books can be built from the command line:</p>
+ * <pre><code>java OpeningBookBuilder width height players counters plies path [millis] [threads]
+ * </code></pre>
+ * <p>where {@code plies} is the number of moves that the book covers and {@code millis} is the
+ * amount of time to spend searching each position.</p>
+ */
+public class OpeningBookBuilder {
+
+  private final List<Player> turnOrder;
+  private final Dimensions dimensions;
+  private final int plies;
+  private final SearchSettings settings;
+
+  /**
+   * Creates a new opening book builder.
+   * @param turnOrder The players in the order that they take their turns.
+   * @param dimensions The dimensions of the board.
+   * @param plies The number of moves (by all players) that the book should cover.
+   * @param settings The resources that the search of each position may use. The number of threads
+   * is the number of positions searched at once.
+   * @throws NullPointerException Thrown if any of the arguments are {@code null}.
+   * @throws IllegalArgumentException Thrown if the players can't be represented on a
+   * {@link SearchBoard}, or {@code plies < 1}.
+   */
+  public OpeningBookBuilder(
+      List<Player> turnOrder, Dimensions dimensions, int plies, SearchSettings settings)
+      throws NullPointerException, IllegalArgumentException {
+    Objects.requireNonNull(turnOrder, "Turn order is null");
+    if (!SearchBoard.canRepresent(turnOrder)) {
+      throw new IllegalArgumentException("Players cannot be represented on a search board");
+    }
+    if (plies < 1) {
+      throw new IllegalArgumentException("Number of plies must be > 0");
+    }
+    this.turnOrder = List.copyOf(turnOrder);
+    this.dimensions = Objects.requireNonNull(dimensions, "Dimensions are null");
+    this.plies = plies;
+    this.settings = Objects.requireNonNull(settings, "Search settings are null");
+  }
+
+  /**
+   * Searches every opening position and writes the book.
+   * @param path The path to write the book to. Any existing file is replaced.
+   * @return The number of positions in the book.
+   * @throws IOException Thrown if the book can't be written.
+   * @throws InterruptedException Thrown if the calling thread is interrupted while waiting for the
+   * searches to finish.
+   */
+  public int build(Path path) throws IOException, InterruptedException {
+    SearchBoard emptyBoard = SearchBoard.empty(dimensions, turnOrder);
+    List<SearchBoard> positions = findPositions(emptyBoard);
+
+    ExecutorService executor = Executors.newFixedThreadPool(settings.getThreads());
+    ThreadLocal<TranspositionTable[]> tables =
+        ThreadLocal.withInitial(() -> new TranspositionTable[turnOrder.size()]);
+    try {
+      // The hashes are taken up front, as the searches play moves on the boards as they go
+      long[] hashes = new long[positions.size()];
+      List<Future<Integer>> columns = new ArrayList<>(positions.size());
+      for (int i = 0; i < positions.size(); i++) {
+        SearchBoard position = positions.get(i);
+        hashes[i] = position.getCanonicalHash();
+        columns.add(executor.submit(() -> search(position, tables.get())));
+      }
+
+      int[] bestColumns = new int[positions.size()];
+      for (int i = 0; i < positions.size(); i++) {
+        bestColumns[i] = columns.get(i).get();
+      }
+      OpeningBook.write(path, emptyBoard, hashes, bestColumns);
+      return positions.size();
+    } catch (ExecutionException e) {
+      throw new IllegalStateException("Search of an opening position failed", e.getCause());
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  /**
+   * Finds every distinct position in which a player still has to move before the book runs out.
+   * Lines are not followed past a winning move. Only one of each pair of mirror images is kept, as
+   * they share an entry in the book.
+   */
+  private List<SearchBoard> findPositions(SearchBoard emptyBoard) {
+    List<SearchBoard> positions = new ArrayList<>();
+    Set<Long> seen = new HashSet<>();
+    List<SearchBoard> frontier = List.of(emptyBoard);
+    seen.add(emptyBoard.getCanonicalHash());
+    for (int ply = 0; ply < plies && !frontier.isEmpty(); ply++) {
+      List<SearchBoard> nextFrontier = new ArrayList<>();
+      for (SearchBoard position : frontier) {
+        if (position.isFull()) {
+          continue;
+        }
+        positions.add(position);
+        for (int column = 0; column < position.getWidth(); column++) {
+          if (!position.canPlay(column)
+              || position.isWinningMove(position.getSeatToMove(), column)) {
+            continue;
+          }
+          SearchBoard next = position.copy();
+          next.play(column);
+          if (seen.add(next.getCanonicalHash())) {
+            nextFrontier.add(next);
+          }
+        }
+      }
+      frontier = nextFrontier;
+    }
+    return positions;
+  }
+
+  /**
+   * Searches a single position. Each thread keeps a transposition table for every seat, as the
+   * multi-player searches only make sense of scores stored from the same player's point of view.
+   */
+  private int search(SearchBoard position, TranspositionTable[] tables) {
+    int seat = position.getSeatToMove();
+    if (tables[seat] == null) {
+      tables[seat] = new TranspositionTable(settings.getTranspositionTableEntries());
+    }
+    long deadlineNanos =
+        System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(settings.getTimeLimitMillis());
+    position.setEvaluator(settings.getEvaluator().newEvaluator());
+    SearchResult result;
+    if (position.getNumberOfSeats() == 2) {
+      result = new NegamaxSearch(position, tables[seat], new AtomicBoolean(false))
+          .search(settings.getMaximumDepth(), deadlineNanos);
+    } else if (settings.getMultiPlayerSearch() == SearchSettings.MultiPlayerSearch.MAX_N) {
+      result = new MaxNSearch(position).search(settings.getMaximumDepth(), deadlineNanos);
+    } else {
+      result = new ParanoidSearch(position, tables[seat])
+          .search(settings.getMaximumDepth(), deadlineNanos);
+    }
+    return position.toCanonicalColumn(result.getColumn());
+  }
+
+  /**
+   * Builds an opening book from the command line arguments. See {@link OpeningBookBuilder} for
+   * details.
+   * @param args The command line arguments.
+   */
+  public static void main(String[] args) {
+    if (args.length < 6) {
+      System.out.println(
+          "Usage: java OpeningBookBuilder width height players counters plies path "
+              + "[millis] [threads]"
+      );
+      return;
+    }
+    try {
+      Dimensions dimensions =
+          new Dimensions(Integer.parseInt(args[0]), Integer.parseInt(args[1]));
+      int numberOfPlayers = Integer.parseInt(args[2]);
+      VictoryCondition victoryCondition =
+          new ConsecutiveCountersVictoryCondition(Integer.parseInt(args[3]));
+      List<Player> players = new ArrayList<>(numberOfPlayers);
+      for (int i = 0; i < numberOfPlayers; i++) {
+        players.add(new AIPlayer(PlayerColour.values()[i], victoryCondition, Difficulty.HARD));
+      }
+      SearchSettings.Builder settings = SearchSettings.builder();
+      if (args.length > 6) {
+        settings.setTimeLimitMillis(Long.parseLong(args[6]));
+      }
+      settings.setThreads(
+          args.length > 7 ? Integer.parseInt(args[7]) : Runtime.getRuntime().availableProcessors()
+      );
+
+      Path path = Paths.get(args[5]);
+      int entries =
+          new OpeningBookBuilder(players, dimensions, Integer.parseInt(args[4]), settings.build())
+              .build(path);
+      System.out.println("Wrote " + entries + " positions to " + path);
+    } catch (IOException | RuntimeException e) {
+      // Don't print an ugly stacktrace - the exception message should contain relevant details
+      System.out.println(e.getMessage());
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
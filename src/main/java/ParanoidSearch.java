@@ -0,0 +1,289 @@
+/**
+ * <p>An iterative deepening paranoid search for games with any number of players. The search
+ * assumes the worst: that every other player is working together against the player to move at
+ * the root. This turns the game into a two-sided one, where the root player maximises their score
+ * and the coalition minimises it, so it can be searched with ordinary alpha-beta pruning and a
+ * transposition table. Moves are still searched in the real turn order, so the root player only
+ * gets to move once in every round.</p>
+ * <p>Scores are always from the point of view of the root player. A win is worth
+ * {@link NegamaxSearch#WIN_SCORE} less the number of moves needed to reach it, and a win for any
+ * other player is worth the negative of that. Other positions are scored as the root player's
+ * share of the score vector (see {@link ScoreVectorEvaluation}) less the average share of the
+ * other players.</p>
+ * <p>The transposition table must not be shared with searches from a different root seat, as the
+ * scores it holds are only meaningful to the player that stored them.</p>
+ */
+public class ParanoidSearch {
+
+  // How often the clock is checked. Must be one less than a power of two.
+  private static final long CHECK_INTERVAL_MASK = 1023;
+
+  private static final int WIN_SCORE = NegamaxSearch.WIN_SCORE;
+
+  private final SearchBoard board;
+  private final Evaluator evaluator;
+  private final TranspositionTable table;
+  private final int rootSeat;
+  private final int[][] moveBuffers;
+  private final MoveOrdering moveOrdering;
+  private final int[] scoreVector;
+  private final int[] centreOrder;
+  private final int maximumPly;
+  private final int winThreshold;
+
+  private long deadlineNanos;
+  private long maximumNodes;
+  private long nodes;
+  private long tableProbes;
+  private long tableHits;
+  private long expandedNodes;
+  private long cutoffs;
+  private long firstMoveCutoffs;
+  private boolean aborted;
+  private int rootBestMove;
+
+  /**
+   * Creates a new search.
+   * @param board The position to search. This is modified during the search, but is always
+   * restored before returning. Positions are scored by the board's evaluator, and a
+   * {@link WindowEvaluator} is attached if it doesn't have one.
+   * @param table The transposition table to read from and write to.
+   */
+  public ParanoidSearch(SearchBoard board, TranspositionTable table) {
+    this.board = board;
+    this.evaluator = board.requireEvaluator();
+    this.table = table;
+    this.rootSeat = board.getSeatToMove();
+    this.maximumPly = board.getWidth() * board.getHeight() - board.getNumberOfCounters();
+    this.winThreshold = WIN_SCORE - board.getWidth() * board.getHeight();
+    this.moveBuffers = new int[maximumPly + 1][board.getWidth()];
+    this.moveOrdering = new MoveOrdering(board, maximumPly);
+    this.scoreVector = new int[board.getNumberOfSeats()];
+    this.centreOrder = board.getColumnsFromCentre();
+  }
+
+  /**
+   * Searches the position with iterative deepening.
+   * @param maximumDepth The maximum number of moves to look ahead.
+   * @param deadlineNanos The {@link System#nanoTime()} at which the search should stop.
+   * @return The best move found by the deepest search that completed. At least a one-move search
+   * is always completed.
+   */
+  public SearchResult search(int maximumDepth, long deadlineNanos) {
+    return search(maximumDepth, deadlineNanos, Long.MAX_VALUE);
+  }
+
+  /**
+   * Searches the position with iterative deepening, stopping once it has visited a number of
+   * positions.
+   * @param maximumDepth The maximum number of moves to look ahead.
+   * @param deadlineNanos The {@link System#nanoTime()} at which the search should stop.
+   * @param maximumNodes The number of positions after which the search should stop.
+   * @return The best move found by the deepest search that completed. At least a one-move search
+   * is always completed.
+   */
+  public SearchResult search(int maximumDepth, long deadlineNanos, long maximumNodes) {
+    long startNanos = System.nanoTime();
+    this.deadlineNanos = deadlineNanos;
+    this.maximumNodes = maximumNodes;
+    this.nodes = 0;
+    this.tableProbes = 0;
+    this.tableHits = 0;
+    this.expandedNodes = 0;
+    this.cutoffs = 0;
+    this.firstMoveCutoffs = 0;
+    this.aborted = false;
+
+    maximumDepth = Math.min(maximumDepth, maximumPly);
+    int bestMove = firstPlayableColumn();
+    int bestScore = 0;
+    int completedDepth = 0;
+
+    for (int depth = 1; depth <= maximumDepth; depth++) {
+      rootBestMove = -1;
+      int score = paranoid(depth, -WIN_SCORE, WIN_SCORE, 0);
+      // A partially completed search can't be trusted (unless it's the only search we've got)
+      if (aborted && completedDepth > 0) {
+        break;
+      }
+      if (rootBestMove >= 0) {
+        bestMove = rootBestMove;
+        bestScore = score;
+        completedDepth = depth;
+      }
+      if (aborted || Math.abs(score) >= winThreshold) {
+        // Out of time, or the result of the game is already known
+        break;
+      }
+    }
+    SearchStatistics statistics = SearchStatistics.builder()
+        .setNodes(nodes)
+        .setElapsedNanos(System.nanoTime() - startNanos)
+        .setDepth(completedDepth)
+        .setTableProbes(tableProbes)
+        .setTableHits(tableHits)
+        .setExpandedNodes(expandedNodes)
+        .setCutoffs(cutoffs)
+        .setFirstMoveCutoffs(firstMoveCutoffs)
+        .build();
+    return new SearchResult(bestMove, bestScore, statistics);
+  }
+
+  private int firstPlayableColumn() {
+    for (int column : centreOrder) {
+      if (board.canPlay(column)) {
+        return column;
+      }
+    }
+    return -1;
+  }
+
+  /**
+   * Gets the number of positions visited by the last search.
+   * @return The number of positions visited.
+   */
+  public long getNodes() {
+    return nodes;
+  }
+
+  private int paranoid(int depth, int alpha, int beta, int ply) {
+    if ((++nodes & CHECK_INTERVAL_MASK) == 0
+        && (nodes >= maximumNodes || System.nanoTime() - deadlineNanos >= 0)) {
+      aborted = true;
+    }
+    if (aborted) {
+      return 0;
+    }
+
+    int seat = board.getSeatToMove();
+    boolean maximising = seat == rootSeat;
+    int width = board.getWidth();
+
+    // Can the player to move win immediately? If so, there's no need to look any further.
+    for (int column = 0; column < width; column++) {
+      if (board.isCandidate(column) && board.isWinningMove(seat, column)) {
+        if (ply == 0) {
+          rootBestMove = column;
+        }
+        return maximising ? WIN_SCORE - ply : -(WIN_SCORE - ply);
+      }
+    }
+
+    if (ply == maximumPly) {
+      // The board is full - the game is a draw
+      return 0;
+    }
+
+    if (depth == 0) {
+      return evaluate();
+    }
+
+    // Mirror images share an entry, with the move stored for the canonical image
+    long hash = board.getCanonicalHash();
+    long entry = table.probe(hash);
+    tableProbes++;
+    int hashMove = -1;
+    if (entry != TranspositionTable.MISS) {
+      tableHits++;
+      hashMove = board.toCanonicalColumn(TranspositionTable.getMove(entry));
+      if (ply > 0 && TranspositionTable.getDepth(entry) >= depth) {
+        int score = fromTableScore(TranspositionTable.getScore(entry), ply);
+        int bound = TranspositionTable.getBound(entry);
+        if (bound == TranspositionTable.EXACT
+            || (bound == TranspositionTable.LOWER_BOUND && score >= beta)
+            || (bound == TranspositionTable.UPPER_BOUND && score <= alpha)) {
+          return score;
+        }
+      }
+    }
+
+    int[] moves = moveBuffers[ply];
+    int numberOfMoves = moveOrdering.order(moves, hashMove, ply);
+    expandedNodes++;
+
+    int originalAlpha = alpha;
+    int originalBeta = beta;
+    int bestScore = maximising ? -WIN_SCORE : WIN_SCORE;
+    int bestMove = -1;
+    for (int i = 0; i < numberOfMoves; i++) {
+      int column = moves[i];
+      board.play(column);
+      int score = paranoid(depth - 1, alpha, beta, ply + 1);
+      board.undo();
+      if (aborted) {
+        return 0;
+      }
+      if (maximising ? score > bestScore : score < bestScore) {
+        bestScore = score;
+        bestMove = column;
+        if (ply == 0) {
+          rootBestMove = column;
+        }
+        if (maximising) {
+          alpha = Math.max(alpha, score);
+        } else {
+          beta = Math.min(beta, score);
+        }
+        if (alpha >= beta) {
+          moveOrdering.cutoff(column, ply, depth);
+          cutoffs++;
+          if (i == 0) {
+            firstMoveCutoffs++;
+          }
+          break;
+        }
+      }
+    }
+
+    int bound;
+    if (bestScore <= originalAlpha) {
+      bound = TranspositionTable.UPPER_BOUND;
+    } else if (bestScore >= originalBeta) {
+      bound = TranspositionTable.LOWER_BOUND;
+    } else {
+      bound = TranspositionTable.EXACT;
+    }
+    table.store(
+        hash, toTableScore(bestScore, ply), depth, bound, board.toCanonicalColumn(bestMove));
+    return bestScore;
+  }
+
+  /**
+   * Scores a position at the search horizon as the root player's share of the score vector, less
+   * the average share of everyone else.
+   */
+  private int evaluate() {
+    ScoreVectorEvaluation.evaluate(evaluator, scoreVector);
+    int others = 0;
+    for (int seat = 0; seat < scoreVector.length; seat++) {
+      if (seat != rootSeat) {
+        others += scoreVector[seat];
+      }
+    }
+    return scoreVector[rootSeat] - others / Math.max(1, scoreVector.length - 1);
+  }
+
+  /**
+   * Win scores depend on the distance from the root, so are stored relative to the position
+   * itself in the transposition table.
+   */
+  private int toTableScore(int score, int ply) {
+    if (score >= winThreshold) {
+      return score + ply;
+    }
+    if (score <= -winThreshold) {
+      return score - ply;
+    }
+    return score;
+  }
+
+  private int fromTableScore(int score, int ply) {
+    if (score >= winThreshold) {
+      return score - ply;
+    }
+    if (score <= -winThreshold) {
+      return score + ply;
+    }
+    return score;
+  }
+}
@@ -0,0 +1,56 @@
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * A strategy that plays perfectly in two-player games, using a {@link PerfectSolver} to find a move
+ * that achieves the best possible result. If the position can't be solved within the time limit of
+ * the {@link SearchSettings}, the turn is delegated to a fallback strategy, so a turn may take up
+ * to twice as long as the time limit. The solver's transposition table is kept between turns, so
+ * later positions are solved far more quickly.
+ * <p>Games that the solver can't handle (see {@link PerfectSolver#canSolve(SearchBoard)}) are
+ * always delegated to the fallback strategy.</p>
+ */
+public class PerfectPlayStrategy extends AbstractSearchStrategy {
+
+  private final SearchSettings settings;
+  private PerfectSolver solver; // Created when first needed, as the table is large
+
+  /**
+   * Creates a new perfect play strategy.
+   * @param settings The resources that the solver may use.
+   * @param fallbackStrategy The strategy used for games that can't be solved, or positions that
+   * can't be solved in time.
+   * @throws NullPointerException Thrown if {@code settings == null} or
+   * {@code fallbackStrategy == null}.
+   */
+  public PerfectPlayStrategy(SearchSettings settings, AIStrategy fallbackStrategy)
+      throws NullPointerException {
+    super(fallbackStrategy);
+    this.settings = Objects.requireNonNull(settings, "Search settings are null");
+  }
+
+  @Override
+  protected boolean canSearch(List<Player> playersInTurnOrder) {
+    return playersInTurnOrder.size() == 2;
+  }
+
+  @Override
+  protected int chooseColumn(SearchBoard board) {
+    if (!PerfectSolver.canSolve(board)) {
+      return -1;
+    }
+    if (solver == null) {
+      solver = new PerfectSolver(settings.getTranspositionTableEntries());
+    }
+    Optional<SearchResult> result = solver.solve(board, settings.getTimeLimitMillis());
+    result.map(SearchResult::getStatistics).ifPresent(this::recordStatistics);
+    return result.map(SearchResult::getColumn).orElse(-1);
+  }
+
+  @Override
+  public void onGameEnd(Board board) {
+    super.onGameEnd(board);
+    solver = null;
+  }
+}
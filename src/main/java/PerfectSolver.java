@@ -0,0 +1,292 @@
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>Solves two-player positions exactly: given enough time, it finds the result of the game with
+ * perfect play from both sides, and a move that achieves it. Positions must be representable as a
+ * {@link Bitboard}, which includes every position on the standard 7x6 board.</p>
+ * <p>The solver is a negamax search over bitboards that only ever uses null windows, narrowing in
+ * on the exact score with a binary search. It never considers moves that lose immediately, tries
+ * the moves that create the most threats first, and remembers bounds on the scores of positions it
+ * has seen in a transposition table that is kept between solves.</p>
+ * <p>Scores are from the point of view of the player to move. A positive score means that the
+ * player to move will win, and is the number of their counters still in hand when they do, plus
+ * one - so a quicker win scores higher. A negative score is a loss in the same way, and 0 is a
+ * draw.</p>
+ */
+public class PerfectSolver {
+
+  // How often the clock is checked. Must be one less than a power of two.
+  private static final long CHECK_INTERVAL_MASK = 4095;
+
+  private final long[] keys;
+  private final byte[] values;
+  private final int indexShift;
+
+  private int width;
+  private int cells;
+  private int countersRequired;
+  private int minimumScore;
+  private int maximumScore;
+  private int[] columnOrder;
+  private long[][] moveBuffers;
+  private int[][] scoreBuffers;
+  private int movesAtRoot;
+  private long deadlineNanos;
+  private long nodes;
+  private boolean aborted;
+
+  /**
+   * Creates a new solver.
+   * @param transpositionTableEntries The minimum number of positions that the transposition table
+   * should be able to hold. The table is rounded up to a power of two.
+   * @throws IllegalArgumentException Thrown if {@code transpositionTableEntries < 1}.
+   */
+  public PerfectSolver(int transpositionTableEntries) throws IllegalArgumentException {
+    if (transpositionTableEntries < 1) {
+      throw new IllegalArgumentException("Transposition table must have at least one entry");
+    }
+    int bits = Math.max(1, 32 - Integer.numberOfLeadingZeros(transpositionTableEntries - 1));
+    this.keys = new long[1 << bits];
+    this.values = new byte[1 << bits];
+    this.indexShift = 64 - bits;
+  }
+
+  /**
+   * Determines whether a position can be solved.
+   * @param board The position.
+   * @return {@code true} if the position is a two-player game that fits in a {@link Bitboard}.
+   */
+  public static boolean canSolve(SearchBoard board) {
+    return Bitboard.canRepresent(board);
+  }
+
+  /**
+   * Solves the position, finding its exact score and the best move for the player to move.
+   * @param board The position to solve. This is not modified, and must not be full or won.
+   * @param timeLimitMillis The amount of time that the solver may take.
+   * @return The best move and its score, with the depth being the number of empty cells left on
+   * the board. If the position could not be solved in time, an empty optional is returned instead.
+   * @throws IllegalArgumentException Thrown if the position can't be solved (see
+   * {@link #canSolve(SearchBoard)}).
+   */
+  public Optional<SearchResult> solve(SearchBoard board, long timeLimitMillis)
+      throws IllegalArgumentException {
+    Bitboard position = Bitboard.of(board);
+    prepare(position, board.getColumnsFromCentre(), timeLimitMillis);
+
+    // Can the game be won right now?
+    for (int column : columnOrder) {
+      if (position.canPlay(column) && position.isWinningMove(column)) {
+        return Optional.of(result(column, (cells + 1 - position.getNumberOfMoves()) / 2));
+      }
+    }
+
+    int score = solve(position);
+    if (aborted) {
+      return Optional.empty();
+    }
+
+    // Find a move that achieves the score. Moves that lose straight away are never searched, so
+    // they're only played if every move loses.
+    long nonLosingMoves = position.nonLosingMoves();
+    int bestColumn = -1;
+    for (int column : columnOrder) {
+      if (!position.canPlay(column)) {
+        continue;
+      }
+      if (bestColumn < 0) {
+        bestColumn = column; // In case every move loses
+      }
+      if ((nonLosingMoves & position.columnMask(column)) == 0) {
+        continue;
+      }
+      long move = position.possibleMoves() & position.columnMask(column);
+      position.play(move);
+      // Does this move score at least as much as the position? A null window is enough to tell.
+      int moveScore = -negamax(position, -score, -score + 1, 1);
+      position.undo(move);
+      if (aborted) {
+        return Optional.empty();
+      }
+      if (moveScore >= score) {
+        bestColumn = column;
+        break;
+      }
+    }
+    return Optional.of(result(bestColumn, score));
+  }
+
+  /**
+   * Gets the number of positions visited by the last solve.
+   * @return The number of positions visited.
+   */
+  public long getNodes() {
+    return nodes;
+  }
+
+  private SearchResult result(int column, int score) {
+    return new SearchResult(column, score, cells - movesAtRoot, nodes);
+  }
+
+  // Sets up the search for a new root position
+  private void prepare(Bitboard position, int[] columnOrder, long timeLimitMillis) {
+    int newCells = position.getWidth() * position.getHeight();
+    if (position.getWidth() != width
+        || newCells != cells
+        || position.getCountersRequired() != countersRequired) {
+      // The table only makes sense for the game it was filled in
+      Arrays.fill(keys, 0);
+      Arrays.fill(values, (byte) 0);
+      this.width = position.getWidth();
+      this.cells = newCells;
+      this.countersRequired = position.getCountersRequired();
+      this.minimumScore = -cells / 2 + 3;
+      this.maximumScore = (cells + 1) / 2 - 3;
+      this.moveBuffers = new long[cells + 1][width];
+      this.scoreBuffers = new int[cells + 1][width];
+    }
+    this.columnOrder = columnOrder;
+    this.movesAtRoot = position.getNumberOfMoves();
+    this.deadlineNanos = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeLimitMillis);
+    this.nodes = 0;
+    this.aborted = false;
+  }
+
+  /**
+   * Finds the exact score of a position where the player to move can't win immediately, by
+   * repeatedly halving the range that the score could be in.
+   */
+  private int solve(Bitboard position) {
+    int minimum = -(cells - position.getNumberOfMoves()) / 2;
+    int maximum = (cells + 1 - position.getNumberOfMoves()) / 2;
+    while (minimum < maximum && !aborted) {
+      int middle = minimum + (maximum - minimum) / 2;
+      // Draws and quick results are most common, so bias the tests towards 0
+      if (middle <= 0 && minimum / 2 < middle) {
+        middle = minimum / 2;
+      } else if (middle >= 0 && maximum / 2 > middle) {
+        middle = maximum / 2;
+      }
+      int score = negamax(position, middle, middle + 1, 0);
+      if (score <= middle) {
+        maximum = score;
+      } else {
+        minimum = score;
+      }
+    }
+    return minimum;
+  }
+
+  /**
+   * Scores a position where the player to move can't win immediately. The result is exact if it
+   * lies strictly between {@code alpha} and {@code beta}; otherwise it is a bound on the score.
+   */
+  private int negamax(Bitboard position, int alpha, int beta, int ply) {
+    if ((++nodes & CHECK_INTERVAL_MASK) == 0 && System.nanoTime() - deadlineNanos >= 0) {
+      aborted = true;
+    }
+    if (aborted) {
+      return 0;
+    }
+
+    long possible = position.nonLosingMoves();
+    int moves = position.getNumberOfMoves();
+    if (possible == 0) {
+      // Every move lets the opponent win next turn
+      return -(cells - moves) / 2;
+    }
+    if (moves >= cells - 2) {
+      // Neither player can win with the last two counters
+      return 0;
+    }
+
+    // The opponent can't win next turn, so the score can't be lower than this
+    int minimum = -(cells - 2 - moves) / 2;
+    if (alpha < minimum) {
+      alpha = minimum;
+      if (alpha >= beta) {
+        return alpha;
+      }
+    }
+    // We can't win this turn, so the score can't be higher than this
+    int maximum = (cells - 1 - moves) / 2;
+
+    long key = position.getKey();
+    int value = probe(key);
+    if (value != 0) {
+      if (value > maximumScore - minimumScore + 1) {
+        // Lower bound
+        int lowerBound = value + 2 * minimumScore - maximumScore - 2;
+        if (alpha < lowerBound) {
+          alpha = lowerBound;
+          if (alpha >= beta) {
+            return alpha;
+          }
+        }
+      } else {
+        // Upper bound
+        maximum = value + minimumScore - 1;
+      }
+    }
+    if (beta > maximum) {
+      beta = maximum;
+      if (alpha >= beta) {
+        return beta;
+      }
+    }
+
+    // Sort the moves by the number of threats that they create, from the centre outwards
+    long[] moveBuffer = moveBuffers[ply];
+    int[] scoreBuffer = scoreBuffers[ply];
+    int numberOfMoves = 0;
+    for (int i = width - 1; i >= 0; i--) {
+      long move = possible & position.columnMask(columnOrder[i]);
+      if (move != 0) {
+        int score = position.moveScore(move);
+        int index = numberOfMoves++;
+        // Insertion sort, keeping equal moves nearer the centre towards the end
+        for (; index > 0 && scoreBuffer[index - 1] > score; index--) {
+          moveBuffer[index] = moveBuffer[index - 1];
+          scoreBuffer[index] = scoreBuffer[index - 1];
+        }
+        moveBuffer[index] = move;
+        scoreBuffer[index] = score;
+      }
+    }
+
+    for (int i = numberOfMoves - 1; i >= 0; i--) {
+      position.play(moveBuffer[i]);
+      int score = -negamax(position, -beta, -alpha, ply + 1);
+      position.undo(moveBuffer[i]);
+      if (aborted) {
+        return 0;
+      }
+      if (score >= beta) {
+        store(key, score + maximumScore - 2 * minimumScore + 2);
+        return score;
+      }
+      if (score > alpha) {
+        alpha = score;
+      }
+    }
+    store(key, alpha - minimumScore + 1);
+    return alpha;
+  }
+
+  private int probe(long key) {
+    int index = index(key);
+    return keys[index] == key ? values[index] : 0;
+  }
+
+  private void store(long key, int value) {
+    int index = index(key);
+    keys[index] = key;
+    values[index] = (byte) value;
+  }
+
+  private int index(long key) {
+    return (int) ((key * 0x9E3779B97F4A7C15L) >>> indexShift);
+  }
+}
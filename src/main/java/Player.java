@@ -1,3 +1,5 @@
+import java.util.List;
+
 /**
  * Represents a player in the game of Connect 4. This can be either a human or computer player.
  */
@@ -38,4 +40,24 @@ public interface Player {
    */
   boolean isVictoryAchieved(Board board);
 
+  /**
+   * Informs the player that the game is about to start, and who they will be playing against.
+   * @param playersInTurnOrder All of the players in the game (including this one), in the order
+   * that they take their turns.
+   */
+  void onGameStart(List<Player> playersInTurnOrder);
+
+  /**
+   * Informs the player that another player has just taken their turn.
+   * @param board The board, just after the other player's turn.
+   * @param opponent The player that took the turn.
+   */
+  void onOpponentMoved(Board board, Player opponent);
+
+  /**
+   * Informs the player that the game has ended, whether it was won or tied.
+   * @param board The board at the end of the game.
+   */
+  void onGameEnd(Board board);
+
 }
@@ -15,9 +15,11 @@ public class PlayerConfiguration {
     this.playerColour = Objects.requireNonNull(builder.colour, "Player colour not set");
     // Defaults to computer player if not specified
     this.computerPlayer = builder.computerPlayer == null || builder.computerPlayer;
+    // Human players may have a difficulty too, for when the computer plays in their place
     this.difficulty =
         this.computerPlayer ?
-            Objects.requireNonNull(builder.difficulty, "Difficulty not specified") : null;
+            Objects.requireNonNull(builder.difficulty, "Difficulty not specified")
+            : builder.difficulty;
     this.victoryCondition =
         Objects.requireNonNull(builder.victoryCondition, "Victory condition is null");
   }
@@ -39,8 +41,9 @@ public class PlayerConfiguration {
   }
 
   /**
-   * Gets the difficulty of the player (only applicable for computer players).
-   * @return The difficulty of the player.
+   * Gets the difficulty of the player (only applicable for computer players, or when the computer
+   * plays in place of a human player, as in a {@link GameSimulator}).
+   * @return The difficulty of the player, or {@code null} if a human player has no difficulty.
    * @see #isComputerPlayer()
    */
   public Difficulty getDifficulty() {
@@ -0,0 +1,25 @@
+/**
+ * <p>Implemented by {@link AIStrategy} instances that can think while other players are taking
+ * their turns, known as pondering. The {@link AIPlayer} starts the strategy pondering after taking
+ * its turn, and stops it when its next turn begins, so that the strategy can reuse whatever it
+ * found and choose its move sooner.</p>
+ * <p>The strategy must be kept between the two turns for pondering to be of any use.</p>
+ */
+public interface Ponderable {
+
+  /**
+   * Starts thinking about the position in the background, returning immediately. Any pondering
+   * that is already running is stopped first.
+   * @param board The board, just after the player has taken their turn. The position is copied,
+   * so the board can change while the strategy ponders.
+   * @param player The player that the strategy plays for.
+   */
+  void startPondering(Board board, Player player);
+
+  /**
+   * Stops pondering, waiting for the background work to finish. Anything that the strategy found
+   * is kept for its next turn. This does nothing if the strategy isn't pondering.
+   */
+  void stopPondering();
+
+}
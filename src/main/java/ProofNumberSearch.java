@@ -0,0 +1,282 @@
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>Proves or disproves that the player to move can force a win, however long the winning
+ * sequence is, using depth-first proof-number search (df-pn). Rather than searching every move to
+ * a fixed depth, the search always expands the position that is cheapest to prove or disprove,
+ * so it can find long sequences of forcing moves on boards that are far too large to search
+ * fully.</p>
+ * <p>Every position has a proof number (how many positions would at least have to be shown to be
+ * wins to prove it) and a disproof number (the same, for showing that it isn't a win). Positions
+ * where the player being proved is to move need just one winning move, while positions where any
+ * other player is to move need every move to lead to a win, so games with any number of players
+ * can be searched. Drawn positions count as not won.</p>
+ * <p>Proof and disproof numbers are kept in a {@link ProofNumberTable}, which is kept between
+ * searches as long as the game and the player being proved stay the same. Positions are stored
+ * under their {@link SearchBoard#getCanonicalHash() canonical hash}, so a position and its mirror
+ * image share their numbers. The search is not thread-safe.</p>
+ */
+public class ProofNumberSearch {
+
+  private static final int INFINITY = ProofNumberTable.INFINITY;
+
+  // How often the clock is checked. Must be one less than a power of two.
+  private static final long CHECK_INTERVAL_MASK = 1023;
+
+  // The states of the children of a position
+  private static final byte UNPLAYABLE = 0;
+  private static final byte OPEN = 1;
+  private static final byte SOLVED = 2;
+
+  private final ProofNumberTable table;
+
+  // The game that the table was filled in for
+  private int width;
+  private int height;
+  private int[] countersRequired;
+  private int rootSeat = -1;
+
+  private SearchBoard board;
+  private long[][] childHashes;
+  private byte[][] childStates;
+  private int[][] childProofNumbers;
+  private int[][] childDisproofNumbers;
+  private int lastProofNumber;
+  private int lastDisproofNumber;
+  private long deadlineNanos;
+  private long nodes;
+  private boolean aborted;
+
+  /**
+   * Creates a new proof-number search.
+   * @param table The table to store proof and disproof numbers in. Any entries already in the
+   * table are assumed to be for the game and player of the first search, so a table can be carried
+   * over from an earlier search. It is cleared if a later search is for a different game, or a
+   * different player.
+   * @throws NullPointerException Thrown if {@code table == null}.
+   */
+  public ProofNumberSearch(ProofNumberTable table) throws NullPointerException {
+    this.table = Objects.requireNonNull(table, "Table is null");
+  }
+
+  /**
+   * Tries to prove that the player to move can force a win.
+   * @param board The position. This is not modified, and must not be full or won.
+   * @param timeLimitMillis The amount of time that the search may take.
+   * @return The outcome of the search. If the win was proven, this includes the column that starts
+   * the winning sequence.
+   * @throws NullPointerException Thrown if {@code board == null}.
+   */
+  public ProofResult prove(SearchBoard board, long timeLimitMillis) throws NullPointerException {
+    Objects.requireNonNull(board, "Board is null");
+    prepare(board, timeLimitMillis);
+    mid(board.getCanonicalHash(), INFINITY, INFINITY, 0);
+    if (aborted) {
+      return unknownResult();
+    }
+    if (lastProofNumber == 0) {
+      // The first child with a proof number of 0 wins
+      for (int column : board.getColumnsFromCentre()) {
+        if (childStates[0][column] != UNPLAYABLE && childProofNumbers[0][column] == 0) {
+          return new ProofResult(ProofResult.Outcome.PROVEN, column, 0, INFINITY, nodes);
+        }
+      }
+    }
+    ProofResult.Outcome outcome =
+        lastDisproofNumber == 0 ? ProofResult.Outcome.DISPROVEN : ProofResult.Outcome.UNKNOWN;
+    return new ProofResult(outcome, -1, lastProofNumber, lastDisproofNumber, nodes);
+  }
+
+  /**
+   * Works out how far the search got before running out of time, from the numbers of the root's
+   * children. The root itself is only stored once it has been solved.
+   */
+  private ProofResult unknownResult() {
+    long proofNumber = INFINITY;
+    long disproofNumber = 0;
+    for (int column = 0; column < width; column++) {
+      if (childStates[0][column] == UNPLAYABLE) {
+        continue;
+      }
+      int index = childStates[0][column] == OPEN ? table.find(childHashes[0][column]) : -1;
+      proofNumber = Math.min(proofNumber,
+          index < 0 ? childProofNumbers[0][column] : table.getProofNumber(index));
+      disproofNumber +=
+          index < 0 ? childDisproofNumbers[0][column] : table.getDisproofNumber(index);
+    }
+    return new ProofResult(ProofResult.Outcome.UNKNOWN, -1, (int) Math.max(1, proofNumber),
+        (int) Math.max(1, Math.min(disproofNumber, INFINITY - 1)), nodes);
+  }
+
+  // Sets up the search for a new root position
+  private void prepare(SearchBoard board, long timeLimitMillis) {
+    int[] required = new int[board.getNumberOfSeats()];
+    for (int seat = 0; seat < required.length; seat++) {
+      required[seat] = board.getCountersRequired(seat);
+    }
+    if (board.getWidth() != width
+        || board.getHeight() != height
+        || !Arrays.equals(required, countersRequired)
+        || board.getSeatToMove() != rootSeat) {
+      if (countersRequired != null) {
+        // The proof numbers only make sense for the game and player they were found for
+        table.clear();
+      }
+      this.width = board.getWidth();
+      this.height = board.getHeight();
+      this.countersRequired = required;
+      this.rootSeat = board.getSeatToMove();
+      int plies = width * height + 1;
+      this.childHashes = new long[plies][width];
+      this.childStates = new byte[plies][width];
+      this.childProofNumbers = new int[plies][width];
+      this.childDisproofNumbers = new int[plies][width];
+    }
+    this.board = board.copy();
+    this.deadlineNanos = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeLimitMillis);
+    this.nodes = 0;
+    this.aborted = false;
+  }
+
+  /**
+   * Searches a position until its proof number reaches {@code proofThreshold} or its disproof
+   * number reaches {@code disproofThreshold}, leaving the final numbers in {@link #lastProofNumber}
+   * and {@link #lastDisproofNumber}.
+   */
+  private void mid(long hash, int proofThreshold, int disproofThreshold, int ply) {
+    if ((++nodes & CHECK_INTERVAL_MASK) == 0 && System.nanoTime() - deadlineNanos >= 0) {
+      aborted = true;
+    }
+    if (aborted) {
+      return;
+    }
+    long startNodes = nodes;
+    int index = table.find(hash);
+    if (index >= 0 && ply > 0
+        && (table.getProofNumber(index) == 0 || table.getDisproofNumber(index) == 0)) {
+      // Already solved
+      lastProofNumber = table.getProofNumber(index);
+      lastDisproofNumber = table.getDisproofNumber(index);
+      return;
+    }
+    long previousWork = index < 0 ? 0 : table.getWork(index);
+    boolean proving = board.getSeatToMove() == rootSeat;
+    expand(ply);
+
+    long[] hashes = childHashes[ply];
+    byte[] states = childStates[ply];
+    int[] proofNumbers = childProofNumbers[ply];
+    int[] disproofNumbers = childDisproofNumbers[ply];
+    int proofNumber;
+    int disproofNumber;
+    while (true) {
+      // When proving, one winning move is enough (OR), otherwise every move must win (AND)
+      long minimum = INFINITY;
+      long secondMinimum = INFINITY;
+      long sum = 0;
+      boolean infinite = false;
+      int bestColumn = -1;
+      for (int column : board.getColumnsFromCentre()) {
+        if (states[column] == UNPLAYABLE) {
+          continue;
+        }
+        if (states[column] == OPEN) {
+          int childIndex = table.find(hashes[column]);
+          if (childIndex >= 0) {
+            proofNumbers[column] = table.getProofNumber(childIndex);
+            disproofNumbers[column] = table.getDisproofNumber(childIndex);
+          }
+        }
+        int minimised = proving ? proofNumbers[column] : disproofNumbers[column];
+        int summed = proving ? disproofNumbers[column] : proofNumbers[column];
+        if (minimised < minimum) {
+          secondMinimum = minimum;
+          minimum = minimised;
+          bestColumn = column;
+        } else if (minimised < secondMinimum) {
+          secondMinimum = minimised;
+        }
+        infinite |= summed == INFINITY;
+        sum += summed;
+      }
+      // Only a solved position may have an infinite number
+      int total = infinite ? INFINITY : (int) Math.min(sum, INFINITY - 1);
+      proofNumber = proving ? (int) minimum : total;
+      disproofNumber = proving ? total : (int) minimum;
+      if (proofNumber >= proofThreshold || disproofNumber >= disproofThreshold) {
+        break;
+      }
+
+      // Search the most promising child until it stops being the most promising
+      int childProofThreshold;
+      int childDisproofThreshold;
+      if (proving) {
+        childProofThreshold = (int) Math.min(proofThreshold, secondMinimum + 1);
+        childDisproofThreshold =
+            threshold(disproofThreshold, disproofNumber, disproofNumbers[bestColumn]);
+      } else {
+        childProofThreshold = threshold(proofThreshold, proofNumber, proofNumbers[bestColumn]);
+        childDisproofThreshold = (int) Math.min(disproofThreshold, secondMinimum + 1);
+      }
+      board.play(bestColumn);
+      mid(hashes[bestColumn], childProofThreshold, childDisproofThreshold, ply + 1);
+      board.undo();
+      if (aborted) {
+        return;
+      }
+      // In case the child has already been collected from the table
+      proofNumbers[bestColumn] = lastProofNumber;
+      disproofNumbers[bestColumn] = lastDisproofNumber;
+    }
+    table.store(hash, proofNumber, disproofNumber, previousWork + nodes - startNodes);
+    lastProofNumber = proofNumber;
+    lastDisproofNumber = disproofNumber;
+  }
+
+  /**
+   * Finds the threshold for the summed number of a child: the parent's threshold, less what the
+   * parent's other children contribute.
+   */
+  private static int threshold(int parentThreshold, int parentSum, int childNumber) {
+    if (parentThreshold == INFINITY) {
+      return INFINITY;
+    }
+    return (int) Math.min(INFINITY - 1, (long) parentThreshold - parentSum + childNumber);
+  }
+
+  // Finds the children of the position, and the numbers of those that are won or drawn
+  private void expand(int ply) {
+    int seat = board.getSeatToMove();
+    boolean symmetric = board.isSymmetric();
+    for (int column = 0; column < width; column++) {
+      // In a symmetric position, the right half leads to mirror images of the left half's children
+      if (!board.canPlay(column) || (symmetric && column > board.getMirrorColumn(column))) {
+        childStates[ply][column] = UNPLAYABLE;
+        continue;
+      }
+      if (board.isWinningMove(seat, column)) {
+        setSolved(ply, column, seat == rootSeat);
+        continue;
+      }
+      board.play(column);
+      childHashes[ply][column] = board.getCanonicalHash();
+      boolean full = board.isFull();
+      board.undo();
+      if (full) {
+        setSolved(ply, column, false);
+        continue;
+      }
+      childStates[ply][column] = OPEN;
+      childProofNumbers[ply][column] = 1;
+      childDisproofNumbers[ply][column] = 1;
+    }
+  }
+
+  private void setSolved(int ply, int column, boolean won) {
+    childStates[ply][column] = SOLVED;
+    childProofNumbers[ply][column] = won ? 0 : INFINITY;
+    childDisproofNumbers[ply][column] = won ? INFINITY : 0;
+  }
+}
@@ -0,0 +1,52 @@
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * A strategy that looks for forced wins with a {@link ProofNumberSearch}, which can find winning
+ * sequences far longer than a depth-limited search could see. If a win can't be proven within the
+ * time limit of the {@link SearchSettings}, the turn is delegated to a fallback strategy, so a
+ * turn may take up to twice as long as the time limit. The search's table is kept between turns,
+ * so a win that was nearly proven last turn is quicker to prove this turn.
+ */
+public class ProofNumberSearchStrategy extends AbstractSearchStrategy {
+
+  private final SearchSettings settings;
+  private ProofNumberSearch search; // Created when first needed, as the table is large
+
+  /**
+   * Creates a new proof-number search strategy.
+   * @param settings The resources that the search may use. The size of the search's table is
+   * taken from the transposition table entries.
+   * @param fallbackStrategy The strategy used for games that can't be searched, or positions where
+   * a win can't be proven.
+   * @throws NullPointerException Thrown if {@code settings == null} or
+   * {@code fallbackStrategy == null}.
+   */
+  public ProofNumberSearchStrategy(SearchSettings settings, AIStrategy fallbackStrategy)
+      throws NullPointerException {
+    super(fallbackStrategy);
+    this.settings = Objects.requireNonNull(settings, "Search settings are null");
+  }
+
+  @Override
+  protected boolean canSearch(List<Player> playersInTurnOrder) {
+    return true;
+  }
+
+  @Override
+  protected int chooseColumn(SearchBoard board) {
+    if (search == null) {
+      search =
+          new ProofNumberSearch(new ProofNumberTable(settings.getTranspositionTableEntries()));
+    }
+    ProofResult result = search.prove(board, settings.getTimeLimitMillis());
+    recordStatistics(SearchStatistics.builder().setNodes(result.getNodes()).build());
+    return result.getOutcome() == ProofResult.Outcome.PROVEN ? result.getColumn() : -1;
+  }
+
+  @Override
+  public void onGameEnd(Board board) {
+    super.onGameEnd(board);
+    search = null;
+  }
+}
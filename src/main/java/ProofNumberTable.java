@@ -0,0 +1,277 @@
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * <p>The bounded table of positions used by a {@link ProofNumberSearch}. Each entry holds the proof
+ * and disproof numbers of a position, and the amount of work (the number of positions searched)
+ * that went into them.</p>
+ * <p>The table holds a fixed number of entries. Once it is three quarters full it is garbage
+ * collected: the entries that took the least work to find are discarded until it is half full, as
+ * they are the cheapest to find again. The work of a position includes the work of every position
+ * beneath it, so once a subtree has been proved or disproved the positions inside it are collected
+ * before its root - which is the only one that the search still needs.</p>
+ * <p>Entries are stored in parallel arrays with open addressing, so the table doesn't allocate
+ * after it has been created (other than when collecting garbage). It is not thread-safe.</p>
+ */
+public class ProofNumberTable {
+
+  /**
+   * The proof or disproof number of a position that can never be proved or disproved.
+   */
+  public static final int INFINITY = Integer.MAX_VALUE;
+
+  // The bytes used by each entry, for working out how large a table fits in memory
+  private static final int ENTRY_BYTES = Long.BYTES * 2 + Integer.BYTES * 2;
+
+  private static final long EMPTY = 0;
+
+  private final long[] keys;
+  private final int[] proofNumbers;
+  private final int[] disproofNumbers;
+  private final long[] work;
+  private final int mask;
+  private final int capacity;
+  private int size;
+  private long collections;
+
+  /**
+   * Creates a new table.
+   * @param entries The number of positions that the table should have room for. This is rounded
+   * down to a power of two, and reduced if the table would take up more than a quarter of the
+   * memory available to the JVM.
+   * @throws IllegalArgumentException Thrown if {@code entries < 1}.
+   */
+  public ProofNumberTable(int entries) throws IllegalArgumentException {
+    if (entries < 1) {
+      throw new IllegalArgumentException("Table must have at least one entry");
+    }
+    long affordableEntries = Runtime.getRuntime().maxMemory() / 4 / ENTRY_BYTES;
+    int slots = Integer.highestOneBit((int) Math.max(16, Math.min(entries, affordableEntries)));
+    this.keys = new long[slots];
+    this.proofNumbers = new int[slots];
+    this.disproofNumbers = new int[slots];
+    this.work = new long[slots];
+    this.mask = slots - 1;
+    this.capacity = slots / 4 * 3;
+  }
+
+  /**
+   * Finds the position with the given hash.
+   * @param hash The hash of the position.
+   * @return The index of the entry, or {@code -1} if the position isn't in the table.
+   */
+  public int find(long hash) {
+    long key = toKey(hash);
+    for (int index = index(key); ; index = (index + 1) & mask) {
+      if (keys[index] == key) {
+        return index;
+      }
+      if (keys[index] == EMPTY) {
+        return -1;
+      }
+    }
+  }
+
+  /**
+   * Gets the proof number of an entry.
+   * @param index The index of the entry, as returned by {@link #find(long)}.
+   * @return The proof number.
+   */
+  public int getProofNumber(int index) {
+    return proofNumbers[index];
+  }
+
+  /**
+   * Gets the disproof number of an entry.
+   * @param index The index of the entry, as returned by {@link #find(long)}.
+   * @return The disproof number.
+   */
+  public int getDisproofNumber(int index) {
+    return disproofNumbers[index];
+  }
+
+  /**
+   * Gets the amount of work that went into an entry.
+   * @param index The index of the entry, as returned by {@link #find(long)}.
+   * @return The number of positions searched below the entry's position.
+   */
+  public long getWork(int index) {
+    return work[index];
+  }
+
+  /**
+   * Stores the proof and disproof numbers of a position, replacing any existing entry. If the
+   * table is full, garbage is collected first.
+   * @param hash The hash of the position.
+   * @param proofNumber The proof number.
+   * @param disproofNumber The disproof number.
+   * @param work The number of positions searched below the position.
+   */
+  public void store(long hash, int proofNumber, int disproofNumber, long work) {
+    long key = toKey(hash);
+    int index = index(key);
+    while (keys[index] != EMPTY && keys[index] != key) {
+      index = (index + 1) & mask;
+    }
+    if (keys[index] == EMPTY) {
+      if (size >= capacity) {
+        collectGarbage();
+        store(hash, proofNumber, disproofNumber, work);
+        return;
+      }
+      keys[index] = key;
+      size++;
+    }
+    proofNumbers[index] = proofNumber;
+    disproofNumbers[index] = disproofNumber;
+    this.work[index] = work;
+  }
+
+  /**
+   * Gets the number of positions in the table.
+   * @return The number of entries.
+   */
+  public int size() {
+    return size;
+  }
+
+  /**
+   * Gets the number of positions that the table can hold before garbage is collected. This is
+   * three quarters of its size, to keep chains of colliding positions short.
+   * @return The capacity of the table.
+   */
+  public int getCapacity() {
+    return capacity;
+  }
+
+  /**
+   * Gets the number of times that garbage has been collected since the table was created.
+   * @return The number of garbage collections.
+   */
+  public long getCollections() {
+    return collections;
+  }
+
+  /**
+   * Counts the positions in the table that have been proved or disproved. This looks at every
+   * entry, so is too slow to call while searching.
+   * @return The number of solved positions.
+   */
+  public int countSolved() {
+    int count = 0;
+    for (int index = 0; index < keys.length; index++) {
+      if (keys[index] != EMPTY && isSolved(index)) {
+        count++;
+      }
+    }
+    return count;
+  }
+
+  /**
+   * Writes every entry in the table, so that it can be read back with
+   * {@link #read(DataInput)}.
+   * @param output Where to write the table.
+   * @throws IOException Thrown if the table can't be written.
+   */
+  void write(DataOutput output) throws IOException {
+    output.writeInt(keys.length);
+    output.writeInt(size);
+    for (int index = 0; index < keys.length; index++) {
+      if (keys[index] != EMPTY) {
+        output.writeLong(keys[index]);
+        output.writeInt(proofNumbers[index]);
+        output.writeInt(disproofNumbers[index]);
+        output.writeLong(work[index]);
+      }
+    }
+  }
+
+  /**
+   * Reads a table written by {@link #write(DataOutput)}. If the table is now too large for the
+   * memory available, garbage is collected while it is read.
+   * @param input Where to read the table from.
+   * @return The table.
+   * @throws IOException Thrown if the table can't be read.
+   */
+  static ProofNumberTable read(DataInput input) throws IOException {
+    int slots = input.readInt();
+    int entries = input.readInt();
+    if (slots < 1 || entries < 0 || entries > slots) {
+      throw new IOException("Proof number table is corrupt");
+    }
+    ProofNumberTable table = new ProofNumberTable(slots);
+    for (int i = 0; i < entries; i++) {
+      table.store(input.readLong(), input.readInt(), input.readInt(), input.readLong());
+    }
+    return table;
+  }
+
+  /**
+   * Removes every entry from the table.
+   */
+  public void clear() {
+    Arrays.fill(keys, EMPTY);
+    size = 0;
+  }
+
+  /**
+   * Discards the entries that took the least work to find until the table is at most half full.
+   */
+  private void collectGarbage() {
+    collections++;
+    long[] works = new long[size];
+    int count = 0;
+    for (int index = 0; index < keys.length; index++) {
+      if (keys[index] != EMPTY) {
+        works[count++] = work[index];
+      }
+    }
+    Arrays.sort(works);
+    long threshold = works[size - capacity / 2 - 1];
+
+    // Take the entries that are being kept out of the table, then put them back. Removing entries
+    // in place would break the chains of positions that collided with them.
+    int kept = 0;
+    long[] keptKeys = new long[size];
+    int[] keptProofNumbers = new int[size];
+    int[] keptDisproofNumbers = new int[size];
+    long[] keptWork = new long[size];
+    for (int index = 0; index < keys.length; index++) {
+      if (keys[index] == EMPTY || work[index] <= threshold) {
+        continue;
+      }
+      keptKeys[kept] = keys[index];
+      keptProofNumbers[kept] = proofNumbers[index];
+      keptDisproofNumbers[kept] = disproofNumbers[index];
+      keptWork[kept] = work[index];
+      kept++;
+    }
+    clear();
+    for (int i = 0; i < kept; i++) {
+      int index = index(keptKeys[i]);
+      while (keys[index] != EMPTY) {
+        index = (index + 1) & mask;
+      }
+      keys[index] = keptKeys[i];
+      proofNumbers[index] = keptProofNumbers[i];
+      disproofNumbers[index] = keptDisproofNumbers[i];
+      work[index] = keptWork[i];
+    }
+    size = kept;
+  }
+
+  private boolean isSolved(int index) {
+    return proofNumbers[index] == 0 || disproofNumbers[index] == 0;
+  }
+
+  // 0 marks an empty slot, so a position that happens to hash to 0 is given another key
+  private static long toKey(long hash) {
+    return hash == EMPTY ? 1 : hash;
+  }
+
+  private int index(long key) {
+    return (int) ((key * 0x9E3779B97F4A7C15L) >>> 32) & mask;
+  }
+}
@@ -0,0 +1,99 @@
+/**
+ * The outcome of a {@link ProofNumberSearch}: whether the player to move can force a win, and if so
+ * the move that starts the winning sequence.
+ */
+public final class ProofResult {
+
+  /**
+   * What the search found out about the position.
+   */
+  public enum Outcome {
+    /**
+     * The player to move can force a win, whatever the other players do.
+     */
+    PROVEN,
+    /**
+     * The player to move can't force a win. The game may still be won if the other players make
+     * mistakes, and may be drawn or lost with best play.
+     */
+    DISPROVEN,
+    /**
+     * The search ran out of time before it could prove or disprove a win.
+     */
+    UNKNOWN
+  }
+
+  private final Outcome outcome;
+  private final int column;
+  private final int proofNumber;
+  private final int disproofNumber;
+  private final long nodes;
+
+  /**
+   * Creates a new proof result.
+   * @param outcome What the search found out about the position.
+   * @param column The index (starting at 0) of the column that wins, or {@code -1} if the position
+   * wasn't proven.
+   * @param proofNumber The proof number of the position.
+   * @param disproofNumber The disproof number of the position.
+   * @param nodes The number of positions visited.
+   */
+  public ProofResult(Outcome outcome, int column, int proofNumber, int disproofNumber,
+      long nodes) {
+    this.outcome = outcome;
+    this.column = column;
+    this.proofNumber = proofNumber;
+    this.disproofNumber = disproofNumber;
+    this.nodes = nodes;
+  }
+
+  /**
+   * Gets what the search found out about the position.
+   * @return The outcome of the search.
+   */
+  public Outcome getOutcome() {
+    return outcome;
+  }
+
+  /**
+   * Gets the index of the column that starts the winning sequence. Note that this starts at 0,
+   * unlike the column numbers used by {@link Board}.
+   * @return The index of the winning column, or {@code -1} if the win wasn't proven.
+   */
+  public int getColumn() {
+    return column;
+  }
+
+  /**
+   * Gets the proof number of the position: the smallest number of positions that would still have
+   * to be shown to be wins for the win to be proven. This is {@code 0} if the win was proven.
+   * @return The proof number.
+   */
+  public int getProofNumber() {
+    return proofNumber;
+  }
+
+  /**
+   * Gets the disproof number of the position: the smallest number of positions that would still
+   * have to be shown not to be wins for the win to be disproven. This is {@code 0} if the win was
+   * disproven.
+   * @return The disproof number.
+   */
+  public int getDisproofNumber() {
+    return disproofNumber;
+  }
+
+  /**
+   * Gets the number of positions that were visited.
+   * @return The number of positions visited.
+   */
+  public long getNodes() {
+    return nodes;
+  }
+
+  @Override
+  public String toString() {
+    return "outcome=" + outcome + ", column=" + (column + 1) + ", proofNumber=" + proofNumber
+        + ", disproofNumber=" + disproofNumber + ", nodes=" + nodes;
+  }
+}
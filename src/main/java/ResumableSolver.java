@@ -0,0 +1,269 @@
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>Runs a {@link ProofNumberSearch} that may take hours or days, such as proving whether the
+ * first player can force a win on a large board. The search is run in slices, and after each slice
+ * its state is written to a checkpoint file and its progress is reported to a {@link View}. If the
+ * process is stopped, solving the same position again resumes from the last checkpoint, so a solve
+ * can be spread over as many runs as needed.</p>
+ * <p>A proof-number search keeps all of its state in its {@link ProofNumberTable} - each slice
+ * starts again from the root and follows the table back to where the last slice stopped - so a
+ * checkpoint is just the table, along with the position it is for and the work done so far. The
+ * format of the file (all values big-endian) is:</p>
+ * <ul>
+ *   <li>{@code int} - {@link #MAGIC}</li>
+ *   <li>{@code int} - {@link #VERSION}</li>
+ *   <li>{@code int} - the width of the board</li>
+ *   <li>{@code int} - the height of the board</li>
+ *   <li>{@code int} - the number of players</li>
+ *   <li>{@code int} for each player, in turn order - the number of consecutive counters that the
+ *   player needs to win</li>
+ *   <li>{@code long} - the {@link SearchBoard#getHash() hash} of the position being solved</li>
+ *   <li>{@code long} - the number of positions visited so far</li>
+ *   <li>{@code long} - the time spent solving so far, in milliseconds</li>
+ *   <li>The table: {@code int} - its size, {@code int} - the number of entries, then for each entry
+ *   {@code long} - the hash of the position, {@code int} - the proof number, {@code int} - the
+ *   disproof number and {@code long} - the work</li>
+ * </ul>
+ * <p>Checkpoints are written to a temporary file that then replaces the previous checkpoint, so a
+ * process that is stopped while writing one leaves the previous checkpoint intact.</p>
+ */
+public class ResumableSolver {
+
+  /**
+   * The first four bytes of every checkpoint file.
+   */
+  public static final int MAGIC = 0x434E4350; // "CNCP"
+
+  /**
+   * The version of the file format.
+   */
+  public static final int VERSION = 1;
+
+  private final SearchBoard board;
+  private final Path checkpoint;
+  private final int tableEntries;
+  private final long checkpointIntervalMillis;
+  private final View view;
+
+  /**
+   * Creates a new resumable solver.
+   * @param board The position to solve. This is copied, so later changes to the board don't
+   * affect the solve. It must not be full or won.
+   * @param checkpoint The file to write checkpoints to. If the file already exists, it must be a
+   * checkpoint for the same position, and the solve resumes from it.
+   * @param tableEntries The number of positions that the table should have room for when starting
+   * a new solve (see {@link ProofNumberTable#ProofNumberTable(int)}). A resumed solve uses the size
+   * of the checkpointed table.
+   * @param checkpointIntervalMillis How often to write a checkpoint and report progress.
+   * @param view Where to report progress.
+   * @throws NullPointerException Thrown if {@code board == null}, {@code checkpoint == null} or
+   * {@code view == null}.
+   * @throws IllegalArgumentException Thrown if {@code tableEntries < 1} or
+   * {@code checkpointIntervalMillis < 1}.
+   */
+  public ResumableSolver(SearchBoard board, Path checkpoint, int tableEntries,
+      long checkpointIntervalMillis, View view)
+      throws NullPointerException, IllegalArgumentException {
+    this.board = Objects.requireNonNull(board, "Board is null").copy();
+    this.checkpoint = Objects.requireNonNull(checkpoint, "Checkpoint path is null");
+    this.view = Objects.requireNonNull(view, "View is null");
+    if (tableEntries < 1) {
+      throw new IllegalArgumentException("Table must have at least one entry");
+    }
+    if (checkpointIntervalMillis < 1) {
+      throw new IllegalArgumentException("Checkpoint interval must be > 0");
+    }
+    this.tableEntries = tableEntries;
+    this.checkpointIntervalMillis = checkpointIntervalMillis;
+  }
+
+  /**
+   * Solves the position, resuming from the checkpoint if there is one, until a win is proven or
+   * disproven or the time limit is reached. A checkpoint is always written before returning.
+   * @param timeLimitMillis The amount of time that this run may take. Use {@link Long#MAX_VALUE}
+   * to run until the position is solved.
+   * @return The outcome of the solve. The number of nodes includes those visited by earlier runs.
+   * @throws IOException Thrown if the checkpoint can't be read or written.
+   * @throws IllegalArgumentException Thrown if {@code timeLimitMillis < 1}, or if the checkpoint is
+   * for a different position.
+   */
+  public ProofResult solve(long timeLimitMillis) throws IOException, IllegalArgumentException {
+    if (timeLimitMillis < 1) {
+      throw new IllegalArgumentException("Time limit must be > 0");
+    }
+    State state = Files.exists(checkpoint) ? readCheckpoint() : new State(tableEntries);
+    if (state.nodes > 0) {
+      view.sendf("Resuming from %s: %,d positions searched in %s%n",
+          checkpoint, state.nodes, formatDuration(state.elapsedMillis));
+    }
+    ProofNumberSearch search = new ProofNumberSearch(state.table);
+    long startMillis = System.currentTimeMillis();
+    long firstRemaining = -1;
+    while (true) {
+      long runMillis = System.currentTimeMillis() - startMillis;
+      long slice = Math.max(1, Math.min(checkpointIntervalMillis, timeLimitMillis - runMillis));
+      long sliceStartMillis = System.currentTimeMillis();
+      ProofResult result = search.prove(board, slice);
+      state.nodes += result.getNodes();
+      state.elapsedMillis += System.currentTimeMillis() - sliceStartMillis;
+      writeCheckpoint(state);
+
+      runMillis = System.currentTimeMillis() - startMillis;
+      if (result.getOutcome() != ProofResult.Outcome.UNKNOWN) {
+        view.sendf("%s after %,d positions in %s%n",
+            result.getOutcome() == ProofResult.Outcome.PROVEN
+                ? "Win proven with column " + (result.getColumn() + 1)
+                : "Win disproven",
+            state.nodes, formatDuration(state.elapsedMillis));
+        return withNodes(result, state.nodes);
+      }
+      // The smaller of the root's numbers is the least work left, so its rate of fall gives an ETA
+      long remaining = Math.min(result.getProofNumber(), result.getDisproofNumber());
+      if (firstRemaining < 0) {
+        firstRemaining = remaining;
+      }
+      String eta = remaining < firstRemaining
+          ? formatDuration(runMillis * remaining / (firstRemaining - remaining))
+          : "unknown";
+      view.sendf("%,d positions searched in %s, %,d subtrees solved, "
+              + "proof number %,d, disproof number %,d, ETA %s%n",
+          state.nodes, formatDuration(state.elapsedMillis), state.table.countSolved(),
+          result.getProofNumber(), result.getDisproofNumber(), eta);
+      if (runMillis >= timeLimitMillis) {
+        return withNodes(result, state.nodes);
+      }
+    }
+  }
+
+  private static ProofResult withNodes(ProofResult result, long nodes) {
+    return new ProofResult(result.getOutcome(), result.getColumn(), result.getProofNumber(),
+        result.getDisproofNumber(), nodes);
+  }
+
+  private static String formatDuration(long millis) {
+    long seconds = TimeUnit.MILLISECONDS.toSeconds(millis);
+    return String.format("%d:%02d:%02d", seconds / 3600, seconds / 60 % 60, seconds % 60);
+  }
+
+  private State readCheckpoint() throws IOException, IllegalArgumentException {
+    try (DataInputStream input =
+        new DataInputStream(new BufferedInputStream(Files.newInputStream(checkpoint)))) {
+      if (input.readInt() != MAGIC || input.readInt() != VERSION) {
+        throw new IOException(checkpoint + " is not a checkpoint");
+      }
+      boolean samePosition = input.readInt() == board.getWidth()
+          & input.readInt() == board.getHeight();
+      int seats = input.readInt();
+      samePosition &= seats == board.getNumberOfSeats();
+      for (int seat = 0; seat < seats; seat++) {
+        int countersRequired = input.readInt();
+        samePosition &= seat < board.getNumberOfSeats()
+            && countersRequired == board.getCountersRequired(seat);
+      }
+      if (!samePosition || input.readLong() != board.getHash()) {
+        throw new IllegalArgumentException(checkpoint + " is for a different position");
+      }
+      long nodes = input.readLong();
+      long elapsedMillis = input.readLong();
+      State state = new State(ProofNumberTable.read(input));
+      state.nodes = nodes;
+      state.elapsedMillis = elapsedMillis;
+      return state;
+    }
+  }
+
+  private void writeCheckpoint(State state) throws IOException {
+    Path temporary = checkpoint.resolveSibling(checkpoint.getFileName() + ".tmp");
+    try (DataOutputStream output =
+        new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temporary)))) {
+      output.writeInt(MAGIC);
+      output.writeInt(VERSION);
+      output.writeInt(board.getWidth());
+      output.writeInt(board.getHeight());
+      output.writeInt(board.getNumberOfSeats());
+      for (int seat = 0; seat < board.getNumberOfSeats(); seat++) {
+        output.writeInt(board.getCountersRequired(seat));
+      }
+      output.writeLong(board.getHash());
+      output.writeLong(state.nodes);
+      output.writeLong(state.elapsedMillis);
+      state.table.write(output);
+    }
+    Files.move(temporary, checkpoint,
+        StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+  }
+
+  /**
+   * Solves a position from the command line arguments, reporting progress to standard output. See
+   * {@link ResumableSolver} for details.
+   * @param args The command line arguments.
+   */
+  public static void main(String[] args) {
+    if (args.length < 5) {
+      System.out.println(
+          "Usage: java ResumableSolver width height players counters path "
+              + "[minutes] [moves] [entries]"
+      );
+      return;
+    }
+    // The view isn't closed, as that would close standard output
+    View view = new SingleSourcePrintStreamView(System.out);
+    try {
+      Dimensions dimensions =
+          new Dimensions(Integer.parseInt(args[0]), Integer.parseInt(args[1]));
+      int numberOfPlayers = Integer.parseInt(args[2]);
+      VictoryCondition victoryCondition =
+          new ConsecutiveCountersVictoryCondition(Integer.parseInt(args[3]));
+      List<Player> players = new ArrayList<>(numberOfPlayers);
+      for (int i = 0; i < numberOfPlayers; i++) {
+        players.add(new AIPlayer(PlayerColour.values()[i], victoryCondition, Difficulty.HARD));
+      }
+      long timeLimitMillis = args.length > 5
+          ? TimeUnit.MINUTES.toMillis(Long.parseLong(args[5]))
+          : Long.MAX_VALUE;
+      // The moves played before the position to solve, as column numbers such as "4453"
+      SearchBoard board = SearchBoard.empty(dimensions, players);
+      if (args.length > 6) {
+        board.playMoves(args[6]);
+      }
+      int entries = args.length > 7
+          ? Integer.parseInt(args[7])
+          : SearchSettings.defaults().getTranspositionTableEntries();
+
+      new ResumableSolver(board, Paths.get(args[4]), entries, TimeUnit.MINUTES.toMillis(1), view)
+          .solve(timeLimitMillis);
+    } catch (IOException | RuntimeException e) {
+      // Don't print an ugly stacktrace - the exception message should contain relevant details
+      System.out.println(e.getMessage());
+    }
+  }
+
+  // What is written to a checkpoint
+  private static class State {
+
+    private final ProofNumberTable table;
+    private long nodes;
+    private long elapsedMillis;
+
+    private State(int tableEntries) {
+      this(new ProofNumberTable(tableEntries));
+    }
+
+    private State(ProofNumberTable table) {
+      this.table = table;
+    }
+  }
+}
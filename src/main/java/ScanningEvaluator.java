@@ -0,0 +1,59 @@
+/**
+ * <p>An {@link Evaluator} that gives the same scores as {@link WindowEvaluator}, but works them
+ * out by scanning every window of the board each time a score is asked for, rather than keeping
+ * them up to date as counters are placed and removed.</p>
+ * <p>This is how positions used to be evaluated. It is much slower than {@code WindowEvaluator},
+ * but is simple enough to check the incremental scores against, and gives a baseline to benchmark
+ * other evaluators against (see {@link EvaluatorBenchmark}).</p>
+ */
+public class ScanningEvaluator implements Evaluator {
+
+  private SearchBoard board;
+  private int[][][] windows; // [seat] -> the cells of each of the seat's windows
+
+  @Override
+  public void reset(SearchBoard board) {
+    this.board = board;
+    this.windows = new int[board.getNumberOfSeats()][][];
+    for (int seat = 0; seat < windows.length; seat++) {
+      windows[seat] = WindowEvaluator.createWindows(
+          board.getWidth(), board.getHeight(), board.getCountersRequired(seat));
+    }
+  }
+
+  @Override
+  public void counterPlaced(int column, int row, int seat) {
+    // The board is scanned when a score is asked for
+  }
+
+  @Override
+  public void counterRemoved(int column, int row, int seat) {
+    // The board is scanned when a score is asked for
+  }
+
+  @Override
+  public long getScore(int seat) {
+    int height = board.getHeight();
+    long score = 0;
+    for (int[] window : windows[seat]) {
+      int ownCounters = 0;
+      int otherCounters = 0;
+      for (int cell : window) {
+        int owner = board.getSeatAt(cell / height, cell % height);
+        if (owner == seat) {
+          ownCounters++;
+        } else if (owner >= 0) {
+          otherCounters++;
+        }
+      }
+      // Each counter also controls the window, whether or not it is open
+      score += WindowEvaluator.windowValue(ownCounters, otherCounters) + ownCounters;
+    }
+    return score;
+  }
+
+  @Override
+  public Evaluator newEvaluator() {
+    return new ScanningEvaluator();
+  }
+}
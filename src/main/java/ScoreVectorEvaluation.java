@@ -0,0 +1,42 @@
+/**
+ * <p>Scores a position for every player at once, for use by the multi-player searches
+ * ({@link MaxNSearch} and {@link ParanoidSearch}).</p>
+ * <p>Each player's raw score comes from the {@link Evaluator} attached to the board. Half of
+ * {@link #MAXIMUM_SCORE} is then shared equally between the players and the other half in
+ * proportion to their raw scores, so the scores of all players add up to at most
+ * {@code MAXIMUM_SCORE} and every player still in the game has a score above 0 - the score of a
+ * player who has lost.</p>
+ */
+public final class ScoreVectorEvaluation {
+
+  /**
+   * The most that the scores of all players in a position that isn't won can add up to.
+   */
+  public static final int MAXIMUM_SCORE = 1000;
+
+  private ScoreVectorEvaluation() {
+    // Prevent instantiation
+  }
+
+  /**
+   * Scores the position for every player.
+   * @param evaluator The evaluator attached to the position to score. The position should not be
+   * won.
+   * @param scores The array to write the scores to, indexed by seat. Its length is the number of
+   * seats on the board.
+   */
+  public static void evaluate(Evaluator evaluator, int[] scores) {
+    int seats = scores.length;
+    long total = 0;
+    for (int seat = 0; seat < seats; seat++) {
+      total += evaluator.getScore(seat);
+    }
+    int share = MAXIMUM_SCORE / 2 / seats;
+    for (int seat = 0; seat < seats; seat++) {
+      // Divide first, as raw scores can be large enough to overflow when multiplied
+      scores[seat] = share + (total == 0
+          ? share
+          : (int) ((double) evaluator.getScore(seat) / total * (MAXIMUM_SCORE / 2)));
+    }
+  }
+}
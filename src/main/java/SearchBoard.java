@@ -0,0 +1,689 @@
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.SplittableRandom;
+
+/**
+ * A compact, mutable copy of a {@link Board} that the AI can search over. Unlike {@code Board},
+ * counters can be placed and removed again in place, players are referred to by their seat (their
+ * index in the turn order) and a Zobrist hash of the position is maintained incrementally, so a
+ * search can visit millions of positions without allocating.
+ * <p>Column and row indices in this class start at 0, matching the internal storage of
+ * {@link Board} rather than the numbers shown in the UI.</p>
+ * <p>An {@link Evaluator} can be attached to the board, which is told about every counter that is
+ * played or undone so that it can keep its scores up to date.</p>
+ * <p>Positions that are mirror images of each other are equivalent, so the hash of the mirror image
+ * is maintained too. Tables and books store a position under its
+ * {@link #getCanonicalHash() canonical hash}, the lower of the two, so that one entry serves both
+ * images; a move stored for one image is {@link #getMirrorColumn(int) mirrored} for the other.</p>
+ * <p>On boards at least {@link #MINIMUM_SPARSE_WIDTH} columns wide, most columns are far from
+ * every counter and make no difference to the game for many moves. The board keeps a count of the
+ * counters near each column, so that searches can consider only the columns near existing
+ * counters (see {@link #isCandidate(int)}).</p>
+ */
+public class SearchBoard implements Copyable<SearchBoard> {
+
+  /**
+   * The narrowest board on which searches only consider the columns near existing counters.
+   */
+  static final int MINIMUM_SPARSE_WIDTH = 16;
+
+  private static final int EMPTY = 0;
+
+  private final int width;
+  private final int height;
+  private final Player[] seats;
+  private final int[] countersRequired;
+  private final long[] zobristKeys; // Shared between copies - never modified
+  private final int[] columnsFromCentre; // Shared between copies - never modified
+  private final boolean[] probeColumns; // Shared between copies - never modified, null if dense
+  private final int candidateRadius;
+  private final int[] nearbyCounters; // [column] -> counters within candidateRadius, null if dense
+  private final int[] cells; // column * height + row -> seat + 1, or EMPTY
+  private final int[] columnHeights;
+  private final int[] moveHistory;
+  private int numberOfMoves;
+  private int numberOfCounters;
+  private int seatToMove;
+  private long hash;
+  private long mirroredHash; // The hash of the position reflected left to right
+  private int asymmetricCells; // The cells whose contents differ from their mirror image's
+  private Evaluator evaluator; // null if no evaluator is attached
+
+  /**
+   * Creates an empty search board.
+   * @param width The number of columns.
+   * @param height The number of rows.
+   * @param seats The players in the order that they take their turns.
+   * @param countersRequired The number of consecutive counters each seat needs to win.
+   * @param seatToMove The seat of the player whose turn it is.
+   */
+  private SearchBoard(
+      int width, int height, Player[] seats, int[] countersRequired, int seatToMove) {
+    this.width = width;
+    this.height = height;
+    this.seats = seats;
+    this.countersRequired = countersRequired;
+    this.zobristKeys = createZobristKeys(width, height, seats.length);
+    this.columnsFromCentre = createColumnsFromCentre(width);
+    this.candidateRadius = Math.max(1, Arrays.stream(countersRequired).max().orElse(1) - 1);
+    if (width >= MINIMUM_SPARSE_WIDTH) {
+      this.probeColumns = createProbeColumns(width);
+      this.nearbyCounters = new int[width];
+    } else {
+      this.probeColumns = null;
+      this.nearbyCounters = null;
+    }
+    this.cells = new int[width * height];
+    this.columnHeights = new int[width];
+    this.moveHistory = new int[width * height];
+    this.seatToMove = seatToMove;
+    this.hash = zobristKeys[sideToMoveKeyIndex(seatToMove)];
+    this.mirroredHash = hash;
+  }
+
+  // Copy constructor
+  private SearchBoard(SearchBoard board) {
+    this.width = board.width;
+    this.height = board.height;
+    this.seats = board.seats;
+    this.countersRequired = board.countersRequired;
+    this.zobristKeys = board.zobristKeys;
+    this.columnsFromCentre = board.columnsFromCentre;
+    this.probeColumns = board.probeColumns;
+    this.candidateRadius = board.candidateRadius;
+    this.nearbyCounters = board.nearbyCounters == null ? null
+        : Arrays.copyOf(board.nearbyCounters, board.nearbyCounters.length);
+    this.cells = Arrays.copyOf(board.cells, board.cells.length);
+    this.columnHeights = Arrays.copyOf(board.columnHeights, board.columnHeights.length);
+    this.moveHistory = Arrays.copyOf(board.moveHistory, board.moveHistory.length);
+    this.numberOfMoves = board.numberOfMoves;
+    this.numberOfCounters = board.numberOfCounters;
+    this.seatToMove = board.seatToMove;
+    this.hash = board.hash;
+    this.mirroredHash = board.mirroredHash;
+    this.asymmetricCells = board.asymmetricCells;
+    if (board.evaluator != null) {
+      setEvaluator(board.evaluator.newEvaluator());
+    }
+  }
+
+  /**
+   * Creates a search board representing the given board.
+   * @param board The board to copy.
+   * @param turnOrder The players in the order that they take their turns. Every player with a
+   * counter on the board must appear in this list.
+   * @param playerToMove The player whose turn it is.
+   * @return A search board representing the same position as {@code board}.
+   * @throws IllegalArgumentException Thrown if the players cannot be represented on a search board
+   * (see {@link #canRepresent(List)}), if {@code playerToMove} is not in the turn order, or if the
+   * board contains counters belonging to a player outside of the turn order.
+   */
+  public static SearchBoard of(Board board, List<Player> turnOrder, Player playerToMove)
+      throws IllegalArgumentException {
+    if (!canRepresent(turnOrder)) {
+      throw new IllegalArgumentException("Players cannot be represented on a search board");
+    }
+    int seatToMove = turnOrder.indexOf(playerToMove);
+    if (seatToMove < 0) {
+      throw new IllegalArgumentException(playerToMove + " is not in the turn order");
+    }
+
+    Player[] seats = turnOrder.toArray(new Player[0]);
+    int[] countersRequired = new int[seats.length];
+    for (int seat = 0; seat < seats.length; seat++) {
+      countersRequired[seat] = ((ConsecutiveCountersVictoryCondition) seats[seat]
+          .getVictoryCondition()).getConsecutiveCountersRequired();
+    }
+
+    SearchBoard searchBoard =
+        new SearchBoard(board.getWidth(), board.getHeight(), seats, countersRequired, seatToMove);
+
+    // Copy the counters across, column by column from the bottom up
+    for (int column = 0; column < board.getWidth(); column++) {
+      for (int row = 0; row < board.getHeight(); row++) {
+        Player owner = board.getOwnerOfCounterAt(row + 1, column + 1).orElse(null);
+        if (owner == null) {
+          break;
+        }
+        int seat = turnOrder.indexOf(owner);
+        if (seat < 0) {
+          throw new IllegalArgumentException(owner + " is not in the turn order");
+        }
+        searchBoard.setCell(column, seat);
+      }
+    }
+    return searchBoard;
+  }
+
+  /**
+   * Creates an empty search board.
+   * @param dimensions The dimensions of the board.
+   * @param turnOrder The players in the order that they take their turns. The first player is
+   * the first to move.
+   * @return An empty search board.
+   * @throws IllegalArgumentException Thrown if the players cannot be represented on a search board
+   * (see {@link #canRepresent(List)}).
+   */
+  public static SearchBoard empty(Dimensions dimensions, List<Player> turnOrder)
+      throws IllegalArgumentException {
+    Board board = new Board(BoardConfiguration.forDimensions(dimensions));
+    return of(board, turnOrder, turnOrder.get(0));
+  }
+
+  /**
+   * Determines whether a game between the given players can be searched using a search board.
+   * This is the case when every player wins by connecting a number of consecutive counters.
+   * @param turnOrder The players in the order that they take their turns.
+   * @return {@code true} if the players can be represented on a search board.
+   */
+  public static boolean canRepresent(List<Player> turnOrder) {
+    return turnOrder != null
+        && !turnOrder.isEmpty()
+        && turnOrder.stream().allMatch(
+            player -> player.getVictoryCondition() instanceof ConsecutiveCountersVictoryCondition);
+  }
+
+  // Adds a counter to the column without changing the player to move. Used when copying a board.
+  private void setCell(int column, int seat) {
+    int cell = column * height + columnHeights[column];
+    setContents(column, cell, seat + 1);
+    columnHeights[column]++;
+    numberOfCounters++;
+    updateNearbyCounters(column, 1);
+    toggleKeys(column, cell, seat);
+  }
+
+  // Changes the contents of a cell, keeping track of whether it matches its mirror image
+  private void setContents(int column, int cell, int contents) {
+    int mirrorCell = cell + (width - 1 - 2 * column) * height;
+    if (mirrorCell != cell) {
+      int mirrorContents = cells[mirrorCell];
+      int before = cells[cell] == mirrorContents ? 0 : 2;
+      int after = contents == mirrorContents ? 0 : 2;
+      asymmetricCells += after - before;
+    }
+    cells[cell] = contents;
+  }
+
+  // Adds or removes the seat's counter in the cell from both the hash and the mirrored hash
+  private void toggleKeys(int column, int cell, int seat) {
+    hash ^= zobristKeys[pieceKeyIndex(seat, cell)];
+    mirroredHash ^= zobristKeys[pieceKeyIndex(seat, cell + (width - 1 - 2 * column) * height)];
+  }
+
+  // Adds or removes the seat's side-to-move key from both hashes
+  private void toggleSideToMove(int seat) {
+    long key = zobristKeys[sideToMoveKeyIndex(seat)];
+    hash ^= key;
+    mirroredHash ^= key;
+  }
+
+  /**
+   * Zobrist keys are generated from a fixed seed so that the hash of a position is the same in
+   * every run of the game. This allows hashes to be persisted.
+   */
+  private static long[] createZobristKeys(int width, int height, int numberOfSeats) {
+    SplittableRandom random =
+        new SplittableRandom(0x5DEECE66DL ^ ((long) width << 32) ^ ((long) height << 16));
+    long[] keys = new long[numberOfSeats * width * height + numberOfSeats];
+    for (int i = 0; i < keys.length; i++) {
+      keys[i] = random.nextLong();
+    }
+    return keys;
+  }
+
+  /**
+   * Orders the columns from the centre outwards. Counters in the centre take part in more lines
+   * than those at the edges, so are more likely to be good moves.
+   */
+  private static int[] createColumnsFromCentre(int width) {
+    int[] order = new int[width];
+    for (int i = 0; i < width; i++) {
+      // Alternate either side of the centre: 0, -1, +1, -2, +2...
+      int offset = (i + 1) / 2;
+      order[i] = (width - 1) / 2 + (i % 2 == 1 ? -offset : offset);
+      if (order[i] < 0 || order[i] >= width) {
+        order[i] = (width - 1) / 2 + (i % 2 == 1 ? offset : -offset);
+      }
+    }
+    return order;
+  }
+
+  /**
+   * Picks a few columns spread across the board that are always worth considering, even far from
+   * any counter: the centre column, and the centre of each half. These give a search somewhere to
+   * start on an empty board, and the option of starting somewhere new.
+   */
+  private static boolean[] createProbeColumns(int width) {
+    boolean[] probes = new boolean[width];
+    probes[(width - 1) / 2] = true;
+    probes[width / 4] = true;
+    probes[width - 1 - width / 4] = true;
+    return probes;
+  }
+
+  // Adds to the number of counters near every column within reach of the given column
+  private void updateNearbyCounters(int column, int change) {
+    if (nearbyCounters == null) {
+      return;
+    }
+    int last = Math.min(width - 1, column + candidateRadius);
+    for (int near = Math.max(0, column - candidateRadius); near <= last; near++) {
+      nearbyCounters[near] += change;
+    }
+  }
+
+  private int pieceKeyIndex(int seat, int cell) {
+    return seat * cells.length + cell;
+  }
+
+  private int sideToMoveKeyIndex(int seat) {
+    return seats.length * width * height + seat;
+  }
+
+  /**
+   * Gets the width of the board, i.e. the number of columns.
+   * @return The width of the board.
+   */
+  public int getWidth() {
+    return width;
+  }
+
+  /**
+   * Gets the height of the board.
+   * @return The height of the board.
+   */
+  public int getHeight() {
+    return height;
+  }
+
+  /**
+   * Gets the column indices ordered from the centre of the board outwards. This is a good default
+   * order in which to search moves. The returned array must not be modified.
+   * @return The column indices, starting with the centre column.
+   */
+  int[] getColumnsFromCentre() {
+    return columnsFromCentre;
+  }
+
+  /**
+   * Gets the number of players (seats) in the game.
+   * @return The number of seats.
+   */
+  public int getNumberOfSeats() {
+    return seats.length;
+  }
+
+  /**
+   * Gets the player sitting in the given seat.
+   * @param seat The seat, i.e. the player's index in the turn order.
+   * @return The player in that seat.
+   */
+  public Player getPlayer(int seat) {
+    return seats[seat];
+  }
+
+  /**
+   * Gets the number of consecutive counters that the player in the given seat needs to win.
+   * @param seat The seat.
+   * @return The number of consecutive counters required.
+   */
+  public int getCountersRequired(int seat) {
+    return countersRequired[seat];
+  }
+
+  /**
+   * Gets the seat of the player whose turn it is.
+   * @return The seat to move.
+   */
+  public int getSeatToMove() {
+    return seatToMove;
+  }
+
+  /**
+   * Gets the seat that takes its turn after the given seat.
+   * @param seat The seat.
+   * @return The next seat in the turn order.
+   */
+  public int getNextSeat(int seat) {
+    return seat + 1 == seats.length ? 0 : seat + 1;
+  }
+
+  /**
+   * Gets the number of counters on the board.
+   * @return The number of counters on the board.
+   */
+  public int getNumberOfCounters() {
+    return numberOfCounters;
+  }
+
+  /**
+   * Gets the number of moves that have been made on this search board since it was created, and
+   * that can therefore be undone.
+   * @return The number of moves that can be undone.
+   */
+  public int getNumberOfMoves() {
+    return numberOfMoves;
+  }
+
+  /**
+   * Gets the Zobrist hash of the position, including the player to move.
+   * @return The hash of the position.
+   */
+  public long getHash() {
+    return hash;
+  }
+
+  /**
+   * Gets the Zobrist hash of the position's mirror image: the same position reflected left to
+   * right, with the same player to move.
+   * @return The hash of the mirror image.
+   */
+  public long getMirroredHash() {
+    return mirroredHash;
+  }
+
+  /**
+   * Gets the hash that the position and its mirror image share: the lower of {@link #getHash()}
+   * and {@link #getMirroredHash()}.
+   * @return The canonical hash of the position.
+   */
+  public long getCanonicalHash() {
+    return Math.min(hash, mirroredHash);
+  }
+
+  /**
+   * Determines whether the position is the one of the two mirror images that the
+   * {@link #getCanonicalHash() canonical hash} is taken from. If it isn't, moves stored under the
+   * canonical hash are for the mirror image, and must be {@link #getMirrorColumn(int) mirrored}.
+   * @return {@code true} if {@code getHash() == getCanonicalHash()}.
+   */
+  public boolean isCanonical() {
+    return hash <= mirroredHash;
+  }
+
+  /**
+   * Determines whether the position is its own mirror image, so that a move and its mirror image
+   * lead to equivalent positions.
+   * @return {@code true} if every counter has a counter of the same player opposite it.
+   */
+  public boolean isSymmetric() {
+    return asymmetricCells == 0;
+  }
+
+  /**
+   * Gets the column opposite the given column, on the other side of the centre.
+   * @param column The column index.
+   * @return The index of the mirrored column.
+   */
+  public int getMirrorColumn(int column) {
+    return width - 1 - column;
+  }
+
+  /**
+   * Converts a move in this position to the same move in the image that the
+   * {@link #getCanonicalHash() canonical hash} is taken from. Mirroring twice gets back to the
+   * original move, so this also converts a move stored under the canonical hash back to a move in
+   * this position.
+   * @param column The column index, or {@code -1} for no move.
+   * @return The column index in the other image, or {@code column} if the position is
+   * {@link #isCanonical() canonical} or there is no move.
+   */
+  public int toCanonicalColumn(int column) {
+    return column < 0 || isCanonical() ? column : getMirrorColumn(column);
+  }
+
+  /**
+   * Gets the number of counters in the given column.
+   * @param column The column index.
+   * @return The number of counters in the column.
+   */
+  public int getColumnHeight(int column) {
+    return columnHeights[column];
+  }
+
+  /**
+   * Gets the seat that owns the counter at the given position.
+   * @param column The column index.
+   * @param row The row index, where 0 is the bottom row.
+   * @return The seat that owns the counter, or {@code -1} if there's no counter there.
+   */
+  public int getSeatAt(int column, int row) {
+    return cells[column * height + row] - 1;
+  }
+
+  /**
+   * Determines whether a counter can be placed in the given column.
+   * @param column The column index.
+   * @return {@code true} if the column is not full.
+   */
+  public boolean canPlay(int column) {
+    return columnHeights[column] < height;
+  }
+
+  /**
+   * Determines whether the board is full.
+   * @return {@code true} if no more counters can be placed.
+   */
+  public boolean isFull() {
+    return numberOfCounters == cells.length;
+  }
+
+  /**
+   * Determines whether the board only offers searches the columns near existing counters (see
+   * {@link #isCandidate(int)}).
+   * @return {@code true} if the board is at least {@link #MINIMUM_SPARSE_WIDTH} columns wide.
+   */
+  boolean isSparse() {
+    return nearbyCounters != null;
+  }
+
+  /**
+   * Determines whether a search should consider placing a counter in the given column. On a
+   * sparse board (see {@link #isSparse()}), this is only the case for columns within a winning
+   * line's reach of a counter, and a few columns spread across the board. Any move that wins, or
+   * that stops another player winning, is close enough to be considered. On other boards, every
+   * column that isn't full is considered.
+   * @param column The column index.
+   * @return {@code true} if the column is not full, and is worth considering.
+   */
+  boolean isCandidate(int column) {
+    return columnHeights[column] < height
+        && (nearbyCounters == null || nearbyCounters[column] > 0 || probeColumns[column]);
+  }
+
+  /**
+   * Fills the buffer with the columns that a search should consider (see
+   * {@link #isCandidate(int)}), ordered from the centre outwards. There is always at least one
+   * unless the board is full: the column next to the counter nearest any empty column far from
+   * the counters is itself empty, and within reach of that counter. If the position is
+   * {@link #isSymmetric() symmetric}, only the columns up to the centre are offered, as the rest
+   * lead to the mirror images of the same positions.
+   * @param moves The buffer to fill. This must have room for every column.
+   * @return The number of columns in the buffer.
+   */
+  int getCandidateMoves(int[] moves) {
+    int count = 0;
+    boolean symmetric = isSymmetric();
+    for (int column : columnsFromCentre) {
+      if (isCandidate(column) && !(symmetric && column > getMirrorColumn(column))) {
+        moves[count++] = column;
+      }
+    }
+    return count;
+  }
+
+  /**
+   * Places a counter for the player to move in the given column, and passes the turn to the next
+   * player. The column must not be full.
+   * @param column The column index.
+   */
+  public void play(int column) {
+    int cell = column * height + columnHeights[column];
+    setContents(column, cell, seatToMove + 1);
+    columnHeights[column]++;
+    numberOfCounters++;
+    updateNearbyCounters(column, 1);
+    moveHistory[numberOfMoves++] = column;
+    toggleKeys(column, cell, seatToMove);
+    toggleSideToMove(seatToMove);
+    if (evaluator != null) {
+      evaluator.counterPlaced(column, columnHeights[column] - 1, seatToMove);
+    }
+    seatToMove = getNextSeat(seatToMove);
+    toggleSideToMove(seatToMove);
+  }
+
+  /**
+   * Plays a sequence of moves, such as the moves of a position given on the command line. Unlike
+   * {@link #play(int)}, every move is checked before it's played.
+   * @param moves The column numbers (starting at 1) of the moves, such as {@code "4453"}.
+   * @throws IllegalArgumentException Thrown if a move isn't a column on the board, if the column is
+   * full, or if a move wins the game.
+   * @throws NullPointerException Thrown if {@code moves == null}.
+   */
+  public void playMoves(String moves) throws IllegalArgumentException, NullPointerException {
+    Objects.requireNonNull(moves, "Moves are null");
+    for (char move : moves.toCharArray()) {
+      int column = Character.getNumericValue(move) - 1;
+      if (column < 0 || column >= width) {
+        throw new IllegalArgumentException(
+            "Move '" + move + "' is not a column between 1 and " + width);
+      }
+      if (!canPlay(column)) {
+        throw new IllegalArgumentException("Column " + (column + 1) + " is already full");
+      }
+      if (isWinningMove(seatToMove, column)) {
+        // There is nothing left to play in a position that has been won
+        throw new IllegalArgumentException("Column " + (column + 1) + " wins the game");
+      }
+      play(column);
+    }
+  }
+
+  /**
+   * Undoes the last move made by {@link #play(int)}.
+   * @throws IllegalStateException Thrown if there are no moves to undo.
+   */
+  public void undo() throws IllegalStateException {
+    if (numberOfMoves == 0) {
+      throw new IllegalStateException("No moves to undo");
+    }
+    int column = moveHistory[--numberOfMoves];
+    toggleSideToMove(seatToMove);
+    seatToMove = seatToMove == 0 ? seats.length - 1 : seatToMove - 1;
+    int cell = column * height + --columnHeights[column];
+    setContents(column, cell, EMPTY);
+    numberOfCounters--;
+    updateNearbyCounters(column, -1);
+    toggleKeys(column, cell, seatToMove);
+    toggleSideToMove(seatToMove);
+    if (evaluator != null) {
+      evaluator.counterRemoved(column, columnHeights[column], seatToMove);
+    }
+  }
+
+  /**
+   * Attaches an evaluator to the board, replacing any evaluator that is already attached. The
+   * evaluator is reset to the current position, and then told about every move that is played or
+   * undone.
+   * @param evaluator The evaluator.
+   * @throws NullPointerException Thrown if {@code evaluator == null}.
+   */
+  public void setEvaluator(Evaluator evaluator) throws NullPointerException {
+    Objects.requireNonNull(evaluator, "Evaluator is null");
+    evaluator.reset(this);
+    this.evaluator = evaluator;
+  }
+
+  /**
+   * Gets the evaluator attached to the board.
+   * @return The evaluator, or an empty optional if there isn't one.
+   */
+  public Optional<Evaluator> getEvaluator() {
+    return Optional.ofNullable(evaluator);
+  }
+
+  /**
+   * Gets the evaluator attached to the board, first attaching a {@link WindowEvaluator} if there
+   * isn't one. Searches use this so that they can always evaluate the board.
+   * @return The evaluator.
+   */
+  Evaluator requireEvaluator() {
+    if (evaluator == null) {
+      setEvaluator(new WindowEvaluator());
+    }
+    return evaluator;
+  }
+
+  /**
+   * Determines whether the given seat would win by placing a counter in the given column. Only the
+   * lines through the cell that the counter would land in are checked. The column must not be
+   * full.
+   * @param seat The seat placing the counter.
+   * @param column The column index.
+   * @return {@code true} if the counter would complete a line of the seat's required length.
+   */
+  public boolean isWinningMove(int seat, int column) {
+    int row = columnHeights[column];
+    int required = countersRequired[seat];
+    int owner = seat + 1;
+    // Vertical - there can only be counters beneath the landing cell
+    return countInDirection(owner, column, row, 0, -1) + 1 >= required
+        // Horizontal
+        || countInDirection(owner, column, row, -1, 0)
+            + countInDirection(owner, column, row, 1, 0) + 1 >= required
+        // Counterdiagonal (bottom left to top right)
+        || countInDirection(owner, column, row, -1, -1)
+            + countInDirection(owner, column, row, 1, 1) + 1 >= required
+        // Leading diagonal (top left to bottom right)
+        || countInDirection(owner, column, row, -1, 1)
+            + countInDirection(owner, column, row, 1, -1) + 1 >= required;
+  }
+
+  // Counts the owner's consecutive counters from (but excluding) the given cell
+  private int countInDirection(int owner, int column, int row, int columnStep, int rowStep) {
+    int count = 0;
+    column += columnStep;
+    row += rowStep;
+    while (column >= 0 && column < width && row >= 0 && row < height
+        && cells[column * height + row] == owner) {
+      count++;
+      column += columnStep;
+      row += rowStep;
+    }
+    return count;
+  }
+
+  /**
+   * Copies the search board. The copy can be modified without affecting this board. If an
+   * evaluator is attached, the copy gets a new evaluator of the same kind.
+   * @return A copy of this board.
+   */
+  @Override
+  public SearchBoard copy() {
+    return new SearchBoard(this);
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (o == null || getClass() != o.getClass()) {
+      return false;
+    }
+    SearchBoard that = (SearchBoard) o;
+    return width == that.width
+        && seatToMove == that.seatToMove
+        && Arrays.equals(seats, that.seats)
+        && Arrays.equals(cells, that.cells);
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(width, Long.hashCode(hash));
+  }
+}
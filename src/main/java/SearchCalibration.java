@@ -0,0 +1,162 @@
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * <p>Measures how quickly this machine searches, so that searching difficulties can be given a
+ * budget of positions instead of a time limit. A search that stops after a set number of
+ * positions plays exactly the same way on a slow machine as on a fast one, whereas a time limit
+ * makes a difficulty stronger on faster machines.</p>
+ * <p>The benchmark searches a fixed 7x6 position on one thread, first to warm up the JIT compiler
+ * and then to time it. {@link #calibrate(SearchSettings)} turns settings into a budget: settings
+ * that already have one (see {@link SearchSettings#getMaximumNodes()}) keep it, and otherwise the
+ * budget is the number of positions that the {@link #REFERENCE_NODES_PER_SECOND reference machine}
+ * searches in the time limit. The time limit is then scaled so that this machine can do as much
+ * work as the reference machine would, with some to spare so that the budget rather than the
+ * clock ends look-ahead searches. Searches without a budget, such as simulations, are still
+ * stopped by the clock, so they too do about the same work on every machine.</p>
+ * <p>The benchmark can be run from the command line to see how this machine compares:</p>
+ * <pre><code>java SearchCalibration [milliseconds]</code></pre>
+ */
+public final class SearchCalibration {
+
+  /**
+   * The speed of the machine that the default time limits were chosen on, in positions searched
+   * each second by one thread.
+   */
+  public static final double REFERENCE_NODES_PER_SECOND = 1_500_000;
+
+  // The time limit allows this many times as long as the budget should take
+  private static final double TIME_HEADROOM = 1.25;
+
+  // The position that is searched: the columns played from the empty 7x6 board
+  private static final int[] BENCHMARK_MOVES = {3, 3, 2, 4, 4};
+
+  private final double nodesPerSecond;
+
+  private SearchCalibration(double nodesPerSecond) {
+    this.nodesPerSecond = nodesPerSecond;
+  }
+
+  /**
+   * Creates a calibration for a machine whose speed is already known, such as a server type that
+   * has been measured before.
+   * @param nodesPerSecond The number of positions the machine searches each second on one thread.
+   * @return The calibration.
+   * @throws IllegalArgumentException Thrown if {@code nodesPerSecond <= 0}.
+   */
+  public static SearchCalibration of(double nodesPerSecond) throws IllegalArgumentException {
+    if (!(nodesPerSecond > 0)) {
+      throw new IllegalArgumentException("Search speed must be > 0");
+    }
+    return new SearchCalibration(nodesPerSecond);
+  }
+
+  /**
+   * Measures how quickly this machine searches.
+   * @param timeLimitMillis How long the timed search should take. It is preceded by a warm-up
+   * search of the same length.
+   * @return The calibration.
+   * @throws IllegalArgumentException Thrown if {@code timeLimitMillis < 1}.
+   */
+  public static SearchCalibration measure(long timeLimitMillis) throws IllegalArgumentException {
+    if (timeLimitMillis < 1) {
+      throw new IllegalArgumentException("Calibration time must be > 0");
+    }
+    search(timeLimitMillis);
+    SearchStatistics statistics = search(timeLimitMillis);
+    return of(Math.max(1, statistics.getNodesPerSecond()));
+  }
+
+  // Searches the benchmark position with a fresh table for the given time
+  private static SearchStatistics search(long timeLimitMillis) {
+    VictoryCondition victoryCondition = new ConsecutiveCountersVictoryCondition(4);
+    List<Player> players = Arrays.asList(
+        new AIPlayer(PlayerColour.RED, victoryCondition, Difficulty.HARD),
+        new AIPlayer(PlayerColour.YELLOW, victoryCondition, Difficulty.HARD));
+    SearchBoard board = SearchBoard.empty(new Dimensions(7, 6), players);
+    for (int column : BENCHMARK_MOVES) {
+      board.play(column);
+    }
+    board.setEvaluator(new WindowEvaluator());
+    long deadlineNanos = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeLimitMillis);
+    return new NegamaxSearch(board, new TranspositionTable(1 << 20), new AtomicBoolean(false))
+        .search(board.getWidth() * board.getHeight(), deadlineNanos)
+        .getStatistics();
+  }
+
+  /**
+   * Gets how quickly the machine searches.
+   * @return The number of positions searched each second on one thread.
+   */
+  public double getNodesPerSecond() {
+    return nodesPerSecond;
+  }
+
+  /**
+   * Gets how quickly the machine searches compared to the reference machine.
+   * @return The relative speed, which is greater than 1 if the machine is faster.
+   */
+  public double getRelativeSpeed() {
+    return nodesPerSecond / REFERENCE_NODES_PER_SECOND;
+  }
+
+  /**
+   * Estimates how long the machine takes to search a number of positions.
+   * @param nodes The number of positions.
+   * @return The estimated time in milliseconds.
+   */
+  public long estimateMillis(long nodes) {
+    return (long) Math.ceil(nodes * 1000 / nodesPerSecond);
+  }
+
+  /**
+   * Gives settings a budget of positions, so that they play at the same strength on every
+   * machine, and a time limit that lets this machine reach the budget.
+   * @param settings The settings.
+   * @return The calibrated settings.
+   */
+  public SearchSettings calibrate(SearchSettings settings) {
+    long maximumNodes = settings.getMaximumNodes();
+    long referenceMillis = settings.getTimeLimitMillis();
+    if (maximumNodes == Long.MAX_VALUE) {
+      maximumNodes = Math.max(1, Math.round(referenceMillis * REFERENCE_NODES_PER_SECOND / 1000));
+    } else {
+      referenceMillis = (long) Math.ceil(maximumNodes * 1000 / REFERENCE_NODES_PER_SECOND);
+    }
+    long timeLimitMillis =
+        Math.max(1, Math.round(referenceMillis / getRelativeSpeed() * TIME_HEADROOM));
+    return settings.toBuilder()
+        .setMaximumNodes(maximumNodes)
+        .setTimeLimitMillis(timeLimitMillis)
+        .build();
+  }
+
+  @Override
+  public String toString() {
+    return String.format("%,.0f nodes/s (%.2fx the reference machine)",
+        nodesPerSecond, getRelativeSpeed());
+  }
+
+  /**
+   * Measures this machine from the command line arguments. See {@link SearchCalibration} for
+   * details.
+   * @param args The command line arguments.
+   */
+  public static void main(String[] args) {
+    try {
+      long timeLimitMillis = args.length > 0 ? Long.parseLong(args[0]) : 1000;
+      SearchCalibration calibration = measure(timeLimitMillis);
+      System.out.println("This machine searches " + calibration);
+      for (Difficulty difficulty : new Difficulty[] {Difficulty.HARD, Difficulty.EXPERT}) {
+        SearchSettings settings = calibration.calibrate(difficulty.getSearchSettings());
+        System.out.printf("%s: %,d nodes, about %dms per move%n", difficulty.getName(),
+            settings.getMaximumNodes(), calibration.estimateMillis(settings.getMaximumNodes()));
+      }
+    } catch (RuntimeException e) {
+      // Don't print an ugly stacktrace - the exception message should contain relevant details
+      System.out.println(e.getMessage());
+    }
+  }
+}
@@ -0,0 +1,85 @@
+import java.util.Objects;
+
+/**
+ * The outcome of searching a position: the move that was chosen, and what was learnt about the
+ * position while choosing it.
+ */
+public final class SearchResult {
+
+  private final int column;
+  private final int score;
+  private final SearchStatistics statistics;
+
+  /**
+   * Creates a new search result.
+   * @param column The index (starting at 0) of the column that was chosen.
+   * @param score The score of the position for the player to move.
+   * @param depth The depth of the deepest completed search.
+   * @param nodes The number of positions visited.
+   */
+  public SearchResult(int column, int score, int depth, long nodes) {
+    this(column, score, SearchStatistics.builder().setDepth(depth).setNodes(nodes).build());
+  }
+
+  /**
+   * Creates a new search result.
+   * @param column The index (starting at 0) of the column that was chosen.
+   * @param score The score of the position for the player to move.
+   * @param statistics What the search cost, including the depth of the deepest completed search.
+   * @throws NullPointerException Thrown if {@code statistics == null}.
+   */
+  public SearchResult(int column, int score, SearchStatistics statistics)
+      throws NullPointerException {
+    this.column = column;
+    this.score = score;
+    this.statistics = Objects.requireNonNull(statistics, "Statistics are null");
+  }
+
+  /**
+   * Gets the index of the column that was chosen. Note that this starts at 0, unlike the column
+   * numbers used by {@link Board}.
+   * @return The index of the chosen column.
+   */
+  public int getColumn() {
+    return column;
+  }
+
+  /**
+   * Gets the score of the position for the player to move. Positive scores favour the player to
+   * move.
+   * @return The score of the position.
+   */
+  public int getScore() {
+    return score;
+  }
+
+  /**
+   * Gets the depth of the deepest search that completed.
+   * @return The search depth.
+   */
+  public int getDepth() {
+    return statistics.getDepth();
+  }
+
+  /**
+   * Gets the number of positions that were visited.
+   * @return The number of positions visited.
+   */
+  public long getNodes() {
+    return statistics.getNodes();
+  }
+
+  /**
+   * Gets what the search cost and how well it went.
+   * @return The statistics of the search.
+   */
+  public SearchStatistics getStatistics() {
+    return statistics;
+  }
+
+  @Override
+  public String toString() {
+    return "column=" + (column + 1) + ", score=" + score + ", depth=" + getDepth() + ", nodes="
+        + getNodes();
+  }
+}
@@ -0,0 +1,392 @@
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * The resources that a searching {@link AIStrategy} is allowed to use when choosing a move.
+ */
+public class SearchSettings {
+
+  /**
+   * The ways in which a game between three or more players can be searched.
+   */
+  public enum MultiPlayerSearch {
+    /**
+     * Assume that every other player is working against us (see {@link ParanoidSearch}).
+     */
+    PARANOID,
+    /**
+     * Assume that every player is playing for themselves (see {@link MaxNSearch}).
+     */
+    MAX_N
+  }
+
+  private static final SearchSettings DEFAULT_SETTINGS = builder().build();
+
+  private final int threads;
+  private final int maximumDepth;
+  private final long timeLimitMillis;
+  private final long maximumNodes;
+  private final long turnDeadlineMillis;
+  private final int transpositionTableEntries;
+  private final long maximumPlayouts;
+  private final MultiPlayerSearch multiPlayerSearch;
+  private final Evaluator evaluator;
+  private final boolean pondering;
+  private final boolean reportingStatistics;
+  private final TranspositionTableStore transpositionTableStore; // null if tables aren't kept
+
+  // Create the settings from the builder
+  private SearchSettings(Builder builder) throws IllegalArgumentException, NullPointerException {
+    if (builder.threads < 1) {
+      throw new IllegalArgumentException("Number of search threads must be > 0");
+    }
+    if (builder.maximumDepth < 1) {
+      throw new IllegalArgumentException("Maximum search depth must be > 0");
+    }
+    if (builder.timeLimitMillis < 1) {
+      throw new IllegalArgumentException("Search time limit must be > 0");
+    }
+    if (builder.maximumNodes < 1) {
+      throw new IllegalArgumentException("Maximum number of nodes must be > 0");
+    }
+    if (builder.turnDeadlineMillis < 1) {
+      throw new IllegalArgumentException("Turn deadline must be > 0");
+    }
+    if (builder.transpositionTableEntries < 1) {
+      throw new IllegalArgumentException("Transposition table must have at least one entry");
+    }
+    if (builder.maximumPlayouts < 1) {
+      throw new IllegalArgumentException("Maximum number of playouts must be > 0");
+    }
+    this.threads = builder.threads;
+    this.maximumDepth = builder.maximumDepth;
+    this.timeLimitMillis = builder.timeLimitMillis;
+    this.maximumNodes = builder.maximumNodes;
+    this.turnDeadlineMillis = builder.turnDeadlineMillis;
+    this.transpositionTableEntries = builder.transpositionTableEntries;
+    this.maximumPlayouts = builder.maximumPlayouts;
+    this.multiPlayerSearch =
+        Objects.requireNonNull(builder.multiPlayerSearch, "Multi-player search is null");
+    this.evaluator = Objects.requireNonNull(builder.evaluator, "Evaluator is null");
+    this.pondering = builder.pondering;
+    this.reportingStatistics = builder.reportingStatistics;
+    this.transpositionTableStore = builder.transpositionTableStore;
+  }
+
+  /**
+   * Gets the default search settings: a single thread searching for up to one second.
+   * @return The default search settings.
+   */
+  public static SearchSettings defaults() {
+    return DEFAULT_SETTINGS;
+  }
+
+  /**
+   * Gets the number of threads that should search at once. If this is greater than 1, the threads
+   * share a single transposition table (see {@link LazySmpSearch}).
+   * @return The number of search threads.
+   */
+  public int getThreads() {
+    return threads;
+  }
+
+  /**
+   * Gets the maximum depth (number of moves ahead) that the search should look.
+   * @return The maximum search depth.
+   */
+  public int getMaximumDepth() {
+    return maximumDepth;
+  }
+
+  /**
+   * Gets the amount of time that the search may take to choose a move.
+   * @return The time limit in milliseconds.
+   */
+  public long getTimeLimitMillis() {
+    return timeLimitMillis;
+  }
+
+  /**
+   * Gets the number of positions that a look-ahead search may visit when choosing a move. Unlike a
+   * time limit, this makes the search play the same way however fast the machine is (see
+   * {@link SearchCalibration}). Simulation-based searches are limited by
+   * {@link #getMaximumPlayouts()} instead.
+   * @return The maximum number of positions, or {@link Long#MAX_VALUE} if only the time is
+   * limited.
+   */
+  public long getMaximumNodes() {
+    return maximumNodes;
+  }
+
+  /**
+   * Gets the longest that the computer player's whole turn may take. Unlike the time limit, which
+   * each search keeps to as best it can, this is enforced from outside the strategy: a strategy
+   * that hasn't moved by then is replaced for the turn by quicker ones (see
+   * {@link DeadlineStrategy}).
+   * @return The turn deadline in milliseconds, or {@link Long#MAX_VALUE} if turns may take as long
+   * as the strategy needs.
+   */
+  public long getTurnDeadlineMillis() {
+    return turnDeadlineMillis;
+  }
+
+  /**
+   * Gets the number of positions that the transposition table should be able to hold.
+   * @return The minimum size of the transposition table.
+   */
+  public int getTranspositionTableEntries() {
+    return transpositionTableEntries;
+  }
+
+  /**
+   * Gets the maximum number of random games that a simulation-based search (see
+   * {@link MonteCarloTreeSearch}) should play out, across all threads. The search also stops when
+   * its time limit is reached.
+   * @return The maximum number of playouts.
+   */
+  public long getMaximumPlayouts() {
+    return maximumPlayouts;
+  }
+
+  /**
+   * Gets the way in which a game between three or more players should be searched.
+   * @return The multi-player search algorithm.
+   */
+  public MultiPlayerSearch getMultiPlayerSearch() {
+    return multiPlayerSearch;
+  }
+
+  /**
+   * Gets the evaluator that searches should score positions at their horizon with. This is a
+   * prototype: each search attaches a {@link Evaluator#newEvaluator() new evaluator} of the same
+   * kind to its board.
+   * @return The evaluator.
+   */
+  public Evaluator getEvaluator() {
+    return evaluator;
+  }
+
+  /**
+   * Gets whether the search may carry on thinking in the background during a human player's turn
+   * (see {@link Ponderable}).
+   * @return {@code true} if the search may ponder.
+   */
+  public boolean isPondering() {
+    return pondering;
+  }
+
+  /**
+   * Gets whether the computer player should print what each search cost (see
+   * {@link SearchStatistics}) after it moves. The statistics are always published through JMX
+   * (see {@link SearchStatisticsMonitor}), whether or not they are printed.
+   * @return {@code true} if the statistics should be printed.
+   */
+  public boolean isReportingStatistics() {
+    return reportingStatistics;
+  }
+
+  /**
+   * Gets the store of transposition tables that two-player searches should use, so that what they
+   * learn is kept between runs of the program. If there isn't one, each game starts with an empty
+   * table of {@link #getTranspositionTableEntries()} entries.
+   * @return The store, or an empty {@link Optional} if tables aren't kept.
+   */
+  public Optional<TranspositionTableStore> getTranspositionTableStore() {
+    return Optional.ofNullable(transpositionTableStore);
+  }
+
+  /**
+   * Creates a builder pre-populated with these settings.
+   * @return A new builder.
+   */
+  public Builder toBuilder() {
+    return builder()
+        .setThreads(threads)
+        .setMaximumDepth(maximumDepth)
+        .setTimeLimitMillis(timeLimitMillis)
+        .setMaximumNodes(maximumNodes)
+        .setTurnDeadlineMillis(turnDeadlineMillis)
+        .setTranspositionTableEntries(transpositionTableEntries)
+        .setMaximumPlayouts(maximumPlayouts)
+        .setMultiPlayerSearch(multiPlayerSearch)
+        .setEvaluator(evaluator)
+        .setPondering(pondering)
+        .setReportingStatistics(reportingStatistics)
+        .setTranspositionTableStore(transpositionTableStore);
+  }
+
+  /**
+   * Creates a new builder for {@link SearchSettings} instances, populated with the default values.
+   * @return A new builder.
+   */
+  public static Builder builder() {
+    return new Builder();
+  }
+
+  /**
+   * A builder for {@link SearchSettings} instances.
+   */
+  public static class Builder {
+
+    private int threads = 1;
+    private int maximumDepth = 64;
+    private long timeLimitMillis = 1000L;
+    private long maximumNodes = Long.MAX_VALUE;
+    private long turnDeadlineMillis = Long.MAX_VALUE;
+    private int transpositionTableEntries = 1 << 20;
+    private long maximumPlayouts = Long.MAX_VALUE;
+    private MultiPlayerSearch multiPlayerSearch = MultiPlayerSearch.PARANOID;
+    private Evaluator evaluator = new WindowEvaluator();
+    private boolean pondering = true;
+    private boolean reportingStatistics = false;
+    private TranspositionTableStore transpositionTableStore = null;
+
+    /**
+     * Sets the number of threads that should search at once.
+     * @param threads The number of search threads.
+     * @return This builder for chaining.
+     */
+    public Builder setThreads(int threads) {
+      this.threads = threads;
+      return this;
+    }
+
+    /**
+     * Sets the maximum depth (number of moves ahead) that the search should look.
+     * @param maximumDepth The maximum search depth.
+     * @return This builder for chaining.
+     */
+    public Builder setMaximumDepth(int maximumDepth) {
+      this.maximumDepth = maximumDepth;
+      return this;
+    }
+
+    /**
+     * Sets the amount of time that the search may take to choose a move.
+     * @param timeLimitMillis The time limit in milliseconds.
+     * @return This builder for chaining.
+     */
+    public Builder setTimeLimitMillis(long timeLimitMillis) {
+      this.timeLimitMillis = timeLimitMillis;
+      return this;
+    }
+
+    /**
+     * Sets the number of positions that the search may visit when choosing a move.
+     * @param maximumNodes The maximum number of positions.
+     * @return This builder for chaining.
+     */
+    public Builder setMaximumNodes(long maximumNodes) {
+      this.maximumNodes = maximumNodes;
+      return this;
+    }
+
+    /**
+     * Sets the longest that the computer player's whole turn may take.
+     * @param turnDeadlineMillis The turn deadline in milliseconds.
+     * @return This builder for chaining.
+     */
+    public Builder setTurnDeadlineMillis(long turnDeadlineMillis) {
+      this.turnDeadlineMillis = turnDeadlineMillis;
+      return this;
+    }
+
+    /**
+     * Sets the number of positions that the transposition table should be able to hold.
+     * @param transpositionTableEntries The minimum size of the transposition table.
+     * @return This builder for chaining.
+     */
+    public Builder setTranspositionTableEntries(int transpositionTableEntries) {
+      this.transpositionTableEntries = transpositionTableEntries;
+      return this;
+    }
+
+    /**
+     * Sets the maximum number of random games that a simulation-based search should play out.
+     * @param maximumPlayouts The maximum number of playouts.
+     * @return This builder for chaining.
+     */
+    public Builder setMaximumPlayouts(long maximumPlayouts) {
+      this.maximumPlayouts = maximumPlayouts;
+      return this;
+    }
+
+    /**
+     * Sets the way in which a game between three or more players should be searched.
+     * @param multiPlayerSearch The multi-player search algorithm.
+     * @return This builder for chaining.
+     */
+    public Builder setMultiPlayerSearch(MultiPlayerSearch multiPlayerSearch) {
+      this.multiPlayerSearch = multiPlayerSearch;
+      return this;
+    }
+
+    /**
+     * Sets the evaluator that searches should score positions at their horizon with.
+     * @param evaluator The evaluator. This is used as a prototype, and is never attached to a
+     * board itself.
+     * @return This builder for chaining.
+     */
+    public Builder setEvaluator(Evaluator evaluator) {
+      this.evaluator = evaluator;
+      return this;
+    }
+
+    /**
+     * Sets whether the search may carry on thinking in the background during a human player's
+     * turn.
+     * @param pondering {@code true} if the search may ponder.
+     * @return This builder for chaining.
+     */
+    public Builder setPondering(boolean pondering) {
+      this.pondering = pondering;
+      return this;
+    }
+
+    /**
+     * Sets whether the computer player should print what each search cost after it moves.
+     * @param reportingStatistics {@code true} if the statistics should be printed.
+     * @return This builder for chaining.
+     */
+    public Builder setReportingStatistics(boolean reportingStatistics) {
+      this.reportingStatistics = reportingStatistics;
+      return this;
+    }
+
+    /**
+     * Sets the store of transposition tables that two-player searches should use.
+     * @param transpositionTableStore The store, or {@code null} to start each game with an empty
+     * table.
+     * @return This builder for chaining.
+     */
+    public Builder setTranspositionTableStore(TranspositionTableStore transpositionTableStore) {
+      this.transpositionTableStore = transpositionTableStore;
+      return this;
+    }
+
+    /**
+     * Builds the search settings.
+     * @return The search settings.
+     * @throws IllegalArgumentException Thrown if any of the values are out of range.
+     * @throws NullPointerException Thrown if the multi-player search or the evaluator is
+     * {@code null}.
+     */
+    public SearchSettings build() throws IllegalArgumentException, NullPointerException {
+      return new SearchSettings(this);
+    }
+  }
+
+  @Override
+  public String toString() {
+    return "threads=" + threads + ", maximumDepth=" + maximumDepth + ", timeLimitMillis="
+        + timeLimitMillis
+        + (maximumNodes == Long.MAX_VALUE ? "" : ", maximumNodes=" + maximumNodes)
+        + (turnDeadlineMillis == Long.MAX_VALUE
+            ? "" : ", turnDeadlineMillis=" + turnDeadlineMillis)
+        + ", multiPlayerSearch=" + multiPlayerSearch + ", evaluator="
+        + evaluator.getClass().getSimpleName() + ", pondering=" + pondering
+        + ", reportingStatistics=" + reportingStatistics
+        + (transpositionTableStore == null
+            ? "" : ", tables=" + transpositionTableStore.getDirectory());
+  }
+}
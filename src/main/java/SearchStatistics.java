@@ -0,0 +1,312 @@
+/**
+ * <p>What a search cost and how well it went: how many positions it visited and how quickly, how
+ * deep it reached, how often the transposition table already knew a position, and how often a
+ * position was cut off early by alpha-beta pruning. Searches that don't have a table or don't
+ * prune leave those counts at 0, and the rates based on them are then {@link Double#NaN}.</p>
+ * <p>Statistics are collected for every move that a computer player searches (see
+ * {@link AIStrategy#getLastSearchStatistics()}) and added up for each player by a
+ * {@link SearchStatisticsMonitor}.</p>
+ */
+public final class SearchStatistics {
+
+  private final long nodes;
+  private final long elapsedNanos;
+  private final int depth;
+  private final long tableProbes;
+  private final long tableHits;
+  private final long expandedNodes;
+  private final long cutoffs;
+  private final long firstMoveCutoffs;
+
+  // Create the statistics from the builder
+  private SearchStatistics(Builder builder) {
+    this.nodes = builder.nodes;
+    this.elapsedNanos = builder.elapsedNanos;
+    this.depth = builder.depth;
+    this.tableProbes = builder.tableProbes;
+    this.tableHits = builder.tableHits;
+    this.expandedNodes = builder.expandedNodes;
+    this.cutoffs = builder.cutoffs;
+    this.firstMoveCutoffs = builder.firstMoveCutoffs;
+  }
+
+  /**
+   * Gets the number of positions that were visited.
+   * @return The number of positions visited.
+   */
+  public long getNodes() {
+    return nodes;
+  }
+
+  /**
+   * Gets how long the search took.
+   * @return The time taken in nanoseconds, or 0 if it wasn't measured.
+   */
+  public long getElapsedNanos() {
+    return elapsedNanos;
+  }
+
+  /**
+   * Gets the depth of the deepest search that completed.
+   * @return The search depth.
+   */
+  public int getDepth() {
+    return depth;
+  }
+
+  /**
+   * Gets the number of times that the transposition table was looked in.
+   * @return The number of table probes.
+   */
+  public long getTableProbes() {
+    return tableProbes;
+  }
+
+  /**
+   * Gets the number of times that the transposition table held the position being looked for.
+   * @return The number of table hits.
+   */
+  public long getTableHits() {
+    return tableHits;
+  }
+
+  /**
+   * Gets the number of positions whose moves were searched, rather than being scored straight
+   * away (because the game was over, the table knew the score or the depth ran out).
+   * @return The number of expanded positions.
+   */
+  public long getExpandedNodes() {
+    return expandedNodes;
+  }
+
+  /**
+   * Gets the number of expanded positions where a move was good enough that the rest of the moves
+   * didn't need to be searched.
+   * @return The number of cutoffs.
+   */
+  public long getCutoffs() {
+    return cutoffs;
+  }
+
+  /**
+   * Gets the number of cutoffs that came from the first move searched.
+   * @return The number of first move cutoffs.
+   */
+  public long getFirstMoveCutoffs() {
+    return firstMoveCutoffs;
+  }
+
+  /**
+   * Gets how quickly positions were visited.
+   * @return The number of positions visited each second, or {@link Double#NaN} if the time
+   * wasn't measured.
+   */
+  public double getNodesPerSecond() {
+    return ratio(nodes * 1e9, elapsedNanos);
+  }
+
+  /**
+   * Gets the fraction of table probes that found the position.
+   * @return The hit rate between 0 and 1, or {@link Double#NaN} if the table wasn't used.
+   */
+  public double getTableHitRate() {
+    return ratio(tableHits, tableProbes);
+  }
+
+  /**
+   * Gets the fraction of expanded positions that were cut off early.
+   * @return The cutoff rate between 0 and 1, or {@link Double#NaN} if no position was expanded.
+   */
+  public double getCutoffRate() {
+    return ratio(cutoffs, expandedNodes);
+  }
+
+  /**
+   * Gets the fraction of cutoffs that came from the first move searched. The closer this is to 1,
+   * the better the moves were ordered.
+   * @return The first move cutoff rate between 0 and 1, or {@link Double#NaN} if there were no
+   * cutoffs.
+   */
+  public double getFirstMoveCutoffRate() {
+    return ratio(firstMoveCutoffs, cutoffs);
+  }
+
+  /**
+   * Gets the effective branching factor: the number of moves that would have had to be searched
+   * from every position, to visit as many positions in a search of this depth.
+   * @return The effective branching factor, or {@link Double#NaN} if no search completed.
+   */
+  public double getEffectiveBranchingFactor() {
+    return depth > 0 && nodes > 0 ? Math.pow(nodes, 1.0 / depth) : Double.NaN;
+  }
+
+  private static double ratio(double numerator, double denominator) {
+    return denominator > 0 ? numerator / denominator : Double.NaN;
+  }
+
+  /**
+   * Combines these statistics with those of a search that ran alongside this one, such as a
+   * helper thread searching the same position. The counts are added together, while the depth and
+   * time are those of this search.
+   * @param other The statistics of the other search.
+   * @return The combined statistics.
+   */
+  public SearchStatistics combine(SearchStatistics other) {
+    return toBuilder()
+        .setNodes(nodes + other.nodes)
+        .setTableProbes(tableProbes + other.tableProbes)
+        .setTableHits(tableHits + other.tableHits)
+        .setExpandedNodes(expandedNodes + other.expandedNodes)
+        .setCutoffs(cutoffs + other.cutoffs)
+        .setFirstMoveCutoffs(firstMoveCutoffs + other.firstMoveCutoffs)
+        .build();
+  }
+
+  /**
+   * Creates a builder pre-populated with these statistics.
+   * @return A new builder.
+   */
+  public Builder toBuilder() {
+    return builder()
+        .setNodes(nodes)
+        .setElapsedNanos(elapsedNanos)
+        .setDepth(depth)
+        .setTableProbes(tableProbes)
+        .setTableHits(tableHits)
+        .setExpandedNodes(expandedNodes)
+        .setCutoffs(cutoffs)
+        .setFirstMoveCutoffs(firstMoveCutoffs);
+  }
+
+  /**
+   * Creates a new builder for {@link SearchStatistics} instances, with every count at 0.
+   * @return A new builder.
+   */
+  public static Builder builder() {
+    return new Builder();
+  }
+
+  /**
+   * A builder for {@link SearchStatistics} instances.
+   */
+  public static class Builder {
+
+    private long nodes;
+    private long elapsedNanos;
+    private int depth;
+    private long tableProbes;
+    private long tableHits;
+    private long expandedNodes;
+    private long cutoffs;
+    private long firstMoveCutoffs;
+
+    /**
+     * Sets the number of positions that were visited.
+     * @param nodes The number of positions visited.
+     * @return This builder for chaining.
+     */
+    public Builder setNodes(long nodes) {
+      this.nodes = nodes;
+      return this;
+    }
+
+    /**
+     * Sets how long the search took.
+     * @param elapsedNanos The time taken in nanoseconds.
+     * @return This builder for chaining.
+     */
+    public Builder setElapsedNanos(long elapsedNanos) {
+      this.elapsedNanos = elapsedNanos;
+      return this;
+    }
+
+    /**
+     * Sets the depth of the deepest search that completed.
+     * @param depth The search depth.
+     * @return This builder for chaining.
+     */
+    public Builder setDepth(int depth) {
+      this.depth = depth;
+      return this;
+    }
+
+    /**
+     * Sets the number of times that the transposition table was looked in.
+     * @param tableProbes The number of table probes.
+     * @return This builder for chaining.
+     */
+    public Builder setTableProbes(long tableProbes) {
+      this.tableProbes = tableProbes;
+      return this;
+    }
+
+    /**
+     * Sets the number of times that the transposition table held the position being looked for.
+     * @param tableHits The number of table hits.
+     * @return This builder for chaining.
+     */
+    public Builder setTableHits(long tableHits) {
+      this.tableHits = tableHits;
+      return this;
+    }
+
+    /**
+     * Sets the number of positions whose moves were searched.
+     * @param expandedNodes The number of expanded positions.
+     * @return This builder for chaining.
+     */
+    public Builder setExpandedNodes(long expandedNodes) {
+      this.expandedNodes = expandedNodes;
+      return this;
+    }
+
+    /**
+     * Sets the number of expanded positions that were cut off early.
+     * @param cutoffs The number of cutoffs.
+     * @return This builder for chaining.
+     */
+    public Builder setCutoffs(long cutoffs) {
+      this.cutoffs = cutoffs;
+      return this;
+    }
+
+    /**
+     * Sets the number of cutoffs that came from the first move searched.
+     * @param firstMoveCutoffs The number of first move cutoffs.
+     * @return This builder for chaining.
+     */
+    public Builder setFirstMoveCutoffs(long firstMoveCutoffs) {
+      this.firstMoveCutoffs = firstMoveCutoffs;
+      return this;
+    }
+
+    /**
+     * Builds the statistics.
+     * @return The statistics.
+     */
+    public SearchStatistics build() {
+      return new SearchStatistics(this);
+    }
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder description = new StringBuilder();
+    description.append(String.format("depth %d, %,d nodes", depth, nodes));
+    if (elapsedNanos > 0) {
+      description.append(String.format(" in %.2fs (%,.0f nodes/s)",
+          elapsedNanos / 1e9, getNodesPerSecond()));
+    }
+    if (tableProbes > 0) {
+      description.append(String.format(", table hits %.1f%%", getTableHitRate() * 100));
+    }
+    if (cutoffs > 0) {
+      description.append(String.format(", cutoffs %.1f%% (%.1f%% on the first move)",
+          getCutoffRate() * 100, getFirstMoveCutoffRate() * 100));
+    }
+    if (depth > 0 && nodes > 0) {
+      description.append(String.format(", branching factor %.2f", getEffectiveBranchingFactor()));
+    }
+    return description.toString();
+  }
+}
@@ -0,0 +1,118 @@
+/**
+ * The management interface of a {@link SearchStatisticsMonitor}, through which JMX clients (such
+ * as JConsole or VisualVM) can watch what a computer player's searches cost while the game runs.
+ * Totals and averages cover every move that the player has searched since the program started or
+ * the monitor was last reset. Rates that can't be worked out yet are {@link Double#NaN}.
+ */
+public interface SearchStatisticsMXBean {
+
+  /**
+   * Gets the number of moves that have been searched.
+   * @return The number of moves searched.
+   */
+  long getMovesSearched();
+
+  /**
+   * Gets the total number of positions visited.
+   * @return The number of positions visited.
+   */
+  long getNodes();
+
+  /**
+   * Gets the total time spent searching.
+   * @return The time spent searching in milliseconds.
+   */
+  long getSearchMillis();
+
+  /**
+   * Gets the number of positions visited each second, across every move.
+   * @return The average search speed.
+   */
+  double getNodesPerSecond();
+
+  /**
+   * Gets the average depth reached.
+   * @return The average search depth.
+   */
+  double getAverageDepth();
+
+  /**
+   * Gets the fraction of transposition table probes that found the position, across every move.
+   * @return The table hit rate between 0 and 1.
+   */
+  double getTableHitRate();
+
+  /**
+   * Gets the fraction of expanded positions that were cut off early, across every move.
+   * @return The cutoff rate between 0 and 1.
+   */
+  double getCutoffRate();
+
+  /**
+   * Gets the fraction of cutoffs that came from the first move searched, across every move.
+   * @return The first move cutoff rate between 0 and 1.
+   */
+  double getFirstMoveCutoffRate();
+
+  /**
+   * Gets the average effective branching factor of the moves searched.
+   * @return The average effective branching factor.
+   */
+  double getAverageEffectiveBranchingFactor();
+
+  /**
+   * Gets the number of positions visited by the last move searched.
+   * @return The number of positions visited by the last search.
+   */
+  long getLastNodes();
+
+  /**
+   * Gets the number of positions visited each second by the last move searched.
+   * @return The speed of the last search.
+   */
+  double getLastNodesPerSecond();
+
+  /**
+   * Gets the depth reached by the last move searched.
+   * @return The depth of the last search.
+   */
+  int getLastDepth();
+
+  /**
+   * Gets the effective branching factor of the last move searched.
+   * @return The effective branching factor of the last search.
+   */
+  double getLastEffectiveBranchingFactor();
+
+  /**
+   * Gets the number of moves that the player's strategy made before its turn deadline came close
+   * (see {@link DeadlineStrategy}).
+   * @return The number of moves made in time.
+   */
+  long getMovesInTime();
+
+  /**
+   * Gets the number of moves that the player's strategy made after being asked to stop early, as
+   * its turn deadline came close.
+   * @return The number of moves made with the best move found so far.
+   */
+  long getMovesStoppedEarly();
+
+  /**
+   * Gets the number of moves where the player's strategy missed its turn deadline, so the player
+   * won or blocked if it could, and otherwise played at random.
+   * @return The number of win or block fallbacks.
+   */
+  long getWinOrBlockFallbacks();
+
+  /**
+   * Gets the number of moves where every other strategy failed, so the player played at random.
+   * @return The number of random fallbacks.
+   */
+  long getRandomFallbacks();
+
+  /**
+   * Forgets every move recorded so far.
+   */
+  void reset();
+}
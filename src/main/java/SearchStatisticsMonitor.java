@@ -0,0 +1,194 @@
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+/**
+ * <p>Adds up the {@link SearchStatistics} of every move that a computer player searches, and
+ * publishes the totals as a JMX MBean (see {@link SearchStatisticsMXBean}) named
+ * {@code ConnectN:type=SearchStatistics,player=COLOUR}, so that budgets can be tuned from what
+ * searches really cost on a machine. Players with a turn deadline also count which
+ * {@link DeadlineStrategy.Tier tier} took each turn.</p>
+ * <p>There is one monitor for each player colour, shared by every player of that colour in the
+ * program (see {@link #forPlayer(Player)}). A monitor is thread-safe.</p>
+ */
+public class SearchStatisticsMonitor implements SearchStatisticsMXBean {
+
+  private static final String DOMAIN = "ConnectN";
+  private static final Map<PlayerColour, SearchStatisticsMonitor> MONITORS =
+      new ConcurrentHashMap<>();
+
+  private long movesSearched;
+  private SearchStatistics totals = SearchStatistics.builder().build();
+  private long totalDepth;
+  private double totalBranchingFactor;
+  private long movesWithBranchingFactor;
+  private SearchStatistics last;
+  private final long[] tierMoves = new long[DeadlineStrategy.Tier.values().length];
+
+  /**
+   * Creates a monitor that isn't published.
+   */
+  SearchStatisticsMonitor() {
+  }
+
+  /**
+   * Gets the monitor for the player's colour, creating and publishing it the first time that it's
+   * needed. If the monitor can't be published (for example, because JMX isn't available), it
+   * still adds up the statistics.
+   * @param player The player.
+   * @return The monitor.
+   * @throws NullPointerException Thrown if {@code player == null}.
+   */
+  public static SearchStatisticsMonitor forPlayer(Player player) throws NullPointerException {
+    PlayerColour colour = Objects.requireNonNull(player, "Player is null").getColour();
+    return MONITORS.computeIfAbsent(colour, c -> {
+      SearchStatisticsMonitor monitor = new SearchStatisticsMonitor();
+      try {
+        ManagementFactory.getPlatformMBeanServer().registerMBean(monitor, getObjectName(c));
+      } catch (JMException | SecurityException e) {
+        // Not being able to watch the statistics is no reason to stop the game
+      }
+      return monitor;
+    });
+  }
+
+  /**
+   * Gets the name that the monitor for a player colour is published under.
+   * @param colour The player colour.
+   * @return The object name of the MBean.
+   * @throws JMException Thrown if the name is invalid.
+   */
+  static ObjectName getObjectName(PlayerColour colour) throws JMException {
+    return new ObjectName(DOMAIN + ":type=SearchStatistics,player=" + colour.name());
+  }
+
+  /**
+   * Adds the statistics of a move to the totals.
+   * @param statistics The statistics of the move.
+   * @throws NullPointerException Thrown if {@code statistics == null}.
+   */
+  public synchronized void record(SearchStatistics statistics) throws NullPointerException {
+    Objects.requireNonNull(statistics, "Statistics are null");
+    movesSearched++;
+    totals = statistics.combine(totals).toBuilder()
+        .setElapsedNanos(totals.getElapsedNanos() + statistics.getElapsedNanos())
+        .build();
+    totalDepth += statistics.getDepth();
+    double branchingFactor = statistics.getEffectiveBranchingFactor();
+    if (!Double.isNaN(branchingFactor)) {
+      totalBranchingFactor += branchingFactor;
+      movesWithBranchingFactor++;
+    }
+    last = statistics;
+  }
+
+  /**
+   * Counts a move taken by a player with a turn deadline.
+   * @param tier The tier of the strategy that took the move.
+   * @throws NullPointerException Thrown if {@code tier == null}.
+   */
+  public synchronized void recordTier(DeadlineStrategy.Tier tier) throws NullPointerException {
+    tierMoves[Objects.requireNonNull(tier, "Tier is null").ordinal()]++;
+  }
+
+  @Override
+  public synchronized long getMovesSearched() {
+    return movesSearched;
+  }
+
+  @Override
+  public synchronized long getNodes() {
+    return totals.getNodes();
+  }
+
+  @Override
+  public synchronized long getSearchMillis() {
+    return totals.getElapsedNanos() / 1_000_000;
+  }
+
+  @Override
+  public synchronized double getNodesPerSecond() {
+    return totals.getNodesPerSecond();
+  }
+
+  @Override
+  public synchronized double getAverageDepth() {
+    return movesSearched > 0 ? (double) totalDepth / movesSearched : Double.NaN;
+  }
+
+  @Override
+  public synchronized double getTableHitRate() {
+    return totals.getTableHitRate();
+  }
+
+  @Override
+  public synchronized double getCutoffRate() {
+    return totals.getCutoffRate();
+  }
+
+  @Override
+  public synchronized double getFirstMoveCutoffRate() {
+    return totals.getFirstMoveCutoffRate();
+  }
+
+  @Override
+  public synchronized double getAverageEffectiveBranchingFactor() {
+    return movesWithBranchingFactor > 0
+        ? totalBranchingFactor / movesWithBranchingFactor : Double.NaN;
+  }
+
+  @Override
+  public synchronized long getLastNodes() {
+    return last == null ? 0 : last.getNodes();
+  }
+
+  @Override
+  public synchronized double getLastNodesPerSecond() {
+    return last == null ? Double.NaN : last.getNodesPerSecond();
+  }
+
+  @Override
+  public synchronized int getLastDepth() {
+    return last == null ? 0 : last.getDepth();
+  }
+
+  @Override
+  public synchronized double getLastEffectiveBranchingFactor() {
+    return last == null ? Double.NaN : last.getEffectiveBranchingFactor();
+  }
+
+  @Override
+  public synchronized long getMovesInTime() {
+    return tierMoves[DeadlineStrategy.Tier.STRATEGY.ordinal()];
+  }
+
+  @Override
+  public synchronized long getMovesStoppedEarly() {
+    return tierMoves[DeadlineStrategy.Tier.BEST_SO_FAR.ordinal()];
+  }
+
+  @Override
+  public synchronized long getWinOrBlockFallbacks() {
+    return tierMoves[DeadlineStrategy.Tier.WIN_OR_BLOCK.ordinal()];
+  }
+
+  @Override
+  public synchronized long getRandomFallbacks() {
+    return tierMoves[DeadlineStrategy.Tier.RANDOM.ordinal()];
+  }
+
+  @Override
+  public synchronized void reset() {
+    movesSearched = 0;
+    totals = SearchStatistics.builder().build();
+    totalDepth = 0;
+    totalBranchingFactor = 0;
+    movesWithBranchingFactor = 0;
+    last = null;
+    Arrays.fill(tierMoves, 0);
+  }
+}
@@ -0,0 +1,103 @@
+import java.util.Arrays;
+
+/**
+ * The outcome of a batch of simulated games (see {@link GameSimulator}): how often each player
+ * won, how many games were drawn, how long the games lasted and how quickly they were played.
+ */
+public final class SimulationSummary {
+
+  private final long[] wins;
+  private final long draws;
+  private final long moves;
+  private final long elapsedNanos;
+
+  /**
+   * Creates a new summary.
+   * @param wins The number of games won by each player, in turn order.
+   * @param draws The number of games that filled the board without a winner.
+   * @param moves The total number of moves played in every game.
+   * @param elapsedNanos How long the games took to play, in nanoseconds.
+   */
+  SimulationSummary(long[] wins, long draws, long moves, long elapsedNanos) {
+    this.wins = wins.clone();
+    this.draws = draws;
+    this.moves = moves;
+    this.elapsedNanos = elapsedNanos;
+  }
+
+  /**
+   * Gets the number of games played.
+   * @return The number of games.
+   */
+  public long getGames() {
+    return Arrays.stream(wins).sum() + draws;
+  }
+
+  /**
+   * Gets the number of players in each game.
+   * @return The number of players.
+   */
+  public int getNumberOfPlayers() {
+    return wins.length;
+  }
+
+  /**
+   * Gets the number of games that a player won.
+   * @param seat The player's position in the turn order, starting at 0 for the first player.
+   * @return The number of games won.
+   * @throws IndexOutOfBoundsException Thrown if there isn't a player in the seat.
+   */
+  public long getWins(int seat) throws IndexOutOfBoundsException {
+    return wins[seat];
+  }
+
+  /**
+   * Gets the number of games that filled the board without a winner.
+   * @return The number of draws.
+   */
+  public long getDraws() {
+    return draws;
+  }
+
+  /**
+   * Gets the average number of moves (by all players) that a game lasted.
+   * @return The average game length, or {@link Double#NaN} if no games were played.
+   */
+  public double getAverageGameLength() {
+    long games = getGames();
+    return games > 0 ? (double) moves / games : Double.NaN;
+  }
+
+  /**
+   * Gets how long the games took to play.
+   * @return The time taken in nanoseconds.
+   */
+  public long getElapsedNanos() {
+    return elapsedNanos;
+  }
+
+  /**
+   * Gets how quickly the games were played.
+   * @return The number of games played each second, or {@link Double#NaN} if the time wasn't
+   * measured.
+   */
+  public double getGamesPerSecond() {
+    return elapsedNanos > 0 ? getGames() * 1e9 / elapsedNanos : Double.NaN;
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder description = new StringBuilder();
+    long games = getGames();
+    description.append(String.format("%,d games in %.1fs (%,.0f games/s)", games,
+        elapsedNanos / 1e9, getGamesPerSecond()));
+    for (int seat = 0; seat < wins.length; seat++) {
+      description.append(String.format("%nPlayer %d wins: %,d (%.1f%%)", seat + 1, wins[seat],
+          games > 0 ? wins[seat] * 100.0 / games : 0));
+    }
+    description.append(String.format("%nDraws: %,d (%.1f%%)", draws,
+        games > 0 ? draws * 100.0 / games : 0));
+    description.append(String.format("%nAverage game length: %.1f moves", getAverageGameLength()));
+    return description.toString();
+  }
+}
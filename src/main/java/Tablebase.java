@@ -0,0 +1,211 @@
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Objects;
+
+/**
+ * <p>The result with perfect play of every position in a two-player game on a small board, written
+ * by a {@link TablebaseGenerator}. Looking up a position is a single read, so a player using the
+ * tablebase plays perfectly and instantly.</p>
+ * <p>Positions are indexed by their columns. Each column is numbered by its counters, with a
+ * leading {@code 1} bit above them to give its height: {@code (1 << height) | counters}, where bit
+ * {@code r} of {@code counters} is set if the counter in row {@code r} belongs to the first
+ * player. Numbering these from 0 gives {@code 2^(height + 1) - 1} possible columns, and the index
+ * of a position is its column numbers read as the digits of a number in that base, with the first
+ * column as the least significant digit. Every possible position has an index, including those
+ * that can't be reached, which keeps the index cheap to work out.</p>
+ * <p>The file is memory-mapped rather than read onto the heap. Its format is:</p>
+ * <ul>
+ *   <li>{@code int} - {@link #MAGIC}</li>
+ *   <li>{@code int} - {@link #VERSION}</li>
+ *   <li>{@code int} - the width of the board</li>
+ *   <li>{@code int} - the height of the board</li>
+ *   <li>{@code int} - the number of consecutive counters that both players need to win</li>
+ *   <li>{@code long} - the number of indices</li>
+ *   <li>The results, 2 bits for each index and 4 to a byte, starting from the lowest bits:
+ *   {@link #UNKNOWN}, {@link #LOSS}, {@link #DRAW} or {@link #WIN}</li>
+ * </ul>
+ * <p>The header is big-endian. Results are only stored for positions where the game is still in
+ * progress and the first player has moved as many times as the second player, or one more.</p>
+ */
+public class Tablebase {
+
+  /**
+   * The first four bytes of every tablebase file.
+   */
+  public static final int MAGIC = 0x434E5442; // "CNTB"
+
+  /**
+   * The version of the file format.
+   */
+  public static final int VERSION = 1;
+
+  /**
+   * The result of a position that isn't in the tablebase.
+   */
+  public static final int UNKNOWN = 0;
+
+  /**
+   * The result of a position that the player to move loses with perfect play.
+   */
+  public static final int LOSS = 1;
+
+  /**
+   * The result of a position that is drawn with perfect play.
+   */
+  public static final int DRAW = 2;
+
+  /**
+   * The result of a position that the player to move wins with perfect play.
+   */
+  public static final int WIN = 3;
+
+  static final int HEADER_SIZE = Integer.BYTES * 5 + Long.BYTES;
+
+  private final MappedByteBuffer buffer;
+  private final int width;
+  private final int height;
+  private final int countersRequired;
+  private final long positions;
+
+  // Reads the header of the mapped file
+  private Tablebase(MappedByteBuffer buffer, Path path) throws IOException {
+    this.buffer = buffer;
+    try {
+      if (buffer.getInt() != MAGIC || buffer.getInt() != VERSION) {
+        throw new IOException(path + " is not a tablebase");
+      }
+      this.width = buffer.getInt();
+      this.height = buffer.getInt();
+      this.countersRequired = buffer.getInt();
+      this.positions = buffer.getLong();
+    } catch (RuntimeException e) {
+      // Most likely a BufferUnderflowException if the header has been truncated
+      throw new IOException(path + " is corrupt", e);
+    }
+    if (width < 1 || height < 1 || positions != numberOfPositions(width, height)
+        || HEADER_SIZE + (positions + 3) / 4 > buffer.capacity()) {
+      throw new IOException(path + " is corrupt: results are missing");
+    }
+  }
+
+  /**
+   * Opens the tablebase in the given file.
+   * @param path The path to the tablebase file.
+   * @return The tablebase.
+   * @throws IOException Thrown if the file can't be read or isn't a valid tablebase.
+   * @throws NullPointerException Thrown if {@code path == null}.
+   */
+  public static Tablebase open(Path path) throws IOException, NullPointerException {
+    Objects.requireNonNull(path, "Path is null");
+    try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+      // The mapping stays valid after the channel has been closed
+      return new Tablebase(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()), path);
+    }
+  }
+
+  /**
+   * Gets the number of indices that a board of the given size needs (see {@link Tablebase}).
+   * @param width The width of the board.
+   * @param height The height of the board.
+   * @return The number of indices, or {@link Long#MAX_VALUE} if there are more than that.
+   */
+  static long numberOfPositions(int width, int height) {
+    if (height >= 62) {
+      return Long.MAX_VALUE;
+    }
+    long base = (1L << (height + 1)) - 1;
+    long positions = 1;
+    for (int column = 0; column < width; column++) {
+      if (positions > Long.MAX_VALUE / base) {
+        return Long.MAX_VALUE;
+      }
+      positions *= base;
+    }
+    return positions;
+  }
+
+  /**
+   * Determines whether this tablebase was generated for the same game as the given board: the
+   * same dimensions, and two players who both need the tablebase's number of counters.
+   * @param board The board.
+   * @return {@code true} if the tablebase can be used to find moves on the board.
+   */
+  public boolean isFor(SearchBoard board) {
+    return board.getWidth() == width
+        && board.getHeight() == height
+        && board.getNumberOfSeats() == 2
+        && board.getCountersRequired(0) == countersRequired
+        && board.getCountersRequired(1) == countersRequired;
+  }
+
+  /**
+   * Looks up the result of a position.
+   * @param board The position.
+   * @return The result for the player to move: {@link #WIN}, {@link #DRAW} or {@link #LOSS}, or
+   * {@link #UNKNOWN} if the position isn't in the tablebase - for example, if the game is over or
+   * the tablebase is for a different game.
+   */
+  public int probe(SearchBoard board) {
+    // The first player in the turn order must have had the first move
+    if (!isFor(board) || board.getSeatToMove() != board.getNumberOfCounters() % 2) {
+      return UNKNOWN;
+    }
+    long base = (1L << (height + 1)) - 1;
+    long index = 0;
+    for (int column = width - 1; column >= 0; column--) {
+      int columnHeight = board.getColumnHeight(column);
+      long code = 1L << columnHeight;
+      for (int row = 0; row < columnHeight; row++) {
+        if (board.getSeatAt(column, row) == 0) {
+          code |= 1L << row;
+        }
+      }
+      index = index * base + code - 1;
+    }
+    int bits = buffer.get(HEADER_SIZE + (int) (index >>> 2)) >>> ((int) (index & 3) * 2);
+    return bits & 3;
+  }
+
+  /**
+   * Finds the best column for the player to move: a column that wins straight away, or else one
+   * that keeps the best result, from the centre outwards.
+   * @param board The position. This is left unchanged, but is modified while looking up the
+   * positions after each move.
+   * @return The index (starting at 0) of the best column, or {@code -1} if the position isn't in
+   * the tablebase.
+   */
+  public int getBestColumn(SearchBoard board) {
+    if (probe(board) == UNKNOWN) {
+      return -1;
+    }
+    int seat = board.getSeatToMove();
+    for (int column : board.getColumnsFromCentre()) {
+      if (board.canPlay(column) && board.isWinningMove(seat, column)) {
+        return column;
+      }
+    }
+    int drawingColumn = -1;
+    int losingColumn = -1;
+    for (int column : board.getColumnsFromCentre()) {
+      if (!board.canPlay(column)) {
+        continue;
+      }
+      board.play(column);
+      // The result is for the opponent, who is now to move
+      int result = board.isFull() ? DRAW : probe(board);
+      board.undo();
+      if (result == LOSS) {
+        return column;
+      }
+      if (result == DRAW && drawingColumn < 0) {
+        drawingColumn = column;
+      } else if (losingColumn < 0) {
+        losingColumn = column;
+      }
+    }
+    return drawingColumn >= 0 ? drawingColumn : losingColumn;
+  }
+}
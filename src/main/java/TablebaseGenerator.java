@@ -0,0 +1,310 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Consumer;
+
+/**
+ * <p>Generates a {@link Tablebase} for a two-player game on a small board by retrograde analysis.
+ * The positions are worked through by the number of counters on the board, from the last move of
+ * the game back to the empty board, so the result of every position after a move is already known
+ * when the position before it is reached. The positions with the same number of counters don't
+ * depend on each other, so they are shared out between several threads.</p>
+ * <p>Every position where the game is still in progress and the players have taken turns is
+ * given a result, including some that can't be reached in play - it is cheaper to work them out
+ * than to show that they can't be reached. The whole tablebase is held in memory while it is
+ * generated, so boards are limited to {@link #MAXIMUM_POSITIONS} indices (see
+ * {@link Tablebase}). This covers boards up to 6x4 and 5x5.</p>
+ * <p>Tablebases can be generated from the command line:</p>
+ * <pre><code>java TablebaseGenerator width height counters path [threads]</code></pre>
+ */
+public class TablebaseGenerator {
+
+  /**
+   * The largest number of indices that a tablebase can have, which takes 1GB.
+   */
+  public static final long MAXIMUM_POSITIONS = 1L << 32;
+
+  private final int width;
+  private final int height;
+  private final int countersRequired;
+  private final int threads;
+  private final int cells;
+  private final long[] columnWeights; // The value of a digit in each column of the index
+  private AtomicLongArray results;
+
+  /**
+   * Creates a new tablebase generator.
+   * @param dimensions The dimensions of the board.
+   * @param countersRequired The number of consecutive counters that both players need to win.
+   * @param threads The number of threads to generate the tablebase with.
+   * @throws NullPointerException Thrown if {@code dimensions == null}.
+   * @throws IllegalArgumentException Thrown if the board is too large (see
+   * {@link #canGenerate(Dimensions)}), {@code countersRequired < 1} or {@code threads < 1}.
+   */
+  public TablebaseGenerator(Dimensions dimensions, int countersRequired, int threads)
+      throws NullPointerException, IllegalArgumentException {
+    Objects.requireNonNull(dimensions, "Dimensions are null");
+    if (!canGenerate(dimensions)) {
+      throw new IllegalArgumentException("Board is too large for a tablebase: " + dimensions);
+    }
+    if (countersRequired < 1) {
+      throw new IllegalArgumentException("Number of counters required must be > 0");
+    }
+    if (threads < 1) {
+      throw new IllegalArgumentException("Number of threads must be > 0");
+    }
+    this.width = dimensions.getWidth();
+    this.height = dimensions.getHeight();
+    this.countersRequired = countersRequired;
+    this.threads = threads;
+    this.cells = width * height;
+    this.columnWeights = new long[width];
+    long base = (1L << (height + 1)) - 1;
+    long weight = 1;
+    for (int column = 0; column < width; column++) {
+      columnWeights[column] = weight;
+      weight *= base;
+    }
+  }
+
+  /**
+   * Determines whether a tablebase can be generated for a board.
+   * @param dimensions The dimensions of the board.
+   * @return {@code true} if the board needs no more than {@link #MAXIMUM_POSITIONS} indices, and
+   * fits into 63 bits with a spare row (as a {@link Bitboard} does).
+   */
+  public static boolean canGenerate(Dimensions dimensions) {
+    int width = dimensions.getWidth();
+    int height = dimensions.getHeight();
+    return width * (height + 1) <= 63
+        && Tablebase.numberOfPositions(width, height) <= MAXIMUM_POSITIONS;
+  }
+
+  /**
+   * Generates the tablebase and writes it to a file.
+   * @param path The path to write the tablebase to. Any existing file is replaced.
+   * @return The number of positions that were given a result.
+   * @throws IOException Thrown if the tablebase can't be written.
+   * @throws InterruptedException Thrown if the calling thread is interrupted while waiting for the
+   * positions to be worked out.
+   */
+  public long generate(Path path) throws IOException, InterruptedException {
+    long positions = Tablebase.numberOfPositions(width, height);
+    results = new AtomicLongArray((int) ((positions + 31) / 32));
+    long count = 0;
+    ExecutorService executor = Executors.newFixedThreadPool(threads);
+    try {
+      // The last counter can't be played into a position that is still in progress, so start
+      // with one cell empty
+      for (int counters = cells - 1; counters >= 0; counters--) {
+        List<Callable<Long>> tasks = new ArrayList<>();
+        int layer = counters;
+        forEachHeights(new int[width], 0, counters, heights -> tasks.add(
+            () -> solveLayer(heights, layer)));
+        for (Future<Long> future : executor.invokeAll(tasks)) {
+          count += future.get();
+        }
+      }
+      write(path, positions);
+      return count;
+    } catch (ExecutionException e) {
+      throw new IllegalStateException("Generating the tablebase failed", e.getCause());
+    } finally {
+      executor.shutdownNow();
+      results = null;
+    }
+  }
+
+  // Calls the action with every combination of column heights that adds up to the given total
+  private void forEachHeights(
+      int[] heights, int column, int remaining, Consumer<int[]> action) {
+    if (column == width - 1) {
+      if (remaining <= height) {
+        int[] copy = heights.clone();
+        copy[column] = remaining;
+        action.accept(copy);
+      }
+      return;
+    }
+    for (int columnHeight = 0; columnHeight <= Math.min(height, remaining); columnHeight++) {
+      heights[column] = columnHeight;
+      forEachHeights(heights, column + 1, remaining - columnHeight, action);
+    }
+  }
+
+  /**
+   * Works out the result of every position with the given column heights, where the players have
+   * taken turns and the first player moved first.
+   * @return The number of positions that were given a result.
+   */
+  private long solveLayer(int[] heights, int counters) {
+    // List the occupied cells, as bits in a bitboard and as their weight in the index
+    long[] cellBits = new long[counters];
+    long[] cellWeights = new long[counters];
+    long emptyIndex = 0; // The index when every counter belongs to the second player
+    int cell = 0;
+    for (int column = 0; column < width; column++) {
+      emptyIndex += ((1L << heights[column]) - 1) * columnWeights[column];
+      for (int row = 0; row < heights[column]; row++) {
+        cellBits[cell] = 1L << (column * (height + 1) + row);
+        cellWeights[cell] = (1L << row) * columnWeights[column];
+        cell++;
+      }
+    }
+    long allCounters = 0;
+    for (long bit : cellBits) {
+      allCounters |= bit;
+    }
+
+    // The first player has moved as many times as the second, or one more
+    int firstPlayerCounters = (counters + 1) / 2;
+    int seatToMove = counters % 2;
+    long count = 0;
+    for (long combination = (1L << firstPlayerCounters) - 1;
+        combination < 1L << counters;
+        combination = nextCombination(combination)) {
+      long firstPlayer = 0;
+      long index = emptyIndex;
+      for (long bits = combination; bits != 0; bits &= bits - 1) {
+        int i = Long.numberOfTrailingZeros(bits);
+        firstPlayer |= cellBits[i];
+        index += cellWeights[i];
+      }
+      long secondPlayer = allCounters ^ firstPlayer;
+      if (!hasLine(firstPlayer) && !hasLine(secondPlayer)) {
+        long toMove = seatToMove == 0 ? firstPlayer : secondPlayer;
+        store(index, solvePosition(heights, toMove, index, seatToMove, counters));
+        count++;
+      }
+    }
+    return count;
+  }
+
+  // Finds the next largest number with the same number of bits set (Gosper's hack)
+  private static long nextCombination(long combination) {
+    if (combination == 0) {
+      return Long.MAX_VALUE; // There's only one way of choosing nothing
+    }
+    long lowest = combination & -combination;
+    long ripple = combination + lowest;
+    return (((ripple ^ combination) >>> 2) / lowest) | ripple;
+  }
+
+  // Works out the result of a position from the results of the positions after each move
+  private int solvePosition(int[] heights, long toMove, long index, int seat, int counters) {
+    boolean canDraw = false;
+    for (int column = 0; column < width; column++) {
+      if (heights[column] == height) {
+        continue;
+      }
+      if (hasLine(toMove | 1L << (column * (height + 1) + heights[column]))) {
+        return Tablebase.WIN;
+      }
+      if (counters + 1 == cells) {
+        canDraw = true;
+        continue;
+      }
+      // Adding a counter to a column adds 1 << height to its number, and the same again if the
+      // counter belongs to the first player
+      long next = index + (1L << heights[column]) * (seat == 0 ? 2 : 1) * columnWeights[column];
+      int result = load(next);
+      if (result == Tablebase.LOSS) {
+        return Tablebase.WIN;
+      }
+      canDraw |= result == Tablebase.DRAW;
+    }
+    return canDraw ? Tablebase.DRAW : Tablebase.LOSS;
+  }
+
+  // Determines whether the counters contain a line, in any direction
+  private boolean hasLine(long counters) {
+    return hasLine(counters, 1) // Vertical
+        || hasLine(counters, height + 1) // Horizontal
+        || hasLine(counters, height) // Leading diagonal
+        || hasLine(counters, height + 2); // Counterdiagonal
+  }
+
+  private boolean hasLine(long counters, int step) {
+    long line = counters;
+    for (int i = 1; i < countersRequired && line != 0; i++) {
+      line &= counters >>> (i * step);
+    }
+    return line != 0;
+  }
+
+  private int load(long index) {
+    return (int) (results.get((int) (index >>> 5)) >>> ((index & 31) * 2)) & 3;
+  }
+
+  private void store(long index, int result) {
+    long bits = (long) result << ((index & 31) * 2);
+    results.accumulateAndGet((int) (index >>> 5), bits, (a, b) -> a | b);
+  }
+
+  // Writes the header, then the results in the order that they are held in memory
+  private void write(Path path, long positions) throws IOException {
+    try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE,
+        StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+      ByteBuffer header = ByteBuffer.allocate(Tablebase.HEADER_SIZE);
+      header.putInt(Tablebase.MAGIC).putInt(Tablebase.VERSION)
+          .putInt(width).putInt(height).putInt(countersRequired).putLong(positions);
+      header.flip();
+      while (header.hasRemaining()) {
+        channel.write(header);
+      }
+      // Index i is in bits 2 * (i % 32) of long i / 32, so writing the longs little-endian puts
+      // it in bits 2 * (i % 4) of byte i / 4
+      ByteBuffer chunk = ByteBuffer.allocate(1 << 16).order(ByteOrder.LITTLE_ENDIAN);
+      for (int i = 0; i < results.length(); i++) {
+        chunk.putLong(results.get(i));
+        if (!chunk.hasRemaining() || i == results.length() - 1) {
+          chunk.flip();
+          while (chunk.hasRemaining()) {
+            channel.write(chunk);
+          }
+          chunk.clear();
+        }
+      }
+    }
+  }
+
+  /**
+   * Generates a tablebase from the command line arguments. See {@link TablebaseGenerator} for
+   * details.
+   * @param args The command line arguments.
+   */
+  public static void main(String[] args) {
+    if (args.length < 4) {
+      System.out.println("Usage: java TablebaseGenerator width height counters path [threads]");
+      return;
+    }
+    try {
+      Dimensions dimensions =
+          new Dimensions(Integer.parseInt(args[0]), Integer.parseInt(args[1]));
+      int threads =
+          args.length > 4 ? Integer.parseInt(args[4]) : Runtime.getRuntime().availableProcessors();
+      Path path = Paths.get(args[3]);
+      long positions =
+          new TablebaseGenerator(dimensions, Integer.parseInt(args[2]), threads).generate(path);
+      System.out.println("Wrote " + positions + " positions to " + path);
+    } catch (IOException | RuntimeException e) {
+      // Don't print an ugly stacktrace - the exception message should contain relevant details
+      System.out.println(e.getMessage());
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
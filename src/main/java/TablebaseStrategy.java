@@ -0,0 +1,36 @@
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * A strategy that plays perfectly and instantly by looking up every move in a {@link Tablebase}.
+ * Games that the tablebase wasn't generated for, and positions that aren't in it, are delegated to
+ * a fallback strategy.
+ */
+public class TablebaseStrategy extends AbstractSearchStrategy {
+
+  private final Tablebase tablebase;
+
+  /**
+   * Creates a new tablebase strategy.
+   * @param tablebase The tablebase to look moves up in.
+   * @param fallbackStrategy The strategy used for games and positions that aren't in the
+   * tablebase.
+   * @throws NullPointerException Thrown if {@code tablebase == null} or
+   * {@code fallbackStrategy == null}.
+   */
+  public TablebaseStrategy(Tablebase tablebase, AIStrategy fallbackStrategy)
+      throws NullPointerException {
+    super(fallbackStrategy);
+    this.tablebase = Objects.requireNonNull(tablebase, "Tablebase is null");
+  }
+
+  @Override
+  protected boolean canSearch(List<Player> playersInTurnOrder) {
+    return playersInTurnOrder.size() == 2;
+  }
+
+  @Override
+  protected int chooseColumn(SearchBoard board) {
+    return tablebase.getBestColumn(board);
+  }
+}
@@ -0,0 +1,228 @@
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.OptionalInt;
+
+/**
+ * <p>Finds, for every column of a board, which players would win straight away by placing their
+ * counter there. A player can only win with the counter they place, so only the lines through the
+ * cell that the counter lands in matter. For each line, the counters next to the cell on either
+ * side belong to at most two players, which makes it possible to find every player's winning
+ * columns in a single sweep of the landing cells, however many players there are.</p>
+ * <p>Every player's victory condition must be a {@link ConsecutiveCountersVictoryCondition} (see
+ * {@link #canAnalyse(List)}). The analysis is a snapshot of the board when it was created; a
+ * {@link ThreatCache} keeps one up to date through a game.</p>
+ */
+public class ThreatAnalysis {
+
+  // Horizontal, vertical, leading diagonal and counterdiagonal, as {row step, column step}
+  private static final int[][] DIRECTIONS = {{0, 1}, {1, 0}, {-1, 1}, {1, 1}};
+
+  private final List<Player> players;
+  private final int[] winners; // [column index] -> bit i is set if players.get(i) wins there
+
+  /**
+   * Creates an analysis from the winners that have already been found.
+   * @param players The analysed players.
+   * @param winners For each column index, a bit set for each player that wins there, where bit
+   * {@code i} is for {@code players.get(i)}. This belongs to the analysis.
+   */
+  ThreatAnalysis(List<Player> players, int[] winners) {
+    this.players = players;
+    this.winners = winners;
+  }
+
+  /**
+   * Determines whether the winning columns of the players can be found by an analysis.
+   * @param players The players.
+   * @return {@code true} if there are at most 32 players, and every player needs a number of
+   * consecutive counters to win.
+   */
+  public static boolean canAnalyse(List<Player> players) {
+    return players.size() <= Integer.SIZE
+        && players.stream().allMatch(
+            p -> p.getVictoryCondition() instanceof ConsecutiveCountersVictoryCondition);
+  }
+
+  /**
+   * Analyses the board.
+   * @param board The board. This is not modified.
+   * @param players The players to find the winning columns of, such as all of the players in the
+   * game.
+   * @return The analysis.
+   * @throws IllegalArgumentException Thrown if {@code !canAnalyse(players)}.
+   * @throws NullPointerException Thrown if {@code board == null} or {@code players == null}.
+   */
+  public static ThreatAnalysis of(Board board, List<Player> players)
+      throws IllegalArgumentException, NullPointerException {
+    Objects.requireNonNull(board, "Board is null");
+    Objects.requireNonNull(players, "Players are null");
+    if (!canAnalyse(players)) {
+      throw new IllegalArgumentException("Players must need consecutive counters to win");
+    }
+    List<Player> analysedPlayers = new ArrayList<>(players);
+    int[] countersRequired = getCountersRequired(analysedPlayers);
+    int longestRun = getLongestRun(countersRequired);
+    int[] winners = new int[board.getWidth()];
+    for (int column = 1; column <= board.getWidth(); column++) {
+      winners[column - 1] =
+          findWinners(board, analysedPlayers, countersRequired, longestRun, column);
+    }
+    return new ThreatAnalysis(analysedPlayers, winners);
+  }
+
+  /**
+   * Gets the number of consecutive counters that each player needs to win.
+   * @param players The players, who must be able to be analysed.
+   * @return The counters required by each player, in the same order.
+   */
+  static int[] getCountersRequired(List<Player> players) {
+    int[] countersRequired = new int[players.size()];
+    for (int i = 0; i < countersRequired.length; i++) {
+      countersRequired[i] = ((ConsecutiveCountersVictoryCondition)
+          players.get(i).getVictoryCondition()).getConsecutiveCountersRequired();
+    }
+    return countersRequired;
+  }
+
+  /**
+   * Gets the longest run of counters next to an empty cell that can affect whether a player wins
+   * there. A counter further from the cell than this can't change the cell's winners.
+   * @param countersRequired The counters required by each player.
+   * @return The longest run that matters.
+   */
+  static int getLongestRun(int[] countersRequired) {
+    int longestRun = 0;
+    for (int required : countersRequired) {
+      longestRun = Math.max(longestRun, required - 1);
+    }
+    return longestRun;
+  }
+
+  /**
+   * Finds the players who would win by placing their counter in the given column.
+   * @param board The board.
+   * @param players The players.
+   * @param countersRequired The counters required by each player.
+   * @param longestRun The longest run that matters (see {@link #getLongestRun(int[])}).
+   * @param column The column number, starting at 1.
+   * @return A bit set for each player that wins there, where bit {@code i} is for
+   * {@code players.get(i)}. This is {@code 0} if the column is full.
+   */
+  static int findWinners(
+      Board board, List<Player> players, int[] countersRequired, int longestRun, int column) {
+    int row = board.getNumberOfCountersInColumn(column) + 1;
+    if (row > board.getHeight()) {
+      return 0;
+    }
+    int winners = 0;
+    for (int[] direction : DIRECTIONS) {
+      Run before = Run.from(board, row, column, -direction[0], -direction[1], longestRun);
+      Run after = Run.from(board, row, column, direction[0], direction[1], longestRun);
+      for (int i = 0; i < countersRequired.length; i++) {
+        Player player = players.get(i);
+        int consecutiveCount = 1 + before.lengthFor(player) + after.lengthFor(player);
+        if (consecutiveCount >= countersRequired[i]) {
+          winners |= 1 << i;
+        }
+      }
+    }
+    return winners;
+  }
+
+  /**
+   * Gets the players who would win by placing their counter in the given column.
+   * @param columnNumber The column number, starting at 1.
+   * @return The winning players, in the order that they were given to the analysis. This is empty
+   * if nobody wins there or the column is full.
+   * @throws IllegalArgumentException Thrown if {@code columnNumber} is out of bounds.
+   */
+  public List<Player> getWinners(int columnNumber) throws IllegalArgumentException {
+    int columnWinners = winnersIn(columnNumber);
+    List<Player> winningPlayers = new ArrayList<>(Integer.bitCount(columnWinners));
+    for (int i = 0; i < players.size(); i++) {
+      if ((columnWinners & (1 << i)) != 0) {
+        winningPlayers.add(players.get(i));
+      }
+    }
+    return winningPlayers;
+  }
+
+  /**
+   * Determines whether the player would win by placing their counter in the given column.
+   * @param player The player.
+   * @param columnNumber The column number, starting at 1.
+   * @return {@code true} if the player wins there, or {@code false} if they don't, the column is
+   * full or the player wasn't analysed.
+   * @throws IllegalArgumentException Thrown if {@code columnNumber} is out of bounds.
+   */
+  public boolean isWinningColumn(Player player, int columnNumber) throws IllegalArgumentException {
+    int index = players.indexOf(player);
+    return index >= 0 && (winnersIn(columnNumber) & (1 << index)) != 0;
+  }
+
+  /**
+   * Gets the first column that the player would win by placing their counter in.
+   * @param player The player.
+   * @return The column number (starting at 1), or an empty {@link OptionalInt} if the player can't
+   * win this turn or wasn't analysed.
+   */
+  public OptionalInt getWinningColumn(Player player) {
+    for (int column = 1; column <= winners.length; column++) {
+      if (isWinningColumn(player, column)) {
+        return OptionalInt.of(column);
+      }
+    }
+    return OptionalInt.empty();
+  }
+
+  private int winnersIn(int columnNumber) {
+    if (columnNumber < 1 || columnNumber > winners.length) {
+      throw new IllegalArgumentException("Invalid column number " + columnNumber);
+    }
+    return winners[columnNumber - 1];
+  }
+
+  /**
+   * A line of counters belonging to the same player, running away from an empty cell.
+   */
+  private static final class Run {
+
+    private static final Run EMPTY = new Run(null, 0);
+
+    private final Player owner;
+    private final int length;
+
+    private Run(Player owner, int length) {
+      this.owner = owner;
+      this.length = length;
+    }
+
+    // Follows the counters next to the cell in one direction, up to the given length
+    private static Run from(
+        Board board, int row, int column, int rowStep, int columnStep, int maximumLength) {
+      Player owner = ownerAt(board, row + rowStep, column + columnStep);
+      if (owner == null) {
+        return EMPTY;
+      }
+      int length = 1;
+      while (length < maximumLength
+          && owner.equals(
+              ownerAt(board, row + rowStep * (length + 1), column + columnStep * (length + 1)))) {
+        length++;
+      }
+      return new Run(owner, length);
+    }
+
+    private static Player ownerAt(Board board, int row, int column) {
+      if (row < 1 || row > board.getHeight() || column < 1 || column > board.getWidth()) {
+        return null;
+      }
+      return board.getOwnerOfCounterAt(row, column).orElse(null);
+    }
+
+    private int lengthFor(Player player) {
+      return player.equals(owner) ? length : 0;
+    }
+  }
+}
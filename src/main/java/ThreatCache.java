@@ -0,0 +1,109 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * <p>Keeps a {@link ThreatAnalysis} of a board up to date through a game. Between two of a
+ * player's turns, only a counter from each of the other players has been added, and a counter can
+ * only change the winners of the empty cells that lie within a winning line's length of it. When
+ * the cache is updated, only the columns near the columns that have grown since the last update
+ * are analysed again, so the work done is proportional to the number of moves since then rather
+ * than the size of the board.</p>
+ * <p>If the cache is given a different board, or the board has changed in a way that can't come
+ * from placing counters, the whole board is analysed again. A cache is not thread-safe.</p>
+ */
+public class ThreatCache {
+
+  private final List<Player> players;
+  private final int[] countersRequired;
+  private final int longestRun;
+  private Board board; // The board that was last analysed
+  private int[] columnHeights; // [column index] -> counters in the column when last analysed
+  private int[] winners; // [column index] -> the analysis of the column (see ThreatAnalysis)
+  private int columnsLastAnalysed;
+
+  /**
+   * Creates an empty cache.
+   * @param players The players to find the winning columns of, such as all of the players in the
+   * game.
+   * @throws IllegalArgumentException Thrown if {@code !ThreatAnalysis.canAnalyse(players)}.
+   * @throws NullPointerException Thrown if {@code players == null}.
+   */
+  public ThreatCache(List<Player> players) throws IllegalArgumentException, NullPointerException {
+    Objects.requireNonNull(players, "Players are null");
+    if (!ThreatAnalysis.canAnalyse(players)) {
+      throw new IllegalArgumentException("Players must need consecutive counters to win");
+    }
+    this.players = new ArrayList<>(players);
+    this.countersRequired = ThreatAnalysis.getCountersRequired(this.players);
+    this.longestRun = ThreatAnalysis.getLongestRun(countersRequired);
+  }
+
+  /**
+   * Gets the players that the cache finds the winning columns of.
+   * @return The players.
+   */
+  public List<Player> getPlayers() {
+    return new ArrayList<>(players);
+  }
+
+  /**
+   * Brings the cache up to date with the board, and gets the analysis of it.
+   * @param board The board. This is not modified.
+   * @return The analysis of the board as it is now.
+   * @throws NullPointerException Thrown if {@code board == null}.
+   */
+  public ThreatAnalysis update(Board board) throws NullPointerException {
+    Objects.requireNonNull(board, "Board is null");
+    int width = board.getWidth();
+    if (!isUpdatable(board)) {
+      this.board = board;
+      this.columnHeights = new int[width];
+      this.winners = new int[width];
+      Arrays.fill(columnHeights, -1); // Forces every column to be analysed
+    }
+    // Mark every column within reach of a column that has grown
+    boolean[] affected = new boolean[width];
+    for (int column = 0; column < width; column++) {
+      int height = board.getNumberOfCountersInColumn(column + 1);
+      if (height != columnHeights[column]) {
+        columnHeights[column] = height;
+        int last = Math.min(width - 1, column + longestRun);
+        for (int near = Math.max(0, column - longestRun); near <= last; near++) {
+          affected[near] = true;
+        }
+      }
+    }
+    columnsLastAnalysed = 0;
+    for (int column = 0; column < width; column++) {
+      if (affected[column]) {
+        winners[column] = ThreatAnalysis.findWinners(
+            board, players, countersRequired, longestRun, column + 1);
+        columnsLastAnalysed++;
+      }
+    }
+    return new ThreatAnalysis(players, winners.clone());
+  }
+
+  // Determines whether the board can only have changed by counters being placed since last time
+  private boolean isUpdatable(Board board) {
+    if (this.board != board) {
+      return false;
+    }
+    for (int column = 0; column < columnHeights.length; column++) {
+      if (board.getNumberOfCountersInColumn(column + 1) < columnHeights[column]) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Gets the number of columns whose winners were worked out again by the last update.
+   * @return The number of columns analysed.
+   */
+  int getColumnsLastAnalysed() {
+    return columnsLastAnalysed;
+  }
+}
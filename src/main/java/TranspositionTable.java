@@ -0,0 +1,315 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.LongBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * <p>A fixed-size hash table of previously searched positions, keyed by
+ * {@link SearchBoard#getCanonicalHash()}. Storing the result of each search means that positions
+ * reached through different move orders (transpositions) only need to be searched once, and the
+ * best move from a shallower search can be tried first when searching deeper. A position and its
+ * mirror image share an entry, whose move is for the canonical image (see
+ * {@link SearchBoard#toCanonicalColumn(int)}).</p>
+ * <p>The table can be shared by several search threads without locking. Each slot is stored as
+ * two {@code long}s: the data and the key XOR-ed with the data. A slot torn by two threads writing
+ * at once no longer verifies against its key, so it reads as a miss rather than returning another
+ * position's data.</p>
+ * <p>Entries are packed into a single {@code long} to avoid allocation. Use the static accessors,
+ * e.g. {@link #getScore(long)}, to unpack an entry returned by {@link #probe(long)}.</p>
+ * <p>A table can also be {@link #map(Path, SearchBoard, int) mapped} onto a file, so that what it
+ * has learnt survives the program being restarted. The operating system writes the table back to
+ * the file in the background, and {@link #flush()} makes sure that it has all been written. The
+ * format of the file (all values big-endian) is:</p>
+ * <ul>
+ *   <li>{@code int} - {@link #MAGIC}</li>
+ *   <li>{@code int} - {@link #VERSION}</li>
+ *   <li>{@code int} - the width of the board</li>
+ *   <li>{@code int} - the height of the board</li>
+ *   <li>{@code int} - the number of players</li>
+ *   <li>{@code int} for each player, in turn order - the number of consecutive counters that the
+ *   player needs to win</li>
+ *   <li>{@code int} - the number of slots, a power of two</li>
+ *   <li>Padding up to a multiple of 8 bytes</li>
+ *   <li>For each slot: {@code long} - the key XOR-ed with the data, then {@code long} - the data,
+ *   or two zeroes if the slot is empty</li>
+ * </ul>
+ */
+public class TranspositionTable {
+
+  /**
+   * The stored score is exact.
+   */
+  public static final int EXACT = 1;
+
+  /**
+   * The stored score is a lower bound on the true score (the search failed high).
+   */
+  public static final int LOWER_BOUND = 2;
+
+  /**
+   * The stored score is an upper bound on the true score (the search failed low).
+   */
+  public static final int UPPER_BOUND = 3;
+
+  /**
+   * Returned by {@link #probe(long)} when the position is not in the table.
+   */
+  public static final long MISS = 0L;
+
+  /**
+   * The first four bytes of every table file.
+   */
+  public static final int MAGIC = 0x434E5454; // "CNTT"
+
+  /**
+   * The version of the file format.
+   */
+  public static final int VERSION = 1;
+
+  /**
+   * The most slots that a table mapped onto a file can have (1GB of slots).
+   */
+  public static final int MAXIMUM_MAPPED_ENTRIES = 1 << 26;
+
+  private static final int DEPTH_SHIFT = 32;
+  private static final int BOUND_SHIFT = 40;
+  private static final int MOVE_SHIFT = 42;
+
+  private final long[] keys; // null if the table is mapped onto a file
+  private final long[] data; // null if the table is mapped onto a file
+  private final MappedByteBuffer mapping; // null unless the table is mapped onto a file
+  private final LongBuffer slots; // The key and then the data of each slot in the mapping
+  private final int mask;
+
+  /**
+   * Creates a new transposition table.
+   * @param minimumNumberOfEntries The minimum number of positions the table should be able to
+   * hold. This is rounded up to the next power of two.
+   * @throws IllegalArgumentException Thrown if {@code minimumNumberOfEntries < 1}.
+   */
+  public TranspositionTable(int minimumNumberOfEntries) throws IllegalArgumentException {
+    int size = roundUpToPowerOfTwo(minimumNumberOfEntries);
+    this.keys = new long[size];
+    this.data = new long[size];
+    this.mapping = null;
+    this.slots = null;
+    this.mask = size - 1;
+  }
+
+  // Creates a table whose slots are in the mapped file, after the header
+  private TranspositionTable(MappedByteBuffer mapping, int headerSize, int size) {
+    this.keys = null;
+    this.data = null;
+    this.mapping = mapping;
+    this.slots = mapping.position(headerSize).slice().asLongBuffer();
+    this.mask = size - 1;
+  }
+
+  private static int roundUpToPowerOfTwo(int minimumNumberOfEntries)
+      throws IllegalArgumentException {
+    if (minimumNumberOfEntries < 1) {
+      throw new IllegalArgumentException("Transposition table must have at least one entry");
+    }
+    int size = Integer.highestOneBit(minimumNumberOfEntries);
+    if (size < minimumNumberOfEntries) {
+      size <<= 1;
+    }
+    return size;
+  }
+
+  /**
+   * Maps a table onto a file. If the file already holds a table of the same size for the same
+   * game, the table carries on with the entries in it. Otherwise, the file is replaced by an empty
+   * table.
+   * @param path The path to the table file.
+   * @param board A board of the game that the table is for. Only the dimensions and the players
+   * are used.
+   * @param minimumNumberOfEntries The minimum number of positions the table should be able to
+   * hold. This is rounded up to the next power of two.
+   * @return The table.
+   * @throws IOException Thrown if the file can't be read, written or mapped.
+   * @throws IllegalArgumentException Thrown if {@code minimumNumberOfEntries < 1} or
+   * {@code minimumNumberOfEntries > MAXIMUM_MAPPED_ENTRIES}.
+   * @throws NullPointerException Thrown if {@code path == null} or {@code board == null}.
+   */
+  public static TranspositionTable map(Path path, SearchBoard board, int minimumNumberOfEntries)
+      throws IOException, IllegalArgumentException, NullPointerException {
+    Objects.requireNonNull(path, "Path is null");
+    Objects.requireNonNull(board, "Board is null");
+    int size = roundUpToPowerOfTwo(minimumNumberOfEntries);
+    if (size > MAXIMUM_MAPPED_ENTRIES) {
+      throw new IllegalArgumentException(
+          "Mapped transposition table can't have more than " + MAXIMUM_MAPPED_ENTRIES + " entries");
+    }
+    int[] header = createHeader(board, size);
+    int headerSize = (header.length * Integer.BYTES + Long.BYTES - 1) / Long.BYTES * Long.BYTES;
+    long fileSize = headerSize + (long) size * 2 * Long.BYTES;
+    try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE,
+        StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+      // The header is read before mapping, so a file that can't be reused is emptied while it
+      // isn't mapped
+      boolean reusable = channel.size() == fileSize;
+      if (reusable) {
+        ByteBuffer existingHeader = ByteBuffer.allocate(header.length * Integer.BYTES);
+        while (existingHeader.hasRemaining() && channel.read(existingHeader) >= 0) {
+          // Keep reading until the whole header has been read
+        }
+        for (int i = 0; i < header.length && reusable; i++) {
+          reusable = existingHeader.getInt(i * Integer.BYTES) == header[i];
+        }
+      }
+      if (!reusable) {
+        channel.truncate(0);
+      }
+      // The mapping grows the file with zeroes - empty slots - and stays valid once it's closed
+      MappedByteBuffer mapping = channel.map(FileChannel.MapMode.READ_WRITE, 0, fileSize);
+      if (!reusable) {
+        for (int i = 0; i < header.length; i++) {
+          mapping.putInt(i * Integer.BYTES, header[i]);
+        }
+      }
+      return new TranspositionTable(mapping, headerSize, size);
+    }
+  }
+
+  // The header of a table file for the game
+  private static int[] createHeader(SearchBoard board, int size) {
+    int seats = board.getNumberOfSeats();
+    int[] header = new int[6 + seats];
+    header[0] = MAGIC;
+    header[1] = VERSION;
+    header[2] = board.getWidth();
+    header[3] = board.getHeight();
+    header[4] = seats;
+    for (int seat = 0; seat < seats; seat++) {
+      header[5 + seat] = board.getCountersRequired(seat);
+    }
+    header[5 + seats] = size;
+    return header;
+  }
+
+  /**
+   * Gets the number of slots in the table.
+   * @return The number of slots in the table.
+   */
+  public int size() {
+    return mask + 1;
+  }
+
+  /**
+   * Looks up a position.
+   * @param hash The hash of the position.
+   * @return The packed entry, or {@link #MISS} if the position is not in the table.
+   */
+  public long probe(long hash) {
+    int index = (int) hash & mask;
+    long entry = getData(index);
+    if (entry != MISS && (getKey(index) ^ entry) == hash) {
+      return entry;
+    }
+    return MISS;
+  }
+
+  /**
+   * Stores the result of searching a position. An existing entry for a different position is
+   * always replaced, while an entry for the same position is only replaced by a search that was
+   * at least as deep.
+   * @param hash The hash of the position.
+   * @param score The score of the position.
+   * @param depth The depth that the position was searched to.
+   * @param bound The type of score, i.e. {@link #EXACT}, {@link #LOWER_BOUND} or
+   * {@link #UPPER_BOUND}.
+   * @param move The best move found, or {@code -1} if there is none.
+   */
+  public void store(long hash, int score, int depth, int bound, int move) {
+    int index = (int) hash & mask;
+    long existing = getData(index);
+    if (existing != MISS && (getKey(index) ^ existing) == hash && getDepth(existing) > depth) {
+      return;
+    }
+    long entry = (score & 0xFFFFFFFFL)
+        | ((long) Math.min(depth, 0xFF) << DEPTH_SHIFT)
+        | ((long) bound << BOUND_SHIFT)
+        | ((long) (move + 1) << MOVE_SHIFT);
+    if (slots == null) {
+      data[index] = entry;
+      keys[index] = hash ^ entry;
+    } else {
+      slots.put(2 * index + 1, entry);
+      slots.put(2 * index, hash ^ entry);
+    }
+  }
+
+  private long getKey(int index) {
+    return slots == null ? keys[index] : slots.get(2 * index);
+  }
+
+  private long getData(int index) {
+    return slots == null ? data[index] : slots.get(2 * index + 1);
+  }
+
+  /**
+   * Removes all entries from the table.
+   */
+  public void clear() {
+    if (slots == null) {
+      Arrays.fill(keys, 0L);
+      Arrays.fill(data, 0L);
+    } else {
+      for (int i = 0; i < slots.capacity(); i++) {
+        slots.put(i, 0L);
+      }
+    }
+  }
+
+  /**
+   * Makes sure that every entry has been written to the file that the table is mapped onto. This
+   * does nothing if the table isn't mapped onto a file.
+   */
+  public void flush() {
+    if (mapping != null) {
+      mapping.force();
+    }
+  }
+
+  /**
+   * Gets the score from a packed entry.
+   * @param entry The entry returned by {@link #probe(long)}.
+   * @return The score.
+   */
+  public static int getScore(long entry) {
+    return (int) entry;
+  }
+
+  /**
+   * Gets the search depth from a packed entry.
+   * @param entry The entry returned by {@link #probe(long)}.
+   * @return The depth that the position was searched to.
+   */
+  public static int getDepth(long entry) {
+    return (int) (entry >>> DEPTH_SHIFT) & 0xFF;
+  }
+
+  /**
+   * Gets the type of score from a packed entry.
+   * @param entry The entry returned by {@link #probe(long)}.
+   * @return {@link #EXACT}, {@link #LOWER_BOUND} or {@link #UPPER_BOUND}.
+   */
+  public static int getBound(long entry) {
+    return (int) (entry >>> BOUND_SHIFT) & 0x3;
+  }
+
+  /**
+   * Gets the best move from a packed entry.
+   * @param entry The entry returned by {@link #probe(long)}.
+   * @return The column index of the best move, or {@code -1} if no move was stored.
+   */
+  public static int getMove(long entry) {
+    return (int) (entry >>> MOVE_SHIFT) - 1;
+  }
+}
@@ -0,0 +1,105 @@
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * <p>A directory of {@link TranspositionTable#map(Path, SearchBoard, int) file-backed}
+ * transposition tables, one for each game, so that searches start from what earlier runs of the
+ * program learnt instead of an empty table. The tables are named after the game, e.g.
+ * {@code 7x6-4-4.table} for two players needing 4 in a row on a 7x6 board, and each is mapped the
+ * first time that it's needed and then shared by every search of that game.</p>
+ * <p>The tables are written back to their files by the operating system as they change, and
+ * {@link #flush()} waits until everything has been written. {@link #flushOnShutdown()} does this
+ * when the program exits.</p>
+ */
+public class TranspositionTableStore {
+
+  private final Path directory;
+  private final int entries;
+  private final Map<String, TranspositionTable> tables = new HashMap<>();
+  private Thread shutdownHook;
+
+  /**
+   * Creates a store. Nothing is read or written until a table is needed.
+   * @param directory The directory holding the table files. It's created if it doesn't exist.
+   * @param entries The number of positions that each table should be able to hold. This is
+   * rounded up to the next power of two. A file holding a table of a different size is replaced.
+   * @throws IllegalArgumentException Thrown if {@code entries < 1} or
+   * {@code entries > TranspositionTable.MAXIMUM_MAPPED_ENTRIES}.
+   * @throws NullPointerException Thrown if {@code directory == null}.
+   */
+  public TranspositionTableStore(Path directory, int entries)
+      throws IllegalArgumentException, NullPointerException {
+    this.directory = Objects.requireNonNull(directory, "Directory is null");
+    if (entries < 1 || entries > TranspositionTable.MAXIMUM_MAPPED_ENTRIES) {
+      throw new IllegalArgumentException("Number of table entries must be between 1 and "
+          + TranspositionTable.MAXIMUM_MAPPED_ENTRIES);
+    }
+    this.entries = entries;
+  }
+
+  /**
+   * Gets the directory holding the table files.
+   * @return The directory.
+   */
+  public Path getDirectory() {
+    return directory;
+  }
+
+  /**
+   * Gets the table for a game, mapping it from its file if this is the first time that it's been
+   * needed.
+   * @param board A board of the game. Only the dimensions and the players are used.
+   * @return The table, shared by every caller asking for the same game.
+   * @throws IOException Thrown if the directory can't be created or the file can't be mapped.
+   * @throws NullPointerException Thrown if {@code board == null}.
+   */
+  public synchronized TranspositionTable getTable(SearchBoard board)
+      throws IOException, NullPointerException {
+    String name = getFileName(Objects.requireNonNull(board, "Board is null"));
+    TranspositionTable table = tables.get(name);
+    if (table == null) {
+      Files.createDirectories(directory);
+      table = TranspositionTable.map(directory.resolve(name), board, entries);
+      tables.put(name, table);
+    }
+    return table;
+  }
+
+  // Names the file after the dimensions and the counters each player needs, in turn order
+  static String getFileName(SearchBoard board) {
+    StringBuilder name = new StringBuilder();
+    name.append(board.getWidth()).append('x').append(board.getHeight());
+    for (int seat = 0; seat < board.getNumberOfSeats(); seat++) {
+      name.append('-').append(board.getCountersRequired(seat));
+    }
+    return name.append(".table").toString();
+  }
+
+  /**
+   * Waits until every table that has been mapped is written to its file.
+   */
+  public synchronized void flush() {
+    for (TranspositionTable table : tables.values()) {
+      table.flush();
+    }
+  }
+
+  /**
+   * Flushes the tables when the program exits. Calling this more than once has no further effect.
+   */
+  public synchronized void flushOnShutdown() {
+    if (shutdownHook == null) {
+      shutdownHook = new Thread(this::flush, "table-flush");
+      Runtime.getRuntime().addShutdownHook(shutdownHook);
+    }
+  }
+
+  @Override
+  public String toString() {
+    return "TranspositionTableStore(" + directory + ", " + entries + " entries)";
+  }
+}
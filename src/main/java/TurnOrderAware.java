@@ -0,0 +1,17 @@
+import java.util.List;
+
+/**
+ * Implemented by {@link AIStrategy} instances that need to know who they are playing against, and
+ * the order in which the players take their turns. This is supplied by the {@link AIPlayer} before
+ * the strategy is asked to take a turn.
+ */
+public interface TurnOrderAware {
+
+  /**
+   * Sets the players in the game.
+   * @param playersInTurnOrder All of the players in the game, in the order that they take their
+   * turns.
+   */
+  void setTurnOrder(List<Player> playersInTurnOrder);
+
+}
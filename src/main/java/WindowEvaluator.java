@@ -0,0 +1,184 @@
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * <p>The default {@link Evaluator}, which scores a player by the windows of the board that they
+ * can still complete. A window is a line of as many cells as the player needs to connect, and is
+ * open to a player if it contains their counters and nobody else's. Each counter makes an open
+ * window 8 times as valuable, so threats (open windows that are one counter short) are worth the
+ * most. A player also scores a point for every window that each of their counters lies in, whether
+ * or not it is open, which rewards control of the centre of the board, where the most windows
+ * cross.</p>
+ * <p>The number of each player's counters in every window is kept up to date as counters are
+ * placed and removed, so a placement only looks at the windows through its cell, and a score is
+ * read in constant time. {@link ScanningEvaluator} works out the same scores by scanning the whole
+ * board.</p>
+ */
+public class WindowEvaluator implements Evaluator {
+
+  private int seats;
+  private int[][][] cellWindows; // [seat][cell] -> the seat's windows through the cell
+  private int[][] ownCounters; // [seat][window] -> the seat's counters in the window
+  private int[][] otherCounters; // [seat][window] -> other players' counters in the window
+  private int[] lengths; // [seat] -> the window length
+  private long[] scores;
+  private int[] threats;
+  private int height;
+
+  @Override
+  public void reset(SearchBoard board) {
+    this.seats = board.getNumberOfSeats();
+    this.height = board.getHeight();
+    this.cellWindows = new int[seats][][];
+    this.ownCounters = new int[seats][];
+    this.otherCounters = new int[seats][];
+    this.lengths = new int[seats];
+    this.scores = new long[seats];
+    this.threats = new int[seats];
+    // Players who need the same number of counters share the same windows
+    Map<Integer, int[][]> windowsByLength = new HashMap<>();
+    for (int seat = 0; seat < seats; seat++) {
+      int length = board.getCountersRequired(seat);
+      int[][] windows = windowsByLength.computeIfAbsent(
+          length, l -> createWindows(board.getWidth(), board.getHeight(), l));
+      lengths[seat] = length;
+      cellWindows[seat] = cellsToWindows(windows, board.getWidth() * board.getHeight());
+      ownCounters[seat] = new int[windows.length];
+      otherCounters[seat] = new int[windows.length];
+    }
+    for (int column = 0; column < board.getWidth(); column++) {
+      for (int row = 0; row < board.getColumnHeight(column); row++) {
+        counterPlaced(column, row, board.getSeatAt(column, row));
+      }
+    }
+  }
+
+  @Override
+  public void counterPlaced(int column, int row, int seat) {
+    update(column * height + row, seat, 1);
+  }
+
+  @Override
+  public void counterRemoved(int column, int row, int seat) {
+    update(column * height + row, seat, -1);
+  }
+
+  // Adds (or removes) a counter to every window through its cell, for every player
+  private void update(int cell, int owner, int change) {
+    for (int seat = 0; seat < seats; seat++) {
+      int[] windows = cellWindows[seat][cell];
+      int[] own = ownCounters[seat];
+      int[] other = otherCounters[seat];
+      int length = lengths[seat];
+      for (int window : windows) {
+        scores[seat] -= windowValue(own[window], other[window]);
+        threats[seat] -= isThreat(own[window], other[window], length) ? 1 : 0;
+        if (seat == owner) {
+          own[window] += change;
+        } else {
+          other[window] += change;
+        }
+        scores[seat] += windowValue(own[window], other[window]);
+        threats[seat] += isThreat(own[window], other[window], length) ? 1 : 0;
+      }
+      if (seat == owner) {
+        // The counter controls every window it lies in
+        scores[seat] += change * windows.length;
+      }
+    }
+  }
+
+  @Override
+  public long getScore(int seat) {
+    return scores[seat];
+  }
+
+  /**
+   * Gets the number of threats that a player has: open windows that are one counter short.
+   * @param seat The seat of the player.
+   * @return The number of threats.
+   */
+  public int getThreats(int seat) {
+    return threats[seat];
+  }
+
+  @Override
+  public Evaluator newEvaluator() {
+    return new WindowEvaluator();
+  }
+
+  /**
+   * Gets the value of a window to a player.
+   * @param ownCounters The number of the player's counters in the window.
+   * @param otherCounters The number of other players' counters in the window.
+   * @return The value of the window, not counting the control of its cells.
+   */
+  static long windowValue(int ownCounters, int otherCounters) {
+    if (ownCounters == 0 || otherCounters > 0) {
+      // Empty, or blocked by another player - this window can never be completed
+      return 0;
+    }
+    return 1L << Math.min(3 * (ownCounters - 1), 40);
+  }
+
+  private static boolean isThreat(int ownCounters, int otherCounters, int length) {
+    return otherCounters == 0 && length > 1 && ownCounters == length - 1;
+  }
+
+  /**
+   * Lists every window of the given length on a board.
+   * @param width The width of the board.
+   * @param height The height of the board.
+   * @param length The number of cells in each window.
+   * @return The cells ({@code column * height + row}) of each window.
+   */
+  static int[][] createWindows(int width, int height, int length) {
+    // Directions that a line can run in: right, up, up-right and down-right
+    int[][] directions = {{1, 0}, {0, 1}, {1, 1}, {1, -1}};
+    List<int[]> windows = new ArrayList<>();
+    for (int[] direction : directions) {
+      for (int column = 0; column < width; column++) {
+        for (int row = 0; row < height; row++) {
+          int endColumn = column + direction[0] * (length - 1);
+          int endRow = row + direction[1] * (length - 1);
+          if (endColumn >= width || endRow < 0 || endRow >= height) {
+            continue;
+          }
+          int[] cells = new int[length];
+          for (int i = 0; i < length; i++) {
+            cells[i] = (column + direction[0] * i) * height + row + direction[1] * i;
+          }
+          windows.add(cells);
+        }
+      }
+      if (length == 1) {
+        // A single cell is the same window in every direction
+        break;
+      }
+    }
+    return windows.toArray(new int[0][]);
+  }
+
+  // Inverts the windows, finding the windows that each cell lies in
+  private static int[][] cellsToWindows(int[][] windows, int cells) {
+    int[] counts = new int[cells];
+    for (int[] window : windows) {
+      for (int cell : window) {
+        counts[cell]++;
+      }
+    }
+    int[][] cellWindows = new int[cells][];
+    for (int cell = 0; cell < cells; cell++) {
+      cellWindows[cell] = new int[counts[cell]];
+      counts[cell] = 0;
+    }
+    for (int window = 0; window < windows.length; window++) {
+      for (int cell : windows[window]) {
+        cellWindows[cell][counts[cell]++] = window;
+      }
+    }
+    return cellWindows;
+  }
+}
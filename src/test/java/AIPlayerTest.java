@@ -5,6 +5,7 @@ import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.util.List;
 import org.junit.Test;
 
 public class AIPlayerTest {
@@ -49,4 +50,79 @@ public class AIPlayerTest {
     verify(strategy, times(1)).takeTurn(board, player);
   }
 
-}
\ No newline at end of file
+  @Test
+  public void takeTurn_SecondTurn_SameStrategyUsed() {
+    AIStrategy strategy = mock(AIStrategy.class);
+    Difficulty difficulty = mock(Difficulty.class);
+    VictoryCondition victoryCondition = mock(VictoryCondition.class);
+    when(difficulty.getStrategy(victoryCondition)).thenReturn(strategy);
+    Board board = mock(Board.class);
+    Player player = new AIPlayer(PlayerColour.BLUE, victoryCondition, difficulty);
+    player.takeTurn(board, mock(View.class));
+    player.takeTurn(board, mock(View.class));
+    verify(difficulty, times(1)).getStrategy(victoryCondition);
+    verify(strategy, times(2)).takeTurn(board, player);
+  }
+
+  @Test
+  public void onGameStart_StrategyCreatedAndToldAboutGame() {
+    AIStrategy strategy = mock(AIStrategy.class);
+    Difficulty difficulty = mock(Difficulty.class);
+    VictoryCondition victoryCondition = mock(VictoryCondition.class);
+    when(difficulty.getStrategy(victoryCondition)).thenReturn(strategy);
+    Player player = new AIPlayer(PlayerColour.BLUE, victoryCondition, difficulty);
+    Player opponent = mock(Player.class);
+    List<Player> turnOrder = List.of(player, opponent);
+    player.onGameStart(turnOrder);
+    verify(strategy, times(1)).onGameStart(turnOrder);
+  }
+
+  @Test
+  public void onOpponentMoved_GameStarted_StrategyToldAboutMove() {
+    AIStrategy strategy = mock(AIStrategy.class);
+    Difficulty difficulty = mock(Difficulty.class);
+    VictoryCondition victoryCondition = mock(VictoryCondition.class);
+    when(difficulty.getStrategy(victoryCondition)).thenReturn(strategy);
+    Player player = new AIPlayer(PlayerColour.BLUE, victoryCondition, difficulty);
+    Player opponent = mock(Player.class);
+    Board board = mock(Board.class);
+    player.onGameStart(List.of(player, opponent));
+    player.onOpponentMoved(board, opponent);
+    verify(strategy, times(1)).onOpponentMoved(board, opponent);
+  }
+
+  @Test
+  public void onGameEnd_NextGame_NewStrategyUsed() {
+    AIStrategy firstStrategy = mock(AIStrategy.class);
+    AIStrategy secondStrategy = mock(AIStrategy.class);
+    Difficulty difficulty = mock(Difficulty.class);
+    VictoryCondition victoryCondition = mock(VictoryCondition.class);
+    when(difficulty.getStrategy(victoryCondition)).thenReturn(firstStrategy, secondStrategy);
+    Player player = new AIPlayer(PlayerColour.BLUE, victoryCondition, difficulty);
+    List<Player> turnOrder = List.of(player, mock(Player.class));
+    Board board = mock(Board.class);
+    player.onGameStart(turnOrder);
+    player.onGameEnd(board);
+    player.onGameStart(turnOrder);
+    player.takeTurn(board, mock(View.class));
+    verify(firstStrategy, times(1)).onGameEnd(board);
+    verify(firstStrategy, never()).takeTurn(board, player);
+    verify(secondStrategy, times(1)).takeTurn(board, player);
+  }
+
+  @Test
+  public void takeTurn_NotMonitored_SearchNotPublished() {
+    VictoryCondition victoryCondition = new ConsecutiveCountersVictoryCondition(3);
+    Difficulty difficulty = Difficulty.HARD.withSearchSettings(
+        SearchSettings.builder().setMaximumDepth(2).build());
+    AIPlayer player = new AIPlayer(PlayerColour.ORANGE, victoryCondition, difficulty, false);
+    Player opponent = new AIPlayer(PlayerColour.PURPLE, victoryCondition, difficulty, false);
+    SearchStatisticsMonitor monitor = SearchStatisticsMonitor.forPlayer(player);
+    long moves = monitor.getMovesSearched();
+
+    player.onGameStart(List.of(player, opponent));
+    player.takeTurn(new Board(BoardConfiguration.forDimensions(new Dimensions(4, 4))),
+        mock(View.class));
+    assertEquals(moves, monitor.getMovesSearched());
+  }
+}
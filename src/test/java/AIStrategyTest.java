@@ -0,0 +1,147 @@
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.junit.After;
+import org.junit.Test;
+
+public class AIStrategyTest {
+
+  private final VictoryCondition victoryCondition = new ConsecutiveCountersVictoryCondition(4);
+  private final Player aiPlayer =
+      new AIPlayer(PlayerColour.RED, victoryCondition, Difficulty.MODERATE);
+  private final Player otherPlayer =
+      new AIPlayer(PlayerColour.BLUE, victoryCondition, Difficulty.EASY);
+  private final Board board = new Board(BoardConfiguration.forDimensions(new Dimensions(7, 6)));
+  private final ExecutorService executor = Executors.newFixedThreadPool(4);
+
+  // Plays in the given column once it's interrupted
+  private static class WaitingStrategy implements AIStrategy, Interruptible {
+
+    private final CountDownLatch started = new CountDownLatch(1);
+    private final CountDownLatch interrupted = new CountDownLatch(1);
+
+    @Override
+    public void takeTurn(Board board, Player player) {
+      started.countDown();
+      try {
+        interrupted.await();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+      board.placePlayerCounterInColumn(player, 1);
+    }
+
+    @Override
+    public void interruptTurn() {
+      interrupted.countDown();
+    }
+  }
+
+  @After
+  public void tearDown() {
+    executor.shutdownNow();
+  }
+
+  @Test
+  public void chooseColumnAsync_StrategyPlays_ColumnReturnedAndBoardUnchanged() throws Exception {
+    AIStrategy strategy = (board, player) -> board.placePlayerCounterInColumn(player, 6);
+    int column = strategy.chooseColumnAsync(board, aiPlayer, executor).get(5, TimeUnit.SECONDS);
+    assertEquals(6, column);
+    assertEquals(0, board.getNumberOfCountersInColumn(6));
+  }
+
+  @Test
+  public void chooseColumnAsync_BoardChangedAfterwards_StrategySeesSnapshot() throws Exception {
+    CountDownLatch changed = new CountDownLatch(1);
+    AIStrategy strategy = (board, player) -> {
+      try {
+        changed.await();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+      board.placePlayerCounterInColumn(player, board.getNumberOfCountersInColumn(2) + 1);
+    };
+    CompletableFuture<Integer> column = strategy.chooseColumnAsync(board, aiPlayer, executor);
+    board.placePlayerCounterInColumn(otherPlayer, 2);
+    changed.countDown();
+    assertEquals(1, (int) column.get(5, TimeUnit.SECONDS));
+  }
+
+  @Test
+  public void chooseColumnAsync_CancelledWhileRunning_StrategyInterrupted() throws Exception {
+    WaitingStrategy strategy = new WaitingStrategy();
+    CompletableFuture<Integer> column = strategy.chooseColumnAsync(board, aiPlayer, executor);
+    assertTrue(strategy.started.await(5, TimeUnit.SECONDS));
+    assertTrue(column.cancel(true));
+    assertTrue(strategy.interrupted.await(5, TimeUnit.SECONDS));
+    assertTrue(column.isCancelled());
+  }
+
+  @Test
+  public void chooseColumnAsync_CancelledBeforeStarting_StrategyNeverRuns() throws Exception {
+    ExecutorService singleThread = Executors.newSingleThreadExecutor();
+    CountDownLatch blocked = new CountDownLatch(1);
+    singleThread.execute(() -> {
+      try {
+        blocked.await();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    });
+    AtomicBoolean ran = new AtomicBoolean(false);
+    AIStrategy strategy = (board, player) -> ran.set(true);
+    CompletableFuture<Integer> column = strategy.chooseColumnAsync(board, aiPlayer, singleThread);
+    column.cancel(true);
+    blocked.countDown();
+    singleThread.shutdown();
+    assertTrue(singleThread.awaitTermination(5, TimeUnit.SECONDS));
+    assertFalse(ran.get());
+  }
+
+  @Test
+  public void chooseColumnAsync_StrategyPlacesNoCounter_CompletesExceptionally() {
+    AIStrategy strategy = (board, player) -> { };
+    try {
+      strategy.chooseColumnAsync(board, aiPlayer, executor).get(5, TimeUnit.SECONDS);
+      fail("Expected the turn to fail");
+    } catch (ExecutionException e) {
+      assertTrue(e.getCause() instanceof IllegalStateException);
+    } catch (Exception e) {
+      fail("Unexpected " + e);
+    }
+  }
+
+  @Test
+  public void chooseColumnAsync_ExecutorShutDown_CompletesExceptionally() {
+    executor.shutdown();
+    AIStrategy strategy = new RandomPlacementStrategy();
+    assertTrue(strategy.chooseColumnAsync(board, aiPlayer, executor).isCompletedExceptionally());
+  }
+
+  @Test
+  public void chooseColumnAsync_SeveralGamesAtOnce_EachBlocksItsOwnThreat() throws Exception {
+    List<Board> boards = new ArrayList<>();
+    List<CompletableFuture<Integer>> columns = new ArrayList<>();
+    for (int columnNumber = 1; columnNumber <= 4; columnNumber++) {
+      Board gameBoard = new Board(BoardConfiguration.forDimensions(new Dimensions(7, 6)));
+      for (int i = 0; i < 3; i++) {
+        gameBoard.placePlayerCounterInColumn(otherPlayer, columnNumber);
+      }
+      boards.add(gameBoard);
+      AIStrategy strategy = new CheckOneTurnWinConditionStrategy(victoryCondition);
+      columns.add(strategy.chooseColumnAsync(gameBoard, aiPlayer, executor));
+    }
+    for (int i = 0; i < boards.size(); i++) {
+      assertEquals(i + 1, (int) columns.get(i).get(5, TimeUnit.SECONDS));
+      assertEquals(3, boards.get(i).getNumberOfCountersInColumn(i + 1));
+    }
+  }
+}
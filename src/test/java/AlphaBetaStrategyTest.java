@@ -0,0 +1,86 @@
+import static org.junit.Assert.*;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import org.junit.Test;
+
+public class AlphaBetaStrategyTest {
+
+  private final VictoryCondition victoryCondition = new ConsecutiveCountersVictoryCondition(4);
+  private final Player aiPlayer = new AIPlayer(PlayerColour.RED, victoryCondition, Difficulty.HARD);
+  private final Player otherPlayer =
+      new AIPlayer(PlayerColour.BLUE, victoryCondition, Difficulty.EASY);
+  private final Board board = new Board(BoardConfiguration.forDimensions(new Dimensions(7, 6)));
+
+  private AlphaBetaStrategy createStrategy(SearchSettings settings) {
+    AlphaBetaStrategy strategy = new AlphaBetaStrategy(settings, new RandomPlacementStrategy());
+    strategy.setTurnOrder(Arrays.asList(aiPlayer, otherPlayer));
+    return strategy;
+  }
+
+  @Test
+  public void startPondering_PonderingEnabled_PondersUntilStopped() {
+    AlphaBetaStrategy strategy = createStrategy(SearchSettings.defaults());
+    board.placePlayerCounterInColumn(aiPlayer, 4);
+    strategy.startPondering(board, aiPlayer);
+    assertTrue(strategy.isPondering());
+    strategy.stopPondering();
+    assertFalse(strategy.isPondering());
+  }
+
+  @Test
+  public void startPondering_PonderingDisabled_DoesNotPonder() {
+    AlphaBetaStrategy strategy =
+        createStrategy(SearchSettings.builder().setPondering(false).build());
+    board.placePlayerCounterInColumn(aiPlayer, 4);
+    strategy.startPondering(board, aiPlayer);
+    assertFalse(strategy.isPondering());
+  }
+
+  @Test
+  public void stopPondering_NotPondering_NothingHappens() {
+    AlphaBetaStrategy strategy = createStrategy(SearchSettings.defaults());
+    strategy.stopPondering();
+    assertFalse(strategy.isPondering());
+  }
+
+  @Test
+  public void getLastSearchStatistics_AfterTurn_SearchRecorded() {
+    AlphaBetaStrategy strategy =
+        createStrategy(SearchSettings.builder().setMaximumDepth(6).build());
+    assertFalse(strategy.getLastSearchStatistics().isPresent());
+    strategy.takeTurn(board, aiPlayer);
+    SearchStatistics statistics = strategy.getLastSearchStatistics().orElseThrow();
+    assertEquals(6, statistics.getDepth());
+    assertTrue(statistics.getNodes() > 0);
+    assertTrue(statistics.getElapsedNanos() > 0);
+  }
+
+  @Test
+  public void takeTurn_WhilePondering_PonderingStoppedAndMovePlayed() {
+    AlphaBetaStrategy strategy =
+        createStrategy(SearchSettings.builder().setTimeLimitMillis(100).build());
+    board.placePlayerCounterInColumn(aiPlayer, 4);
+    strategy.startPondering(board, aiPlayer);
+    board.placePlayerCounterInColumn(otherPlayer, 4);
+    strategy.takeTurn(board, aiPlayer);
+    assertFalse(strategy.isPondering());
+    SearchBoard position = SearchBoard.of(board, Arrays.asList(aiPlayer, otherPlayer), otherPlayer);
+    assertEquals(3, position.getNumberOfCounters());
+  }
+
+  @Test
+  public void takeTurn_PonderedDeeperThanLastSearch_RepliesBeforeTimeLimit()
+      throws InterruptedException {
+    AlphaBetaStrategy strategy =
+        createStrategy(SearchSettings.builder().setTimeLimitMillis(200).build());
+    strategy.takeTurn(board, aiPlayer);
+    // Ponder for much longer than a turn, so the pondering searches deeper than the turn did
+    strategy.startPondering(board, aiPlayer);
+    Thread.sleep(3000);
+    board.placePlayerCounterInColumn(otherPlayer, 1);
+    long startNanos = System.nanoTime();
+    strategy.takeTurn(board, aiPlayer);
+    assertTrue(System.nanoTime() - startNanos < TimeUnit.MILLISECONDS.toNanos(150));
+  }
+}
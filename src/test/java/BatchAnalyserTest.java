@@ -0,0 +1,83 @@
+import static org.junit.Assert.*;
+
+import java.util.Arrays;
+import java.util.List;
+import org.junit.Test;
+
+public class BatchAnalyserTest {
+
+  private final VictoryCondition victoryCondition = new ConsecutiveCountersVictoryCondition(4);
+  private final List<Player> players = Arrays.asList(
+      new AIPlayer(PlayerColour.RED, victoryCondition, Difficulty.HARD),
+      new AIPlayer(PlayerColour.YELLOW, victoryCondition, Difficulty.HARD));
+  private final BatchAnalyser analyser = new BatchAnalyser(
+      SearchSettings.builder().setThreads(3).setMaximumDepth(6).build());
+
+  // Plays the moves, given as column numbers such as "4453", from the empty 7x6 board
+  private SearchBoard position(String moves) {
+    SearchBoard board = SearchBoard.empty(new Dimensions(7, 6), players);
+    for (char column : moves.toCharArray()) {
+      board.play(Character.getNumericValue(column) - 1);
+    }
+    return board;
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void analyse_FullBoard_ExceptionThrown() throws InterruptedException {
+    SearchBoard full = SearchBoard.empty(new Dimensions(3, 3), players);
+    for (int move = 0; move < 9; move++) {
+      full.play(move % 3);
+    }
+    analyser.analyse(List.of(full));
+  }
+
+  @Test
+  public void analyse_WinsAndBlocks_BestColumnsInOrder() throws InterruptedException {
+    List<SearchResult> results = analyser.analyse(List.of(
+        position("121212"), // Red wins in column 1
+        position("1213134"), // Yellow must block column 1
+        position("343536"))); // Red wins in column 3
+    assertEquals(0, results.get(0).getColumn());
+    assertEquals(NegamaxSearch.WIN_SCORE, results.get(0).getScore());
+    assertEquals(0, results.get(1).getColumn());
+    assertEquals(2, results.get(2).getColumn());
+    assertEquals(NegamaxSearch.WIN_SCORE, results.get(2).getScore());
+  }
+
+  @Test
+  public void analyse_MirrorImages_MirroredColumnsAndSameScore() throws InterruptedException {
+    List<SearchResult> results = analyser.analyse(List.of(
+        position("121212"), position("767676"), position("121212")));
+    assertEquals(0, results.get(0).getColumn());
+    assertEquals(6, results.get(1).getColumn());
+    assertEquals(0, results.get(2).getColumn());
+    assertEquals(results.get(0).getScore(), results.get(1).getScore());
+  }
+
+  @Test
+  public void analyse_Always_LeavesPositionsUnchanged() throws InterruptedException {
+    SearchBoard board = position("4453");
+    SearchBoard copy = board.copy();
+    analyser.analyse(List.of(board));
+    assertEquals(copy, board);
+    assertFalse(board.getEvaluator().isPresent());
+  }
+
+  @Test
+  public void analyse_ThreePlayers_WinningColumnChosen() throws InterruptedException {
+    List<Player> threePlayers = Arrays.asList(
+        new AIPlayer(PlayerColour.RED, victoryCondition, Difficulty.HARD),
+        new AIPlayer(PlayerColour.YELLOW, victoryCondition, Difficulty.HARD),
+        new AIPlayer(PlayerColour.BLUE, victoryCondition, Difficulty.HARD));
+    SearchBoard board = SearchBoard.empty(new Dimensions(7, 6), threePlayers);
+    // Red can complete column 1
+    for (String moves : new String[] {"127", "127", "127"}) {
+      for (char column : moves.toCharArray()) {
+        board.play(Character.getNumericValue(column) - 1);
+      }
+    }
+    SearchResult result = new BatchAnalyser(SearchSettings.builder().setMaximumDepth(3).build())
+        .analyse(List.of(board)).get(0);
+    assertEquals(0, result.getColumn());
+  }
+}
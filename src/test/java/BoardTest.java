@@ -67,6 +67,23 @@ public class BoardTest {
     }
   }
 
+  @Test
+  public void testNumberOfCountersInColumn() {
+    Player player = mock(Player.class);
+    Board board = new Board(BoardConfiguration.forDimensions(new Dimensions(3, 3)));
+    assertEquals(0, board.getNumberOfCountersInColumn(2));
+    board.placePlayerCounterInColumn(player, 2);
+    board.placePlayerCounterInColumn(player, 2);
+    assertEquals(2, board.getNumberOfCountersInColumn(2));
+    assertEquals(0, board.getNumberOfCountersInColumn(1));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testNumberOfCountersInColumnOutsideOfRange() {
+    new Board(BoardConfiguration.forDimensions(new Dimensions(3, 3)))
+        .getNumberOfCountersInColumn(4);
+  }
+
   @Test
   public void testPlacingCounter() {
     Player player1 = mock(Player.class);
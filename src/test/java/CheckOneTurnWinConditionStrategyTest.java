@@ -2,6 +2,7 @@ import static org.junit.Assert.*;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
+import java.util.Arrays;
 import java.util.Optional;
 import java.util.Random;
 import org.junit.Before;
@@ -17,6 +18,7 @@ public class CheckOneTurnWinConditionStrategyTest {
       new CheckOneTurnWinConditionStrategy(victoryCondition, random);
   private final Player aiPlayer = new AIPlayer(PlayerColour.RED, victoryCondition, difficulty);
   private final Player otherPlayer = new AIPlayer(PlayerColour.BLUE, victoryCondition, difficulty);
+  private final Player thirdPlayer = new AIPlayer(PlayerColour.GREEN, victoryCondition, difficulty);
 
   @Before
   public void configureDifficulty() {
@@ -184,6 +186,37 @@ public class CheckOneTurnWinConditionStrategyTest {
     assertEquals(aiPlayer, player.get());
   }
 
+  @Test
+  public void testBlocksNextPlayerWhenSeveralOpponentsCanWin() {
+    aiPlayer.onGameStart(Arrays.asList(aiPlayer, otherPlayer, thirdPlayer));
+    Board board = createThreeOpponentThreatBoard();
+    aiPlayer.takeTurn(board, view);
+    Optional<Player> player = board.getOwnerOfCounterAt(4, 1);
+    assertTrue(player.isPresent());
+    assertEquals(aiPlayer, player.get());
+  }
+
+  @Test
+  public void testBlocksNextPlayerWhenSeveralOpponentsCanWinInOtherTurnOrder() {
+    aiPlayer.onGameStart(Arrays.asList(aiPlayer, thirdPlayer, otherPlayer));
+    Board board = createThreeOpponentThreatBoard();
+    aiPlayer.takeTurn(board, view);
+    Optional<Player> player = board.getOwnerOfCounterAt(4, 5);
+    assertTrue(player.isPresent());
+    assertEquals(aiPlayer, player.get());
+  }
+
+  // O can win in column 1, and T in column 5
+  private Board createThreeOpponentThreatBoard() {
+    return createBoard(
+        "     " + System.lineSeparator() +
+            "     " + System.lineSeparator() +
+            "O   T" + System.lineSeparator() +
+            "O   T" + System.lineSeparator() +
+            "O A T"
+    );
+  }
+
   private Board createBoard(String boardAsText) {
     String[] boardLines = boardAsText.split(System.lineSeparator());
     Board board =
@@ -198,6 +231,8 @@ public class CheckOneTurnWinConditionStrategyTest {
           board.placePlayerCounterInColumn(aiPlayer, charIndex+1);
         } else if (boardLines[i].charAt(charIndex) == 'O') {
           board.placePlayerCounterInColumn(otherPlayer, charIndex+1);
+        } else if (boardLines[i].charAt(charIndex) == 'T') {
+          board.placePlayerCounterInColumn(thirdPlayer, charIndex+1);
         }
       }
     }
@@ -254,6 +254,60 @@ public class ConsecutiveCountersVictoryConditionTest {
     assertFalse(VICTORY_CONDITION.isAchievedForPlayer(CHECKED_PLAYER, board));
   }
 
+  @Test
+  public void testLeadingDiagonalWinFromTopEdgeOfWideBoard() {
+    Board board = createBoard(
+        "   x    " + System.lineSeparator() +
+            "    x   " + System.lineSeparator() +
+            "     x  " + System.lineSeparator() +
+            "      x "
+    );
+    assertTrue(VICTORY_CONDITION.isAchievedForPlayer(CHECKED_PLAYER, board));
+  }
+
+  @Test
+  public void isAchievedByPlacing_CompletesLine_True() {
+    Board board = new Board(BoardConfiguration.forDimensions(new Dimensions(5, 4)));
+    board.placePlayerCounterInColumn(CHECKED_PLAYER, 1);
+    board.placePlayerCounterInColumn(CHECKED_PLAYER, 2);
+    board.placePlayerCounterInColumn(CHECKED_PLAYER, 4);
+    assertTrue(new ConsecutiveCountersVictoryCondition(4)
+        .isAchievedByPlacing(CHECKED_PLAYER, board, 3));
+  }
+
+  @Test
+  public void isAchievedByPlacing_LineTooShort_False() {
+    Board board = new Board(BoardConfiguration.forDimensions(new Dimensions(5, 4)));
+    board.placePlayerCounterInColumn(CHECKED_PLAYER, 1);
+    board.placePlayerCounterInColumn(UNCHECKED_PLAYER, 2);
+    board.placePlayerCounterInColumn(CHECKED_PLAYER, 4);
+    assertFalse(new ConsecutiveCountersVictoryCondition(4)
+        .isAchievedByPlacing(CHECKED_PLAYER, board, 3));
+  }
+
+  @Test
+  public void isAchievedByPlacing_CounterLandsOnTopOfColumn_LinesThroughLandingCellChecked() {
+    Board board = new Board(BoardConfiguration.forDimensions(new Dimensions(3, 4)));
+    board.placePlayerCounterInColumn(CHECKED_PLAYER, 1);
+    board.placePlayerCounterInColumn(CHECKED_PLAYER, 1);
+    board.placePlayerCounterInColumn(CHECKED_PLAYER, 1);
+    board.placePlayerCounterInColumn(UNCHECKED_PLAYER, 2);
+    assertTrue(new ConsecutiveCountersVictoryCondition(4)
+        .isAchievedByPlacing(CHECKED_PLAYER, board, 1));
+    assertFalse(new ConsecutiveCountersVictoryCondition(4)
+        .isAchievedByPlacing(CHECKED_PLAYER, board, 2));
+  }
+
+  @Test
+  public void isAchievedByPlacing_FullColumn_False() {
+    Board board = new Board(BoardConfiguration.forDimensions(new Dimensions(3, 3)));
+    board.placePlayerCounterInColumn(UNCHECKED_PLAYER, 1);
+    board.placePlayerCounterInColumn(CHECKED_PLAYER, 1);
+    board.placePlayerCounterInColumn(CHECKED_PLAYER, 1);
+    assertFalse(new ConsecutiveCountersVictoryCondition(2)
+        .isAchievedByPlacing(CHECKED_PLAYER, board, 1));
+  }
+
   private Board createBoard(String boardAsText) {
     String[] rows = boardAsText.split(System.lineSeparator());
     Board board =
@@ -0,0 +1,136 @@
+import static org.junit.Assert.*;
+
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.Test;
+
+public class DeadlineStrategyTest {
+
+  private final VictoryCondition victoryCondition = new ConsecutiveCountersVictoryCondition(4);
+  private final Player aiPlayer = new AIPlayer(PlayerColour.RED, victoryCondition, Difficulty.HARD);
+  private final Player otherPlayer =
+      new AIPlayer(PlayerColour.BLUE, victoryCondition, Difficulty.EASY);
+  private final Board board = new Board(BoardConfiguration.forDimensions(new Dimensions(7, 6)));
+
+  // Plays in the given column straight away
+  private static AIStrategy playing(int columnNumber) {
+    return (board, player) -> board.placePlayerCounterInColumn(player, columnNumber);
+  }
+
+  // Plays in the given column after the given time
+  private static AIStrategy playingAfter(long millis, int columnNumber) {
+    return (board, player) -> {
+      try {
+        Thread.sleep(millis);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+      board.placePlayerCounterInColumn(player, columnNumber);
+    };
+  }
+
+  // Plays in the given column once it's interrupted
+  private static class WaitingStrategy implements AIStrategy, Interruptible {
+
+    private final CountDownLatch interrupted = new CountDownLatch(1);
+    private final int columnNumber;
+
+    WaitingStrategy(int columnNumber) {
+      this.columnNumber = columnNumber;
+    }
+
+    @Override
+    public void takeTurn(Board board, Player player) {
+      try {
+        interrupted.await();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+      board.placePlayerCounterInColumn(player, columnNumber);
+    }
+
+    @Override
+    public void interruptTurn() {
+      interrupted.countDown();
+    }
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void constructor_NoDeadline_ExceptionThrown() {
+    new DeadlineStrategy(playing(1), victoryCondition, 0);
+  }
+
+  @Test
+  public void takeTurn_QuickStrategy_StrategyMoves() {
+    DeadlineStrategy strategy = new DeadlineStrategy(playing(3), victoryCondition, 1000);
+    assertFalse(strategy.getLastTier().isPresent());
+    strategy.takeTurn(board, aiPlayer);
+    assertEquals(1, board.getNumberOfCountersInColumn(3));
+    assertEquals(DeadlineStrategy.Tier.STRATEGY, strategy.getLastTier().orElseThrow());
+  }
+
+  @Test
+  public void takeTurn_InterruptibleStrategyTooSlow_BestMoveSoFarPlayed() {
+    DeadlineStrategy strategy =
+        new DeadlineStrategy(new WaitingStrategy(5), victoryCondition, 200);
+    strategy.takeTurn(board, aiPlayer);
+    assertEquals(1, board.getNumberOfCountersInColumn(5));
+    assertEquals(DeadlineStrategy.Tier.BEST_SO_FAR, strategy.getLastTier().orElseThrow());
+  }
+
+  @Test
+  public void takeTurn_StrategyTooSlowWinAvailable_WinningColumnPlayedByDeadline() {
+    for (int i = 0; i < 3; i++) {
+      board.placePlayerCounterInColumn(aiPlayer, 2);
+      board.placePlayerCounterInColumn(otherPlayer, 6);
+    }
+    DeadlineStrategy strategy = new DeadlineStrategy(playingAfter(5000, 1), victoryCondition, 100);
+    strategy.setTurnOrder(Arrays.asList(aiPlayer, otherPlayer));
+    long startNanos = System.nanoTime();
+    strategy.takeTurn(board, aiPlayer);
+    assertTrue(System.nanoTime() - startNanos < TimeUnit.SECONDS.toNanos(2));
+    assertEquals(4, board.getNumberOfCountersInColumn(2));
+    assertEquals(0, board.getNumberOfCountersInColumn(1));
+    assertEquals(DeadlineStrategy.Tier.WIN_OR_BLOCK, strategy.getLastTier().orElseThrow());
+  }
+
+  @Test
+  public void takeTurn_StrategyFails_WinOrBlockPlayed() {
+    AIStrategy failing = (board, player) -> {
+      throw new IllegalStateException("Failed");
+    };
+    DeadlineStrategy strategy = new DeadlineStrategy(failing, victoryCondition, 1000);
+    strategy.takeTurn(board, aiPlayer);
+    assertEquals(1, board.getColumnsWithSpareCapacity().stream()
+        .mapToInt(board::getNumberOfCountersInColumn).sum());
+    assertEquals(DeadlineStrategy.Tier.WIN_OR_BLOCK, strategy.getLastTier().orElseThrow());
+  }
+
+  @Test
+  public void takeTurn_EveryOtherStrategyFails_RandomColumnPlayed() {
+    AIStrategy failing = (board, player) -> {
+      throw new IllegalStateException("Failed");
+    };
+    DeadlineStrategy strategy =
+        new DeadlineStrategy(failing, failing, new RandomPlacementStrategy(), 1000);
+    strategy.takeTurn(board, aiPlayer);
+    assertEquals(1, board.getColumnsWithSpareCapacity().stream()
+        .mapToInt(board::getNumberOfCountersInColumn).sum());
+    assertEquals(DeadlineStrategy.Tier.RANDOM, strategy.getLastTier().orElseThrow());
+  }
+
+  @Test
+  public void takeTurn_AlphaBetaLongTimeLimit_InterruptedSearchPlaysByDeadline() {
+    SearchSettings settings = SearchSettings.builder().setTimeLimitMillis(60_000).build();
+    DeadlineStrategy strategy = new DeadlineStrategy(
+        new AlphaBetaStrategy(settings, new RandomPlacementStrategy()), victoryCondition, 500);
+    strategy.setTurnOrder(Arrays.asList(aiPlayer, otherPlayer));
+    long startNanos = System.nanoTime();
+    strategy.takeTurn(board, aiPlayer);
+    assertTrue(System.nanoTime() - startNanos < TimeUnit.SECONDS.toNanos(2));
+    assertEquals(DeadlineStrategy.Tier.BEST_SO_FAR, strategy.getLastTier().orElseThrow());
+    assertTrue(strategy.getLastSearchStatistics().orElseThrow().getDepth() > 0);
+    strategy.onGameEnd(board);
+  }
+}
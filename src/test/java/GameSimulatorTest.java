@@ -0,0 +1,63 @@
+import static org.junit.Assert.*;
+
+import java.util.Properties;
+import org.junit.Test;
+
+public class GameSimulatorTest {
+
+  private static GameConfig config(String... keysAndValues) {
+    Properties properties = new Properties();
+    for (int i = 0; i < keysAndValues.length; i += 2) {
+      properties.setProperty(keysAndValues[i], keysAndValues[i + 1]);
+    }
+    return new GameConfig(properties);
+  }
+
+  private final GameSimulator simulator =
+      new GameSimulator(config("players.ai.difficulty", "EASY"));
+
+  @Test(expected = NullPointerException.class)
+  public void constructor_NullGameConfig_ExceptionThrown() {
+    new GameSimulator(null);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void simulate_NegativeGames_ExceptionThrown() throws InterruptedException {
+    simulator.simulate(-1, 1);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void simulate_NoThreads_ExceptionThrown() throws InterruptedException {
+    simulator.simulate(1, 0);
+  }
+
+  @Test
+  public void simulate_NoGames_EmptySummary() throws InterruptedException {
+    SimulationSummary summary = simulator.simulate(0, 2);
+    assertEquals(0, summary.getGames());
+    assertEquals(2, summary.getNumberOfPlayers());
+    assertTrue(Double.isNaN(summary.getAverageGameLength()));
+  }
+
+  @Test
+  public void simulate_SeveralThreads_EveryGameCountedOnce() throws InterruptedException {
+    SimulationSummary summary = simulator.simulate(200, 3);
+    assertEquals(200, summary.getGames());
+    assertEquals(200, summary.getWins(0) + summary.getWins(1) + summary.getDraws());
+    // A game lasts from the quickest win to a full 7x6 board
+    assertTrue(summary.getAverageGameLength() >= 7);
+    assertTrue(summary.getAverageGameLength() <= 42);
+    assertTrue(summary.getGamesPerSecond() > 0);
+  }
+
+  @Test
+  public void simulate_HumanPlayerInConfig_PlayedByComputer() throws InterruptedException {
+    GameSimulator threePlayers = new GameSimulator(config(
+        "players.number", "3", "players.victory.counters", "3", "players.ai.difficulty", "EASY",
+        "player1.ai", "false", "player2.ai", "true", "player3.ai", "true"));
+    SimulationSummary summary = threePlayers.simulate(50, 2);
+    assertEquals(3, summary.getNumberOfPlayers());
+    assertEquals(50, summary.getWins(0) + summary.getWins(1) + summary.getWins(2)
+        + summary.getDraws());
+  }
+}
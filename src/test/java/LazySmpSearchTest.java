@@ -0,0 +1,166 @@
+import static org.junit.Assert.*;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.junit.Test;
+
+public class LazySmpSearchTest {
+
+  private final VictoryCondition victoryCondition = new ConsecutiveCountersVictoryCondition(4);
+  private final Player aiPlayer = new AIPlayer(PlayerColour.RED, victoryCondition, Difficulty.EASY);
+  private final Player otherPlayer =
+      new AIPlayer(PlayerColour.BLUE, victoryCondition, Difficulty.EASY);
+  private final List<Player> turnOrder = Arrays.asList(aiPlayer, otherPlayer);
+
+  @Test(expected = IllegalArgumentException.class)
+  public void constructor_NoThreads_ExceptionThrown() {
+    new LazySmpSearch(new TranspositionTable(16), 0);
+  }
+
+  @Test
+  public void search_SingleThreadWinAvailable_WinningColumnChosen() {
+    SearchBoard board = createBoard(
+        "       " + System.lineSeparator() +
+            "   OO  " + System.lineSeparator() +
+            "O AAA O"
+    );
+    SearchResult result = new LazySmpSearch(new TranspositionTable(1 << 12), 1)
+        .search(board, 8, 1000);
+    assertEquals(1, result.getColumn());
+    assertEquals(NegamaxSearch.WIN_SCORE, result.getScore());
+  }
+
+  @Test
+  public void search_MultipleThreadsMustBlock_BlockingColumnChosen() {
+    SearchBoard board = createBoard(
+        "       " + System.lineSeparator() +
+            "       " + System.lineSeparator() +
+            "A   OOO"
+    );
+    SearchResult result = new LazySmpSearch(new TranspositionTable(1 << 16), 4)
+        .search(board, 6, 2000);
+    assertEquals(3, result.getColumn());
+    assertTrue(result.getNodes() > 0);
+  }
+
+  @Test
+  public void search_ForcedWinInThreeMoves_Found() {
+    // An open-ended three on the bottom row can't be stopped
+    SearchBoard board = createBoard(
+        "       " + System.lineSeparator() +
+            "   O   " + System.lineSeparator() +
+            "  AA O "
+    );
+    SearchResult result = new LazySmpSearch(new TranspositionTable(1 << 16), 2)
+        .search(board, 5, 5000);
+    assertEquals(1, result.getColumn());
+    assertEquals(NegamaxSearch.WIN_SCORE - 2, result.getScore());
+  }
+
+  @Test
+  public void search_Always_LeavesBoardUnchanged() {
+    SearchBoard board = createBoard(
+        "       " + System.lineSeparator() +
+            "  A O  " + System.lineSeparator() +
+            " OA AO "
+    );
+    SearchBoard copy = board.copy();
+    new LazySmpSearch(new TranspositionTable(1 << 12), 3).search(board, 4, 1000);
+    assertEquals(copy, board);
+    assertEquals(copy.getHash(), board.getHash());
+  }
+
+  @Test
+  public void search_VeryWideBoardMustBlock_BlockingColumnChosen() {
+    String empty = " ".repeat(60);
+    SearchBoard board = createBoard(
+        empty + System.lineSeparator() +
+            empty + System.lineSeparator() +
+            empty.substring(0, 40) + "AOOO" + empty.substring(44)
+    );
+    SearchResult result = new LazySmpSearch(new TranspositionTable(1 << 16), 1)
+        .search(board, 6, 5000);
+    assertEquals(44, result.getColumn());
+    assertEquals(6, result.getDepth());
+  }
+
+  @Test
+  public void search_MirrorImageOfSearchedPosition_MirroredMoveFoundInTable() {
+    TranspositionTable table = new TranspositionTable(1 << 16);
+    SearchBoard board = createBoard(
+        "       " + System.lineSeparator() +
+            "       " + System.lineSeparator() +
+            "AOOO   "
+    );
+    assertEquals(4, new LazySmpSearch(table, 1).search(board, 6, 2000).getColumn());
+    SearchBoard mirrored = createBoard(
+        "       " + System.lineSeparator() +
+            "       " + System.lineSeparator() +
+            "   OOOA"
+    );
+    assertEquals(board.getCanonicalHash(), mirrored.getCanonicalHash());
+    long entry = table.probe(mirrored.getCanonicalHash());
+    assertNotEquals(TranspositionTable.MISS, entry);
+    assertEquals(2, mirrored.toCanonicalColumn(TranspositionTable.getMove(entry)));
+    assertEquals(2, new LazySmpSearch(table, 1).search(mirrored, 6, 2000).getColumn());
+  }
+
+  @Test
+  public void search_SeveralThreads_StatisticsIncludeHelpers() {
+    SearchBoard board = SearchBoard.empty(new Dimensions(7, 6), turnOrder);
+    SearchResult single = new LazySmpSearch(new TranspositionTable(1 << 16), 1)
+        .search(board, 8, 10_000);
+    SearchResult several = new LazySmpSearch(new TranspositionTable(1 << 16), 3)
+        .search(board, 8, 10_000);
+
+    SearchStatistics statistics = single.getStatistics();
+    assertEquals(8, statistics.getDepth());
+    assertEquals(single.getNodes(), statistics.getNodes());
+    assertTrue(statistics.getElapsedNanos() > 0);
+    assertTrue(statistics.getTableHits() > 0);
+    assertTrue(statistics.getTableHits() <= statistics.getTableProbes());
+    assertTrue(statistics.getExpandedNodes() <= statistics.getNodes());
+    assertTrue(statistics.getCutoffs() > 0);
+    assertTrue(statistics.getFirstMoveCutoffs() <= statistics.getCutoffs());
+    assertEquals(8, several.getDepth());
+    assertTrue(several.getStatistics().getTableProbes() > 0);
+  }
+
+  @Test
+  public void search_NodeBudget_SameMoveAfterSameNumberOfNodes() {
+    SearchBoard board = SearchBoard.empty(new Dimensions(7, 6), turnOrder);
+    SearchResult first = new LazySmpSearch(new TranspositionTable(1 << 16), 1)
+        .search(board, 42, 60_000, 50_000, new AtomicBoolean(false));
+    SearchResult second = new LazySmpSearch(new TranspositionTable(1 << 16), 1)
+        .search(board, 42, 60_000, 50_000, new AtomicBoolean(false));
+
+    assertTrue(first.getNodes() >= 50_000);
+    assertTrue(first.getNodes() < 50_000 + 1024);
+    assertTrue(first.getDepth() < 42);
+    assertEquals(first.getColumn(), second.getColumn());
+    assertEquals(first.getDepth(), second.getDepth());
+    assertEquals(first.getNodes(), second.getNodes());
+  }
+
+  // Creates a board where it is the AI player's turn
+  private SearchBoard createBoard(String boardAsText) {
+    String[] boardLines = boardAsText.split(System.lineSeparator());
+    Board board =
+        new Board(
+            BoardConfiguration.forDimensions(
+                new Dimensions(boardLines[0].length(), boardLines.length)
+            )
+        );
+    for (int i = boardLines.length-1; i >= 0; i--) {
+      for (int charIndex = 0; charIndex < boardLines[i].length(); charIndex++) {
+        if (boardLines[i].charAt(charIndex) == 'A') {
+          board.placePlayerCounterInColumn(aiPlayer, charIndex+1);
+        } else if (boardLines[i].charAt(charIndex) == 'O') {
+          board.placePlayerCounterInColumn(otherPlayer, charIndex+1);
+        }
+      }
+    }
+    return SearchBoard.of(board, turnOrder, aiPlayer);
+  }
+}
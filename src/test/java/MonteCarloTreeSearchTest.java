@@ -0,0 +1,118 @@
+import static org.junit.Assert.*;
+
+import java.util.Arrays;
+import java.util.List;
+import org.junit.Test;
+
+public class MonteCarloTreeSearchTest {
+
+  private final VictoryCondition victoryCondition = new ConsecutiveCountersVictoryCondition(4);
+  private final Player aiPlayer = new AIPlayer(PlayerColour.RED, victoryCondition, Difficulty.EASY);
+  private final Player otherPlayer =
+      new AIPlayer(PlayerColour.BLUE, victoryCondition, Difficulty.EASY);
+  private final Player thirdPlayer =
+      new AIPlayer(PlayerColour.GREEN, victoryCondition, Difficulty.EASY);
+
+  @Test(expected = IllegalArgumentException.class)
+  public void constructor_NoThreads_ExceptionThrown() {
+    new MonteCarloTreeSearch(0);
+  }
+
+  @Test
+  public void search_WinAvailable_WinningColumnChosenWithoutPlayouts() {
+    SearchBoard board = createBoard(
+        Arrays.asList(aiPlayer, otherPlayer),
+        "       " + System.lineSeparator() +
+            "   OO  " + System.lineSeparator() +
+            "O AAA O"
+    );
+    SearchResult result = new MonteCarloTreeSearch(1).search(board, 1000, 1000);
+    assertEquals(1, result.getColumn());
+    assertEquals(0, result.getNodes());
+  }
+
+  @Test
+  public void search_NextPlayerThreatensWin_BlockingColumnChosen() {
+    // In a three-player game, the next player (O) threatens to win in column 4
+    SearchBoard board = createBoard(
+        Arrays.asList(aiPlayer, otherPlayer, thirdPlayer),
+        "       " + System.lineSeparator() +
+            "       " + System.lineSeparator() +
+            "AOOO TT"
+    );
+    SearchResult result = new MonteCarloTreeSearch(1).search(board, 20_000, 10_000);
+    assertEquals(4, result.getColumn());
+    assertEquals(20_000, result.getNodes());
+  }
+
+  @Test
+  public void search_MultipleThreads_PlayoutBudgetRespected() {
+    SearchBoard board = createBoard(
+        Arrays.asList(aiPlayer, otherPlayer, thirdPlayer),
+        "        " + System.lineSeparator() +
+            "        " + System.lineSeparator() +
+            "        "
+    );
+    SearchBoard copy = board.copy();
+    SearchResult result = new MonteCarloTreeSearch(3).search(board, 3000, 10_000);
+    assertEquals(3000, result.getNodes());
+    assertTrue(result.getColumn() >= 0 && result.getColumn() < 8);
+    assertEquals(copy, board);
+  }
+
+  @Test
+  public void search_FollowOnPosition_LastTreeReused() {
+    SearchBoard board = createEmptyBoard();
+    MonteCarloTreeSearch search = new MonteCarloTreeSearch(1);
+    search.search(board, 20_000, 10_000);
+    board.play(3);
+    board.play(2);
+    // Without any playouts, only the last search's tree knows anything about the moves
+    assertTrue(search.search(board, 0, 10_000).getScore() > 0);
+    assertEquals(0, new MonteCarloTreeSearch(1).search(board, 0, 10_000).getScore());
+  }
+
+  @Test
+  public void search_Cleared_NewTreeGrown() {
+    SearchBoard board = createEmptyBoard();
+    MonteCarloTreeSearch search = new MonteCarloTreeSearch(1);
+    search.search(board, 20_000, 10_000);
+    board.play(3);
+    board.play(2);
+    search.clear();
+    assertEquals(0, search.search(board, 0, 10_000).getScore());
+  }
+
+  private SearchBoard createEmptyBoard() {
+    return createBoard(
+        Arrays.asList(aiPlayer, otherPlayer),
+        "       " + System.lineSeparator() +
+            "       " + System.lineSeparator() +
+            "       " + System.lineSeparator() +
+            "       "
+    );
+  }
+
+  // Creates a board where it is the AI player's turn
+  private SearchBoard createBoard(List<Player> turnOrder, String boardAsText) {
+    String[] boardLines = boardAsText.split(System.lineSeparator());
+    Board board =
+        new Board(
+            BoardConfiguration.forDimensions(
+                new Dimensions(boardLines[0].length(), boardLines.length)
+            )
+        );
+    for (int i = boardLines.length-1; i >= 0; i--) {
+      for (int charIndex = 0; charIndex < boardLines[i].length(); charIndex++) {
+        if (boardLines[i].charAt(charIndex) == 'A') {
+          board.placePlayerCounterInColumn(aiPlayer, charIndex+1);
+        } else if (boardLines[i].charAt(charIndex) == 'O') {
+          board.placePlayerCounterInColumn(otherPlayer, charIndex+1);
+        } else if (boardLines[i].charAt(charIndex) == 'T') {
+          board.placePlayerCounterInColumn(thirdPlayer, charIndex+1);
+        }
+      }
+    }
+    return SearchBoard.of(board, turnOrder, aiPlayer);
+  }
+}
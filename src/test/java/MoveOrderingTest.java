@@ -0,0 +1,93 @@
+import static org.junit.Assert.*;
+
+import java.util.Arrays;
+import org.junit.Test;
+
+public class MoveOrderingTest {
+
+  private final VictoryCondition victoryCondition = new ConsecutiveCountersVictoryCondition(4);
+  private final SearchBoard board = SearchBoard.empty(new Dimensions(7, 6), Arrays.asList(
+      new AIPlayer(PlayerColour.RED, victoryCondition, Difficulty.EASY),
+      new AIPlayer(PlayerColour.BLUE, victoryCondition, Difficulty.EASY)));
+
+  @Test
+  public void order_EmptyBoard_CentreFirst() {
+    board.play(0);
+    int[] moves = new int[7];
+    assertEquals(7, new MoveOrdering(board, 42).order(moves, -1, 0));
+    assertEquals(3, moves[0]);
+    assertTrue(moves[6] == 0 || moves[6] == 6);
+  }
+
+  @Test
+  public void order_SymmetricBoard_MirroredMovesSkipped() {
+    int[] moves = new int[7];
+    assertEquals(4, new MoveOrdering(board, 42).order(moves, -1, 0));
+    assertArrayEquals(new int[] {3, 2, 1, 0}, Arrays.copyOf(moves, 4));
+  }
+
+  @Test
+  public void order_HashMove_HashMoveFirst() {
+    board.play(0);
+    int[] moves = new int[7];
+    new MoveOrdering(board, 42).order(moves, 6, 0);
+    assertEquals(6, moves[0]);
+    assertEquals(3, moves[1]);
+  }
+
+  @Test
+  public void order_SymmetricBoardHashMoveOnRight_MirroredHashMoveFirst() {
+    int[] moves = new int[7];
+    assertEquals(4, new MoveOrdering(board, 42).order(moves, 5, 0));
+    assertEquals(1, moves[0]);
+    assertEquals(3, moves[1]);
+  }
+
+  @Test
+  public void order_FullColumn_ColumnSkipped() {
+    board.play(0);
+    for (int i = 0; i < 6; i++) {
+      board.play(3);
+    }
+    int[] moves = new int[7];
+    int count = new MoveOrdering(board, 42).order(moves, 3, 0);
+    assertEquals(6, count);
+    for (int i = 0; i < count; i++) {
+      assertNotEquals(3, moves[i]);
+    }
+  }
+
+  @Test
+  public void cutoff_KillerMove_SearchedBeforeCentre() {
+    MoveOrdering ordering = new MoveOrdering(board, 42);
+    ordering.cutoff(1, 2, 1);
+    int[] moves = new int[7];
+    ordering.order(moves, -1, 2);
+    assertEquals(1, moves[0]);
+    // Killers only apply at their own ply
+    ordering.order(moves, -1, 3);
+    assertEquals(3, moves[0]);
+  }
+
+  @Test
+  public void cutoff_KillerCellFilled_NoLongerPreferred() {
+    MoveOrdering ordering = new MoveOrdering(board, 42);
+    ordering.cutoff(1, 2, 1);
+    board.play(1);
+    board.play(5);
+    int[] moves = new int[7];
+    ordering.order(moves, -1, 2);
+    assertEquals(3, moves[0]);
+  }
+
+  @Test
+  public void cutoff_DeepCutoffs_HistoryOutweighsCentre() {
+    MoveOrdering ordering = new MoveOrdering(board, 42);
+    for (int ply = 0; ply < 4; ply++) {
+      ordering.cutoff(0, ply, 40);
+    }
+    int[] moves = new int[7];
+    ordering.order(moves, -1, 10);
+    assertEquals(0, moves[0]);
+  }
+}
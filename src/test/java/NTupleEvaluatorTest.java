@@ -0,0 +1,117 @@
+import static org.junit.Assert.*;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.SplittableRandom;
+import org.junit.Test;
+
+public class NTupleEvaluatorTest {
+
+  private final VictoryCondition fourInARow = new ConsecutiveCountersVictoryCondition(4);
+  private final Player red = new AIPlayer(PlayerColour.RED, fourInARow, Difficulty.EASY);
+  private final Player blue = new AIPlayer(PlayerColour.BLUE, fourInARow, Difficulty.EASY);
+  private final List<Player> turnOrder = Arrays.asList(red, blue);
+
+  @Test
+  public void getScore_UntrainedNetwork_EvenScores() {
+    NTupleNetwork network = NTupleNetwork.create(7, 6, 2, 4, 10, 6, new Random(1));
+    SearchBoard board = SearchBoard.empty(new Dimensions(7, 6), turnOrder);
+    NTupleEvaluator evaluator = new NTupleEvaluator(network);
+    board.setEvaluator(evaluator);
+    board.play(3);
+    assertEquals(NTupleEvaluator.SCORE_SCALE, evaluator.getScore(0));
+    assertEquals(NTupleEvaluator.SCORE_SCALE, evaluator.getScore(1));
+  }
+
+  @Test
+  public void counterPlaced_RandomMoves_IndicesMatchReset() {
+    NTupleNetwork network = trainedNetwork();
+    SearchBoard board = SearchBoard.empty(new Dimensions(7, 6), turnOrder);
+    NTupleEvaluator evaluator = new NTupleEvaluator(network);
+    board.setEvaluator(evaluator);
+    SplittableRandom random = new SplittableRandom(7);
+    for (int step = 0; step < 500; step++) {
+      int column = random.nextInt(board.getWidth());
+      if (board.getNumberOfMoves() > 0 && (random.nextInt(3) == 0 || board.isFull())) {
+        board.undo();
+      } else if (board.canPlay(column)) {
+        board.play(column);
+      }
+      NTupleEvaluator resetEvaluator = new NTupleEvaluator(network);
+      resetEvaluator.reset(board);
+      for (int seat = 0; seat < 2; seat++) {
+        assertArrayEquals(resetEvaluator.getIndices(seat), evaluator.getIndices(seat));
+        assertEquals(resetEvaluator.getScore(seat), evaluator.getScore(seat));
+      }
+    }
+  }
+
+  @Test
+  public void getValue_MirroredPosition_SameValue() {
+    NTupleNetwork network = trainedNetwork();
+    SearchBoard board = SearchBoard.empty(new Dimensions(7, 6), turnOrder);
+    SearchBoard mirrored = board.copy();
+    NTupleEvaluator evaluator = new NTupleEvaluator(network);
+    NTupleEvaluator mirroredEvaluator = new NTupleEvaluator(network);
+    board.setEvaluator(evaluator);
+    mirrored.setEvaluator(mirroredEvaluator);
+    for (int column : new int[] {3, 2, 2, 1, 0, 4, 5, 6, 1}) {
+      board.play(column);
+      mirrored.play(board.getWidth() - 1 - column);
+      assertEquals(evaluator.getValue(0), mirroredEvaluator.getValue(0), 1e-9);
+      assertEquals(evaluator.getValue(1), mirroredEvaluator.getValue(1), 1e-9);
+    }
+  }
+
+  @Test
+  public void getScore_NetworkForDifferentBoard_WindowEvaluatorScores() {
+    NTupleNetwork network = NTupleNetwork.create(6, 6, 2, 4, 10, 6, new Random(1));
+    SearchBoard board = SearchBoard.empty(new Dimensions(7, 6), turnOrder);
+    NTupleEvaluator evaluator = new NTupleEvaluator(network);
+    board.setEvaluator(evaluator);
+    SearchBoard windowBoard = board.copy();
+    WindowEvaluator windowEvaluator = new WindowEvaluator();
+    windowBoard.setEvaluator(windowEvaluator);
+    for (int column : new int[] {3, 3, 2, 4}) {
+      board.play(column);
+      windowBoard.play(column);
+    }
+    assertEquals(windowEvaluator.getScore(0), evaluator.getScore(0));
+    assertEquals(windowEvaluator.getScore(1), evaluator.getScore(1));
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void getValue_NetworkForDifferentBoard_ExceptionThrown() {
+    NTupleNetwork network = NTupleNetwork.create(6, 6, 2, 4, 10, 6, new Random(1));
+    SearchBoard board = SearchBoard.empty(new Dimensions(7, 6), turnOrder);
+    NTupleEvaluator evaluator = new NTupleEvaluator(network);
+    board.setEvaluator(evaluator);
+    evaluator.getValue(0);
+  }
+
+  @Test
+  public void newEvaluator_SameNetwork_SameScores() {
+    NTupleNetwork network = trainedNetwork();
+    SearchBoard board = SearchBoard.empty(new Dimensions(7, 6), turnOrder);
+    board.setEvaluator(new NTupleEvaluator(network));
+    board.play(3);
+    board.play(4);
+    SearchBoard copy = board.copy();
+    Evaluator evaluator = board.getEvaluator().orElseThrow(AssertionError::new);
+    Evaluator copyEvaluator = copy.getEvaluator().orElseThrow(AssertionError::new);
+    assertNotSame(evaluator, copyEvaluator);
+    assertEquals(evaluator.getScore(0), copyEvaluator.getScore(0));
+  }
+
+  private NTupleNetwork trainedNetwork() {
+    NTupleNetwork network = NTupleNetwork.create(7, 6, 2, 4, 10, 6, new Random(1));
+    try {
+      new NTupleTrainer(network, SearchBoard.empty(new Dimensions(7, 6), turnOrder), 0.5, 0.1, 3)
+          .train(200, 1);
+    } catch (InterruptedException e) {
+      throw new AssertionError(e);
+    }
+    return network;
+  }
+}
@@ -0,0 +1,112 @@
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class NTupleNetworkTest {
+
+  private final VictoryCondition fourInARow = new ConsecutiveCountersVictoryCondition(4);
+  private final Player red = new AIPlayer(PlayerColour.RED, fourInARow, Difficulty.EASY);
+  private final Player blue = new AIPlayer(PlayerColour.BLUE, fourInARow, Difficulty.EASY);
+  private final List<Player> turnOrder = Arrays.asList(red, blue);
+
+  private Path path;
+
+  @Before
+  public void createFile() throws IOException {
+    path = Files.createTempFile("ntuple", ".network");
+  }
+
+  @After
+  public void deleteFile() throws IOException {
+    Files.deleteIfExists(path);
+  }
+
+  @Test
+  public void isFor_SameGame_True() {
+    NTupleNetwork network = NTupleNetwork.create(7, 6, 2, 4, 10, 6, new Random(1));
+    assertTrue(network.isFor(SearchBoard.empty(new Dimensions(7, 6), turnOrder)));
+  }
+
+  @Test
+  public void isFor_DifferentGame_False() {
+    NTupleNetwork network = NTupleNetwork.create(7, 6, 2, 4, 10, 6, new Random(1));
+    assertFalse(network.isFor(SearchBoard.empty(new Dimensions(6, 6), turnOrder)));
+    Player green = new AIPlayer(PlayerColour.GREEN, fourInARow, Difficulty.EASY);
+    assertFalse(network.isFor(
+        SearchBoard.empty(new Dimensions(7, 6), Arrays.asList(red, blue, green))));
+    VictoryCondition threeInARow = new ConsecutiveCountersVictoryCondition(3);
+    Player threeInARowPlayer = new AIPlayer(PlayerColour.GREEN, threeInARow, Difficulty.EASY);
+    assertFalse(network.isFor(
+        SearchBoard.empty(new Dimensions(7, 6), Arrays.asList(red, threeInARowPlayer))));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void create_TupleTooLong_ExceptionThrown() {
+    NTupleNetwork.create(7, 6, 2, 4, 10, NTupleNetwork.MAXIMUM_TUPLE_LENGTH + 1, new Random(1));
+  }
+
+  @Test
+  public void load_SavedNetwork_SameValues() throws Exception {
+    SearchBoard board = SearchBoard.empty(new Dimensions(7, 6), turnOrder);
+    NTupleNetwork network = NTupleNetwork.create(7, 6, 2, 4, 10, 6, new Random(1));
+    new NTupleTrainer(network, board, 0.5, 0.1, 3).train(50, 1);
+    network.save(path);
+    NTupleNetwork loaded = NTupleNetwork.load(path);
+    assertEquals(network.toString(), loaded.toString());
+
+    NTupleEvaluator evaluator = new NTupleEvaluator(network);
+    NTupleEvaluator loadedEvaluator = new NTupleEvaluator(loaded);
+    SearchBoard loadedBoard = board.copy();
+    board.setEvaluator(evaluator);
+    loadedBoard.setEvaluator(loadedEvaluator);
+    for (int column : new int[] {3, 3, 2, 4, 1, 0}) {
+      board.play(column);
+      loadedBoard.play(column);
+      assertEquals(evaluator.getScore(0), loadedEvaluator.getScore(0));
+      assertEquals(evaluator.getScore(1), loadedEvaluator.getScore(1));
+    }
+  }
+
+  @Test(expected = IOException.class)
+  public void load_TruncatedFile_ExceptionThrown() throws Exception {
+    NTupleNetwork.create(7, 6, 2, 4, 10, 6, new Random(1)).save(path);
+    byte[] bytes = Files.readAllBytes(path);
+    Files.write(path, Arrays.copyOf(bytes, bytes.length / 2));
+    NTupleNetwork.load(path);
+  }
+
+  @Test(expected = IOException.class)
+  public void load_NotANetwork_ExceptionThrown() throws Exception {
+    Files.write(path, new byte[] {1, 2, 3, 4, 5, 6, 7, 8});
+    NTupleNetwork.load(path);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void trainerConstructor_NetworkForDifferentGame_ExceptionThrown() {
+    NTupleNetwork network = NTupleNetwork.create(6, 6, 2, 4, 10, 6, new Random(1));
+    new NTupleTrainer(network, SearchBoard.empty(new Dimensions(7, 6), turnOrder), 0.5, 0.1, 3);
+  }
+
+  @Test
+  public void train_ManyGames_CentreOpeningPreferred() throws Exception {
+    SearchBoard board = SearchBoard.empty(new Dimensions(7, 6), turnOrder);
+    NTupleNetwork network = NTupleNetwork.create(7, 6, 2, 4, 40, 6, new Random(1));
+    new NTupleTrainer(network, board, 0.5, 0.1, 3).train(5000, 1);
+    NTupleEvaluator evaluator = new NTupleEvaluator(network);
+    board.setEvaluator(evaluator);
+    board.play(3);
+    double centre = evaluator.getValue(0);
+    board.undo();
+    board.play(0);
+    double edge = evaluator.getValue(0);
+    assertTrue(centre + " <= " + edge, centre > edge);
+  }
+}
@@ -0,0 +1,112 @@
+import static org.junit.Assert.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class OpeningBookTest {
+
+  private final VictoryCondition victoryCondition = new ConsecutiveCountersVictoryCondition(3);
+  private final Player firstPlayer =
+      new AIPlayer(PlayerColour.RED, victoryCondition, Difficulty.EASY);
+  private final Player secondPlayer =
+      new AIPlayer(PlayerColour.BLUE, victoryCondition, Difficulty.EASY);
+  private final List<Player> turnOrder = Arrays.asList(firstPlayer, secondPlayer);
+  private final SearchSettings settings =
+      SearchSettings.builder().setThreads(2).setTimeLimitMillis(20).build();
+
+  private Path path;
+
+  @Before
+  public void createFile() throws IOException {
+    path = Files.createTempFile("opening", ".book");
+  }
+
+  @After
+  public void deleteFile() throws IOException {
+    Files.deleteIfExists(path);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void builderConstructor_NoPlies_ExceptionThrown() {
+    new OpeningBookBuilder(turnOrder, new Dimensions(4, 4), 0, settings);
+  }
+
+  @Test
+  public void build_TwoPlies_EveryPositionInBook() throws Exception {
+    int entries =
+        new OpeningBookBuilder(turnOrder, new Dimensions(4, 4), 2, settings).build(path);
+    // The empty board, plus one position for each pair of mirrored columns
+    assertEquals(3, entries);
+
+    OpeningBook book = OpeningBook.open(path);
+    assertEquals(3, book.size());
+    SearchBoard board = SearchBoard.empty(new Dimensions(4, 4), turnOrder);
+    assertTrue(book.isFor(board));
+    assertTrue(book.probe(board) >= 0);
+    for (int column = 0; column < 4; column++) {
+      board.play(column);
+      int bestColumn = book.probe(board);
+      assertTrue(bestColumn >= 0 && bestColumn < 4);
+      board.undo();
+    }
+  }
+
+  @Test
+  public void probe_PositionNotInBook_NotFound() throws Exception {
+    new OpeningBookBuilder(turnOrder, new Dimensions(4, 4), 1, settings).build(path);
+    SearchBoard board = SearchBoard.empty(new Dimensions(4, 4), turnOrder);
+    board.play(0);
+    assertEquals(-1, OpeningBook.open(path).probe(board));
+  }
+
+  @Test
+  public void probe_WrittenEntries_ColumnsFound() throws Exception {
+    SearchBoard board = SearchBoard.empty(new Dimensions(5, 4), turnOrder);
+    OpeningBook.write(path, board, new long[] {42, -7, Long.MAX_VALUE}, new int[] {1, 2, 3});
+    OpeningBook book = OpeningBook.open(path);
+    assertEquals(1, book.probe(42));
+    assertEquals(2, book.probe(-7));
+    assertEquals(3, book.probe(Long.MAX_VALUE));
+    assertEquals(-1, book.probe(0));
+  }
+
+  @Test
+  public void isFor_DifferentBoard_False() throws Exception {
+    new OpeningBookBuilder(turnOrder, new Dimensions(4, 4), 1, settings).build(path);
+    OpeningBook book = OpeningBook.open(path);
+    assertFalse(book.isFor(SearchBoard.empty(new Dimensions(5, 4), turnOrder)));
+    Player thirdPlayer = new AIPlayer(PlayerColour.GREEN, victoryCondition, Difficulty.EASY);
+    assertFalse(book.isFor(SearchBoard.empty(
+        new Dimensions(4, 4), Arrays.asList(firstPlayer, secondPlayer, thirdPlayer))));
+  }
+
+  @Test(expected = IOException.class)
+  public void open_NotABook_ExceptionThrown() throws Exception {
+    Files.write(path, new byte[] {1, 2, 3, 4, 5, 6, 7, 8});
+    OpeningBook.open(path);
+  }
+
+  @Test
+  public void takeTurn_PositionInBook_BookMovePlayed() throws Exception {
+    // Fill the book with a move that no search would choose
+    SearchBoard emptyBoard = SearchBoard.empty(new Dimensions(4, 4), turnOrder);
+    OpeningBook.write(path, emptyBoard, new long[] {emptyBoard.getCanonicalHash()}, new int[] {3});
+    Difficulty difficulty = Difficulty.MODERATE.withOpeningBook(OpeningBook.open(path));
+    Player player = new AIPlayer(PlayerColour.RED, victoryCondition, difficulty);
+    Player opponent = new AIPlayer(PlayerColour.BLUE, victoryCondition, Difficulty.EASY);
+    player.onGameStart(Arrays.asList(player, opponent));
+
+    Board board = new Board(BoardConfiguration.forDimensions(new Dimensions(4, 4)));
+    player.takeTurn(
+        board, new SingleSourcePrintStreamView(new PrintStream(new ByteArrayOutputStream())));
+    assertEquals(player, board.getOwnerOfCounterAt(1, 4).orElse(null));
+  }
+}
@@ -0,0 +1,95 @@
+import static org.junit.Assert.*;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.junit.Test;
+
+public class ParanoidSearchTest {
+
+  private final VictoryCondition victoryCondition = new ConsecutiveCountersVictoryCondition(4);
+  private final Player aiPlayer = new AIPlayer(PlayerColour.RED, victoryCondition, Difficulty.EASY);
+  private final Player otherPlayer =
+      new AIPlayer(PlayerColour.BLUE, victoryCondition, Difficulty.EASY);
+  private final Player thirdPlayer =
+      new AIPlayer(PlayerColour.GREEN, victoryCondition, Difficulty.EASY);
+  private final List<Player> turnOrder = Arrays.asList(aiPlayer, otherPlayer, thirdPlayer);
+
+  @Test
+  public void search_WinAvailable_WinningColumnChosen() {
+    SearchBoard board = createBoard(
+        "       " + System.lineSeparator() +
+            "   OT  " + System.lineSeparator() +
+            "OTAAA T"
+    );
+    SearchResult result = search(board, 6);
+    assertEquals(5, result.getColumn());
+    assertEquals(NegamaxSearch.WIN_SCORE, result.getScore());
+  }
+
+  @Test
+  public void search_LastPlayerThreatensWin_BlockingColumnChosen() {
+    // Nobody in the coalition will stop the third player (T) winning in column 4
+    SearchBoard board = createBoard(
+        "       " + System.lineSeparator() +
+            "       " + System.lineSeparator() +
+            "A O TTT"
+    );
+    SearchResult result = search(board, 4);
+    assertEquals(3, result.getColumn());
+  }
+
+  @Test
+  public void search_CannotStopBothThreats_LossReported() {
+    // The other players threaten to win in columns 5 and 8 - only one can be blocked
+    SearchBoard board = createBoard(
+        "         " + System.lineSeparator() +
+            "         " + System.lineSeparator() +
+            "AOOO TT T"
+    );
+    SearchResult result = search(board, 4);
+    assertTrue(result.getScore() <= -(NegamaxSearch.WIN_SCORE - 3));
+  }
+
+  @Test
+  public void search_AnyPosition_BoardRestored() {
+    SearchBoard board = createBoard(
+        "        " + System.lineSeparator() +
+            "   T    " + System.lineSeparator() +
+            "  AOO T "
+    );
+    SearchBoard copy = board.copy();
+    SearchResult result = search(board, 5);
+    assertEquals(copy, board);
+    assertEquals(5, result.getDepth());
+    assertTrue(result.getNodes() > 0);
+  }
+
+  private SearchResult search(SearchBoard board, int maximumDepth) {
+    return new ParanoidSearch(board, new TranspositionTable(1 << 16))
+        .search(maximumDepth, System.nanoTime() + TimeUnit.SECONDS.toNanos(10));
+  }
+
+  // Creates a board where it is the AI player's turn
+  private SearchBoard createBoard(String boardAsText) {
+    String[] boardLines = boardAsText.split(System.lineSeparator());
+    Board board =
+        new Board(
+            BoardConfiguration.forDimensions(
+                new Dimensions(boardLines[0].length(), boardLines.length)
+            )
+        );
+    for (int i = boardLines.length-1; i >= 0; i--) {
+      for (int charIndex = 0; charIndex < boardLines[i].length(); charIndex++) {
+        if (boardLines[i].charAt(charIndex) == 'A') {
+          board.placePlayerCounterInColumn(aiPlayer, charIndex+1);
+        } else if (boardLines[i].charAt(charIndex) == 'O') {
+          board.placePlayerCounterInColumn(otherPlayer, charIndex+1);
+        } else if (boardLines[i].charAt(charIndex) == 'T') {
+          board.placePlayerCounterInColumn(thirdPlayer, charIndex+1);
+        }
+      }
+    }
+    return SearchBoard.of(board, turnOrder, aiPlayer);
+  }
+}
@@ -0,0 +1,123 @@
+import static org.junit.Assert.*;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.junit.Test;
+
+public class PerfectSolverTest {
+
+  private final VictoryCondition victoryCondition = new ConsecutiveCountersVictoryCondition(4);
+  private final Player aiPlayer = new AIPlayer(PlayerColour.RED, victoryCondition, Difficulty.EASY);
+  private final Player otherPlayer =
+      new AIPlayer(PlayerColour.BLUE, victoryCondition, Difficulty.EASY);
+  private final List<Player> turnOrder = Arrays.asList(aiPlayer, otherPlayer);
+
+  @Test(expected = IllegalArgumentException.class)
+  public void constructor_NoEntries_ExceptionThrown() {
+    new PerfectSolver(0);
+  }
+
+  @Test
+  public void canSolve_StandardBoard_True() {
+    assertTrue(PerfectSolver.canSolve(SearchBoard.empty(new Dimensions(7, 6), turnOrder)));
+  }
+
+  @Test
+  public void canSolve_BoardTooLarge_False() {
+    assertFalse(PerfectSolver.canSolve(SearchBoard.empty(new Dimensions(8, 7), turnOrder)));
+  }
+
+  @Test
+  public void canSolve_ThreePlayers_False() {
+    Player thirdPlayer = new AIPlayer(PlayerColour.GREEN, victoryCondition, Difficulty.EASY);
+    assertFalse(PerfectSolver.canSolve(SearchBoard.empty(
+        new Dimensions(7, 6), Arrays.asList(aiPlayer, otherPlayer, thirdPlayer))));
+  }
+
+  @Test
+  public void solve_WinAvailable_WinningColumnChosen() {
+    SearchBoard board = createBoard(
+        "       " + System.lineSeparator() +
+            "       " + System.lineSeparator() +
+            "       " + System.lineSeparator() +
+            "       " + System.lineSeparator() +
+            "   OO  " + System.lineSeparator() +
+            "O AAA O"
+    );
+    SearchResult result = new PerfectSolver(1 << 16).solve(board, 1000).get();
+    assertEquals(1, result.getColumn());
+    // 3 of the player's 21 counters have been played, and the fourth wins
+    assertEquals(18, result.getScore());
+  }
+
+  @Test
+  public void solve_OpponentHasTwoThreats_LossFound() {
+    SearchBoard board = createBoard(
+        "       " + System.lineSeparator() +
+            "       " + System.lineSeparator() +
+            "       " + System.lineSeparator() +
+            "       " + System.lineSeparator() +
+            "     A " + System.lineSeparator() +
+            " OOO AA"
+    );
+    SearchResult result = new PerfectSolver(1 << 16).solve(board, 1000).get();
+    // The opponent wins with their fourth counter, whichever threat is blocked
+    assertEquals(-18, result.getScore());
+  }
+
+  @Test
+  public void solve_SmallBoards_AgreesWithFullSearch() {
+    // On a 5x4 board, a full-depth search is quick enough to check the solver against
+    PerfectSolver solver = new PerfectSolver(1 << 16);
+    String[] positions = {"", "2", "22", "213", "3344", "24245", "11552", "332211"};
+    for (String moves : positions) {
+      SearchBoard board = SearchBoard.empty(new Dimensions(5, 4), turnOrder);
+      for (char move : moves.toCharArray()) {
+        board.play(move - '1');
+      }
+      SearchResult solved = solver.solve(board, 10_000).get();
+      SearchResult searched =
+          new NegamaxSearch(board.copy(), new TranspositionTable(1 << 16), new AtomicBoolean())
+              .search(20, System.nanoTime() + TimeUnit.SECONDS.toNanos(10));
+      assertEquals(moves, Integer.signum(searched.getScore()), Integer.signum(solved.getScore()));
+
+      // The chosen move must achieve the score
+      if (!board.isWinningMove(board.getSeatToMove(), solved.getColumn())) {
+        board.play(solved.getColumn());
+        int scoreAfterMove = board.isFull() ? 0 : -solver.solve(board, 10_000).get().getScore();
+        assertEquals(moves, solved.getScore(), scoreAfterMove);
+      }
+    }
+  }
+
+  @Test
+  public void solve_NotEnoughTime_NoResult() {
+    SearchBoard board = SearchBoard.empty(new Dimensions(7, 6), turnOrder);
+    SearchBoard copy = board.copy();
+    assertFalse(new PerfectSolver(1 << 16).solve(board, 1).isPresent());
+    assertEquals(copy, board);
+  }
+
+  // Creates a board where it is the AI player's turn
+  private SearchBoard createBoard(String boardAsText) {
+    String[] boardLines = boardAsText.split(System.lineSeparator());
+    Board board =
+        new Board(
+            BoardConfiguration.forDimensions(
+                new Dimensions(boardLines[0].length(), boardLines.length)
+            )
+        );
+    for (int i = boardLines.length-1; i >= 0; i--) {
+      for (int charIndex = 0; charIndex < boardLines[i].length(); charIndex++) {
+        if (boardLines[i].charAt(charIndex) == 'A') {
+          board.placePlayerCounterInColumn(aiPlayer, charIndex+1);
+        } else if (boardLines[i].charAt(charIndex) == 'O') {
+          board.placePlayerCounterInColumn(otherPlayer, charIndex+1);
+        }
+      }
+    }
+    return SearchBoard.of(board, turnOrder, aiPlayer);
+  }
+}
@@ -0,0 +1,151 @@
+import static org.junit.Assert.*;
+
+import java.util.Arrays;
+import java.util.List;
+import org.junit.Test;
+
+public class ProofNumberSearchTest {
+
+  private final VictoryCondition victoryCondition = new ConsecutiveCountersVictoryCondition(4);
+  private final Player aiPlayer = new AIPlayer(PlayerColour.RED, victoryCondition, Difficulty.EASY);
+  private final Player otherPlayer =
+      new AIPlayer(PlayerColour.BLUE, victoryCondition, Difficulty.EASY);
+  private final List<Player> turnOrder = Arrays.asList(aiPlayer, otherPlayer);
+
+  @Test(expected = NullPointerException.class)
+  public void constructor_NullTable_ExceptionThrown() {
+    new ProofNumberSearch(null);
+  }
+
+  @Test
+  public void prove_WinAvailable_WinningColumnChosen() {
+    SearchBoard board = createBoard(
+        "       " + System.lineSeparator() +
+            "       " + System.lineSeparator() +
+            "   OO  " + System.lineSeparator() +
+            "O AAA O"
+    );
+    ProofResult result = new ProofNumberSearch(new ProofNumberTable(1 << 10)).prove(board, 1000);
+    assertEquals(ProofResult.Outcome.PROVEN, result.getOutcome());
+    assertEquals(1, result.getColumn());
+    assertEquals(0, result.getProofNumber());
+  }
+
+  @Test
+  public void prove_OpenThreeCanBeMade_Proven() {
+    SearchBoard board = createBoard(
+        "         " + System.lineSeparator() +
+            "         " + System.lineSeparator() +
+            "         " + System.lineSeparator() +
+            "O  AA   O"
+    );
+    ProofResult result = new ProofNumberSearch(new ProofNumberTable(1 << 16)).prove(board, 10_000);
+    assertEquals(ProofResult.Outcome.PROVEN, result.getOutcome());
+    // Making three in a row with space at both ends leaves two threats that can't both be blocked
+    assertTrue(result.toString(), result.getColumn() == 2 || result.getColumn() == 5);
+  }
+
+  @Test
+  public void prove_OpponentHasTwoThreats_Disproven() {
+    SearchBoard board = createBoard(
+        "       " + System.lineSeparator() +
+            "       " + System.lineSeparator() +
+            "     A " + System.lineSeparator() +
+            " OOO AA"
+    );
+    ProofResult result = new ProofNumberSearch(new ProofNumberTable(1 << 16)).prove(board, 10_000);
+    assertEquals(ProofResult.Outcome.DISPROVEN, result.getOutcome());
+    assertEquals(-1, result.getColumn());
+    assertEquals(0, result.getDisproofNumber());
+  }
+
+  @Test
+  public void prove_BoardTooSmallToWin_Disproven() {
+    SearchBoard board = SearchBoard.empty(new Dimensions(3, 3), turnOrder);
+    ProofResult result = new ProofNumberSearch(new ProofNumberTable(1 << 16)).prove(board, 10_000);
+    assertEquals(ProofResult.Outcome.DISPROVEN, result.getOutcome());
+  }
+
+  @Test
+  public void prove_SmallBoards_AgreesWithSolver() {
+    PerfectSolver solver = new PerfectSolver(1 << 16);
+    ProofNumberSearch search = new ProofNumberSearch(new ProofNumberTable(1 << 16));
+    String[] positions = {"", "2", "22", "213", "3344", "24245", "11552", "332211"};
+    for (String moves : positions) {
+      SearchBoard board = SearchBoard.empty(new Dimensions(5, 4), turnOrder);
+      for (char move : moves.toCharArray()) {
+        board.play(move - '1');
+      }
+      boolean won = solver.solve(board, 10_000).get().getScore() > 0;
+      ProofResult result = search.prove(board, 10_000);
+      assertEquals(
+          moves,
+          won ? ProofResult.Outcome.PROVEN : ProofResult.Outcome.DISPROVEN,
+          result.getOutcome());
+      if (won && !board.isWinningMove(board.getSeatToMove(), result.getColumn())) {
+        // The move must keep the win
+        board.play(result.getColumn());
+        assertTrue(moves, solver.solve(board, 10_000).get().getScore() < 0);
+      }
+    }
+  }
+
+  @Test
+  public void prove_TinyTable_GarbageCollectedAndStillProven() {
+    SearchBoard board = createBoard(
+        "         " + System.lineSeparator() +
+            "         " + System.lineSeparator() +
+            "         " + System.lineSeparator() +
+            "O  AA   O"
+    );
+    ProofNumberTable table = new ProofNumberTable(16);
+    ProofResult result = new ProofNumberSearch(table).prove(board, 10_000);
+    assertEquals(ProofResult.Outcome.PROVEN, result.getOutcome());
+    assertTrue(table.getCollections() > 0);
+    assertTrue(table.size() <= table.getCapacity());
+  }
+
+  @Test
+  public void prove_ThreePlayersOpenThree_DisprovenAsBothEndsBlocked() {
+    Player thirdPlayer = new AIPlayer(PlayerColour.GREEN, victoryCondition, Difficulty.EASY);
+    List<Player> players = Arrays.asList(aiPlayer, otherPlayer, thirdPlayer);
+    SearchBoard board = SearchBoard.empty(new Dimensions(9, 4), players);
+    // The AI player has two counters in the middle of the bottom row, with room either side
+    for (int column : new int[] {3, 0, 8, 4, 0, 8}) {
+      board.play(column);
+    }
+    ProofResult result = new ProofNumberSearch(new ProofNumberTable(1 << 16)).prove(board, 10_000);
+    // An open three wins against one player, but here each of the others can block one end
+    assertEquals(ProofResult.Outcome.DISPROVEN, result.getOutcome());
+  }
+
+  @Test
+  public void prove_NotEnoughTime_UnknownAndBoardUnchanged() {
+    SearchBoard board = SearchBoard.empty(new Dimensions(20, 20), turnOrder);
+    SearchBoard copy = board.copy();
+    ProofResult result = new ProofNumberSearch(new ProofNumberTable(1 << 16)).prove(board, 1);
+    assertEquals(ProofResult.Outcome.UNKNOWN, result.getOutcome());
+    assertEquals(copy, board);
+  }
+
+  // Creates a board where it is the AI player's turn
+  private SearchBoard createBoard(String boardAsText) {
+    String[] boardLines = boardAsText.split(System.lineSeparator());
+    Board board =
+        new Board(
+            BoardConfiguration.forDimensions(
+                new Dimensions(boardLines[0].length(), boardLines.length)
+            )
+        );
+    for (int i = boardLines.length-1; i >= 0; i--) {
+      for (int charIndex = 0; charIndex < boardLines[i].length(); charIndex++) {
+        if (boardLines[i].charAt(charIndex) == 'A') {
+          board.placePlayerCounterInColumn(aiPlayer, charIndex+1);
+        } else if (boardLines[i].charAt(charIndex) == 'O') {
+          board.placePlayerCounterInColumn(otherPlayer, charIndex+1);
+        }
+      }
+    }
+    return SearchBoard.of(board, turnOrder, aiPlayer);
+  }
+}
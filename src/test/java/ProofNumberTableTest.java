@@ -0,0 +1,80 @@
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+public class ProofNumberTableTest {
+
+  @Test(expected = IllegalArgumentException.class)
+  public void constructor_SizeLessThanOne_ExceptionThrown() {
+    new ProofNumberTable(0);
+  }
+
+  @Test
+  public void constructor_SizeNotPowerOfTwo_RoundedDown() {
+    assertEquals(48, new ProofNumberTable(100).getCapacity());
+  }
+
+  @Test
+  public void find_EmptyTable_NotFound() {
+    assertEquals(-1, new ProofNumberTable(16).find(12345L));
+  }
+
+  @Test
+  public void store_ThenFind_EntryFound() {
+    ProofNumberTable table = new ProofNumberTable(16);
+    table.store(12345L, 3, 7, 42);
+    int index = table.find(12345L);
+    assertNotEquals(-1, index);
+    assertEquals(3, table.getProofNumber(index));
+    assertEquals(7, table.getDisproofNumber(index));
+    assertEquals(42, table.getWork(index));
+  }
+
+  @Test
+  public void store_SamePositionTwice_Replaced() {
+    ProofNumberTable table = new ProofNumberTable(16);
+    table.store(0L, 3, 7, 42);
+    table.store(0L, 0, ProofNumberTable.INFINITY, 50);
+    assertEquals(1, table.size());
+    assertEquals(0, table.getProofNumber(table.find(0L)));
+  }
+
+  @Test
+  public void store_TableFull_CheapestEntriesCollected() {
+    ProofNumberTable table = new ProofNumberTable(16);
+    assertEquals(12, table.getCapacity());
+    for (long hash = 1; hash <= 12; hash++) {
+      // The work grows with the hash, and some positions are solved
+      int proofNumber = hash % 3 == 0 ? 0 : 1;
+      table.store(hash, proofNumber, 1, hash);
+    }
+    table.store(1000L, 1, 1, 1);
+    assertEquals(1, table.getCollections());
+    assertEquals(7, table.size());
+    assertNotEquals(-1, table.find(1000L));
+    for (long hash = 1; hash <= 6; hash++) {
+      assertEquals(-1, table.find(hash));
+    }
+    for (long hash = 7; hash <= 12; hash++) {
+      assertNotEquals(-1, table.find(hash));
+    }
+  }
+
+  @Test
+  public void countSolved_SomeEntriesSolved_OnlySolvedCounted() {
+    ProofNumberTable table = new ProofNumberTable(16);
+    table.store(1L, 0, ProofNumberTable.INFINITY, 1);
+    table.store(2L, ProofNumberTable.INFINITY, 0, 1);
+    table.store(3L, 2, 5, 1);
+    assertEquals(2, table.countSolved());
+  }
+
+  @Test
+  public void clear_EntriesStored_TableEmpty() {
+    ProofNumberTable table = new ProofNumberTable(16);
+    table.store(1L, 1, 1, 1);
+    table.clear();
+    assertEquals(0, table.size());
+    assertEquals(-1, table.find(1L));
+  }
+}
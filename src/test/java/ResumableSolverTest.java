@@ -0,0 +1,100 @@
+import static org.junit.Assert.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class ResumableSolverTest {
+
+  private final VictoryCondition victoryCondition = new ConsecutiveCountersVictoryCondition(4);
+  private final Player firstPlayer =
+      new AIPlayer(PlayerColour.RED, victoryCondition, Difficulty.EASY);
+  private final Player secondPlayer =
+      new AIPlayer(PlayerColour.BLUE, victoryCondition, Difficulty.EASY);
+  private final List<Player> turnOrder = Arrays.asList(firstPlayer, secondPlayer);
+  private final ByteArrayOutputStream output = new ByteArrayOutputStream();
+  private final View view = new SingleSourcePrintStreamView(output);
+
+  private Path path;
+
+  @Before
+  public void createPath() throws IOException {
+    // The solver creates the checkpoint itself
+    path = Files.createTempFile("solve", ".checkpoint");
+    Files.delete(path);
+  }
+
+  @After
+  public void deleteFile() throws IOException {
+    Files.deleteIfExists(path);
+  }
+
+  @Test(expected = NullPointerException.class)
+  public void constructor_NullView_ExceptionThrown() {
+    new ResumableSolver(emptyBoard(), path, 16, 1000, null);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void constructor_NoCheckpointInterval_ExceptionThrown() {
+    new ResumableSolver(emptyBoard(), path, 16, 0, view);
+  }
+
+  @Test
+  public void solve_EnoughTime_SolvedAndCheckpointWritten() throws IOException {
+    SearchBoard board = emptyBoard();
+    ProofResult result = new ResumableSolver(board, path, 1 << 16, 60_000, view).solve(60_000);
+    ProofResult expected = new ProofNumberSearch(new ProofNumberTable(1 << 16)).prove(board, 60_000);
+    assertEquals(expected.getOutcome(), result.getOutcome());
+    assertNotEquals(ProofResult.Outcome.UNKNOWN, result.getOutcome());
+    assertTrue(Files.exists(path));
+    assertTrue(output.toString(), output.toString().contains("Win"));
+  }
+
+  @Test
+  public void solve_Interrupted_ResumedFromCheckpoint() throws IOException {
+    SearchBoard board = emptyBoard();
+    ProofResult first = new ResumableSolver(board, path, 1 << 16, 5, view).solve(20);
+    assertEquals(ProofResult.Outcome.UNKNOWN, first.getOutcome());
+    assertTrue(output.toString(), output.toString().contains("positions searched"));
+
+    ProofResult resumed = new ResumableSolver(board, path, 1 << 16, 60_000, view).solve(60_000);
+    ProofResult expected = new ProofNumberSearch(new ProofNumberTable(1 << 16)).prove(board, 60_000);
+    assertEquals(expected.getOutcome(), resumed.getOutcome());
+    assertTrue(resumed.getNodes() > first.getNodes());
+    assertTrue(output.toString(), output.toString().contains("Resuming"));
+  }
+
+  @Test
+  public void solve_AlreadySolved_ResultReadFromCheckpoint() throws IOException {
+    SearchBoard board = emptyBoard();
+    ProofResult solved = new ResumableSolver(board, path, 1 << 16, 60_000, view).solve(60_000);
+    ProofResult again = new ResumableSolver(board, path, 1 << 16, 60_000, view).solve(60_000);
+    assertEquals(solved.getOutcome(), again.getOutcome());
+    // Only the root needs visiting again
+    assertTrue(again.getNodes() - solved.getNodes() < 10);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void solve_CheckpointForDifferentPosition_ExceptionThrown() throws IOException {
+    SearchBoard board = emptyBoard();
+    new ResumableSolver(board, path, 1 << 16, 5, view).solve(5);
+    board.play(2);
+    new ResumableSolver(board, path, 1 << 16, 5, view).solve(5);
+  }
+
+  @Test(expected = IOException.class)
+  public void solve_NotACheckpoint_ExceptionThrown() throws IOException {
+    Files.write(path, new byte[] {1, 2, 3, 4, 5, 6, 7, 8});
+    new ResumableSolver(emptyBoard(), path, 1 << 16, 5, view).solve(5);
+  }
+
+  private SearchBoard emptyBoard() {
+    return SearchBoard.empty(new Dimensions(5, 4), turnOrder);
+  }
+}
@@ -0,0 +1,309 @@
+import static org.junit.Assert.*;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import org.junit.Test;
+
+public class SearchBoardTest {
+
+  private final Player player1 =
+      new AIPlayer(PlayerColour.RED, new ConsecutiveCountersVictoryCondition(4), Difficulty.EASY);
+  private final Player player2 =
+      new AIPlayer(PlayerColour.BLUE, new ConsecutiveCountersVictoryCondition(3), Difficulty.EASY);
+  private final List<Player> turnOrder = Arrays.asList(player1, player2);
+
+  @Test
+  public void of_BoardWithCounters_CountersCopied() {
+    Board board = new Board(BoardConfiguration.forDimensions(new Dimensions(5, 4)));
+    board.placePlayerCounterInColumn(player1, 1);
+    board.placePlayerCounterInColumn(player2, 1);
+    board.placePlayerCounterInColumn(player1, 3);
+
+    SearchBoard searchBoard = SearchBoard.of(board, turnOrder, player2);
+    assertEquals(5, searchBoard.getWidth());
+    assertEquals(4, searchBoard.getHeight());
+    assertEquals(1, searchBoard.getSeatToMove());
+    assertEquals(3, searchBoard.getNumberOfCounters());
+    assertEquals(0, searchBoard.getSeatAt(0, 0));
+    assertEquals(1, searchBoard.getSeatAt(0, 1));
+    assertEquals(-1, searchBoard.getSeatAt(0, 2));
+    assertEquals(0, searchBoard.getSeatAt(2, 0));
+    assertEquals(2, searchBoard.getColumnHeight(0));
+    assertEquals(0, searchBoard.getColumnHeight(1));
+    assertEquals(4, searchBoard.getCountersRequired(0));
+    assertEquals(3, searchBoard.getCountersRequired(1));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void of_PlayerToMoveNotInTurnOrder_ExceptionThrown() {
+    Board board = new Board(BoardConfiguration.forDimensions(new Dimensions(5, 4)));
+    SearchBoard.of(board, List.of(player1), player2);
+  }
+
+  @Test
+  public void canRepresent_UnsupportedVictoryCondition_ReturnsFalse() {
+    Player player = new AIPlayer(PlayerColour.GREEN, (p, board) -> false, Difficulty.EASY);
+    assertFalse(SearchBoard.canRepresent(Arrays.asList(player1, player)));
+    assertTrue(SearchBoard.canRepresent(turnOrder));
+  }
+
+  @Test
+  public void playAndUndo_Always_RestoresPositionAndHash() {
+    SearchBoard board = SearchBoard.empty(new Dimensions(5, 4), turnOrder);
+    long emptyHash = board.getHash();
+    SearchBoard emptyCopy = board.copy();
+
+    board.play(2);
+    assertEquals(1, board.getSeatToMove());
+    assertEquals(0, board.getSeatAt(2, 0));
+    long oneMoveHash = board.getHash();
+    assertNotEquals(emptyHash, oneMoveHash);
+
+    board.play(2);
+    assertEquals(0, board.getSeatToMove());
+    assertEquals(1, board.getSeatAt(2, 1));
+
+    board.undo();
+    assertEquals(oneMoveHash, board.getHash());
+    board.undo();
+    assertEquals(emptyHash, board.getHash());
+    assertEquals(emptyCopy, board);
+  }
+
+  @Test
+  public void getHash_SamePositionDifferentMoveOrder_SameHash() {
+    SearchBoard board1 = SearchBoard.empty(new Dimensions(5, 4), turnOrder);
+    board1.play(0);
+    board1.play(1);
+    board1.play(2);
+
+    SearchBoard board2 = SearchBoard.empty(new Dimensions(5, 4), turnOrder);
+    board2.play(2);
+    board2.play(1);
+    board2.play(0);
+
+    assertEquals(board1.getHash(), board2.getHash());
+  }
+
+  @Test
+  public void getHash_CopiedFromBoard_MatchesPlayedPosition() {
+    Board board = new Board(BoardConfiguration.forDimensions(new Dimensions(5, 4)));
+    board.placePlayerCounterInColumn(player1, 2);
+    board.placePlayerCounterInColumn(player2, 4);
+
+    SearchBoard searchBoard = SearchBoard.empty(new Dimensions(5, 4), turnOrder);
+    searchBoard.play(1);
+    searchBoard.play(3);
+
+    assertEquals(searchBoard.getHash(), SearchBoard.of(board, turnOrder, player1).getHash());
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void undo_NoMoves_ExceptionThrown() {
+    SearchBoard.empty(new Dimensions(5, 4), turnOrder).undo();
+  }
+
+  @Test
+  public void playMoves_ValidMoves_CountersPlaced() {
+    SearchBoard board = SearchBoard.empty(new Dimensions(5, 4), turnOrder);
+    board.playMoves("1213");
+    assertEquals(4, board.getNumberOfCounters());
+    assertEquals(0, board.getSeatAt(0, 1));
+    assertEquals(1, board.getSeatAt(2, 0));
+    assertEquals(0, board.getSeatToMove());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void playMoves_ColumnOffBoard_ExceptionThrown() {
+    SearchBoard.empty(new Dimensions(5, 4), turnOrder).playMoves("126");
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void playMoves_NotAColumn_ExceptionThrown() {
+    SearchBoard.empty(new Dimensions(5, 4), turnOrder).playMoves("1x");
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void playMoves_ColumnOverfilled_ExceptionThrown() {
+    SearchBoard.empty(new Dimensions(5, 4), turnOrder).playMoves("11111");
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void playMoves_GameWon_ExceptionThrown() {
+    // Blue only needs three in a row
+    SearchBoard.empty(new Dimensions(5, 4), turnOrder).playMoves("121314");
+  }
+
+  @Test
+  public void canPlay_ColumnFull_ReturnsFalse() {
+    SearchBoard board = SearchBoard.empty(new Dimensions(3, 3), turnOrder);
+    board.play(0);
+    board.play(0);
+    assertTrue(board.canPlay(0));
+    board.play(0);
+    assertFalse(board.canPlay(0));
+    assertFalse(board.isFull());
+  }
+
+  @Test
+  public void isWinningMove_Horizontal_DetectedUsingSeatsOwnRequirement() {
+    SearchBoard board = SearchBoard.empty(new Dimensions(6, 4), turnOrder);
+    // Seat 0 needs 4 in a row, seat 1 only needs 3
+    board.play(0);
+    board.play(3);
+    board.play(1);
+    board.play(4);
+    assertFalse(board.isWinningMove(0, 2));
+    assertTrue(board.isWinningMove(1, 2));
+    assertTrue(board.isWinningMove(1, 5));
+
+    board.play(2);
+    board.play(5);
+    assertFalse(board.isWinningMove(1, 3));
+    // Seat 0 now has three in a row on the bottom row, but column 3 lands on the second row
+    assertFalse(board.isWinningMove(0, 3));
+  }
+
+  @Test
+  public void isWinningMove_VerticalAndDiagonal_Detected() {
+    SearchBoard board = SearchBoard.empty(new Dimensions(5, 5), List.of(player1, player2));
+    // Vertical: three of seat 0 in column 0
+    board.play(0);
+    board.play(1);
+    board.play(0);
+    board.play(1);
+    board.play(0);
+    assertTrue(board.isWinningMove(0, 0));
+    assertTrue(board.isWinningMove(1, 1));
+
+    // Diagonal for seat 1 (needs 3): (1,0)... build (2,1) and (3,2)
+    SearchBoard diagonal = SearchBoard.empty(new Dimensions(5, 5), List.of(player1, player2));
+    diagonal.play(2); // seat 0 at (2,0)
+    diagonal.play(1); // seat 1 at (1,0)
+    diagonal.play(3); // seat 0 at (3,0)
+    diagonal.play(2); // seat 1 at (2,1)
+    diagonal.play(3); // seat 0 at (3,1)
+    assertFalse(diagonal.isWinningMove(1, 4));
+    assertTrue(diagonal.isWinningMove(1, 3));
+  }
+
+  @Test
+  public void isCandidate_NarrowBoard_EveryPlayableColumn() {
+    SearchBoard board = SearchBoard.empty(new Dimensions(7, 3), turnOrder);
+    board.play(0);
+    board.play(0);
+    board.play(0);
+    assertFalse(board.isSparse());
+    assertFalse(board.isCandidate(0));
+    for (int column = 1; column < 7; column++) {
+      assertTrue(board.isCandidate(column));
+    }
+  }
+
+  @Test
+  public void isCandidate_WideEmptyBoard_OnlyProbeColumns() {
+    SearchBoard board = SearchBoard.empty(new Dimensions(40, 6), turnOrder);
+    assertTrue(board.isSparse());
+    assertTrue(board.isCandidate(19));
+    assertTrue(board.isCandidate(10));
+    assertTrue(board.isCandidate(29));
+    assertFalse(board.isCandidate(0));
+    assertFalse(board.isCandidate(20));
+    // The board is symmetric, so the probe on the right is the mirror image of the one on the left
+    int[] moves = new int[40];
+    int count = board.getCandidateMoves(moves);
+    assertArrayEquals(new int[] {19, 10}, Arrays.copyOf(moves, count));
+  }
+
+  @Test
+  public void isCandidate_WideBoard_ColumnsWithinReachOfCounters() {
+    SearchBoard board = SearchBoard.empty(new Dimensions(40, 6), turnOrder);
+    board.play(2);
+    // Seat 0 needs 4 in a row, so the columns within 3 of a counter are in reach
+    for (int column = 0; column < 40; column++) {
+      boolean probe = column == 19 || column == 10 || column == 29;
+      assertEquals("Column " + column, column <= 5 || probe, board.isCandidate(column));
+    }
+    board.undo();
+    assertFalse(board.isCandidate(2));
+  }
+
+  @Test
+  public void isCandidate_RandomMoves_WinningMovesAlwaysCandidates() {
+    SearchBoard board = SearchBoard.empty(new Dimensions(30, 5), turnOrder);
+    SplittableRandom random = new SplittableRandom(3);
+    for (int step = 0; step < 3000; step++) {
+      int column = random.nextInt(board.getWidth());
+      if (board.getNumberOfMoves() > 0 && (random.nextInt(3) == 0 || board.isFull())) {
+        board.undo();
+      } else if (board.canPlay(column)) {
+        board.play(column);
+      }
+      SearchBoard copy = board.copy();
+      int[] moves = new int[board.getWidth()];
+      assertEquals(board.isFull(), board.getCandidateMoves(moves) == 0);
+      for (int c = 0; c < board.getWidth(); c++) {
+        assertEquals(board.isCandidate(c), copy.isCandidate(c));
+        for (int seat = 0; seat < 2; seat++) {
+          if (board.canPlay(c) && board.isWinningMove(seat, c)) {
+            assertTrue(board.isCandidate(c));
+          }
+        }
+      }
+    }
+  }
+
+  @Test
+  public void getMirroredHash_MirroredMoves_MatchesHashOfMirrorImage() {
+    SearchBoard board = SearchBoard.empty(new Dimensions(7, 6), turnOrder);
+    SearchBoard mirrored = board.copy();
+    for (int column : new int[] {0, 3, 5, 5, 1}) {
+      board.play(column);
+      mirrored.play(board.getMirrorColumn(column));
+      assertEquals(mirrored.getHash(), board.getMirroredHash());
+      assertEquals(board.getHash(), mirrored.getMirroredHash());
+      assertEquals(board.getCanonicalHash(), mirrored.getCanonicalHash());
+      assertNotEquals(board.isCanonical(), mirrored.isCanonical());
+    }
+    while (board.getNumberOfMoves() > 0) {
+      board.undo();
+    }
+    assertEquals(board.getHash(), board.getMirroredHash());
+  }
+
+  @Test
+  public void isSymmetric_OpposingCountersOfDifferentPlayers_False() {
+    SearchBoard board = SearchBoard.empty(new Dimensions(6, 6), turnOrder);
+    assertTrue(board.isSymmetric());
+    board.play(1);
+    assertFalse(board.isSymmetric());
+    board.play(4);
+    assertFalse(board.isSymmetric());
+    board.undo();
+    board.undo();
+    assertTrue(board.isSymmetric());
+  }
+
+  @Test
+  public void isSymmetric_MirroredCounters_True() {
+    SearchBoard board = SearchBoard.empty(new Dimensions(5, 6), turnOrder);
+    for (int column : new int[] {2, 0, 2, 4}) {
+      board.play(column);
+    }
+    assertTrue(board.isSymmetric());
+    assertEquals(board.getHash(), board.getMirroredHash());
+    assertTrue(board.isCanonical());
+  }
+
+  @Test
+  public void toCanonicalColumn_MirrorImages_SameCanonicalMove() {
+    SearchBoard board = SearchBoard.empty(new Dimensions(7, 6), turnOrder);
+    board.play(1);
+    SearchBoard mirrored = SearchBoard.empty(new Dimensions(7, 6), turnOrder);
+    mirrored.play(5);
+    assertEquals(board.toCanonicalColumn(2), mirrored.toCanonicalColumn(4));
+    assertEquals(2, board.toCanonicalColumn(board.toCanonicalColumn(2)));
+    assertEquals(-1, board.toCanonicalColumn(-1));
+  }
+}
@@ -0,0 +1,59 @@
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+public class SearchCalibrationTest {
+
+  private final SearchSettings settings =
+      SearchSettings.builder().setTimeLimitMillis(1000).build();
+
+  @Test(expected = IllegalArgumentException.class)
+  public void of_NoSpeed_ExceptionThrown() {
+    SearchCalibration.of(0);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void measure_NoTime_ExceptionThrown() {
+    SearchCalibration.measure(0);
+  }
+
+  @Test
+  public void measure_ShortBenchmark_SpeedMeasured() {
+    assertTrue(SearchCalibration.measure(50).getNodesPerSecond() > 1);
+  }
+
+  @Test
+  public void calibrate_HalfSpeedNoBudget_ReferenceBudgetAndLongerTimeLimit() {
+    SearchCalibration calibration =
+        SearchCalibration.of(SearchCalibration.REFERENCE_NODES_PER_SECOND / 2);
+    SearchSettings calibrated = calibration.calibrate(settings);
+    assertEquals(1_500_000, calibrated.getMaximumNodes());
+    assertEquals(2500, calibrated.getTimeLimitMillis());
+    assertEquals(2000, calibration.estimateMillis(calibrated.getMaximumNodes()));
+  }
+
+  @Test
+  public void calibrate_DoubleSpeedNoBudget_ReferenceBudgetAndShorterTimeLimit() {
+    SearchSettings calibrated =
+        SearchCalibration.of(SearchCalibration.REFERENCE_NODES_PER_SECOND * 2).calibrate(settings);
+    assertEquals(1_500_000, calibrated.getMaximumNodes());
+    assertEquals(625, calibrated.getTimeLimitMillis());
+  }
+
+  @Test
+  public void calibrate_BudgetAlreadySet_BudgetKept() {
+    SearchSettings budgeted = settings.toBuilder().setMaximumNodes(3_000_000).build();
+    SearchSettings calibrated =
+        SearchCalibration.of(SearchCalibration.REFERENCE_NODES_PER_SECOND).calibrate(budgeted);
+    assertEquals(3_000_000, calibrated.getMaximumNodes());
+    assertEquals(2500, calibrated.getTimeLimitMillis());
+  }
+
+  @Test
+  public void calibrate_Always_OtherSettingsKept() {
+    SearchSettings threaded = settings.toBuilder().setThreads(3).build();
+    SearchSettings calibrated =
+        SearchCalibration.of(SearchCalibration.REFERENCE_NODES_PER_SECOND).calibrate(threaded);
+    assertEquals(3, calibrated.getThreads());
+  }
+}
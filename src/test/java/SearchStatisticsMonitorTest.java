@@ -0,0 +1,68 @@
+import static org.junit.Assert.*;
+
+import java.lang.management.ManagementFactory;
+import javax.management.MBeanServer;
+import org.junit.Test;
+
+public class SearchStatisticsMonitorTest {
+
+  @Test
+  public void record_TwoMoves_TotalsAndAveragesKept() {
+    SearchStatisticsMonitor monitor = new SearchStatisticsMonitor();
+    monitor.record(SearchStatistics.builder()
+        .setNodes(100).setElapsedNanos(1_000_000L).setDepth(2).setTableProbes(10).setTableHits(5)
+        .build());
+    monitor.record(SearchStatistics.builder()
+        .setNodes(1_000).setElapsedNanos(9_000_000L).setDepth(3).setTableProbes(30).setTableHits(5)
+        .build());
+    assertEquals(2, monitor.getMovesSearched());
+    assertEquals(1_100, monitor.getNodes());
+    assertEquals(10, monitor.getSearchMillis());
+    assertEquals(110_000, monitor.getNodesPerSecond(), 1e-6);
+    assertEquals(2.5, monitor.getAverageDepth(), 1e-9);
+    assertEquals(0.25, monitor.getTableHitRate(), 1e-9);
+    assertEquals(10, monitor.getAverageEffectiveBranchingFactor(), 1e-9);
+    assertEquals(1_000, monitor.getLastNodes());
+    assertEquals(3, monitor.getLastDepth());
+  }
+
+  @Test
+  public void reset_AfterRecording_EverythingForgotten() {
+    SearchStatisticsMonitor monitor = new SearchStatisticsMonitor();
+    monitor.record(SearchStatistics.builder().setNodes(100).setDepth(2).build());
+    monitor.reset();
+    assertEquals(0, monitor.getMovesSearched());
+    assertEquals(0, monitor.getNodes());
+    assertEquals(0, monitor.getLastNodes());
+    assertTrue(Double.isNaN(monitor.getAverageDepth()));
+  }
+
+  @Test
+  public void recordTier_SeveralMoves_EachTierCounted() {
+    SearchStatisticsMonitor monitor = new SearchStatisticsMonitor();
+    monitor.recordTier(DeadlineStrategy.Tier.STRATEGY);
+    monitor.recordTier(DeadlineStrategy.Tier.STRATEGY);
+    monitor.recordTier(DeadlineStrategy.Tier.BEST_SO_FAR);
+    monitor.recordTier(DeadlineStrategy.Tier.WIN_OR_BLOCK);
+    assertEquals(2, monitor.getMovesInTime());
+    assertEquals(1, monitor.getMovesStoppedEarly());
+    assertEquals(1, monitor.getWinOrBlockFallbacks());
+    assertEquals(0, monitor.getRandomFallbacks());
+    monitor.reset();
+    assertEquals(0, monitor.getMovesInTime());
+  }
+
+  @Test
+  public void forPlayer_SameColour_SameMonitorPublished() throws Exception {
+    Player player = new AIPlayer(
+        PlayerColour.CYAN, new ConsecutiveCountersVictoryCondition(4), Difficulty.HARD);
+    SearchStatisticsMonitor monitor = SearchStatisticsMonitor.forPlayer(player);
+    assertSame(monitor, SearchStatisticsMonitor.forPlayer(player));
+
+    MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+    long moves = monitor.getMovesSearched();
+    monitor.record(SearchStatistics.builder().setNodes(100).setDepth(2).build());
+    assertEquals(moves + 1, server.getAttribute(
+        SearchStatisticsMonitor.getObjectName(PlayerColour.CYAN), "MovesSearched"));
+  }
+}
@@ -0,0 +1,66 @@
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+public class SearchStatisticsTest {
+
+  private final SearchStatistics statistics = SearchStatistics.builder()
+      .setNodes(10_000)
+      .setElapsedNanos(500_000_000L)
+      .setDepth(4)
+      .setTableProbes(200)
+      .setTableHits(50)
+      .setExpandedNodes(1_000)
+      .setCutoffs(400)
+      .setFirstMoveCutoffs(300)
+      .build();
+
+  @Test
+  public void rates_CountsSet_RatesCalculated() {
+    assertEquals(20_000, statistics.getNodesPerSecond(), 1e-9);
+    assertEquals(0.25, statistics.getTableHitRate(), 1e-9);
+    assertEquals(0.4, statistics.getCutoffRate(), 1e-9);
+    assertEquals(0.75, statistics.getFirstMoveCutoffRate(), 1e-9);
+    assertEquals(10, statistics.getEffectiveBranchingFactor(), 1e-9);
+  }
+
+  @Test
+  public void rates_NothingCounted_RatesNotANumber() {
+    SearchStatistics empty = SearchStatistics.builder().build();
+    assertTrue(Double.isNaN(empty.getNodesPerSecond()));
+    assertTrue(Double.isNaN(empty.getTableHitRate()));
+    assertTrue(Double.isNaN(empty.getCutoffRate()));
+    assertTrue(Double.isNaN(empty.getFirstMoveCutoffRate()));
+    assertTrue(Double.isNaN(empty.getEffectiveBranchingFactor()));
+  }
+
+  @Test
+  public void combine_HelperSearch_CountsAddedDepthAndTimeKept() {
+    SearchStatistics helper = SearchStatistics.builder()
+        .setNodes(5_000)
+        .setElapsedNanos(900_000_000L)
+        .setDepth(6)
+        .setTableProbes(100)
+        .setTableHits(10)
+        .setExpandedNodes(500)
+        .setCutoffs(200)
+        .setFirstMoveCutoffs(100)
+        .build();
+    SearchStatistics combined = statistics.combine(helper);
+    assertEquals(15_000, combined.getNodes());
+    assertEquals(500_000_000L, combined.getElapsedNanos());
+    assertEquals(4, combined.getDepth());
+    assertEquals(300, combined.getTableProbes());
+    assertEquals(60, combined.getTableHits());
+    assertEquals(1_500, combined.getExpandedNodes());
+    assertEquals(600, combined.getCutoffs());
+    assertEquals(400, combined.getFirstMoveCutoffs());
+  }
+
+  @Test
+  public void toString_NoTable_TableHitRateLeftOut() {
+    String description = SearchStatistics.builder().setNodes(100).setDepth(2).build().toString();
+    assertTrue(description, description.contains("depth 2"));
+    assertFalse(description, description.contains("table"));
+  }
+}
@@ -0,0 +1,35 @@
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+public class SimulationSummaryTest {
+
+  private final SimulationSummary summary =
+      new SimulationSummary(new long[] {5, 3}, 2, 250, 2_000_000_000L);
+
+  @Test
+  public void getGames_WinsAndDraws_Total() {
+    assertEquals(10, summary.getGames());
+    assertEquals(5, summary.getWins(0));
+    assertEquals(3, summary.getWins(1));
+    assertEquals(2, summary.getDraws());
+  }
+
+  @Test
+  public void getAverageGameLength_MovesAcrossGames_MovesPerGame() {
+    assertEquals(25.0, summary.getAverageGameLength(), 1e-9);
+  }
+
+  @Test
+  public void getGamesPerSecond_ElapsedTime_GamesPerSecond() {
+    assertEquals(5.0, summary.getGamesPerSecond(), 1e-9);
+  }
+
+  @Test
+  public void toString_Summary_ContainsEachSeat() {
+    String description = summary.toString();
+    assertTrue(description.contains("Player 1 wins: 5 (50.0%)"));
+    assertTrue(description.contains("Player 2 wins: 3 (30.0%)"));
+    assertTrue(description.contains("Draws: 2 (20.0%)"));
+  }
+}
@@ -0,0 +1,137 @@
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class TablebaseTest {
+
+  private final VictoryCondition victoryCondition = new ConsecutiveCountersVictoryCondition(3);
+  private final Player firstPlayer =
+      new AIPlayer(PlayerColour.RED, victoryCondition, Difficulty.EASY);
+  private final Player secondPlayer =
+      new AIPlayer(PlayerColour.BLUE, victoryCondition, Difficulty.EASY);
+  private final List<Player> turnOrder = Arrays.asList(firstPlayer, secondPlayer);
+  private final Dimensions dimensions = new Dimensions(4, 4);
+
+  private Path path;
+
+  @Before
+  public void createFile() throws IOException {
+    path = Files.createTempFile("small", ".tablebase");
+  }
+
+  @After
+  public void deleteFile() throws IOException {
+    Files.deleteIfExists(path);
+  }
+
+  @Test
+  public void canGenerate_SmallBoard_True() {
+    assertTrue(TablebaseGenerator.canGenerate(new Dimensions(5, 4)));
+    assertTrue(TablebaseGenerator.canGenerate(new Dimensions(6, 4)));
+  }
+
+  @Test
+  public void canGenerate_BoardTooLarge_False() {
+    assertFalse(TablebaseGenerator.canGenerate(new Dimensions(6, 5)));
+    assertFalse(TablebaseGenerator.canGenerate(new Dimensions(7, 6)));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void generatorConstructor_BoardTooLarge_ExceptionThrown() {
+    new TablebaseGenerator(new Dimensions(7, 6), 4, 1);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void generatorConstructor_NoThreads_ExceptionThrown() {
+    new TablebaseGenerator(dimensions, 3, 0);
+  }
+
+  @Test
+  public void probe_RandomPositions_AgreesWithSolver() throws Exception {
+    new TablebaseGenerator(dimensions, 3, 2).generate(path);
+    Tablebase tablebase = Tablebase.open(path);
+    PerfectSolver solver = new PerfectSolver(1 << 16);
+    Random random = new Random(42);
+    for (int game = 0; game < 100; game++) {
+      SearchBoard board = randomPosition(random);
+      if (board == null) {
+        continue;
+      }
+      int score = solver.solve(board, 10_000).get().getScore();
+      int expected = score > 0 ? Tablebase.WIN : score == 0 ? Tablebase.DRAW : Tablebase.LOSS;
+      assertEquals(board.toString(), expected, tablebase.probe(board));
+
+      // The best move must keep the result
+      int column = tablebase.getBestColumn(board);
+      if (!board.isWinningMove(board.getSeatToMove(), column)) {
+        board.play(column);
+        int scoreAfterMove = board.isFull() ? 0 : -solver.solve(board, 10_000).get().getScore();
+        assertEquals(Integer.signum(score), Integer.signum(scoreAfterMove));
+      }
+    }
+  }
+
+  @Test
+  public void probe_DifferentGame_Unknown() throws Exception {
+    new TablebaseGenerator(dimensions, 3, 1).generate(path);
+    Tablebase tablebase = Tablebase.open(path);
+    SearchBoard board = SearchBoard.empty(new Dimensions(5, 4), turnOrder);
+    assertFalse(tablebase.isFor(board));
+    assertEquals(Tablebase.UNKNOWN, tablebase.probe(board));
+    assertEquals(-1, tablebase.getBestColumn(board));
+  }
+
+  @Test
+  public void getBestColumn_WinAvailable_WinningColumnChosen() throws Exception {
+    new TablebaseGenerator(dimensions, 3, 1).generate(path);
+    SearchBoard board = SearchBoard.empty(dimensions, turnOrder);
+    for (int column : new int[] {0, 0, 1, 1}) {
+      board.play(column);
+    }
+    SearchBoard copy = board.copy();
+    assertEquals(2, Tablebase.open(path).getBestColumn(board));
+    assertEquals(copy, board);
+  }
+
+  @Test(expected = IOException.class)
+  public void open_NotATablebase_ExceptionThrown() throws IOException {
+    Files.write(path, new byte[] {1, 2, 3, 4, 5, 6, 7, 8});
+    Tablebase.open(path);
+  }
+
+  @Test
+  public void withTablebase_StrategyLooksUpMoves() throws Exception {
+    new TablebaseGenerator(dimensions, 3, 1).generate(path);
+    Difficulty difficulty = Difficulty.EASY.withTablebase(Tablebase.open(path));
+    assertTrue(difficulty.getTablebase().isPresent());
+    assertTrue(difficulty.getStrategy(victoryCondition) instanceof TablebaseStrategy);
+  }
+
+  // Plays random moves, returning null if the game ends first
+  private SearchBoard randomPosition(Random random) {
+    SearchBoard board = SearchBoard.empty(dimensions, turnOrder);
+    int moves = random.nextInt(10);
+    for (int i = 0; i < moves; i++) {
+      int column;
+      do {
+        column = random.nextInt(dimensions.getWidth());
+      } while (!board.canPlay(column));
+      if (board.isWinningMove(board.getSeatToMove(), column)) {
+        return null;
+      }
+      board.play(column);
+      if (board.isFull()) {
+        return null;
+      }
+    }
+    return board;
+  }
+}
@@ -0,0 +1,131 @@
+import static org.junit.Assert.*;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.OptionalInt;
+import org.junit.Test;
+
+public class ThreatAnalysisTest {
+
+  private final VictoryCondition victoryCondition = new ConsecutiveCountersVictoryCondition(4);
+  private final Player aiPlayer = new AIPlayer(PlayerColour.RED, victoryCondition, Difficulty.EASY);
+  private final Player otherPlayer =
+      new AIPlayer(PlayerColour.BLUE, victoryCondition, Difficulty.EASY);
+  private final Player thirdPlayer =
+      new AIPlayer(PlayerColour.GREEN, victoryCondition, Difficulty.EASY);
+  private final List<Player> players = Arrays.asList(aiPlayer, otherPlayer, thirdPlayer);
+
+  @Test
+  public void canAnalyse_OtherVictoryCondition_False() {
+    Player player = new AIPlayer(PlayerColour.CYAN, (p, board) -> false, Difficulty.EASY);
+    assertTrue(ThreatAnalysis.canAnalyse(players));
+    assertFalse(ThreatAnalysis.canAnalyse(Arrays.asList(aiPlayer, player)));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void of_OtherVictoryCondition_ExceptionThrown() {
+    Player player = new AIPlayer(PlayerColour.CYAN, (p, board) -> false, Difficulty.EASY);
+    ThreatAnalysis.of(createBoard("   " + System.lineSeparator() +
+        "   " + System.lineSeparator() +
+        "   "), Arrays.asList(aiPlayer, player));
+  }
+
+  @Test
+  public void of_EmptyBoard_NoWinners() {
+    ThreatAnalysis threats = ThreatAnalysis.of(createBoard(
+        "     " + System.lineSeparator() +
+            "     " + System.lineSeparator() +
+            "     "
+    ), players);
+    for (int column = 1; column <= 5; column++) {
+      assertEquals(Collections.emptyList(), threats.getWinners(column));
+    }
+    assertFalse(threats.getWinningColumn(aiPlayer).isPresent());
+  }
+
+  @Test
+  public void of_ThreatsInEveryDirection_WinnersFound() {
+    // A wins in column 1 vertically, O wins in column 5 on the diagonal, and T can't win
+    ThreatAnalysis threats = ThreatAnalysis.of(createBoard(
+        "       " + System.lineSeparator() +
+            "A  OT  " + System.lineSeparator() +
+            "A OAA  " + System.lineSeparator() +
+            "AOTAT  "
+    ), players);
+    assertEquals(Collections.singletonList(aiPlayer), threats.getWinners(1));
+    assertEquals(Collections.emptyList(), threats.getWinners(2));
+    assertEquals(Collections.singletonList(otherPlayer), threats.getWinners(5));
+    assertEquals(OptionalInt.of(1), threats.getWinningColumn(aiPlayer));
+    assertEquals(OptionalInt.of(5), threats.getWinningColumn(otherPlayer));
+    assertFalse(threats.getWinningColumn(thirdPlayer).isPresent());
+  }
+
+  @Test
+  public void of_SameCellWinsForTwoPlayers_BothReturned() {
+    ThreatAnalysis threats = ThreatAnalysis.of(createBoard(
+        "       " + System.lineSeparator() +
+            "       " + System.lineSeparator() +
+            "AAA OOO"
+    ), players);
+    assertEquals(Arrays.asList(aiPlayer, otherPlayer), threats.getWinners(4));
+    assertTrue(threats.isWinningColumn(aiPlayer, 4));
+    assertTrue(threats.isWinningColumn(otherPlayer, 4));
+    assertFalse(threats.isWinningColumn(thirdPlayer, 4));
+  }
+
+  @Test
+  public void of_PlayersNeedDifferentCounters_EachPlayersConditionUsed() {
+    Player shortLinePlayer = new AIPlayer(
+        PlayerColour.CYAN, new ConsecutiveCountersVictoryCondition(3), Difficulty.EASY);
+    Board board = createBoard(
+        "       " + System.lineSeparator() +
+            "       " + System.lineSeparator() +
+            "AA     "
+    );
+    board.placePlayerCounterInColumn(shortLinePlayer, 5);
+    board.placePlayerCounterInColumn(shortLinePlayer, 6);
+    ThreatAnalysis threats = ThreatAnalysis.of(board, Arrays.asList(aiPlayer, shortLinePlayer));
+    assertFalse(threats.getWinningColumn(aiPlayer).isPresent());
+    assertEquals(OptionalInt.of(4), threats.getWinningColumn(shortLinePlayer));
+  }
+
+  @Test
+  public void getWinners_FullColumn_NoWinners() {
+    ThreatAnalysis threats = ThreatAnalysis.of(createBoard(
+        "A  " + System.lineSeparator() +
+            "A  " + System.lineSeparator() +
+            "A  "
+    ), players);
+    assertEquals(Collections.emptyList(), threats.getWinners(1));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void getWinners_ColumnOutOfBounds_ExceptionThrown() {
+    ThreatAnalysis.of(createBoard("   " + System.lineSeparator() +
+        "   " + System.lineSeparator() +
+        "   "), players).getWinners(4);
+  }
+
+  private Board createBoard(String boardAsText) {
+    String[] boardLines = boardAsText.split(System.lineSeparator());
+    Board board =
+        new Board(
+            BoardConfiguration.forDimensions(
+                new Dimensions(boardLines[0].length(), boardLines.length)
+            )
+        );
+    for (int i = boardLines.length-1; i >= 0; i--) {
+      for (int charIndex = 0; charIndex < boardLines[i].length(); charIndex++) {
+        if (boardLines[i].charAt(charIndex) == 'A') {
+          board.placePlayerCounterInColumn(aiPlayer, charIndex+1);
+        } else if (boardLines[i].charAt(charIndex) == 'O') {
+          board.placePlayerCounterInColumn(otherPlayer, charIndex+1);
+        } else if (boardLines[i].charAt(charIndex) == 'T') {
+          board.placePlayerCounterInColumn(thirdPlayer, charIndex+1);
+        }
+      }
+    }
+    return board;
+  }
+}
@@ -0,0 +1,94 @@
+import static org.junit.Assert.*;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import org.junit.Test;
+
+public class ThreatCacheTest {
+
+  private final VictoryCondition victoryCondition = new ConsecutiveCountersVictoryCondition(4);
+  private final Player aiPlayer = new AIPlayer(PlayerColour.RED, victoryCondition, Difficulty.EASY);
+  private final Player otherPlayer =
+      new AIPlayer(PlayerColour.BLUE, victoryCondition, Difficulty.EASY);
+  private final List<Player> players = Arrays.asList(aiPlayer, otherPlayer);
+
+  @Test(expected = IllegalArgumentException.class)
+  public void constructor_OtherVictoryCondition_ExceptionThrown() {
+    Player player = new AIPlayer(PlayerColour.CYAN, (p, board) -> false, Difficulty.EASY);
+    new ThreatCache(Arrays.asList(aiPlayer, player));
+  }
+
+  @Test
+  public void update_FirstUpdate_WholeBoardAnalysed() {
+    Board board = createBoard(20, 6);
+    ThreatCache cache = new ThreatCache(players);
+    cache.update(board);
+    assertEquals(20, cache.getColumnsLastAnalysed());
+  }
+
+  @Test
+  public void update_CountersPlaced_OnlyNearbyColumnsAnalysed() {
+    Board board = createBoard(20, 6);
+    ThreatCache cache = new ThreatCache(players);
+    cache.update(board);
+    board.placePlayerCounterInColumn(aiPlayer, 1);
+    board.placePlayerCounterInColumn(otherPlayer, 20);
+    cache.update(board);
+    // Columns 1-4 and 17-20 are within 3 columns of the new counters
+    assertEquals(8, cache.getColumnsLastAnalysed());
+    cache.update(board);
+    assertEquals(0, cache.getColumnsLastAnalysed());
+  }
+
+  @Test
+  public void update_ThreatsMadeBetweenUpdates_SameAsFullAnalysis() {
+    Board board = createBoard(7, 6);
+    ThreatCache cache = new ThreatCache(players);
+    cache.update(board);
+    board.placePlayerCounterInColumn(aiPlayer, 2);
+    board.placePlayerCounterInColumn(otherPlayer, 2);
+    board.placePlayerCounterInColumn(aiPlayer, 3);
+    board.placePlayerCounterInColumn(otherPlayer, 3);
+    cache.update(board);
+    board.placePlayerCounterInColumn(aiPlayer, 4);
+    board.placePlayerCounterInColumn(otherPlayer, 4);
+    ThreatAnalysis threats = cache.update(board);
+    ThreatAnalysis expected = ThreatAnalysis.of(board, players);
+    for (int column = 1; column <= 7; column++) {
+      assertEquals(expected.getWinners(column), threats.getWinners(column));
+    }
+    // O's line is on the second row, which no counter can land on yet
+    assertEquals(Collections.singletonList(aiPlayer), threats.getWinners(1));
+    assertEquals(Collections.singletonList(aiPlayer), threats.getWinners(5));
+  }
+
+  @Test
+  public void update_EarlierAnalysis_Unchanged() {
+    Board board = createBoard(7, 6);
+    ThreatCache cache = new ThreatCache(players);
+    board.placePlayerCounterInColumn(aiPlayer, 1);
+    board.placePlayerCounterInColumn(aiPlayer, 2);
+    ThreatAnalysis earlier = cache.update(board);
+    board.placePlayerCounterInColumn(aiPlayer, 3);
+    cache.update(board);
+    assertEquals(Collections.emptyList(), earlier.getWinners(4));
+  }
+
+  @Test
+  public void update_DifferentBoard_WholeBoardAnalysed() {
+    ThreatCache cache = new ThreatCache(players);
+    cache.update(createBoard(7, 6));
+    Board board = createBoard(7, 6);
+    board.placePlayerCounterInColumn(aiPlayer, 1);
+    board.placePlayerCounterInColumn(aiPlayer, 1);
+    board.placePlayerCounterInColumn(aiPlayer, 1);
+    ThreatAnalysis threats = cache.update(board);
+    assertEquals(7, cache.getColumnsLastAnalysed());
+    assertEquals(Collections.singletonList(aiPlayer), threats.getWinners(1));
+  }
+
+  private Board createBoard(int width, int height) {
+    return new Board(BoardConfiguration.forDimensions(new Dimensions(width, height)));
+  }
+}
@@ -0,0 +1,73 @@
+import static org.junit.Assert.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class TranspositionTableStoreTest {
+
+  private final List<Player> turnOrder = Arrays.asList(
+      new AIPlayer(PlayerColour.RED, new ConsecutiveCountersVictoryCondition(4), Difficulty.EASY),
+      new AIPlayer(PlayerColour.BLUE, new ConsecutiveCountersVictoryCondition(3), Difficulty.EASY));
+  private final SearchBoard board = SearchBoard.empty(new Dimensions(7, 6), turnOrder);
+
+  private Path directory;
+
+  @Before
+  public void createDirectory() throws IOException {
+    directory = Files.createTempDirectory("tables");
+  }
+
+  @After
+  public void deleteDirectory() throws IOException {
+    try (Stream<Path> paths = Files.walk(directory)) {
+      // Delete the files before the directories holding them
+      paths.sorted(Comparator.reverseOrder()).map(Path::toFile).forEach(File::delete);
+    }
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void constructor_NoEntries_ExceptionThrown() {
+    new TranspositionTableStore(directory, 0);
+  }
+
+  @Test
+  public void getTable_SameGameTwice_SameTable() throws Exception {
+    TranspositionTableStore store = new TranspositionTableStore(directory, 16);
+    assertSame(store.getTable(board), store.getTable(board.copy()));
+    assertTrue(Files.exists(directory.resolve("7x6-4-3.table")));
+  }
+
+  @Test
+  public void getTable_DifferentGames_DifferentTables() throws Exception {
+    TranspositionTableStore store = new TranspositionTableStore(directory, 16);
+    SearchBoard otherBoard = SearchBoard.empty(new Dimensions(8, 6), turnOrder);
+    assertNotSame(store.getTable(board), store.getTable(otherBoard));
+  }
+
+  @Test
+  public void getTable_MissingDirectory_DirectoryCreated() throws Exception {
+    TranspositionTableStore store = new TranspositionTableStore(directory.resolve("nested"), 16);
+    store.getTable(board);
+    assertTrue(Files.exists(directory.resolve("nested").resolve("7x6-4-3.table")));
+  }
+
+  @Test
+  public void getTable_NewStoreForSameDirectory_EntriesKept() throws Exception {
+    TranspositionTableStore store = new TranspositionTableStore(directory, 16);
+    store.getTable(board).store(12345L, 42, 9, TranspositionTable.EXACT, 3);
+    store.flush();
+
+    long entry = new TranspositionTableStore(directory, 16).getTable(board).probe(12345L);
+    assertEquals(42, TranspositionTable.getScore(entry));
+    assertEquals(9, TranspositionTable.getDepth(entry));
+  }
+}
@@ -0,0 +1,153 @@
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class TranspositionTableTest {
+
+  private final VictoryCondition victoryCondition = new ConsecutiveCountersVictoryCondition(4);
+  private final List<Player> turnOrder = Arrays.asList(
+      new AIPlayer(PlayerColour.RED, victoryCondition, Difficulty.EASY),
+      new AIPlayer(PlayerColour.BLUE, victoryCondition, Difficulty.EASY));
+  private final SearchBoard board = SearchBoard.empty(new Dimensions(7, 6), turnOrder);
+
+  private Path path;
+
+  @Before
+  public void createFile() throws IOException {
+    path = Files.createTempFile("search", ".table");
+  }
+
+  @After
+  public void deleteFile() throws IOException {
+    Files.deleteIfExists(path);
+  }
+
+  @Test
+  public void constructor_SizeNotPowerOfTwo_RoundedUp() {
+    assertEquals(8, new TranspositionTable(5).size());
+    assertEquals(8, new TranspositionTable(8).size());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void constructor_SizeLessThanOne_ExceptionThrown() {
+    new TranspositionTable(0);
+  }
+
+  @Test
+  public void probe_EmptyTable_ReturnsMiss() {
+    assertEquals(TranspositionTable.MISS, new TranspositionTable(16).probe(12345L));
+  }
+
+  @Test
+  public void store_ThenProbe_EntryUnpacked() {
+    TranspositionTable table = new TranspositionTable(16);
+    table.store(12345L, -987, 7, TranspositionTable.LOWER_BOUND, 3);
+    long entry = table.probe(12345L);
+    assertNotEquals(TranspositionTable.MISS, entry);
+    assertEquals(-987, TranspositionTable.getScore(entry));
+    assertEquals(7, TranspositionTable.getDepth(entry));
+    assertEquals(TranspositionTable.LOWER_BOUND, TranspositionTable.getBound(entry));
+    assertEquals(3, TranspositionTable.getMove(entry));
+  }
+
+  @Test
+  public void store_NoMove_MoveUnpackedAsMinusOne() {
+    TranspositionTable table = new TranspositionTable(16);
+    table.store(1L, 0, 0, TranspositionTable.EXACT, -1);
+    assertEquals(-1, TranspositionTable.getMove(table.probe(1L)));
+  }
+
+  @Test
+  public void probe_DifferentPositionInSameSlot_ReturnsMiss() {
+    TranspositionTable table = new TranspositionTable(16);
+    table.store(1L, 10, 1, TranspositionTable.EXACT, 0);
+    assertEquals(TranspositionTable.MISS, table.probe(17L));
+  }
+
+  @Test
+  public void store_ShallowerSearchOfSamePosition_DoesNotReplace() {
+    TranspositionTable table = new TranspositionTable(16);
+    table.store(1L, 10, 5, TranspositionTable.EXACT, 0);
+    table.store(1L, 20, 3, TranspositionTable.EXACT, 1);
+    assertEquals(10, TranspositionTable.getScore(table.probe(1L)));
+
+    table.store(17L, 30, 1, TranspositionTable.EXACT, 2);
+    assertEquals(TranspositionTable.MISS, table.probe(1L));
+    assertEquals(30, TranspositionTable.getScore(table.probe(17L)));
+  }
+
+  @Test
+  public void clear_Always_RemovesEntries() {
+    TranspositionTable table = new TranspositionTable(16);
+    table.store(1L, 10, 5, TranspositionTable.EXACT, 0);
+    table.clear();
+    assertEquals(TranspositionTable.MISS, table.probe(1L));
+  }
+
+  @Test
+  public void map_NewFile_EmptyTable() throws Exception {
+    TranspositionTable table = TranspositionTable.map(path, board, 5);
+    assertEquals(8, table.size());
+    assertEquals(TranspositionTable.MISS, table.probe(12345L));
+  }
+
+  @Test
+  public void map_SameGameAgain_EntriesKept() throws Exception {
+    TranspositionTable table = TranspositionTable.map(path, board, 16);
+    table.store(12345L, -987, 7, TranspositionTable.LOWER_BOUND, 3);
+    table.flush();
+
+    long entry = TranspositionTable.map(path, board, 16).probe(12345L);
+    assertEquals(-987, TranspositionTable.getScore(entry));
+    assertEquals(7, TranspositionTable.getDepth(entry));
+    assertEquals(TranspositionTable.LOWER_BOUND, TranspositionTable.getBound(entry));
+    assertEquals(3, TranspositionTable.getMove(entry));
+  }
+
+  @Test
+  public void map_DifferentGame_EntriesDiscarded() throws Exception {
+    TranspositionTable.map(path, board, 16).store(1L, 10, 5, TranspositionTable.EXACT, 0);
+
+    SearchBoard otherBoard = SearchBoard.empty(new Dimensions(6, 7), turnOrder);
+    assertEquals(TranspositionTable.MISS, TranspositionTable.map(path, otherBoard, 16).probe(1L));
+  }
+
+  @Test
+  public void map_DifferentSize_EntriesDiscarded() throws Exception {
+    TranspositionTable.map(path, board, 16).store(1L, 10, 5, TranspositionTable.EXACT, 0);
+
+    TranspositionTable table = TranspositionTable.map(path, board, 32);
+    assertEquals(32, table.size());
+    assertEquals(TranspositionTable.MISS, table.probe(1L));
+  }
+
+  @Test
+  public void map_NotATable_ReplacedByEmptyTable() throws Exception {
+    TranspositionTable.map(path, board, 16).store(1L, 10, 5, TranspositionTable.EXACT, 0);
+    byte[] bytes = Files.readAllBytes(path);
+    bytes[0] = 0; // Spoil the magic number
+    Files.write(path, bytes);
+
+    assertEquals(TranspositionTable.MISS, TranspositionTable.map(path, board, 16).probe(1L));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void map_TooManyEntries_ExceptionThrown() throws Exception {
+    TranspositionTable.map(path, board, TranspositionTable.MAXIMUM_MAPPED_ENTRIES + 1);
+  }
+
+  @Test
+  public void clear_MappedTable_RemovesEntries() throws Exception {
+    TranspositionTable table = TranspositionTable.map(path, board, 16);
+    table.store(1L, 10, 5, TranspositionTable.EXACT, 0);
+    table.clear();
+    assertEquals(TranspositionTable.MISS, table.probe(1L));
+  }
+}
@@ -0,0 +1,144 @@
+import static org.junit.Assert.*;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import org.junit.Test;
+
+public class WindowEvaluatorTest {
+
+  private final VictoryCondition fourInARow = new ConsecutiveCountersVictoryCondition(4);
+  private final Player red = new AIPlayer(PlayerColour.RED, fourInARow, Difficulty.EASY);
+  private final Player blue = new AIPlayer(PlayerColour.BLUE, fourInARow, Difficulty.EASY);
+  private final Player green = new AIPlayer(
+      PlayerColour.GREEN, new ConsecutiveCountersVictoryCondition(3), Difficulty.EASY);
+
+  @Test
+  public void reset_EmptyBoard_ScoresAreZero() {
+    WindowEvaluator evaluator = attach(Arrays.asList(red, blue));
+    assertEquals(0, evaluator.getScore(0));
+    assertEquals(0, evaluator.getScore(1));
+  }
+
+  @Test
+  public void counterPlaced_CornerCounter_WindowsThroughCellScored() {
+    SearchBoard board = SearchBoard.empty(new Dimensions(7, 6), Arrays.asList(red, blue));
+    WindowEvaluator evaluator = new WindowEvaluator();
+    board.setEvaluator(evaluator);
+    board.play(0);
+    // One horizontal, one vertical and one diagonal window, each worth 1 and controlled by the
+    // counter
+    assertEquals(6, evaluator.getScore(0));
+    assertEquals(0, evaluator.getScore(1));
+  }
+
+  @Test
+  public void counterPlaced_CentreCounter_ScoresMoreThanEdgeCounter() {
+    SearchBoard board = SearchBoard.empty(new Dimensions(7, 6), Arrays.asList(red, blue));
+    WindowEvaluator evaluator = new WindowEvaluator();
+    board.setEvaluator(evaluator);
+    board.play(3);
+    board.play(0);
+    assertTrue(evaluator.getScore(0) > evaluator.getScore(1));
+  }
+
+  @Test
+  public void getThreats_OpenThree_OneThreat() {
+    SearchBoard board = SearchBoard.empty(new Dimensions(7, 6), Arrays.asList(red, blue));
+    WindowEvaluator evaluator = new WindowEvaluator();
+    board.setEvaluator(evaluator);
+    for (int column : new int[] {0, 0, 1, 1, 2}) {
+      board.play(column);
+    }
+    assertEquals(1, evaluator.getThreats(0));
+    assertEquals(0, evaluator.getThreats(1));
+  }
+
+  @Test
+  public void undo_AllMoves_ScoresAreZero() {
+    SearchBoard board = SearchBoard.empty(new Dimensions(7, 6), Arrays.asList(red, blue));
+    WindowEvaluator evaluator = new WindowEvaluator();
+    board.setEvaluator(evaluator);
+    for (int column : new int[] {3, 3, 2, 4, 4}) {
+      board.play(column);
+    }
+    while (board.getNumberOfMoves() > 0) {
+      board.undo();
+    }
+    assertEquals(0, evaluator.getScore(0));
+    assertEquals(0, evaluator.getScore(1));
+    assertEquals(0, evaluator.getThreats(0));
+  }
+
+  @Test
+  public void getScore_RandomMovesTwoPlayers_MatchesScanningEvaluator() {
+    assertMatchesScanningEvaluator(Arrays.asList(red, blue));
+  }
+
+  @Test
+  public void getScore_RandomMovesPlayersNeedingDifferentCounters_MatchesScanningEvaluator() {
+    assertMatchesScanningEvaluator(Arrays.asList(red, blue, green));
+  }
+
+  @Test
+  public void copy_EvaluatorAttached_CopyHasOwnEvaluatorWithSameScores() {
+    SearchBoard board = SearchBoard.empty(new Dimensions(7, 6), Arrays.asList(red, blue));
+    WindowEvaluator evaluator = new WindowEvaluator();
+    board.setEvaluator(evaluator);
+    board.play(3);
+    board.play(2);
+    SearchBoard copy = board.copy();
+    Evaluator copyEvaluator = copy.getEvaluator().orElseThrow(AssertionError::new);
+    assertNotSame(evaluator, copyEvaluator);
+    assertEquals(evaluator.getScore(0), copyEvaluator.getScore(0));
+    assertEquals(evaluator.getScore(1), copyEvaluator.getScore(1));
+    copy.play(3);
+    assertNotEquals(evaluator.getScore(0), copyEvaluator.getScore(0));
+  }
+
+  private WindowEvaluator attach(List<Player> players) {
+    SearchBoard board = SearchBoard.empty(new Dimensions(7, 6), players);
+    WindowEvaluator evaluator = new WindowEvaluator();
+    board.setEvaluator(evaluator);
+    return evaluator;
+  }
+
+  // Plays and undoes random moves on two boards, comparing the scores after every change
+  private void assertMatchesScanningEvaluator(List<Player> players) {
+    SearchBoard board = SearchBoard.empty(new Dimensions(7, 6), players);
+    WindowEvaluator evaluator = new WindowEvaluator();
+    board.setEvaluator(evaluator);
+    SearchBoard scannedBoard = board.copy();
+    ScanningEvaluator scanningEvaluator = new ScanningEvaluator();
+    scannedBoard.setEvaluator(scanningEvaluator);
+    SplittableRandom random = new SplittableRandom(7);
+    for (int step = 0; step < 2000; step++) {
+      int column = random.nextInt(board.getWidth());
+      boolean undo = board.getNumberOfMoves() > 0 && (random.nextInt(3) == 0 || board.isFull());
+      if (undo) {
+        board.undo();
+        scannedBoard.undo();
+      } else if (board.canPlay(column)) {
+        board.play(column);
+        scannedBoard.play(column);
+      }
+      for (int seat = 0; seat < players.size(); seat++) {
+        assertEquals(scanningEvaluator.getScore(seat), evaluator.getScore(seat));
+      }
+    }
+  }
+
+  @Test
+  public void createWindows_SingleCell_OneWindowForEveryCell() {
+    int[][] windows = WindowEvaluator.createWindows(3, 2, 1);
+    assertEquals(6, windows.length);
+    boolean[] covered = new boolean[6];
+    for (int[] window : windows) {
+      assertEquals(1, window.length);
+      covered[window[0]] = true;
+    }
+    for (boolean cell : covered) {
+      assertTrue(cell);
+    }
+  }
+}